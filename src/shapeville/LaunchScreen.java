@@ -1,8 +1,5 @@
 package shapeville;
 
-import javax.swing.SwingUtilities;
-import javax.swing.UIManager;
-
 /**
  * The launch screen class for the Shapeville application.
  * This class serves as the entry point for the application and handles
@@ -16,24 +13,14 @@ public class LaunchScreen {
      * The main entry point for the Shapeville application.
      * This method:
      * 1. Sets up the system's native look and feel
-     * 2. Creates and displays the main application window
-     * 3. Ensures proper focus for keyboard event handling
+     * 2. Starts pre-rendering the shape icons and decoding the start screen pictures in the background
+     * 3. Creates and displays the main application window
+     * 4. Ensures proper focus for keyboard event handling
      *
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments; --startup-report prints the startup timeline and exits,
+     *             --train builds the class data archive
      */
     public static void main(String[] args) {
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        
-        SwingUtilities.invokeLater(() -> {
-            ShapevilleApp app = new ShapevilleApp();
-            app.setVisible(true);
-            
-            // Request focus for the start screen to capture key events
-            app.requestFocusInWindow();
-        });
+        ShapevilleApp.launch(LaunchScreen.class, args);
     }
 } 
\ No newline at end of file
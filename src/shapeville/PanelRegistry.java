@@ -0,0 +1,169 @@
+package shapeville;
+
+import shapeville.utils.ColorConstants;
+import shapeville.utils.StartupEvents;
+import shapeville.utils.StartupMetrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Builds the task screens of a card layout the first time they are shown.
+ * <p>
+ * Each screen is registered with a factory instead of being constructed up front, so screens a
+ * student never opens cost nothing. The first time a screen is shown, a light "Loading" card
+ * is shown while the screen is built on the next event, and the screen replaces it when ready.
+ * All methods must be called on the event dispatch thread.
+ * </p>
+ */
+final class PanelRegistry {
+    /** Card name of the loading placeholder */
+    private static final String LOADING_CARD = "LOADING";
+
+    private final JPanel contentPanel;
+    private final CardLayout cardLayout;
+    private final Map<String, Supplier<? extends JComponent>> factories = new LinkedHashMap<>();
+    private final Map<String, JComponent> built = new HashMap<>();
+    private JComponent loadingCard;
+    /** The screen being built, or null */
+    private String pending;
+
+    /**
+     * Creates a registry for the cards of a panel.
+     *
+     * @param contentPanel The panel holding the cards
+     * @param cardLayout The panel's card layout
+     */
+    PanelRegistry(JPanel contentPanel, CardLayout cardLayout) {
+        this.contentPanel = contentPanel;
+        this.cardLayout = cardLayout;
+    }
+
+    /**
+     * Registers a screen without building it.
+     *
+     * @param name The card name
+     * @param factory Builds the screen when it is first shown
+     */
+    void register(String name, Supplier<? extends JComponent> factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Shows a screen, building it first if this is the first time.
+     *
+     * @param name The card name
+     */
+    void show(String name) {
+        StartupEvents.ScreenSwitch event = new StartupEvents.ScreenSwitch();
+        event.begin();
+        event.screen = name;
+        if (built.containsKey(name)) {
+            pending = null;
+            cardLayout.show(contentPanel, name);
+            event.commit();
+            return;
+        }
+        if (!factories.containsKey(name)) {
+            System.out.println("No screen registered as " + name);
+            return;
+        }
+        // Let the placeholder paint before the screen is built
+        pending = name;
+        ensureLoadingCard();
+        cardLayout.show(contentPanel, LOADING_CARD);
+        SwingUtilities.invokeLater(() -> {
+            if (name.equals(pending)) {
+                build(name, false);
+                pending = null;
+                cardLayout.show(contentPanel, name);
+                event.built = true;
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Builds a screen and lays it out at the current size without showing it, so showing it
+     * later costs no more than switching cards.
+     *
+     * @param name The card name
+     * @return true if the screen was built, false if it was built already or is not registered
+     */
+    boolean prebuild(String name) {
+        if (built.containsKey(name) || name.equals(pending) || !factories.containsKey(name)) {
+            return false;
+        }
+        JComponent panel = build(name, true);
+        // The card layout gives every card the panel's full size
+        Insets insets = contentPanel.getInsets();
+        panel.setBounds(insets.left, insets.top,
+                contentPanel.getWidth() - insets.left - insets.right,
+                contentPanel.getHeight() - insets.top - insets.bottom);
+        panel.validate();
+        return true;
+    }
+
+    /**
+     * Gets the names of the registered screens.
+     *
+     * @return The card names, in the order they were registered
+     */
+    Set<String> names() {
+        return Collections.unmodifiableSet(factories.keySet());
+    }
+
+    /**
+     * Gets a screen if it has been built.
+     *
+     * @param name The card name
+     * @return The screen, or null if it has not been shown yet
+     */
+    JComponent getIfBuilt(String name) {
+        return built.get(name);
+    }
+
+    /**
+     * Removes every built screen, so each is built afresh the next time it is shown.
+     */
+    void clear() {
+        for (JComponent panel : built.values()) {
+            contentPanel.remove(panel);
+        }
+        built.clear();
+        pending = null;
+    }
+
+    private JComponent build(String name, boolean ahead) {
+        StartupEvents.PanelBuild event = new StartupEvents.PanelBuild();
+        event.begin();
+        long start = System.nanoTime();
+        JComponent panel = factories.get(name).get();
+        contentPanel.add(panel, name);
+        built.put(name, panel);
+        event.screen = name;
+        event.ahead = ahead;
+        event.commit();
+        StartupMetrics.record((ahead ? "warm-up build " : "build ") + name, (System.nanoTime() - start) / 1_000_000L);
+        return panel;
+    }
+
+    private void ensureLoadingCard() {
+        if (loadingCard != null && loadingCard.getParent() == contentPanel) {
+            return;
+        }
+        JLabel label = new JLabel("Loading...", SwingConstants.CENTER);
+        label.setFont(new Font("Arial", Font.BOLD, 28));
+        label.setForeground(ColorConstants.WOOD_BORDER_COLOR);
+        label.setOpaque(true);
+        label.setBackground(ColorConstants.MAIN_BG_COLOR);
+        loadingCard = label;
+        contentPanel.add(loadingCard, LOADING_CARD);
+    }
+}
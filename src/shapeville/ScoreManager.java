@@ -1,36 +1,47 @@
 package shapeville;
 
+import shapeville.engine.Scoring;
+import shapeville.utils.EventBus;
+
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Utility class to manage scoring and progress tracking across different tasks in the Shapeville application.
  * This class handles score calculation, progress tracking, and completion status for all learning modules.
+ * <p>
+ * Every change to the score or the overall progress publishes a {@link ScoreChanged} or
+ * {@link ProgressChanged} event with the new value. Screens {@link #subscribe} to the events
+ * they show instead of being called by the tasks or polling; the events are delivered on the
+ * event dispatch thread, at most one of each per frame, and only when a value has actually
+ * changed.
+ * </p>
  *
  * @author Shapeville Team
  * @version 1.0
  */
 public class ScoreManager {
     /** Score value for first attempt in basic level */
-    public static final int BASIC_FIRST_ATTEMPT = 3;
+    public static final int BASIC_FIRST_ATTEMPT = Scoring.BASIC_FIRST_ATTEMPT;
     
     /** Score value for second attempt in basic level */
-    public static final int BASIC_SECOND_ATTEMPT = 2;
+    public static final int BASIC_SECOND_ATTEMPT = Scoring.BASIC_SECOND_ATTEMPT;
     
     /** Score value for third attempt in basic level */
-    public static final int BASIC_THIRD_ATTEMPT = 1;
+    public static final int BASIC_THIRD_ATTEMPT = Scoring.BASIC_THIRD_ATTEMPT;
     
     /** Score value for first attempt in advanced level */
-    public static final int ADVANCED_FIRST_ATTEMPT = 6;
+    public static final int ADVANCED_FIRST_ATTEMPT = Scoring.ADVANCED_FIRST_ATTEMPT;
     
     /** Score value for second attempt in advanced level */
-    public static final int ADVANCED_SECOND_ATTEMPT = 4;
+    public static final int ADVANCED_SECOND_ATTEMPT = Scoring.ADVANCED_SECOND_ATTEMPT;
     
     /** Score value for third attempt in advanced level */
-    public static final int ADVANCED_THIRD_ATTEMPT = 2;
+    public static final int ADVANCED_THIRD_ATTEMPT = Scoring.ADVANCED_THIRD_ATTEMPT;
     
     /** Maximum number of attempts allowed per question */
-    public static final int MAX_ATTEMPTS = 3;
+    public static final int MAX_ATTEMPTS = Scoring.MAX_ATTEMPTS;
     
     /** Total score accumulated across all tasks */
     private static int score = 0;
@@ -71,12 +82,65 @@ public class ScoreManager {
     private static int bonus1Progress = 0;
     private static int bonus2Progress = 0;
     
-    /** Global progress tracking */
-    private static int totalProgress = 0;
-    
     /** Total number of tasks in the application */
     private static final int TOTAL_TASKS = 6;
     
+    /** Overall progress percentage (0-100) */
+    private static double progress = 0.0;
+    
+    /** Delivers score and progress changes to the screens showing them */
+    private static final EventBus events = new EventBus();
+    
+    /**
+     * The task modules whose completion counts towards overall progress.
+     */
+    public enum Module {
+        TASK1_2D(0.5), TASK1_3D(0.5), TASK2(1), TASK3(1), TASK4(1), BONUS1(1), BONUS2(1);
+        
+        /** Share of one task in overall progress; Task 1 is split into its 2D and 3D halves */
+        private final double weight;
+        
+        Module(double weight) {
+            this.weight = weight;
+        }
+    }
+    
+    /**
+     * Published when the total score changes.
+     */
+    public static final class ScoreChanged {
+        /** The new total score */
+        public final int score;
+        
+        ScoreChanged(int score) {
+            this.score = score;
+        }
+    }
+    
+    /**
+     * Published when the overall progress changes.
+     */
+    public static final class ProgressChanged {
+        /** The new overall progress percentage (0-100) */
+        public final double percent;
+        
+        ProgressChanged(double percent) {
+            this.percent = percent;
+        }
+    }
+    
+    /**
+     * Registers a listener for score or progress events.
+     *
+     * @param type {@link ScoreChanged} or {@link ProgressChanged}
+     * @param listener called on the event dispatch thread with each change
+     * @param <E> the event type
+     * @return the registration; cancel it when the screen goes away
+     */
+    public static <E> EventBus.Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        return events.subscribe(type, listener);
+    }
+    
     /**
      * Calculates the score based on difficulty level and attempt number.
      *
@@ -85,25 +149,7 @@ public class ScoreManager {
      * @return the calculated score for the attempt
      */
     public static int calculateScore(boolean isAdvanced, int attemptNumber) {
-        if (attemptNumber < 1 || attemptNumber > MAX_ATTEMPTS) {
-            return 0;
-        }
-        
-        if (isAdvanced) {
-            switch (attemptNumber) {
-                case 1: return ADVANCED_FIRST_ATTEMPT;
-                case 2: return ADVANCED_SECOND_ATTEMPT;
-                case 3: return ADVANCED_THIRD_ATTEMPT;
-                default: return 0;
-            }
-        } else {
-            switch (attemptNumber) {
-                case 1: return BASIC_FIRST_ATTEMPT;
-                case 2: return BASIC_SECOND_ATTEMPT;
-                case 3: return BASIC_THIRD_ATTEMPT;
-                default: return 0;
-            }
-        }
+        return Scoring.points(isAdvanced, attemptNumber);
     }
     
     /**
@@ -113,15 +159,7 @@ public class ScoreManager {
      * @return a motivational feedback message
      */
     public static String getFeedbackMessage(int score) {
-        if (score >= ADVANCED_FIRST_ATTEMPT) {
-            return "Outstanding! Perfect on the first try!";
-        } else if (score >= BASIC_FIRST_ATTEMPT) {
-            return "Great job!";
-        } else if (score >= BASIC_THIRD_ATTEMPT) {
-            return "Good effort!";
-        } else {
-            return "Keep practicing!";
-        }
+        return Scoring.feedback(score);
     }
     
     /**
@@ -129,8 +167,90 @@ public class ScoreManager {
      * The increment is calculated as 100 divided by the total number of tasks.
      */
     public static void addTaskProgress() {
-        int increment = 100 / TOTAL_TASKS;
-        totalProgress = Math.min(totalProgress + increment, 100);
+        addProgress(100.0 / TOTAL_TASKS);
+    }
+
+    /**
+     * Adds to the global progress, up to 100%.
+     *
+     * @param percent the percentage points to add
+     */
+    public static void addProgress(double percent) {
+        double updated = Math.min(progress + percent, 100.0);
+        if (updated != progress) {
+            progress = updated;
+            events.publish(new ProgressChanged(progress));
+        }
+    }
+
+    /**
+     * Marks a module as completed and adds its share of the global progress.
+     * Completing a module again does nothing.
+     *
+     * @param module the completed module
+     */
+    public static void completeModule(Module module) {
+        if (isCompleted(module)) {
+            return;
+        }
+        setCompleted(module, true);
+        addProgress(100.0 / TOTAL_TASKS * module.weight);
+    }
+
+    /**
+     * Checks if a module is completed.
+     *
+     * @param module the module
+     * @return true if completed, false otherwise
+     */
+    public static boolean isCompleted(Module module) {
+        switch (module) {
+            case TASK1_2D: return task1_2dCompleted;
+            case TASK1_3D: return task1_3dCompleted;
+            case TASK2: return task2Completed;
+            case TASK3: return task3Completed;
+            case TASK4: return task4Completed;
+            case BONUS1: return bonus1Completed;
+            case BONUS2: return bonus2Completed;
+            default: return false;
+        }
+    }
+
+    /**
+     * Sets a module's completion flag without changing the global progress.
+     */
+    private static void setCompleted(Module module, boolean completed) {
+        if (isCompleted(module) == completed) {
+            return;
+        }
+        switch (module) {
+            case TASK1_2D: task1_2dCompleted = completed; break;
+            case TASK1_3D: task1_3dCompleted = completed; break;
+            case TASK2: task2Completed = completed; break;
+            case TASK3: task3Completed = completed; break;
+            case TASK4: task4Completed = completed; break;
+            case BONUS1: bonus1Completed = completed; break;
+            case BONUS2: bonus2Completed = completed; break;
+        }
+    }
+
+    /**
+     * Gets the number of questions answered in a module.
+     *
+     * @param module the module
+     * @return the number of answered questions
+     */
+    public static int getAnswered(Module module) {
+        switch (module) {
+            case TASK1_2D: return task1_2dProgress;
+            case TASK1_3D: return task1_3dProgress;
+            case TASK2: return task2Progress;
+            case TASK3: return task3Progress;
+            case TASK4: return task4Progress;
+            case BONUS1: return bonus1Progress;
+            case BONUS2: return bonus2Progress;
+            default: return 0;
+        }
     }
 
     /**
@@ -139,7 +259,16 @@ public class ScoreManager {
      * @return the global progress as a percentage (0-100)
      */
     public static int getGlobalProgress() {
-        return totalProgress;
+        return (int) Math.round(progress);
+    }
+
+    /**
+     * Gets the current global progress percentage without rounding.
+     *
+     * @return the global progress as a percentage (0-100)
+     */
+    public static double getProgress() {
+        return progress;
     }
     
     /**
@@ -171,7 +300,11 @@ public class ScoreManager {
      * @param points the points to add
      */
     public static void addScore(int points) {
+        if (points == 0) {
+            return;
+        }
         score += points;
+        events.publish(new ScoreChanged(score));
     }
     
     /**
@@ -189,7 +322,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setTask1_2dCompleted(boolean completed) {
-        task1_2dCompleted = completed;
+        setCompleted(Module.TASK1_2D, completed);
     }
     
     /**
@@ -207,7 +340,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setTask1_3dCompleted(boolean completed) {
-        task1_3dCompleted = completed;
+        setCompleted(Module.TASK1_3D, completed);
     }
     
     /**
@@ -225,7 +358,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setTask2Completed(boolean completed) {
-        task2Completed = completed;
+        setCompleted(Module.TASK2, completed);
     }
     
     /**
@@ -243,7 +376,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setTask3Completed(boolean completed) {
-        task3Completed = completed;
+        setCompleted(Module.TASK3, completed);
     }
     
     /**
@@ -261,7 +394,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setTask4Completed(boolean completed) {
-        task4Completed = completed;
+        setCompleted(Module.TASK4, completed);
     }
     
     /**
@@ -279,7 +412,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setBonus1Completed(boolean completed) {
-        bonus1Completed = completed;
+        setCompleted(Module.BONUS1, completed);
     }
     
     /**
@@ -297,7 +430,7 @@ public class ScoreManager {
      * @param completed the completion status to set
      */
     public static void setBonus2Completed(boolean completed) {
-        bonus2Completed = completed;
+        setCompleted(Module.BONUS2, completed);
     }
     
     /**
@@ -311,13 +444,15 @@ public class ScoreManager {
     }
     
     /**
-     * Marks a 2D shape question as answered and updates progress.
+     * Marks a 2D shape question as answered and updates progress, once per shape.
      *
      * @param shapeName the name of the shape
      */
     public static void markShape2DAnswered(String shapeName) {
-        answeredTask1_2dQuestions.add(shapeName);
-        task1_2dProgress++;
+        // Answering the same question again does not count twice
+        if (answeredTask1_2dQuestions.add(shapeName)) {
+            task1_2dProgress++;
+        }
     }
     
     /**
@@ -358,13 +493,15 @@ public class ScoreManager {
     }
     
     /**
-     * Marks a 3D shape question as answered and updates progress.
+     * Marks a 3D shape question as answered and updates progress, once per shape.
      *
      * @param shapeName the name of the shape
      */
     public static void markShape3DAnswered(String shapeName) {
-        answeredTask1_3dQuestions.add(shapeName);
-        task1_3dProgress++;
+        // Answering the same question again does not count twice
+        if (answeredTask1_3dQuestions.add(shapeName)) {
+            task1_3dProgress++;
+        }
     }
     
     /**
@@ -405,13 +542,15 @@ public class ScoreManager {
     }
     
     /**
-     * Marks an angle type question as answered and updates progress.
+     * Marks an angle type question as answered and updates progress, once per angle type.
      *
      * @param angleType the type of angle
      */
     public static void markAngleTypeAnswered(String angleType) {
-        answeredTask2Questions.add(angleType);
-        task2Progress++;
+        // Answering the same question again does not count twice
+        if (answeredTask2Questions.add(angleType)) {
+            task2Progress++;
+        }
     }
     
     /**
@@ -452,13 +591,15 @@ public class ScoreManager {
     }
     
     /**
-     * Marks a Task 3 question as answered and updates progress.
+     * Marks a Task 3 question as answered and updates progress, once per question.
      *
      * @param questionId the identifier of the question
      */
     public static void markTask3Answered(String questionId) {
-        answeredTask3Questions.add(questionId);
-        task3Progress++;
+        // Answering the same question again does not count twice
+        if (answeredTask3Questions.add(questionId)) {
+            task3Progress++;
+        }
     }
     
     /**
@@ -508,6 +649,9 @@ public class ScoreManager {
         bonus1Progress = 0;
         bonus2Progress = 0;
         
-        totalProgress = 0;
+        progress = 0.0;
+        
+        events.publish(new ScoreChanged(score));
+        events.publish(new ProgressChanged(progress));
     }
-} 
\ No newline at end of file
+} 
\ No newline at end of file
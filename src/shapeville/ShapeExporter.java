@@ -0,0 +1,306 @@
+package shapeville;
+
+import shapeville.bonus2.SectorPanel;
+import shapeville.task3.AreaPanel;
+import shapeville.utils.ShapeDisplayList;
+import shapeville.utils.ShapeType;
+import shapeville.utils.SvgWriter;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless command-line exporter for printable worksheet images.
+ * <p>
+ * Renders every 2D and 3D shape, every Bonus 2 sector and every Task 3 area shape (with an
+ * answer-key variant) to PNG, and the vector shapes and sectors also to SVG, at any number
+ * of sizes. Images are rendered in parallel on all cores and the throughput is reported.
+ * </p>
+ * <pre>
+ * java -cp out shapeville.ShapeExporter --out worksheets --sizes 200,600 --formats png,svg
+ * </pre>
+ *
+ * @author Shapeville Team
+ * @version 1.0
+ */
+public class ShapeExporter {
+    /** Smallest canvas the area shapes and their labels fit on; text is drawn at a fixed pixel size */
+    private static final int AREA_CANVAS_WIDTH = 600;
+    private static final int AREA_CANVAS_HEIGHT = 450;
+
+    /** Background colours matching the in-app displays */
+    private static final Color SECTOR_BACKGROUND = new Color(255, 250, 240);
+    private static final Color SECTOR_FILL = new Color(255, 192, 203);
+
+    private final Path outputDir;
+    private final int[] sizes;
+    private final boolean png;
+    private final boolean svg;
+    private final long seed;
+
+    /**
+     * Creates an exporter.
+     *
+     * @param outputDir the directory to write into
+     * @param sizes the image edge lengths in pixels
+     * @param png whether to write PNG files
+     * @param svg whether to write SVG files
+     * @param seed the random seed for the area shape dimensions
+     */
+    public ShapeExporter(Path outputDir, int[] sizes, boolean png, boolean svg, long seed) {
+        this.outputDir = outputDir;
+        this.sizes = sizes;
+        this.png = png;
+        this.svg = svg;
+        this.seed = seed;
+    }
+
+    /**
+     * Entry point. Options: --out DIR, --sizes N[,N...], --formats png,svg, --threads N, --seed N
+     *
+     * @param args command line options
+     */
+    public static void main(String[] args) {
+        // Must be set before any AWT class initialises
+        System.setProperty("java.awt.headless", "true");
+
+        Path outputDir = Paths.get("shapeville-export");
+        String sizes = "200";
+        String formats = "png,svg";
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out":
+                        outputDir = Paths.get(args[++i]);
+                        break;
+                    case "--sizes":
+                        sizes = args[++i];
+                        break;
+                    case "--formats":
+                        formats = args[++i].toLowerCase();
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            System.err.println("Usage: ShapeExporter [--out DIR] [--sizes 200,400] [--formats png,svg] [--threads N] [--seed N]");
+            System.exit(1);
+            return;
+        }
+
+        String[] sizeList = sizes.split(",");
+        int[] sizeValues = new int[sizeList.length];
+        for (int i = 0; i < sizeList.length; i++) {
+            sizeValues[i] = Integer.parseInt(sizeList[i].trim());
+        }
+
+        ShapeExporter exporter = new ShapeExporter(outputDir, sizeValues,
+                formats.contains("png"), formats.contains("svg"), seed);
+        try {
+            exporter.run(Math.max(1, threads));
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Renders every image on a pool of worker threads and prints the throughput.
+     *
+     * @param threads the number of worker threads
+     * @return the number of images written
+     * @throws IOException if the output directories cannot be created
+     * @throws InterruptedException if interrupted while waiting for the workers
+     * @throws ExecutionException if an image fails to render or write
+     */
+    public int run(int threads) throws IOException, InterruptedException, ExecutionException {
+        for (String dir : new String[] {"2d", "3d", "sectors", "area"}) {
+            Files.createDirectories(outputDir.resolve(dir));
+        }
+
+        List<Callable<Integer>> jobs = new ArrayList<>();
+        for (int size : sizes) {
+            for (ShapeType type : ShapeType.values()) {
+                jobs.add(() -> exportShape(type, size));
+            }
+            List<SectorPanel.SectorData> sectors = SectorPanel.createSectors();
+            for (int i = 0; i < sectors.size(); i++) {
+                int number = i + 1;
+                SectorPanel.SectorData sector = sectors.get(i);
+                jobs.add(() -> exportSector(number, sector, size));
+            }
+            for (int i = 0; i < AreaPanel.createShapes().size(); i++) {
+                int index = i;
+                jobs.add(() -> exportAreaShape(index, size));
+            }
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int images = 0;
+        try {
+            for (Future<Integer> result : pool.invokeAll(jobs)) {
+                images += result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Exported %d images to %s in %.2f s (%.1f images/s, %d threads)%n",
+                images, outputDir.toAbsolutePath(), seconds, images / seconds, threads);
+        return images;
+    }
+
+    /**
+     * Exports one 2D or 3D shape from its display list.
+     */
+    private int exportShape(ShapeType type, int size) throws IOException {
+        ShapeDisplayList displayList = ShapeDisplayList.of(type);
+        String base = (type.isThreeDimensional() ? "3d/" : "2d/") + fileName(type.getDisplayName()) + "_" + size;
+        int written = 0;
+        if (png) {
+            BufferedImage image = createImage(size, size, Color.WHITE);
+            Graphics2D g2d = image.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            displayList.render(g2d, AffineTransform.getScaleInstance(size, size));
+            g2d.dispose();
+            writePng(image, base);
+            written++;
+        }
+        if (svg) {
+            SvgWriter writer = new SvgWriter(size, size, 1, 1).background(Color.WHITE, 1, 1);
+            for (int i = 0; i < displayList.getOperationCount(); i++) {
+                if (displayList.isStroke(i)) {
+                    writer.stroke(displayList.getPath(i), (Color) displayList.getPaint(i), ShapeDisplayList.getOutlineWidth());
+                } else {
+                    writer.fill(displayList.getPath(i), displayList.getPaint(i));
+                }
+            }
+            writeSvg(writer, base);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Exports one sector, drawn exactly as in Bonus 2.
+     */
+    private int exportSector(int number, SectorPanel.SectorData sector, int size) throws IOException {
+        String base = "sectors/sector" + number + "_" + size;
+        int written = 0;
+        if (png) {
+            BufferedImage image = createImage(size, size, SECTOR_BACKGROUND);
+            Graphics2D g2d = image.createGraphics();
+            SectorPanel.drawSector(g2d, size, size, sector.getRadius(), sector.getAngle(), sector.getUnit());
+            g2d.dispose();
+            writePng(image, base);
+            written++;
+        }
+        if (svg) {
+            // Same geometry as SectorPanel.drawSector
+            int center = size / 2;
+            int drawRadius = (int) Math.round(size * 0.35);
+            Arc2D.Double pie = new Arc2D.Double(center - drawRadius, center - drawRadius, drawRadius * 2, drawRadius * 2,
+                    0, -sector.getAngle(), Arc2D.PIE);
+            double midAngle = Math.toRadians(-sector.getAngle() / 2.0);
+            int labelRadius = (int) Math.round(drawRadius * 0.3);
+            Font font = new Font("Arial", Font.PLAIN, 14);
+
+            SvgWriter writer = new SvgWriter(size, size, size, size)
+                    .background(SECTOR_BACKGROUND, size, size)
+                    .fill(pie, SECTOR_FILL)
+                    .stroke(pie, Color.BLACK, 2)
+                    .text(String.format("r=%.2f %s", sector.getRadius(), sector.getUnit()), center + 5, center - 5, font, Color.BLACK)
+                    .text(String.format("%d°", sector.getAngle()),
+                            center + Math.round(labelRadius * Math.cos(midAngle)),
+                            center - Math.round(labelRadius * Math.sin(midAngle)), font, Color.BLACK);
+            writeSvg(writer, base);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Exports one Task 3 shape with seeded dimensions, as a question and as an answer key.
+     * Area shapes are drawn imperatively, so they are exported as PNG only, and never smaller
+     * than the canvas their layout needs.
+     */
+    private int exportAreaShape(int index, int size) throws IOException {
+        if (!png) {
+            return 0;
+        }
+        // Each worker gets its own shape instance; the seed keeps question and answer consistent
+        AreaPanel.GeometricShape shape = AreaPanel.createShapes().get(index);
+        Random random = new Random(seed * 31 + index);
+        double[] parameters = new double[shape.getParameterNames().length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = 1 + random.nextInt(20);
+        }
+        shape.setParameters(parameters);
+
+        // Lay out unscaled so the labels and answer key stay legible; sizes below the
+        // smallest canvas get the smallest canvas rather than shrunken text
+        int width = Math.max(size, AREA_CANVAS_WIDTH);
+        int height = Math.max(size * AREA_CANVAS_HEIGHT / AREA_CANVAS_WIDTH, AREA_CANVAS_HEIGHT);
+        int written = 0;
+        for (boolean answer : new boolean[] {false, true}) {
+            BufferedImage image = createImage(width, height, Color.WHITE);
+            Graphics2D g2d = image.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setColor(Color.BLACK);
+            AreaPanel.drawShapeArea(g2d, width, height, shape, answer);
+            g2d.dispose();
+            writePng(image, "area/" + shape.getName() + "_" + size + (answer ? "_answer" : ""));
+            written++;
+        }
+        return written;
+    }
+
+    private static BufferedImage createImage(int width, int height, Color background) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(background);
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        return image;
+    }
+
+    private void writePng(BufferedImage image, String base) throws IOException {
+        ImageIO.write(image, "png", outputDir.resolve(base + ".png").toFile());
+    }
+
+    private void writeSvg(SvgWriter writer, String base) throws IOException {
+        Files.write(outputDir.resolve(base + ".svg"), writer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fileName(String shapeName) {
+        return shapeName.replace(' ', '_').replace('-', '_');
+    }
+}
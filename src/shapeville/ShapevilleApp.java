@@ -6,13 +6,26 @@ import shapeville.task2.AnglePanel;
 import shapeville.task3.AreaPanel;
 import shapeville.task4.CirclePanel;
 import shapeville.bonus1.CompoundPanel;
+import shapeville.bonus2.SectorPanel;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import shapeville.utils.FrameProfiler;
+import shapeville.utils.ImageProvider;
+import shapeville.utils.StartupEvents;
+import shapeville.utils.StartupMetrics;
+import shapeville.utils.StartupReport;
 import shapeville.utils.WoodenButton;
+import shapeville.utils.ClassDataSharing;
 import shapeville.utils.ColorConstants;
 
 /**
@@ -36,9 +49,6 @@ public class ShapevilleApp extends JFrame {
     /** Label displaying current score */
     private JLabel scoreLabel;
     
-    /** Total score accumulated during the session */
-    private int totalScore = 0;
-    
     /** Screen identifiers for navigation */
     public static final String START_SCREEN = "START";
     public static final String HOME_SCREEN = "HOME";
@@ -50,30 +60,26 @@ public class ShapevilleApp extends JFrame {
     public static final String COMPOUND_SCREEN = "COMPOUND";
     public static final String SECTOR_SCREEN = "SECTOR";
     
-    /** Task panels for different learning modules */
+    /** Builds each task screen for the application it reports to, by card name */
+    static final Map<String, Function<ShapevilleApp, ? extends JComponent>> TASK_SCREENS = new LinkedHashMap<>();
+    static {
+        TASK_SCREENS.put(SHAPE_2D_SCREEN, Shape2DPanel::new);
+        TASK_SCREENS.put(SHAPE_3D_SCREEN, Shape3DPanel::new);
+        TASK_SCREENS.put(ANGLE_SCREEN, AnglePanel::new);
+        TASK_SCREENS.put(AREA_SCREEN, AreaPanel::new);
+        TASK_SCREENS.put(CIRCLE_SCREEN, CirclePanel::new);
+        TASK_SCREENS.put(COMPOUND_SCREEN, CompoundPanel::new);
+        TASK_SCREENS.put(SECTOR_SCREEN, SectorPanel::new);
+    }
+    
+    /** The start screen, and the home screen while it exists */
     private StartScreen startScreen;
-    private Shape2DPanel shape2DPanel;
-    private Shape3DPanel shape3DPanel;
-    private AnglePanel anglePanel;
-    private AreaPanel areaPanel;
-    private CirclePanel circlePanel;
-    private JPanel sectorPanel;
-    private JPanel compoundPanel;
-    
-    /** Total progress percentage */
-    private double progress_total = 0.0;
-    
-    /** Completion flags for each task */
-    private boolean task1_2dCompleted = false;
-    private boolean task1_3dCompleted = false;
-    private boolean task2Completed = false;
-    private boolean task3Completed = false;
-    private boolean task4Completed = false;
-    private boolean bonus1Completed = false;
-    private boolean bonus2Completed = false;
-    
-    /** Total progress percentage as integer */
-    private int totalProgress = 0;
+    private JPanel homePanel;
+    
+    /** Task panels for different learning modules, each built the first time it is opened */
+    private PanelRegistry panels;
+    /** Builds the screens the student is likely to open while the home screen is idle */
+    private WarmUpPlanner warmUp;
     
     /** Access level for different game stages (0=none, 1=Key Stage 1, 2=Key Stage 2, 3=All) */
     private int accessLevel = 0;
@@ -88,38 +94,20 @@ public class ShapevilleApp extends JFrame {
         setSize(1200, 800);
         setLocationRelativeTo(null);
         
-        // Initialize from persisted state in ScoreManager
-        totalScore = ScoreManager.getScore();
-        task1_2dCompleted = ScoreManager.isTask1_2dCompleted();
-        task1_3dCompleted = ScoreManager.isTask1_3dCompleted();
-        task2Completed = ScoreManager.isTask2Completed();
-        task3Completed = ScoreManager.isTask3Completed();
-        task4Completed = ScoreManager.isTask4Completed();
-        bonus1Completed = ScoreManager.isBonus1Completed();
-        bonus2Completed = ScoreManager.isBonus2Completed();
-        
-        // 修复计算总进度的逻辑，确保总共6个模块
-        double completedTasks = 0.0;
-        // Task1包括2D和3D两部分，各占0.5
-        if (task1_2dCompleted) completedTasks += 0.5;
-        if (task1_3dCompleted) completedTasks += 0.5;
-        // 其他任务各占1
-        if (task2Completed) completedTasks += 1.0;
-        if (task3Completed) completedTasks += 1.0;
-        if (task4Completed) completedTasks += 1.0;
-        if (bonus1Completed) completedTasks += 1.0;
-        if (bonus2Completed) completedTasks += 1.0;
-        
-        // 确保总共6个模块的进度
-        progress_total = (completedTasks / 6.0) * 100.0;
-        totalProgress = (int)Math.round(progress_total);
-        
         // Initialize the layout
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
         
+        // Task screens are only built when a student opens them
+        panels = new PanelRegistry(contentPanel, cardLayout);
+        for (Map.Entry<String, Function<ShapevilleApp, ? extends JComponent>> screen : TASK_SCREENS.entrySet()) {
+            panels.register(screen.getKey(), () -> screen.getValue().apply(this));
+        }
+        warmUp = new WarmUpPlanner(panels);
+        
         // Create start screen
         startScreen = new StartScreen(this);
+        StartupMetrics.mark("start screen");
         
         // 初始化homePanel
         
@@ -134,18 +122,48 @@ public class ShapevilleApp extends JFrame {
         JPanel navPanel = createNavigationPanel();
         add(navPanel, BorderLayout.SOUTH);
         
-        // 确保进度条显示正确的值
-        progressBar.setValue((int)Math.round(progress_total));
-        progressBar.setString((int)Math.round(progress_total) + "%");
+        // The score and progress come from ScoreManager, and change only when it publishes a change
+        showScore(ScoreManager.getScore());
+        showProgress(ScoreManager.getProgress());
+        ScoreManager.subscribe(ScoreManager.ScoreChanged.class, event -> showScore(event.score));
+        ScoreManager.subscribe(ScoreManager.ProgressChanged.class, event -> showProgress(event.percent));
         
         // Show start screen by default
-        cardLayout.show(contentPanel, START_SCREEN);
+        showScreen(START_SCREEN);
         
         // Hide the progress bar initially (will show only in home screen)
         navPanel.setVisible(false);
         
-        // Update score display
-        scoreLabel.setText("Score: " + totalScore);
+        // F3 shows frame timings on every screen
+        FrameProfiler.install(this);
+        StartupMetrics.mark("window");
+        if (StartupReport.isActive()) {
+            StartupMetrics.afterFirstFrame(this::finishStartupReport);
+        }
+    }
+    
+    /**
+     * Switches the window to the start or home screen.
+     *
+     * @param name The card name
+     */
+    private void showScreen(String name) {
+        StartupEvents.ScreenSwitch event = new StartupEvents.ScreenSwitch();
+        event.begin();
+        cardLayout.show(contentPanel, name);
+        event.screen = name;
+        event.commit();
+    }
+    
+    /**
+     * Builds every task screen once so the startup report covers them too, then prints the
+     * report and exits.
+     */
+    private void finishStartupReport() {
+        for (String name : panels.names()) {
+            panels.prebuild(name);
+        }
+        StartupReport.finish();
     }
     
     /**
@@ -178,20 +196,6 @@ public class ShapevilleApp extends JFrame {
         addTaskButton(centerPanel, "Task 4: Circle Calculations", "Calculate area and circumference", e -> startTask4(), 2);
         addTaskButton(centerPanel, "Bonus 1: Compound Shapes", "Calculate areas of compound shapes", e -> startBonus1(), 3);
         addTaskButton(centerPanel, "Bonus 2: Sector & Arc", "Calculate sector area and arc length", e -> startBonus2(), 3);
-        shape2DPanel = new Shape2DPanel(this);
-        contentPanel.add(shape2DPanel, SHAPE_2D_SCREEN);
-        shape3DPanel = new Shape3DPanel(this);
-        contentPanel.add(shape3DPanel, SHAPE_3D_SCREEN);
-        anglePanel = new AnglePanel(this);
-        contentPanel.add(anglePanel, ANGLE_SCREEN);
-        areaPanel = new AreaPanel(this);
-        contentPanel.add(areaPanel, AREA_SCREEN);
-        circlePanel = new CirclePanel(this);
-        contentPanel.add(circlePanel, CIRCLE_SCREEN);
-        compoundPanel = new shapeville.bonus1.CompoundPanel(this);
-        contentPanel.add(compoundPanel, "COMPOUND_SCREEN");
-        sectorPanel = new shapeville.bonus2.SectorPanel(this);
-        contentPanel.add(sectorPanel, "SECTOR_SCREEN");
         panel.add(centerPanel, BorderLayout.CENTER);
         
         // Game info panel
@@ -272,9 +276,7 @@ public class ShapevilleApp extends JFrame {
         
         // Progress bar
         progressBar = new JProgressBar(0, 100);
-        progressBar.setValue((int)Math.round(progress_total));
         progressBar.setStringPainted(true);
-        progressBar.setString((int)Math.round(progress_total) + "%");
         progressBar.setBackground(Color.WHITE);
         progressBar.setForeground(ColorConstants.WOOD_BORDER_COLOR); // 使用边框颜色作为进度条颜色
         
@@ -314,7 +316,9 @@ public class ShapevilleApp extends JFrame {
      * Starts the home screen and initializes necessary components.
      */
     public void startHomeScreen() {
-        // Remove existing home panel if it exists
+        // Remove existing home panel if it exists; the task screens start afresh too
+        warmUp.cancel();
+        panels.clear();
         for (Component comp : contentPanel.getComponents()) {
             if (comp != startScreen) {
                 contentPanel.remove(comp);
@@ -322,11 +326,11 @@ public class ShapevilleApp extends JFrame {
         }
         
         // Create a new home panel with updated access level
-        JPanel homePanel = createHomePanel();
+        homePanel = createHomePanel();
         contentPanel.add(homePanel, HOME_SCREEN);
         
         // Show the updated home panel
-        cardLayout.show(contentPanel, HOME_SCREEN);
+        showScreen(HOME_SCREEN);
         
         // Show navigation panel with progress bar
         getContentPane().getComponent(1).setVisible(true);
@@ -336,12 +340,17 @@ public class ShapevilleApp extends JFrame {
         homePanel.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (FrameProfiler.handleKey(e)) {
+                    return;
+                }
                 if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                     returnToStartScreen(); // Go back to start screen
                 }
             }
         });
         homePanel.requestFocusInWindow();
+        // Get the tasks this key stage can open ready while the student looks around
+        warmUp.start(homePanel, accessLevel);
     }
     
     /**
@@ -365,17 +374,19 @@ public class ShapevilleApp extends JFrame {
      */
     public void returnToHome() {
         // 直接显示home界面，不重新创建
-        cardLayout.show(contentPanel, HOME_SCREEN);
+        showScreen(HOME_SCREEN);
         
         // 显示导航面板
         getContentPane().getComponent(1).setVisible(true);
         
         // 添加键盘监听器
-        Component homePanel = contentPanel.getComponent(1);
         homePanel.setFocusable(true);
         homePanel.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (FrameProfiler.handleKey(e)) {
+                    return;
+                }
                 if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                     returnToStartScreen();
                 }
@@ -403,7 +414,7 @@ public class ShapevilleApp extends JFrame {
         getContentPane().getComponent(1).setVisible(false);
         
         // 显示开始界面
-        cardLayout.show(contentPanel, START_SCREEN);
+        showScreen(START_SCREEN);
         
         // 重置开始界面的导航控制
         startScreen.resetNavigation();
@@ -417,7 +428,7 @@ public class ShapevilleApp extends JFrame {
      */
     private void endSession() {
         JOptionPane.showMessageDialog(this, 
-                "You have achieved " + totalScore + " points in this session. Goodbye!", 
+                "You have achieved " + ScoreManager.getScore() + " points in this session. Goodbye!", 
                 "Session Ended", 
                 JOptionPane.INFORMATION_MESSAGE);
         System.exit(0);
@@ -435,105 +446,155 @@ public class ShapevilleApp extends JFrame {
      * Starts the 2D shape identification part of Task 1.
      */
     public void startTask1_2D() {
-        // Initialize the 2D shapes panel if not already done
-        // Show the 2D shapes screen
-        cardLayout.show(contentPanel, SHAPE_2D_SCREEN);
+        // Build the 2D shapes panel if not already done, then show it
+        panels.show(SHAPE_2D_SCREEN);
     }
     
     /**
      * Starts the 3D shape identification part of Task 1.
      */
     public void startTask1_3D() {
-        // Initialize the 3D shapes panel if not already done
-        // Show the 3D shapes screen
-        cardLayout.show(contentPanel, SHAPE_3D_SCREEN);
+        // Build the 3D shapes panel if not already done, then show it
+        panels.show(SHAPE_3D_SCREEN);
     }
     
     /**
      * Starts Task 2 (Angle Type Identification).
      */
     public void startTask2() {
-        // Initialize the angle panel if not already done 
-        // Show the angle screen
-        cardLayout.show(contentPanel, ANGLE_SCREEN);
+        // Build the angle panel if not already done, then show it
+        panels.show(ANGLE_SCREEN);
     }
     
     /**
      * Starts Task 3 (Area Calculation).
      */
     public void startTask3() {
-        // Initialize the area panel if not already done
-        
-        // Show the area screen
-        cardLayout.show(contentPanel, AREA_SCREEN);
+        // Build the area panel if not already done, then show it
+        panels.show(AREA_SCREEN);
     }
     
     /**
      * Starts Task 4 (Circle Calculations).
      */
     public void startTask4() {
-        // Initialize the circle panel if not already don 
-        // Show the circle screen
-        cardLayout.show(contentPanel, CIRCLE_SCREEN);
+        // Build the circle panel if not already done, then show it
+        panels.show(CIRCLE_SCREEN);
     }
 
     /**
      * Starts Bonus Task 1 (Compound Shapes).
      */
     public void startBonus1() {
-        // 初始化CompoundPanel，如果未创建则新建
-
-        // 显示CompoundPanel
-        cardLayout.show(contentPanel, "COMPOUND_SCREEN");
+        // 初始化CompoundPanel，如果未创建则新建，然后显示
+        panels.show(COMPOUND_SCREEN);
     }
     
     /**
      * Starts Bonus Task 2 (Sector Area and Arc Length).
      */
     public void startBonus2() {
-        // 初始化SectorPanel，如果未创建则新建
-        // 显示SectorPanel
-        cardLayout.show(contentPanel, "SECTOR_SCREEN");
+        // 初始化SectorPanel，如果未创建则新建，然后显示
+        panels.show(SECTOR_SCREEN);
     }
     
     /**
-     * Updates the score display with new points.
+     * Shows the total score in the navigation bar.
      *
-     * @param points The points to add to the total score
+     * @param score The total score
      */
-    public void updateScore(int points) {
-        totalScore += points;
-        scoreLabel.setText("Score: " + totalScore);
+    private void showScore(int score) {
+        scoreLabel.setText("Score: " + score);
     }
     
     /**
-     * Updates the progress bar with new progress.
+     * Shows the overall progress in the navigation bar.
      *
-     * @param progress The progress increment to add
+     * @param percent The progress percentage (0-100)
      */
-    public void updateProgress(double progress) {
-        progress_total += progress;
-        System.out.println("progress_total: " + progress_total);
-        int progressValue = (int)Math.round(progress_total);
+    private void showProgress(double percent) {
+        int progressValue = (int)Math.round(percent);
         progressBar.setValue(progressValue);
         progressBar.setString(progressValue + "%");
     }
     
+    /**
+     * Starts rendering every Task 1 shape icon in the background, so the icons are
+     * ready in the cache by the time the student leaves the start screen.
+     * Safe to call more than once; icons that are already cached are skipped.
+     *
+     * @return A future that completes when the icons are in the cache
+     */
+    public static CompletableFuture<Void> warmUpIcons() {
+        long start = System.nanoTime();
+        double deviceScale = ImageProvider.getDeviceScale(null);
+        // The procedurally drawn 2D shapes come from the on-disk atlas when it is up to date
+        return CompletableFuture.allOf(
+                ImageProvider.loadAtlas(ImageProvider.DEFAULT_ATLAS_FILE, Shape2DPanel.getImageNames(),
+                        Collections.emptyList(), ImageProvider.IMAGE_SIZE, deviceScale),
+                ImageProvider.prewarm(Collections.emptyList(), Shape3DPanel.getImagePaths(),
+                        ImageProvider.IMAGE_SIZE, deviceScale))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                    } else {
+                        StartupMetrics.log("Icon warm-up finished in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                    }
+                });
+    }
+
     /**
      * Main method to start the application.
      *
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments; --startup-report prints the startup timeline and exits,
+     *             --train builds the class data archive
      */
     public static void main(String[] args) {
+        launch(ShapevilleApp.class, args);
+    }
+    
+    /**
+     * Starts the application from either entry point: builds the class data archive for
+     * --train, relaunches on the archive, sets the look and feel, starts the background
+     * warm-up and then shows the window, or drives the training run.
+     *
+     * @param mainClass The class whose main method was run, relaunched by the archive steps
+     * @param args Command line arguments of main
+     */
+    static void launch(Class<?> mainClass, String[] args) {
+        if (Arrays.asList(args).contains(ClassDataSharing.TRAIN_OPTION)) {
+            System.exit(ClassDataSharing.train(mainClass, TrainingRun.RUN_OPTION));
+        }
+        // Start again on the class data archive if --train has built one
+        if (ClassDataSharing.relaunchWithArchive(mainClass, args)) {
+            return;
+        }
+        StartupMetrics.start();
+        if (StartupReport.begin(args)) {
+            StartupMetrics.mark("flight recorder");
+        }
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             e.printStackTrace();
         }
+        StartupMetrics.mark("look and feel");
+
+        // Render the task icons on background threads while the start screen plays,
+        // and decode the start screen's pictures while the window is being built
+        CompletableFuture<Void> background = CompletableFuture.allOf(warmUpIcons(), StartScreen.preloadAssets());
+        if (Arrays.asList(args).contains(TrainingRun.RUN_OPTION)) {
+            TrainingRun.drive(background);
+            return;
+        }
         
         SwingUtilities.invokeLater(() -> {
             ShapevilleApp app = new ShapevilleApp();
             app.setVisible(true);
+            StartupMetrics.mark("shown");
+            
+            // Request focus for the start screen to capture key events
+            app.requestFocusInWindow();
         });
     }
     
@@ -546,47 +607,13 @@ public class ShapevilleApp extends JFrame {
         return ScoreManager.getScore();
     }
     
-    /**
-     * Adds progress for Task 1's 2D or 3D part.
-     *
-     * @param part The progress part to add (0.5 for 2D or 3D)
-     */
-    public void addTask1ProgressPart(double part) {
-        double increment = 100.0 / 6.0 * part; // 每个模块占16.67%
-        if (part == 0.5) { // 2D或3D部分完成
-            if (!task1_2dCompleted && part == 0.5) {
-                task1_2dCompleted = true;
-                ScoreManager.setTask1_2dCompleted(true);
-                progress_total += increment;
-                System.out.println("Task1 2D完成: progress_total = " + progress_total);
-                progressBar.setValue((int)Math.round(progress_total));
-                progressBar.setString((int)Math.round(progress_total) + "%");
-            }
-        }
-    }
-    
-    /**
-     * Adds progress for Task 1's 3D part.
-     */
-    public void addTask1Progress3DPart() {
-        double increment = 100.0 / 6.0 * 0.5; // 3D部分占总进度的8.33%
-        if (!task1_3dCompleted) {
-            task1_3dCompleted = true;
-            ScoreManager.setTask1_3dCompleted(true);
-            progress_total += increment;
-            System.out.println("Task1 3D完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
-    }
-    
     /**
      * Checks if Task 1's 2D part is completed.
      *
      * @return true if completed, false otherwise
      */
     public boolean isTask1_2dCompleted() { 
-        return task1_2dCompleted || ScoreManager.isTask1_2dCompleted(); 
+        return ScoreManager.isTask1_2dCompleted(); 
     }
     
     /**
@@ -595,82 +622,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isTask1_3dCompleted() { 
-        return task1_3dCompleted || ScoreManager.isTask1_3dCompleted();
-    }
-    
-    /**
-     * Adds progress for Task 2 completion.
-     */
-    public void addTask2Progress() {
-        double increment = 100.0 / 6.0; // 每个模块占16.67%
-        if (!task2Completed) {
-            task2Completed = true;
-            ScoreManager.setTask2Completed(true);
-            progress_total += increment;
-            System.out.println("Task2完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
-    }
-    
-    /**
-     * Adds progress for Task 3 completion.
-     */
-    public void addTask3Progress() {
-        double increment = 100.0 / 6.0;
-        if (!task3Completed) {
-            task3Completed = true;
-            ScoreManager.setTask3Completed(true);
-            progress_total += increment;
-            System.out.println("Task3完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
-    }
-    
-    /**
-     * Adds progress for Task 4 completion.
-     */
-    public void addTask4Progress() {
-        double increment = 100.0 / 6.0;
-        if (!task4Completed) {
-            task4Completed = true;
-            ScoreManager.setTask4Completed(true);
-            progress_total += increment;
-            System.out.println("Task4完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
-    }
-    
-    /**
-     * Adds progress for Bonus Task 1 completion.
-     */
-    public void addBonus1Progress() {
-        double increment = 100.0 / 6.0;
-        if (!bonus1Completed) {
-            bonus1Completed = true;
-            ScoreManager.setBonus1Completed(true);
-            progress_total += increment;
-            System.out.println("Bonus1完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
-    }
-    
-    /**
-     * Adds progress for Bonus Task 2 completion.
-     */
-    public void addBonus2Progress() {
-        double increment = 100.0 / 6.0;
-        if (!bonus2Completed) {
-            bonus2Completed = true;
-            ScoreManager.setBonus2Completed(true);
-            progress_total += increment;
-            System.out.println("Bonus2完成: progress_total = " + progress_total);
-            progressBar.setValue((int)Math.round(progress_total));
-            progressBar.setString((int)Math.round(progress_total) + "%");
-        }
+        return ScoreManager.isTask1_3dCompleted();
     }
     
     /**
@@ -679,7 +631,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isTask2Completed() { 
-        return task2Completed || ScoreManager.isTask2Completed(); 
+        return ScoreManager.isTask2Completed(); 
     }
     
     /**
@@ -688,7 +640,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isTask3Completed() { 
-        return task3Completed || ScoreManager.isTask3Completed(); 
+        return ScoreManager.isTask3Completed(); 
     }
     
     /**
@@ -697,7 +649,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isTask4Completed() { 
-        return task4Completed || ScoreManager.isTask4Completed(); 
+        return ScoreManager.isTask4Completed(); 
     }
     
     /**
@@ -706,7 +658,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isBonus1Completed() { 
-        return bonus1Completed || ScoreManager.isBonus1Completed(); 
+        return ScoreManager.isBonus1Completed(); 
     }
     
     /**
@@ -715,7 +667,7 @@ public class ShapevilleApp extends JFrame {
      * @return true if completed, false otherwise
      */
     public boolean isBonus2Completed() { 
-        return bonus2Completed || ScoreManager.isBonus2Completed(); 
+        return ScoreManager.isBonus2Completed(); 
     }
     
     /**
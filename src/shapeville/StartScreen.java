@@ -1,13 +1,27 @@
 package shapeville;
 
+import shapeville.physics.Body;
+import shapeville.physics.Collider;
+import shapeville.physics.PhysicsWorld;
+import shapeville.physics.Trigger;
+import shapeville.utils.AssetLoader;
+import shapeville.utils.DirtyRegion;
+import shapeville.utils.FrameProfiler;
+import shapeville.utils.GameLoop;
+import shapeville.utils.ParticleSystem;
+import shapeville.utils.SpriteManager;
+import shapeville.utils.StartupMetrics;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.Path2D;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.geom.AffineTransform;
-import java.util.ArrayList;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The start screen of the Shapeville application.
@@ -22,49 +36,49 @@ public class StartScreen extends JPanel implements KeyListener {
     /** The main application instance */
     private ShapevilleApp app;
     
-    /** Image resources */
-    private Image littlePersonImage;
-    private Image cloudImage;
-    private Image lockImage;
-    private Image bonusImage;
-    private Image doorImage;
-    private Image doorOpenImage;
+    /** Pictures decoded in the background, see {@link #preloadAssets()} */
+    private static final String PERSON_IMAGE = "/shapeville/images/start_backgound/little_person.png";
+    private static final String DOOR_IMAGE = "/shapeville/images/start_backgound/Door.png";
+    private static final String DOOR_OPEN_IMAGE = "/shapeville/images/start_backgound/Door_open.png";
+    
+    /** Image resources, kept as accelerated sprites; null until decoded, with placeholders drawn meanwhile */
+    private SpriteManager.Sprite littlePersonImage;
+    private SpriteManager.Sprite doorImage;
+    private SpriteManager.Sprite doorOpenImage;
     
     /** Door animation state management */
     private boolean isDoorOpening = false;
     private long doorOpenTime = 0;
     private final int DOOR_OPEN_DELAY = 1000; // 1 second delay
     
-    /** Key Stage 1 navigation delay management */
-    private boolean keyStage1NavigationPending = false;
-    private long keyStage1NavigationTime = 0;
+    /** Key Stage 1 navigation delay */
     private final int KEY_STAGE1_NAVIGATION_DELAY = 5000; // 5 seconds delay
     
     /** Navigation control flag */
     private boolean navigationTriggered = false;
     
     /** Character properties and physics */
-    private int personX = 180;
-    private int personY = 620;
-    private int personWidth = 50;
-    private int personHeight = 50;
-    private boolean isJumping = false;
-    private boolean isFalling = false;
+    private final Body person = new Body(180, 620, 50, 50);
+    /** Character position before the last step, and where it is drawn between steps */
+    private int previousPersonX = person.x;
+    private int previousPersonY = person.y;
+    private int drawPersonX = person.x;
+    private int drawPersonY = person.y;
     private int jumpCount = 0;
     private int maxJumpCount = 2;
     private int jumpVelocity = -15;
-    private int fallVelocity = 0;
     private int gravity = 1;
-    private int groundLevel = 620;
-    
-    /** Button interaction states */
-    private boolean standingOnStage1 = false;
-    private boolean standingOnStage2 = false;
     
     /** Interactive areas on screen */
     private Rectangle titleArea = new Rectangle(350, 320, 500, 120);
     private Rectangle keyStage2Area = new Rectangle(350, 500, 500, 70);
     private Rectangle keyStage1Area = new Rectangle(350, 600, 500, 70);
+    
+    /** The signs the character can land on, and the places that react when it stands there */
+    private final PhysicsWorld world = new PhysicsWorld();
+    private Collider keyStage1Platform;
+    private Collider keyStage2Platform;
+    private Trigger doorTrigger;
     private Rectangle bonusButtonArea;
     private Rectangle bonusCaveArea;
     
@@ -74,13 +88,58 @@ public class StartScreen extends JPanel implements KeyListener {
     private boolean bonusButtonHover = false;
     
     /** Animated elements */
-    private ArrayList<FancyCloud> clouds = new ArrayList<>();
-    private ArrayList<Star> stars = new ArrayList<>();
-    private Timer animationTimer;
+    private ParticleSystem clouds;
+    private ParticleSystem stars;
+    /** Seasonal snow or confetti over the whole screen, or null for none */
+    private ParticleSystem weather;
+    
+    /**
+     * Set -Dshapeville.theme=snow, confetti or auto (snow in December and January). Off by
+     * default: full-screen weather repaints nearly the whole screen every frame, which is too
+     * much for low-end classroom machines.
+     */
+    private static final String THEME = System.getProperty("shapeville.theme", "none");
+    /** Set -Dshapeville.particles to change how many snowflakes or confetti pieces fall */
+    private static final int WEATHER_PARTICLES = Integer.getInteger("shapeville.particles", 2000);
+    /** Runs the physics in fixed steps and renders at the display's refresh rate */
+    private GameLoop gameLoop;
+    /** Length of one physics step; gravity, jump and cloud speeds are tuned for it */
+    private static final int STEP_MILLIS = 30;
     
     /** Title animation parameters */
     private float titlePulse = 0f;
     private float titlePulseDirection = 0.01f;
+    
+    /** Off-screen copy of the parts of the scene that do not move */
+    private BufferedImage sceneryLayer;
+    /** The size, device scale, door position and highlight flags the scenery layer was drawn with */
+    private int sceneryWidth = -1;
+    private int sceneryHeight = -1;
+    private double sceneryScale = -1;
+    private int sceneryDoorX = -1;
+    private int sceneryDoorY = -1;
+    private int sceneryFlags = -1;
+    /** Set when a door image arrives and the layer has to be drawn again */
+    private boolean sceneryStale = false;
+    
+    /** Set -Dshapeville.paintStats=true to print how many pixels the start screen paints per frame */
+    private static final boolean PAINT_STATS = Boolean.getBoolean("shapeville.paintStats");
+    private static final int PAINT_STATS_INTERVAL = 100;
+    
+    /** Areas changed by the current animation tick */
+    private final DirtyRegion dirtyRegion = new DirtyRegion();
+    /** Scratch rectangle each changed area is clipped into before it is painted */
+    private final Rectangle paintArea = new Rectangle();
+    /** Where the character, door and signs were when last painted */
+    private final Rectangle paintedPersonBounds = new Rectangle();
+    private final Rectangle paintedDoorArea = new Rectangle();
+    private int paintedFlags = -1;
+    /** Set when the next tick must repaint the whole panel, e.g. after a resize */
+    private boolean fullRepaintPending = true;
+    
+    /** Pixels painted and ticks counted since the last stats line */
+    private long paintedPixels = 0;
+    private int statsTicks = 0;
 
     /**
      * Constructs a new StartScreen with the specified application instance.
@@ -97,43 +156,28 @@ public class StartScreen extends JPanel implements KeyListener {
         bonusButtonArea = new Rectangle(1000, 700, 120, 40);
         bonusCaveArea = new Rectangle(1000, 750, 150, 150); // Larger cave area
         
-        // Load images
-        try {
-            // Load images
-            littlePersonImage = new ImageIcon(getClass().getResource("/shapeville/images/start_backgound/little_person.png")).getImage();
-            cloudImage = new ImageIcon(getClass().getResource("/shapeville/images/start_backgound/cloud_example.png")).getImage();
-            lockImage = new ImageIcon(getClass().getResource("/shapeville/images/enter_page/lock.png")).getImage();
-            bonusImage = new ImageIcon(getClass().getResource("/shapeville/images/start_backgound/bonus.png")).getImage();
-            doorImage = new ImageIcon(getClass().getResource("/shapeville/images/start_backgound/Door.png")).getImage();
-            doorOpenImage = new ImageIcon(getClass().getResource("/shapeville/images/start_backgound/Door_open.png")).getImage();
-            System.out.println("Bonus image loaded: " + (bonusImage != null)); // Debug
-            System.out.println("Door image loaded: " + (doorImage != null)); // Debug
-            System.out.println("Door open image loaded: " + (doorOpenImage != null)); // Debug
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        
-        // Initialize clouds
-        Random random = new Random();
-        for (int i = 0; i < 8; i++) {
-            FancyCloud cloud = new FancyCloud(
-                random.nextInt(1200), 
-                random.nextInt(200), 
-                60 + random.nextInt(80),
-                40 + random.nextInt(30),
-                0.7f + random.nextFloat() * 1.3f
-            );
-            clouds.add(cloud);
-        }
+        // Load images in the background; the first frames draw placeholders instead
+        preloadAssets();
+        AssetLoader.loadSprite(PERSON_IMAGE, sprite -> {
+            littlePersonImage = sprite;
+            dirtyRegion.add(paintedPersonBounds);
+        });
+        AssetLoader.loadSprite(DOOR_IMAGE, sprite -> {
+            doorImage = sprite;
+            invalidateDoor();
+        });
+        AssetLoader.loadSprite(DOOR_OPEN_IMAGE, sprite -> {
+            doorOpenImage = sprite;
+            invalidateDoor();
+        });
         
-        // Initialize stars
-        for (int i = 0; i < 25; i++) {
-            stars.add(new Star(
-                random.nextInt(1200),
-                random.nextInt(300),
-                2 + random.nextInt(3),
-                random.nextInt(60) + 20
-            ));
+        // One seeded generator for every particle; -Dshapeville.particleSeed repeats a scene
+        Random random = new Random(Long.getLong("shapeville.particleSeed", System.nanoTime()));
+        clouds = ParticleSystem.clouds(8, random);
+        stars = ParticleSystem.stars(25, random);
+        ParticleSystem.Style weatherStyle = weatherStyle();
+        if (weatherStyle != null) {
+            weather = ParticleSystem.weather(weatherStyle, WEATHER_PARTICLES, 1200, 800, random);
         }
         
         // Mouse listener for hover effects and clicks
@@ -143,7 +187,10 @@ public class StartScreen extends JPanel implements KeyListener {
                 keyStage1Hover = keyStage1Area.contains(e.getPoint());
                 keyStage2Hover = keyStage2Area.contains(e.getPoint());
                 bonusButtonHover = bonusButtonArea.contains(e.getPoint()) || bonusCaveArea.contains(e.getPoint());
-                repaint();
+                // Only the signs whose highlight changed need repainting
+                if (sceneryFlags() != paintedFlags) {
+                    repaintDirtyRegions();
+                }
             }
         });
         
@@ -156,24 +203,37 @@ public class StartScreen extends JPanel implements KeyListener {
                     navigateToMainScreen(2); // Key Stage 2
                 } else if (bonusButtonArea.contains(e.getPoint()) || bonusCaveArea.contains(e.getPoint())) {
                     // If clicked on the door, start the door opening sequence
-                    if (!isDoorOpening && !navigationTriggered) {
-                        isDoorOpening = true;
-                        doorOpenTime = System.currentTimeMillis();
-                    }
+                    openDoor();
                 }
             }
         });
         
-        // Start animation timer
-        animationTimer = new Timer(30, new ActionListener() {
+        // The world the character moves in: the two Key Stage signs are platforms, standing on
+        // Key Stage 1 for five seconds enters it, and walking up to the door opens it
+        world.setFloor(670);
+        keyStage2Platform = world.addPlatform("Key Stage 2", keyStage2Area);
+        keyStage1Platform = world.addPlatform("Key Stage 1", keyStage1Area);
+        world.addTrigger("Key Stage 1", platformTop(keyStage1Area), KEY_STAGE1_NAVIGATION_DELAY, () -> {
+            if (!navigationTriggered) {
+                navigationTriggered = true;
+                navigateToMainScreen(1);
+            }
+        });
+        doorTrigger = world.addTrigger("Bonus door", doorThreshold(), 0, this::openDoor);
+        
+        // Start the animation loop; it pauses by itself while the screen is hidden or minimized
+        gameLoop = new GameLoop(this, STEP_MILLIS, new GameLoop.Listener() {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            public void update() {
+                previousPersonX = person.x;
+                previousPersonY = person.y;
                 updateAnimations();
                 
                 // Update bonus button location if needed
                 if (getWidth() > 0 && getHeight() > 0) {
                     // Set the ground level to the bottom of the screen
-                    groundLevel = getHeight() - personHeight - 10;
+                    world.setArea(getWidth(), getHeight());
+                    world.setFloor(getHeight() - 10);
                     
                     int rightMargin = 30;
                     
@@ -189,162 +249,186 @@ public class StartScreen extends JPanel implements KeyListener {
                     bonusButtonArea.height = 35;
                     bonusButtonArea.x = bonusCaveArea.x + (bonusCaveArea.width - bonusButtonArea.width) / 2;
                     bonusButtonArea.y = bonusCaveArea.y - bonusButtonArea.height - 5; // Above the door
-                    
-                    // Check if person is near the door to trigger door opening
-                    if (!isDoorOpening && !navigationTriggered && !isJumping && !isFalling && 
-                        personX + personWidth > bonusCaveArea.x && 
-                        personX < bonusCaveArea.x + bonusCaveArea.width &&
-                        personY + personHeight >= bonusCaveArea.y + bonusCaveArea.height - 30) {
-                        // Start door opening sequence
-                        isDoorOpening = true;
-                        doorOpenTime = System.currentTimeMillis();
-                    }
+                    world.setBounds(doorTrigger, doorThreshold());
                     
                     // Check if it's time to navigate after door has been open for the delay period
                     if (isDoorOpening && !navigationTriggered && 
-                        System.currentTimeMillis() - doorOpenTime >= DOOR_OPEN_DELAY) {
+                        gameLoop.getSimulatedMillis() - doorOpenTime >= DOOR_OPEN_DELAY) {
                         // Set flag to prevent repeated navigation
                         navigationTriggered = true;
                         // Navigate to Bonus Tasks (level 3)
                         navigateToMainScreen(3);
                     }
                 }
-                
+            }
+            
+            @Override
+            public void render(double alpha) {
+                // Draw moving things part way between their last two steps
+                drawPersonX = (int) Math.round(previousPersonX + (person.x - previousPersonX) * alpha);
+                drawPersonY = (int) Math.round(previousPersonY + (person.y - previousPersonY) * alpha);
+                clouds.interpolate(alpha);
+                stars.interpolate(alpha);
+                if (weather != null) {
+                    weather.interpolate(alpha);
+                }
+                repaintDirtyRegions();
+            }
+        });
+        
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                fullRepaintPending = true;
                 repaint();
             }
         });
-        animationTimer.start();
     }
     
     /**
-     * Updates all animations and game states.
-     * This includes cloud movement, star twinkling, and character physics.
+     * Repaints only what moved or changed since the last tick: each cloud, star, the character,
+     * the door and any sign whose highlight changed, at both their old and new positions.
+     * Separate areas are painted one by one rather than through repaint(), which would merge
+     * them into a single bounding box covering most of the screen.
      */
-    private void updateAnimations() {
-        // Update clouds
-        for (FancyCloud cloud : clouds) {
-            cloud.move();
+    private void repaintDirtyRegions() {
+        if (!isShowing()) {
+            return;
         }
-        
-        // Update stars
-        for (Star star : stars) {
-            star.update();
+        if (!bonusCaveArea.equals(paintedDoorArea)) {
+            // The door and sign were laid out again, e.g. after a resize
+            fullRepaintPending = true;
         }
         
-        // Update title pulse effect
-        titlePulse += titlePulseDirection;
-        if (titlePulse > 1.0f || titlePulse < 0.0f) {
-            titlePulseDirection *= -1;
+        clouds.addDirtyAreas(dirtyRegion);
+        stars.addDirtyAreas(dirtyRegion);
+        if (weather != null) {
+            weather.addDirtyAreas(dirtyRegion);
         }
         
-        // Reset button standing states
-        boolean wasStandingOnStage1 = standingOnStage1;
-        standingOnStage1 = false;
-        standingOnStage2 = false;
+        dirtyRegion.add(paintedPersonBounds);
+        paintedPersonBounds.setBounds(drawPersonX, drawPersonY, person.width, person.height);
+        dirtyRegion.add(paintedPersonBounds);
         
-        // Update little person physics if needed
-        if (isJumping || isFalling) {
-            // Apply gravity
-            fallVelocity += gravity;
-            personY += fallVelocity;
-            
-            // Check if we've landed on the ground or on a button
-            if (personY >= groundLevel) {
-                // Landed on ground
-                personY = groundLevel;
-                isJumping = false;
-                isFalling = false;
-                fallVelocity = 0;
-                jumpCount = 0;
-                
-                // Cancel any pending navigation since we're on the ground
-                keyStage1NavigationPending = false;
-            } else {
-                // Check if landed on Key Stage 1 button
-                if (fallVelocity > 0 &&
-                    personX + personWidth/2 >= keyStage1Area.x &&
-                    personX + personWidth/2 <= keyStage1Area.x + keyStage1Area.width &&
-                    personY + personHeight <= keyStage1Area.y + 5 &&
-                    personY + personHeight + fallVelocity >= keyStage1Area.y) {
-                    
-                    // Land on Key Stage 1 button
-                    personY = keyStage1Area.y - personHeight;
-                    isJumping = false;
-                    isFalling = false;
-                    fallVelocity = 0;
-                    jumpCount = 0;
-                    standingOnStage1 = true;
-                    
-                    // Start Key Stage 1 navigation timer if not already pending
-                    if (!keyStage1NavigationPending && !navigationTriggered) {
-                        keyStage1NavigationPending = true;
-                        keyStage1NavigationTime = System.currentTimeMillis();
-                    }
-                }
-                
-                // Check if landed on Key Stage 2 button
-                else if (fallVelocity > 0 &&
-                    personX + personWidth/2 >= keyStage2Area.x &&
-                    personX + personWidth/2 <= keyStage2Area.x + keyStage2Area.width &&
-                    personY + personHeight <= keyStage2Area.y + 5 &&
-                    personY + personHeight + fallVelocity >= keyStage2Area.y) {
-                    
-                    // Land on Key Stage 2 button
-                    personY = keyStage2Area.y - personHeight;
-                    isJumping = false;
-                    isFalling = false;
-                    fallVelocity = 0;
-                    jumpCount = 0;
-                    standingOnStage2 = true;
-                    
-                    // Cancel any pending Key Stage 1 navigation when landing on Key Stage 2
-                    keyStage1NavigationPending = false;
-                }
-            }
+        int flags = sceneryFlags();
+        int changedFlags = flags ^ paintedFlags;
+        if ((changedFlags & 1) != 0) {
+            addSignArea(keyStage1Area);
+        }
+        if ((changedFlags & 2) != 0) {
+            addSignArea(keyStage2Area);
+        }
+        if ((changedFlags & (4 | 8)) != 0) {
+            addSignArea(bonusButtonArea);
+            dirtyRegion.add(bonusCaveArea);
+        }
+        paintedFlags = flags;
+        
+        if (fullRepaintPending) {
+            fullRepaintPending = false;
+            paintedDoorArea.setBounds(bonusCaveArea);
+            dirtyRegion.clear();
+            repaint();
         } else {
-            // Check if we're standing on a button
-            if (personY + personHeight == keyStage1Area.y &&
-                personX + personWidth/2 >= keyStage1Area.x &&
-                personX + personWidth/2 <= keyStage1Area.x + keyStage1Area.width) {
-                standingOnStage1 = true;
-                
-                // Start Key Stage 1 navigation timer if not already pending
-                if (!keyStage1NavigationPending && !navigationTriggered) {
-                    keyStage1NavigationPending = true;
-                    keyStage1NavigationTime = System.currentTimeMillis();
-                }
-            } else if (personY + personHeight == keyStage2Area.y &&
-                       personX + personWidth/2 >= keyStage2Area.x &&
-                       personX + personWidth/2 <= keyStage2Area.x + keyStage2Area.width) {
-                standingOnStage2 = true;
-                
-                // Cancel any pending Key Stage 1 navigation when standing on Key Stage 2
-                keyStage1NavigationPending = false;
-            } else if (personY < groundLevel && !isJumping) {
-                // If we're not on ground and not on a button, start falling
-                isFalling = true;
-                
-                // Cancel any pending navigation if we're not on Key Stage 1 button anymore
-                if (!standingOnStage1) {
-                    keyStage1NavigationPending = false;
+            for (int i = 0; i < dirtyRegion.size(); i++) {
+                // Clouds wait off the right edge before drifting in
+                dirtyRegion.getRectangle(i, paintArea);
+                SwingUtilities.computeIntersection(0, 0, getWidth(), getHeight(), paintArea);
+                if (!paintArea.isEmpty()) {
+                    paintImmediately(paintArea);
                 }
             }
+            dirtyRegion.clear();
         }
         
-        // If we were standing on stage 1 but now we're not, cancel navigation
-        if (wasStandingOnStage1 && !standingOnStage1) {
-            keyStage1NavigationPending = false;
+        if (PAINT_STATS && ++statsTicks == PAINT_STATS_INTERVAL) {
+            long panelPixels = Math.max(1L, (long) getWidth() * getHeight());
+            long perFrame = paintedPixels / statsTicks;
+            System.out.println("StartScreen: " + perFrame + " pixels painted per frame ("
+                    + (100 * perFrame / panelPixels) + "% of " + getWidth() + "x" + getHeight() + ")");
+            paintedPixels = 0;
+            statsTicks = 0;
+        }
+    }
+    
+    /**
+     * Marks the area a sign covers, including its drop shadow and border, for repainting.
+     *
+     * @param area the sign's area
+     */
+    private void addSignArea(Rectangle area) {
+        dirtyRegion.add(area.x - 6, area.y - 6, area.width + 12 + 5, area.height + 12 + 5);
+    }
+    
+    /**
+     * Updates all animations and game states.
+     * This includes cloud movement, star twinkling, and character physics.
+     */
+    private void updateAnimations() {
+        // Update clouds, stars and any seasonal weather
+        clouds.setArea(getWidth(), getHeight());
+        clouds.update();
+        stars.update();
+        if (weather != null) {
+            weather.setArea(getWidth(), getHeight());
+            weather.update();
+        }
+        
+        // Update title pulse effect
+        titlePulse += titlePulseDirection;
+        if (titlePulse > 1.0f || titlePulse < 0.0f) {
+            titlePulseDirection *= -1;
         }
         
-        // Check if Key Stage 1 navigation delay has passed
-        if (keyStage1NavigationPending && !navigationTriggered && 
-            System.currentTimeMillis() - keyStage1NavigationTime >= KEY_STAGE1_NAVIGATION_DELAY) {
-            // Set flag to prevent repeated navigation
-            keyStage1NavigationPending = false;
-            navigationTriggered = true;
-            // Navigate to Key Stage 1
-            navigateToMainScreen(1);
+        // Move the character: gravity, landing on the signs or the ground, walking off edges
+        world.step(person, gravity);
+        if (person.isGrounded()) {
+            jumpCount = 0;
         }
+        
+        // Standing on Key Stage 1 or at the door sets off their delays
+        world.updateTriggers(person, gameLoop.getSimulatedMillis());
+    }
+    
+    /**
+     * Starts opening the bonus door, unless it is already open or the screen is leaving.
+     */
+    private void openDoor() {
+        if (!isDoorOpening && !navigationTriggered) {
+            isDoorOpening = true;
+            doorOpenTime = gameLoop.getSimulatedMillis();
+        }
+    }
+    
+    /**
+     * Gets the strip along the top of a sign where the character's feet are when standing on it.
+     *
+     * @param area the sign's area
+     * @return the trigger area
+     */
+    private static Rectangle platformTop(Rectangle area) {
+        return new Rectangle(area.x, area.y - 1, area.width + 1, 2);
+    }
+    
+    /**
+     * Gets the area in front of the bottom of the door where the character's feet open it.
+     * The character opens it as soon as any part of it overlaps the door.
+     *
+     * @return the trigger area
+     */
+    private Rectangle doorThreshold() {
+        return new Rectangle(bonusCaveArea.x - person.width / 2 + 1, bonusCaveArea.y + bonusCaveArea.height - 30,
+                bonusCaveArea.width + person.width - 1, 31);
+    }
+    
+    /**
+     * Checks whether the character is standing on a platform.
+     *
+     * @param platform the platform
+     * @return true if it is standing there
+     */
+    private boolean isStandingOn(Collider platform) {
+        return person.getSupport() == platform;
     }
     
     /**
@@ -360,60 +444,138 @@ public class StartScreen extends JPanel implements KeyListener {
     
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        // No super.paintComponent: the opaque scenery layer covers every pixel anyway
         Graphics2D g2d = (Graphics2D) g;
+        if (PAINT_STATS) {
+            Rectangle clip = g2d.getClipBounds();
+            paintedPixels += clip != null ? (long) clip.width * clip.height : (long) getWidth() * getHeight();
+        }
         
         // Enable anti-aliasing for smoother rendering
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         
-        // Draw sky background - gradient from top to bottom
-        GradientPaint skyGradient = new GradientPaint(
-            0, 0, new Color(86, 180, 255),
-            0, getHeight(), new Color(77, 166, 255)
-        );
-        g2d.setPaint(skyGradient);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-        
-        // Draw stars
-        for (Star star : stars) {
-            g2d.setColor(new Color(255, 255, 255, star.alpha));
-            g2d.fillOval(star.x, star.y, star.size, star.size);
-            
-            // Add a subtle glow around stars
-            AlphaComposite alphaComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.2f * star.alpha / 255f);
-            g2d.setComposite(alphaComposite);
-            g2d.fillOval(star.x - 2, star.y - 2, star.size + 4, star.size + 4);
-            g2d.setComposite(AlphaComposite.SrcOver);
-        }
-        
-        // Draw clouds
-        for (FancyCloud cloud : clouds) {
-            cloud.draw(g2d);
-        }
-        
-        // Draw mountains (two mountains at the bottom)
-        drawMountains(g2d);
-        
-        // Draw SHAPEVILLE title with decorations
-        drawShapevilleTitle(g2d);
-        
-        // Draw Key Stage signs
-        drawKeyStageSign(g2d, keyStage2Area, "Key Stage 2", keyStage2Hover || standingOnStage2);
-        drawKeyStageSign(g2d, keyStage1Area, "Key Stage 1", keyStage1Hover || standingOnStage1);
+        // Sky, mountains, title, signs and the door come from the cached layer
+        double scale = Math.max(1.0, g2d.getTransform().getScaleX());
+        g2d.drawImage(getSceneryLayer(scale), 0, 0, getWidth(), getHeight(), null);
+        StartupMetrics.firstFrame();
         
-        // Draw Bonus Tasks button in the bottom right corner
-        drawBonusButton(g2d);
+        // Draw stars, then clouds
+        stars.draw(g2d);
+        clouds.draw(g2d);
         
         // Draw little person character
         if (littlePersonImage != null) {
-            g2d.drawImage(littlePersonImage, personX, personY, personWidth, personHeight, null);
+            littlePersonImage.draw(g2d, drawPersonX, drawPersonY, person.width, person.height);
         } else {
-            // Fallback if image not loaded
-            g2d.setColor(Color.RED);
-            g2d.fillRect(personX, personY, personWidth, personHeight);
+            // Placeholder until the image has been decoded
+            drawPersonPlaceholder(g2d, drawPersonX, drawPersonY, person.width, person.height);
+        }
+        
+        // Seasonal weather falls in front of everything
+        if (weather != null) {
+            weather.draw(g2d);
+        }
+    }
+    
+    /**
+     * Picks the seasonal weather from -Dshapeville.theme.
+     *
+     * @return SNOW, CONFETTI, or null for a clear sky
+     */
+    private static ParticleSystem.Style weatherStyle() {
+        switch (THEME.toLowerCase()) {
+            case "snow":
+                return ParticleSystem.Style.SNOW;
+            case "confetti":
+                return ParticleSystem.Style.CONFETTI;
+            case "auto":
+                int month = LocalDate.now().getMonthValue();
+                return month == 12 || month == 1 ? ParticleSystem.Style.SNOW : null;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Gets the highlight and door state shown in the scenery layer as bit flags.
+     *
+     * @return 1 for Key Stage 1 highlighted, 2 for Key Stage 2, 4 for the bonus sign, 8 for the open door
+     */
+    private int sceneryFlags() {
+        return (keyStage1Hover || isStandingOn(keyStage1Platform) ? 1 : 0)
+                | (keyStage2Hover || isStandingOn(keyStage2Platform) ? 2 : 0)
+                | (bonusButtonHover ? 4 : 0)
+                | (isDoorOpening ? 8 : 0);
+    }
+    
+    /**
+     * Gets the static part of the scene, redrawing it only when the size, the device scale,
+     * the door position, a sign's highlight or the door's open state has changed since it was
+     * last drawn. The clouds, stars, character and any weather are drawn over it each frame.
+     *
+     * @param scale The device scale of the screen being painted
+     * @return the scenery layer, the size of the panel in device pixels
+     */
+    private BufferedImage getSceneryLayer(double scale) {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        int flags = sceneryFlags();
+        if (sceneryLayer != null && width == sceneryWidth && height == sceneryHeight && scale == sceneryScale
+                && bonusCaveArea.x == sceneryDoorX && bonusCaveArea.y == sceneryDoorY && flags == sceneryFlags
+                && !sceneryStale) {
+            return sceneryLayer;
+        }
+        
+        // Only reallocate when the size changes; a highlight change just redraws
+        if (sceneryLayer == null || width != sceneryWidth || height != sceneryHeight || scale != sceneryScale) {
+            if (sceneryLayer != null) {
+                sceneryLayer.flush();
+            }
+            sceneryLayer = SpriteManager.createCompatibleImage(
+                    (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), Transparency.OPAQUE);
+        }
+        sceneryWidth = width;
+        sceneryHeight = height;
+        sceneryScale = scale;
+        sceneryDoorX = bonusCaveArea.x;
+        sceneryDoorY = bonusCaveArea.y;
+        sceneryFlags = flags;
+        sceneryStale = false;
+        
+        Graphics2D g2d = sceneryLayer.createGraphics();
+        try {
+            // Draw in logical coordinates; the layer holds them at device resolution
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            
+            // Draw sky background - gradient from top to bottom
+            GradientPaint skyGradient = new GradientPaint(
+                0, 0, new Color(86, 180, 255),
+                0, height, new Color(77, 166, 255)
+            );
+            g2d.setPaint(skyGradient);
+            g2d.fillRect(0, 0, width, height);
+            
+            // Draw mountains (two mountains at the bottom)
+            drawMountains(g2d);
+            
+            // Draw SHAPEVILLE title with decorations
+            drawShapevilleTitle(g2d);
+            
+            // Draw Key Stage signs
+            drawKeyStageSign(g2d, keyStage2Area, "Key Stage 2", keyStage2Hover || isStandingOn(keyStage2Platform));
+            drawKeyStageSign(g2d, keyStage1Area, "Key Stage 1", keyStage1Hover || isStandingOn(keyStage1Platform));
+            
+            // Draw Bonus Tasks button in the bottom right corner
+            drawBonusButton(g2d);
+        } finally {
+            g2d.dispose();
         }
+        return sceneryLayer;
     }
     
     /**
@@ -746,6 +908,78 @@ public class StartScreen extends JPanel implements KeyListener {
         }
     }
     
+    /**
+     * Draws a simple figure in place of the character image.
+     *
+     * @param g2d The graphics context to draw with
+     * @param x The left edge
+     * @param y The top edge
+     * @param width The width
+     * @param height The height
+     */
+    private void drawPersonPlaceholder(Graphics2D g2d, int x, int y, int width, int height) {
+        Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int head = height * 2 / 5;
+        g2d.setColor(new Color(70, 130, 180)); // Steel blue body
+        g2d.fillRoundRect(x + width / 5, y + head - 2, width * 3 / 5, height - head + 2, width / 3, width / 3);
+        g2d.setColor(new Color(255, 218, 185)); // Skin tone head
+        g2d.fillOval(x + (width - head) / 2, y, head, head);
+        g2d.setColor(new Color(60, 60, 60));
+        g2d.drawOval(x + (width - head) / 2, y, head, head);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+    
+    /**
+     * Draws an arched wooden door in place of the door images.
+     *
+     * @param g2d The graphics context to draw with
+     * @param area The door area
+     * @param open Whether to draw the doorway open
+     */
+    private void drawDoorPlaceholder(Graphics2D g2d, Rectangle area, boolean open) {
+        int inset = area.width / 6;
+        Shape door = new RoundRectangle2D.Float(area.x + inset, area.y + inset, area.width - 2 * inset,
+                area.height - inset, area.width - 2 * inset, area.width - 2 * inset);
+        // Stone frame
+        g2d.setColor(new Color(120, 110, 100));
+        g2d.fill(new RoundRectangle2D.Float(area.x + inset / 2f, area.y + inset / 2f, area.width - inset,
+                area.height - inset / 2f, area.width - inset, area.width - inset));
+        if (open) {
+            g2d.setColor(new Color(30, 20, 10)); // Dark doorway
+            g2d.fill(door);
+            return;
+        }
+        g2d.setColor(new Color(139, 90, 43)); // Wood
+        g2d.fill(door);
+        g2d.setColor(new Color(101, 67, 33));
+        g2d.setStroke(new BasicStroke(2));
+        g2d.draw(door);
+        // Planks and knob
+        int centre = area.x + area.width / 2;
+        g2d.drawLine(centre, area.y + inset + 4, centre, area.y + area.height - 2);
+        g2d.setColor(new Color(255, 215, 0));
+        g2d.fillOval(centre + area.width / 8, area.y + area.height * 3 / 5, 8, 8);
+    }
+    
+    /**
+     * Redraws the door once a door image has been decoded.
+     */
+    private void invalidateDoor() {
+        sceneryStale = true;
+        dirtyRegion.add(bonusCaveArea);
+    }
+    
+    /**
+     * Starts decoding the start screen's pictures in the background. Called from {@code main}
+     * so decoding overlaps building the window; calling it again does nothing.
+     *
+     * @return A future that completes when the pictures have been decoded
+     */
+    public static CompletableFuture<Void> preloadAssets() {
+        return AssetLoader.preload(PERSON_IMAGE, DOOR_IMAGE, DOOR_OPEN_IMAGE);
+    }
+    
     /**
      * Draws the bonus button and door with animation effects.
      *
@@ -755,14 +989,13 @@ public class StartScreen extends JPanel implements KeyListener {
         // Draw the door image - either closed or open depending on state
         if (isDoorOpening && doorOpenImage != null) {
             // Draw the open door when opening animation is active
-            g2d.drawImage(doorOpenImage, bonusCaveArea.x, bonusCaveArea.y, bonusCaveArea.width, bonusCaveArea.height, this);
+            doorOpenImage.draw(g2d, bonusCaveArea.x, bonusCaveArea.y, bonusCaveArea.width, bonusCaveArea.height);
         } else if (doorImage != null) {
             // Draw the closed door normally
-            g2d.drawImage(doorImage, bonusCaveArea.x, bonusCaveArea.y, bonusCaveArea.width, bonusCaveArea.height, this);
+            doorImage.draw(g2d, bonusCaveArea.x, bonusCaveArea.y, bonusCaveArea.width, bonusCaveArea.height);
         } else {
-            // Fallback to black rectangle if images fail to load
-            g2d.setColor(Color.BLACK);
-            g2d.fillRoundRect(bonusCaveArea.x, bonusCaveArea.y, bonusCaveArea.width, bonusCaveArea.height, 15, 15);
+            // Placeholder until the images have been decoded
+            drawDoorPlaceholder(g2d, bonusCaveArea, isDoorOpening);
         }
         
         // Draw the wooden sign for Bonus Tasks ABOVE the cave
@@ -796,43 +1029,46 @@ public class StartScreen extends JPanel implements KeyListener {
     
     @Override
     public void keyPressed(KeyEvent e) {
+        // F3 toggles the frame profiler overlay, Shift+F3 saves its CSV
+        if (FrameProfiler.handleKey(e)) {
+            return;
+        }
         int key = e.getKeyCode();
         
         if (key == KeyEvent.VK_A) {
             // Move left
-            personX -= 10;
-            if (personX < 0) personX = 0;
+            person.x -= 10;
+            if (person.x < 0) person.x = 0;
         } else if (key == KeyEvent.VK_D) {
             // Move right
-            personX += 10;
-            if (personX > getWidth() - personWidth) 
-                personX = getWidth() - personWidth;
+            person.x += 10;
+            if (person.x > getWidth() - person.width) 
+                person.x = getWidth() - person.width;
         } else if (key == KeyEvent.VK_K || key == KeyEvent.VK_SPACE) {
             // Jump
-            if (!isJumping && !isFalling) {
-                isJumping = true;
-                fallVelocity = jumpVelocity;
+            if (person.isGrounded()) {
+                boolean onKeyStage2 = isStandingOn(keyStage2Platform);
+                person.launch(jumpVelocity);
                 jumpCount = 1;
                 
                 // If standing on Key Stage 2 button, navigate immediately
-                // For Key Stage 1, the delay is handled in updateAnimations
-                if (standingOnStage2) {
+                // For Key Stage 1, the delay is handled by its trigger
+                if (onKeyStage2) {
                     navigateToMainScreen(2); // Key Stage 2
                 }
             } else if (jumpCount < maxJumpCount) {
                 // Multi-jump
-                fallVelocity = jumpVelocity;
+                person.launch(jumpVelocity);
                 jumpCount++;
             }
         } else if (key == KeyEvent.VK_ENTER) {
             // Enter key can navigate if standing on a button
-            // For Key Stage 1, the delay is handled in updateAnimations
-            if (standingOnStage2) {
+            // For Key Stage 1, the delay is handled by its trigger
+            if (isStandingOn(keyStage2Platform)) {
                 navigateToMainScreen(2); // Key Stage 2
             }
         }
-        
-        repaint();
+        // The next frame draws the character at its new position
     }
     
     @Override
@@ -845,114 +1081,6 @@ public class StartScreen extends JPanel implements KeyListener {
         // Not needed for this implementation
     }
     
-    /**
-     * Inner class representing an animated cloud.
-     */
-    private class FancyCloud {
-        /** Cloud position and size */
-        int x, y, width, height;
-        /** Cloud movement speed */
-        float speed;
-        /** Cloud transparency */
-        float alpha = 0.95f;
-        
-        /**
-         * Constructs a new FancyCloud.
-         *
-         * @param x The initial x-coordinate
-         * @param y The initial y-coordinate
-         * @param width The width of the cloud
-         * @param height The height of the cloud
-         * @param speed The movement speed of the cloud
-         */
-        public FancyCloud(int x, int y, int width, int height, float speed) {
-            this.x = x;
-            this.y = y;
-            this.width = width;
-            this.height = height;
-            this.speed = speed;
-        }
-        
-        /**
-         * Updates the cloud's position.
-         */
-        public void move() {
-            x -= speed;
-            if (x < -width) {
-                x = getWidth() + new Random().nextInt(300);
-                y = new Random().nextInt(200);
-            }
-        }
-        
-        /**
-         * Draws the cloud.
-         *
-         * @param g2d The graphics context to draw with
-         */
-        public void draw(Graphics2D g2d) {
-            // Simple cloud shape matching reference
-            g2d.setColor(Color.WHITE);
-            
-            // Drawing a simple cloud shape
-            int puffRadius = height/2;
-            g2d.fillOval(x, y, puffRadius, puffRadius);
-            g2d.fillOval(x + width/4, y, puffRadius, puffRadius);
-            g2d.fillOval(x + width/2, y, puffRadius, puffRadius);
-            g2d.fillOval(x + width/4, y - height/4, puffRadius, puffRadius);
-            g2d.fillRoundRect(x, y + height/4, width, height/2, height/2, height/2);
-        }
-    }
-    
-    /**
-     * Inner class representing a twinkling star.
-     */
-    private class Star {
-        /** Star position and size */
-        int x, y, size;
-        /** Star transparency */
-        int alpha = 255;
-        /** Star fade speed */
-        int fadeSpeed;
-        /** Whether the star is currently fading */
-        boolean fading = true;
-        
-        /**
-         * Constructs a new Star.
-         *
-         * @param x The x-coordinate of the star
-         * @param y The y-coordinate of the star
-         * @param size The size of the star
-         * @param fadeSpeed The speed at which the star fades in and out
-         */
-        public Star(int x, int y, int size, int fadeSpeed) {
-            this.x = x;
-            this.y = y;
-            this.size = size;
-            this.fadeSpeed = fadeSpeed;
-        }
-        
-        /**
-         * Updates the star's twinkling effect.
-         */
-        public void update() {
-            if (fading) {
-                alpha -= fadeSpeed;
-                if (alpha <= 50) {
-                    fading = false;
-                }
-            } else {
-                alpha += fadeSpeed;
-                if (alpha >= 255) {
-                    fading = true;
-                }
-            }
-            
-            // Ensure alpha stays within bounds
-            if (alpha < 0) alpha = 0;
-            if (alpha > 255) alpha = 255;
-        }
-    }
-    
     /**
      * Resets the navigation state and character position when returning to the start screen.
      */
@@ -960,16 +1088,13 @@ public class StartScreen extends JPanel implements KeyListener {
         // Reset navigation flag
         navigationTriggered = false;
         isDoorOpening = false;
-        keyStage1NavigationPending = false;
-        standingOnStage1 = false;
-        standingOnStage2 = false;
+        world.resetTriggers();
         
         // Reset character position to starting point
-        personX = 180;
-        personY = groundLevel;
-        isJumping = false;
-        isFalling = false;
-        fallVelocity = 0;
+        person.x = 180;
+        world.placeOnFloor(person);
+        previousPersonX = person.x;
+        previousPersonY = person.y;
         jumpCount = 0;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,134 @@
+package shapeville;
+
+import javax.swing.*;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * The training mode behind {@code --train}: goes through every screen once, without a student
+ * and without showing a window, so the JVM that runs it loads the classes a real lesson needs
+ * and can write them to the class data archive when it exits.
+ * <p>
+ * The start screen, the home screen and each task screen are built, laid out and painted, then
+ * every text field of a task gets a made-up answer that is submitted and painted again. Where
+ * there is no display, the task screens are built without the main window, and the home screen,
+ * which belongs to the window, is left out.
+ * </p>
+ */
+final class TrainingRun {
+    /** The option {@link shapeville.utils.ClassDataSharing} passes to {@code main} to run this mode */
+    static final String RUN_OPTION = "--train-run";
+
+    /** Size the screens are laid out and painted at, the window's default size */
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+
+    private TrainingRun() {
+    }
+
+    /**
+     * Go through every screen, wait for the background loading to finish and exit.
+     *
+     * @param background The icon and picture loading started by {@code main}
+     */
+    static void drive(CompletableFuture<Void> background) {
+        int status = 0;
+        try {
+            SwingUtilities.invokeAndWait(TrainingRun::driveScreens);
+            background.join();
+        } catch (InterruptedException | InvocationTargetException | CompletionException e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    private static void driveScreens() {
+        BufferedImage canvas;
+        ShapevilleApp app = null;
+        if (GraphicsEnvironment.isHeadless()) {
+            canvas = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            paint("start screen", new StartScreen(null), canvas);
+        } else {
+            app = new ShapevilleApp();
+            canvas = app.getGraphicsConfiguration().createCompatibleImage(WIDTH, HEIGHT);
+            paint("start screen", app.getRootPane(), canvas);
+            app.setAccessLevel(3);
+            app.startHomeScreen();
+            paint("home screen", app.getRootPane(), canvas);
+        }
+        for (Map.Entry<String, Function<ShapevilleApp, ? extends JComponent>> screen : ShapevilleApp.TASK_SCREENS.entrySet()) {
+            try {
+                JComponent panel = screen.getValue().apply(app);
+                paint(screen.getKey(), panel, canvas);
+                answer(panel);
+                paint(screen.getKey(), panel, canvas);
+            } catch (RuntimeException e) {
+                // Without the window some answers have nowhere to report to; carry on with the next task
+                System.out.println("Training: " + screen.getKey() + " stopped early: " + e);
+            }
+        }
+    }
+
+    /**
+     * Lay a screen out at the window size and paint it into an image
+     */
+    private static void paint(String name, JComponent screen, BufferedImage canvas) {
+        long start = System.nanoTime();
+        screen.setSize(WIDTH, HEIGHT);
+        layOut(screen);
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            screen.paint(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        System.out.println("Training: painted " + name + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Lay out a component tree that is not in a window, where validate() does nothing
+     */
+    private static void layOut(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layOut(child);
+            }
+        }
+    }
+
+    /**
+     * Type "1" into every text field and press every submit button
+     */
+    private static void answer(Container screen) {
+        List<AbstractButton> submitButtons = new ArrayList<>();
+        collect(screen, submitButtons);
+        for (AbstractButton button : submitButtons) {
+            button.doClick(0);
+        }
+    }
+
+    private static void collect(Container container, List<AbstractButton> submitButtons) {
+        for (Component child : container.getComponents()) {
+            if (child instanceof JTextComponent && ((JTextComponent) child).isEditable()) {
+                ((JTextComponent) child).setText("1");
+            } else if (child instanceof AbstractButton && ((AbstractButton) child).getText() != null
+                    && ((AbstractButton) child).getText().startsWith("Submit")) {
+                submitButtons.add((AbstractButton) child);
+            }
+            if (child instanceof Container) {
+                collect((Container) child, submitButtons);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package shapeville;
+
+import shapeville.utils.Scheduler;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Builds the task screens a student is likely to open next while the home screen sits idle.
+ * <p>
+ * The key stage chosen on the start screen says which tasks the student can reach, so those
+ * screens are built and laid out ahead of time, one per idle moment, and the first click on a
+ * task shows a finished screen. Swing screens can only be built on the event dispatch thread, so
+ * "in the background" here means in small steps between events: each step builds one screen and
+ * only when no input is waiting, and the steps pause while the home screen is hidden. Set
+ * -Dshapeville.warmUp=false to build screens only when they are opened.
+ * </p>
+ */
+final class WarmUpPlanner {
+    /** Set -Dshapeville.warmUp=false to turn the warm-up off */
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("shapeville.warmUp", "true"));
+    /** How long the home screen has to be up before the first screen is built */
+    private static final long IDLE_DELAY_MILLIS = 500;
+    /** Pause between builds, and before looking again when events are waiting */
+    private static final long STEP_DELAY_MILLIS = 100;
+
+    private final PanelRegistry panels;
+    private final Deque<String> queue = new ArrayDeque<>();
+    private JComponent homePanel;
+    private Scheduler.Task nextStep;
+
+    /**
+     * Creates a planner for the screens in a registry.
+     *
+     * @param panels The registry the screens are built into
+     */
+    WarmUpPlanner(PanelRegistry panels) {
+        this.panels = panels;
+    }
+
+    /**
+     * Gets the screens worth building ahead for an access level, most likely first.
+     *
+     * @param accessLevel 1 for Key Stage 1, 2 for Key Stage 2, 3 for the bonus tasks
+     * @return The card names
+     */
+    static String[] plan(int accessLevel) {
+        switch (accessLevel) {
+            case 1:
+                // Key Stage 1 works through Task 1 and then Task 2
+                return new String[] {ShapevilleApp.SHAPE_2D_SCREEN, ShapevilleApp.SHAPE_3D_SCREEN, ShapevilleApp.ANGLE_SCREEN};
+            case 2:
+                // Key Stage 2 comes for the area and circle tasks
+                return new String[] {ShapevilleApp.AREA_SCREEN, ShapevilleApp.CIRCLE_SCREEN, ShapevilleApp.SHAPE_2D_SCREEN};
+            case 3:
+                return new String[] {ShapevilleApp.COMPOUND_SCREEN, ShapevilleApp.SECTOR_SCREEN};
+            default:
+                return new String[0];
+        }
+    }
+
+    /**
+     * Starts building the screens for an access level once the home screen is idle,
+     * replacing any warm-up still in progress.
+     *
+     * @param homePanel The home screen; nothing is built while it is hidden
+     * @param accessLevel The student's access level
+     */
+    void start(JComponent homePanel, int accessLevel) {
+        cancel();
+        if (!ENABLED) {
+            return;
+        }
+        this.homePanel = homePanel;
+        queue.addAll(Arrays.asList(plan(accessLevel)));
+        schedule(IDLE_DELAY_MILLIS);
+    }
+
+    /**
+     * Stops the warm-up; screens already built are kept.
+     */
+    void cancel() {
+        if (nextStep != null) {
+            nextStep.cancel();
+            nextStep = null;
+        }
+        queue.clear();
+    }
+
+    private void schedule(long delayMillis) {
+        nextStep = Scheduler.schedule(homePanel, delayMillis, this::step);
+    }
+
+    /**
+     * Build the next screen, unless the student is doing something
+     */
+    private void step() {
+        nextStep = null;
+        if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null) {
+            // Input or painting is waiting; let it go first
+            schedule(STEP_DELAY_MILLIS);
+            return;
+        }
+        // Screens the student has already opened are skipped
+        while (!queue.isEmpty() && !panels.prebuild(queue.poll())) {
+        }
+        if (!queue.isEmpty()) {
+            schedule(STEP_DELAY_MILLIS);
+        }
+    }
+}
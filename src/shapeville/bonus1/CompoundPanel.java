@@ -2,6 +2,11 @@ package shapeville.bonus1;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.CompoundGenerator;
+import shapeville.engine.CompoundShape;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
+import shapeville.utils.Scheduler;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -12,7 +17,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,12 +29,12 @@ import java.util.List;
 public class CompoundPanel extends JPanel {
     /** Reference to the main application instance */
     private final ShapevilleApp mainApp;
-    /** List of compound shape data for the practice */
-    private final List<CompoundData> compounds;
+    /** List of generated compound shapes for the practice */
+    private final List<CompoundShape> compounds;
     /** Index of the current compound shape being practiced */
     private int currentIndex = -1;
-    /** Number of attempts for the current compound shape */
-    private int attempts = 0;
+    /** Attempts at the current compound shape */
+    private Round round;
     /** Number of completed compound shapes */
     private int completed = 0;
     /** Total number of compound shapes */
@@ -40,7 +44,7 @@ public class CompoundPanel extends JPanel {
     /** Time limit for each compound shape (in seconds) */
     private static final int TIME_LIMIT = 300;
     /** Countdown timer for the current compound shape */
-    private Timer countdownTimer;
+    private Scheduler.Task countdownTimer;
     /** Remaining seconds for the current compound shape */
     private int secondsRemaining;
     /** Array to track which compound shapes are completed */
@@ -103,19 +107,14 @@ public class CompoundPanel extends JPanel {
     }
 
     /**
-     * Creates the list of compound shape data for the practice.
+     * Generates the compound shapes for the practice. Every session gets a new set;
+     * set -Dshapeville.compoundSeed to reproduce one.
      *
-     * @return List of CompoundData objects
+     * @return List of CompoundShape objects
      */
-    private List<CompoundData> createCompounds() {
-        List<CompoundData> list = new ArrayList<>();
-        list.add(new CompoundData("shapeville/images/bonus1/Compound1.jpg", "cm", 310.0));
-        list.add(new CompoundData("shapeville/images/bonus1/Compound2.jpg", "cm", 598.0));
-        list.add(new CompoundData("shapeville/images/bonus1/Compound3.jpg", "m", 288.0));
-        list.add(new CompoundData("shapeville/images/bonus1/Compound4.jpg", "m", 18.0));
-        list.add(new CompoundData("shapeville/images/bonus1/Compound5.jpg", "m", 3456.0));
-        list.add(new CompoundData("shapeville/images/bonus1/Compound6.jpg", "m", 174.0));
-        return list;
+    private List<CompoundShape> createCompounds() {
+        long seed = Long.getLong("shapeville.compoundSeed", System.nanoTime());
+        return new CompoundGenerator(seed).generate(TOTAL);
     }
 
     /**
@@ -146,7 +145,7 @@ public class CompoundPanel extends JPanel {
             if (!completedSectors[i]) {
                 allCompleted = false;
             }
-            CompoundData compound = compounds.get(i);
+            CompoundShape compound = compounds.get(i);
             JPanel compoundButton = createCompoundButton(compound, i);
             compoundSelectionPanel.add(compoundButton);
         }
@@ -199,7 +198,7 @@ public class CompoundPanel extends JPanel {
      * @param index The index of the compound shape
      * @return JPanel representing the compound shape button
      */
-    private JPanel createCompoundButton(CompoundData compound, int index) {
+    private JPanel createCompoundButton(CompoundShape compound, int index) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(new Color(255, 250, 240));
         panel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
@@ -400,17 +399,17 @@ public class CompoundPanel extends JPanel {
             showCompletionPanel();
             return;
         }
-        CompoundData c = compounds.get(index);
-        displayPanel.setCompound(c.img_path);
+        CompoundShape c = compounds.get(index);
+        displayPanel.setCompound(c);
         String compoundInfo = String.format("Compound %d/6", 
                 index + 1);
         promptLabel.setText(compoundInfo);
         areaField.setText("");
         areaField.setBorder(BorderFactory.createTitledBorder(
-            String.format("Area (%s²)", c.unit)));
+            String.format("Area (%s²)", c.getUnit())));
         feedbackLabel.setText(" ");
-        attempts = 0;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + MAX_ATTEMPTS);
+        round = new Round(Questions.compound(c.getUnit(), c.getArea()));
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + MAX_ATTEMPTS);
         progressLabel.setText("Progress: " + completed + "/" + TOTAL);
         startTimer();
     }
@@ -419,34 +418,29 @@ public class CompoundPanel extends JPanel {
      * Checks the user's answer for area, provides feedback, and updates progress.
      */
     private void checkAnswer() {
-        String areaStr = areaField.getText().trim();
-
-        if (areaStr.isEmpty()) {
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(areaField.getText());
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter the area!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
-        double userArea;
-        try {
-            userArea = Double.parseDouble(areaStr);
-        } catch (Exception e) {
+        if (outcome == Round.Outcome.INVALID) {
             feedbackLabel.setText("Please enter valid number!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + MAX_ATTEMPTS);
-        CompoundData c = compounds.get(currentIndex);
-        double correctArea = c.area;
-        boolean areaOK = Math.abs(userArea - correctArea) < 0.1;
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + MAX_ATTEMPTS);
+        CompoundShape c = compounds.get(currentIndex);
 
-        
-        if (areaOK) {
-            if (countdownTimer != null) countdownTimer.stop();
-            int score = ScoreManager.calculateScore(true, attempts);
+        if (outcome == Round.Outcome.CORRECT) {
+            if (countdownTimer != null) countdownTimer.cancel();
+            int score = round.getPoints();
             feedbackLabel.setText("Correct! +" + score + " points");
             feedbackLabel.setForeground(new Color(0, 128, 0));
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
             completedSectors[currentIndex] = true;
             completed++;
             if (completed == TOTAL) {
@@ -462,13 +456,13 @@ public class CompoundPanel extends JPanel {
             nextButton.setEnabled(true);
             showDetailedSolution(c);
             if (isAllCompoundsCompleted()) {
-                mainApp.updateProgress(100.0/6);
+                ScoreManager.completeModule(ScoreManager.Module.BONUS1);
             }
         } else {
             feedbackLabel.setText("Wrong, try again!");
             feedbackLabel.setForeground(Color.RED);
-            if (attempts >= MAX_ATTEMPTS) {
-                if (countdownTimer != null) countdownTimer.stop();
+            if (outcome == Round.Outcome.FAILED) {
+                if (countdownTimer != null) countdownTimer.cancel();
                 completedSectors[currentIndex] = true;
                 completed++;
                 progressLabel.setText("Progress: " + completed + "/" + TOTAL);
@@ -482,7 +476,7 @@ public class CompoundPanel extends JPanel {
                 nextButton.setEnabled(true);
             }
             if (isAllCompoundsCompleted()) {
-                mainApp.updateProgress(100.0/6);
+                ScoreManager.completeModule(ScoreManager.Module.BONUS1);
             }
         }
     }
@@ -495,7 +489,7 @@ public class CompoundPanel extends JPanel {
             completedSectors[currentIndex] = true;
         }
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
         createAndShowCompoundSelection();
     }
@@ -505,14 +499,14 @@ public class CompoundPanel extends JPanel {
      */
     private void startTimer() {
         secondsRemaining = TIME_LIMIT;
-        if (countdownTimer != null) countdownTimer.stop();
-        countdownTimer = new Timer(1000, e -> {
+        if (countdownTimer != null) countdownTimer.cancel();
+        countdownTimer = Scheduler.repeat(this, 1000, () -> {
             secondsRemaining--;
             int min = secondsRemaining / 60;
             int sec = secondsRemaining % 60;
             timerLabel.setText(String.format("Time left: %d:%02d", min, sec));
             if (secondsRemaining <= 0) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
                 timeExpired();
             } else if (secondsRemaining <= 30) {
                 timerLabel.setForeground(Color.RED);
@@ -520,7 +514,6 @@ public class CompoundPanel extends JPanel {
                 timerLabel.setForeground(Color.BLACK);
             }
         });
-        countdownTimer.start();
         timerLabel.setForeground(Color.BLACK);
     }
 
@@ -529,8 +522,9 @@ public class CompoundPanel extends JPanel {
      */
     private void timeExpired() {
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
+        round.expire();
         completedSectors[currentIndex] = true;
         completed++;
         progressLabel.setText("Progress: " + completed + "/" + TOTAL);
@@ -569,15 +563,18 @@ public class CompoundPanel extends JPanel {
         revalidate();
         repaint();
         // 新增：全部完成时加主进度
-        mainApp.addBonus1Progress();
+        ScoreManager.completeModule(ScoreManager.Module.BONUS1);
     }
 
     /**
      * Shows a detailed solution for the current compound shape, including calculation steps.
      *
-     * @param c The CompoundData object for the current compound shape
+     * @param c The current compound shape
      */
-    private void showDetailedSolution(CompoundData c) {
+    private void showDetailedSolution(CompoundShape c) {
+        // Outline the parts of the decomposition on the drawing
+        displayPanel.setShowParts(true);
+
         JTextArea solutionArea = new JTextArea();
         solutionArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
         solutionArea.setBackground(mainPanel.getBackground());
@@ -594,15 +591,15 @@ public class CompoundPanel extends JPanel {
             double userAreaVal = Double.parseDouble(userArea);
             
             solution.append("Your answer:\n");
-            solution.append(String.format("Area = %.2f %s² ", userAreaVal, c.unit));
-            if (Math.abs(userAreaVal - c.area) < 0.1) {
+            solution.append(String.format("Area = %.2f %s² ", userAreaVal, c.getUnit()));
+            if (round.getQuestion().accepts(userAreaVal)) {
                 solution.append("(Correct)\n");
             } else {
                 solution.append("(Incorrect)\n");
             }
             
             solution.append("\n");
-            solution.append(c.answer);
+            solution.append(c.getSolution());
         } catch (NumberFormatException e) {
             // If user input was not valid numbers, skip this part
         }
@@ -680,60 +677,15 @@ public class CompoundPanel extends JPanel {
         return true;
     }
 
-    /**
-     * Data class representing a compound shape with image path, unit, and area.
-     */
-    static class CompoundData {
-        /** The path to the compound shape image */
-        String img_path;
-        /** The unit of measurement */
-        String unit;
-        /** The area of the compound shape */
-        double area;
-        /** The detailed solution steps */
-        String answer;
-
-        /**
-         * Constructs a CompoundData object.
-         *
-         * @param img_path The path to the compound shape image
-         * @param unit The unit of measurement
-         * @param area The area of the compound shape
-         */
-        public CompoundData(String img_path, String unit, double area) {
-            this.img_path = img_path;
-            this.unit = unit;
-            this.area = area;
-            if (img_path.contains("Compound1")){
-                this.answer = "1.This compound shape can be divided into two rectangles.\n2.The area of the upper left rectangle can be derived from the formula of a rectangle (length × width).\n3.S1 = 10 × 11 = 110 cm²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 10 × 20 = 200 cm²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 110 + 200 = 310 cm²";
-            }
-            else if (img_path.contains("Compound2")){
-                this.answer = "1.This compound shape can be divided into two rectangles.\n2.The area of the upper left rectangle can be derived from the formula of a rectangle (length × width).\n3.S1 = 3 × 18 = 54 cm²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 16 × 34 = 544 cm²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 54 + 544 = 598 cm²";
-            }
-            else if (img_path.contains("Compound3")){
-                this.answer = "1.This compound shape can be divided into two rectangles.\n2.The area of the upper rectangle can be derived from the formula of a rectangle (length × width).\n3.S1 = 12 × 12 = 144 m²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 6 × 24 = 144 m²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 144 + 144 = 288 m²\n";
-            }
-            else if (img_path.contains("Compound4")){
-                this.answer = "1.This compound shape can be divided into a upper triangle and a lower rectangle.\n2.The area of the upper triangle can be derived from the formula of a triangle (base × height / 2).\n3.S1 = 3 × 4 / 2 = 6 m²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 3 × 4 = 12 m²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 6 + 12 = 18 m²\n";
-            }
-            else if (img_path.contains("Compound5")){
-                this.answer = "1.This compound shape can be divided into two rectangles.\n2.The area of the upper rectangle can be derived from the formula of a rectangle (length × width).\n3.S1 = 36 × 36 = 1296 m²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 36 × 60 = 2160 m²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 1296 + 2160 = 3456 m²\n";
-            }
-            else if (img_path.contains("Compound6")){
-                this.answer = "1.This compound shape can be divided into two rectangles.\n2.The area of the upper rectangle can be derived from the formula of a rectangle (length × width).\n3.S1 = 3 × 10 = 30 m²\n4.The area of the lower rectangle can be derived from the formula of a rectangle (length × width).\n5.S2 = 8 × 18 = 144 m²\n6.The total area of the compound shape is the sum of the areas of the two rectangles.\n7.S = S1 + S2 = 30 + 144 = 174 m²\n";
-            }
-        }
-    }
-
     /**
      * Inner class for displaying the compound shape graphic.
      */
     class CompoundDisplayPanel extends JPanel {
-        /** The path to the compound shape image */
-        private String img_path;
-        /** The loaded image */
-        private Image image;
-        
+        /** The compound shape to draw */
+        private CompoundShape compound;
+        /** Whether the parts of the decomposition are outlined */
+        private boolean showParts;
+
         /**
          * Constructs a CompoundDisplayPanel.
          */
@@ -742,34 +694,28 @@ public class CompoundPanel extends JPanel {
         }
 
         /**
-         * Sets the compound shape image and repaints the panel.
+         * Sets the compound shape and repaints the panel.
          *
-         * @param img_path The path to the compound shape image
+         * @param compound The compound shape to draw
          */
-        public void setCompound(String img_path) {
-            this.img_path = img_path;
-            // 使用 ClassLoader 加载图片资源
-            try {
-                java.net.URL imageUrl = getClass().getClassLoader().getResource(img_path);
-                if (imageUrl != null) {
-                    ImageIcon icon = new ImageIcon(imageUrl);
-                    if (icon.getImageLoadStatus() == MediaTracker.COMPLETE) {
-                        image = icon.getImage();
-                    } else {
-                        System.err.println("Failed to load image: " + img_path);
-                    }
-                } else {
-                    System.err.println("Image not found: " + img_path);
-                }
-            } catch (Exception e) {
-                System.err.println("Error loading image: " + img_path);
-                e.printStackTrace();
-            }
+        public void setCompound(CompoundShape compound) {
+            this.compound = compound;
+            this.showParts = false;
+            repaint();
+        }
+
+        /**
+         * Sets whether the parts of the decomposition are outlined.
+         *
+         * @param showParts true to outline the parts
+         */
+        public void setShowParts(boolean showParts) {
+            this.showParts = showParts;
             repaint();
         }
 
         /**
-         * Paints the compound shape image, maintaining aspect ratio.
+         * Paints the compound shape as vectors, scaled to fit the panel.
          *
          * @param g The Graphics context
          */
@@ -777,31 +723,12 @@ public class CompoundPanel extends JPanel {
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             setBackground(new Color(255, 250, 240));
-            
-            if (image != null) {
-                // 计算图片的显示尺寸，保持宽高比
-                int panelWidth = getWidth();
-                int panelHeight = getHeight();
-                int imgWidth = image.getWidth(this);
-                int imgHeight = image.getHeight(this);
-                
-                // 计算缩放比例
-                double scale = Math.min(
-                    (double) panelWidth / imgWidth,
-                    (double) panelHeight / imgHeight
-                );
-                
-                // 计算缩放后的尺寸
-                int scaledWidth = (int) (imgWidth * scale);
-                int scaledHeight = (int) (imgHeight * scale);
-                
-                // 计算居中位置
-                int x = (panelWidth - scaledWidth) / 2;
-                int y = (panelHeight - scaledHeight) / 2;
-                
-                // 绘制图片
-                g.drawImage(image, x, y, scaledWidth, scaledHeight, this);
+
+            if (compound != null) {
+                Graphics2D g2d = (Graphics2D) g.create();
+                CompoundRenderer.draw(g2d, compound, getWidth(), getHeight(), showParts);
+                g2d.dispose();
             }
         }
     }
-} 
\ No newline at end of file
+}
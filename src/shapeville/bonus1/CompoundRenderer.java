@@ -0,0 +1,97 @@
+package shapeville.bonus1;
+
+import shapeville.engine.CompoundShape;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+/**
+ * Draws a {@link CompoundShape} as vectors, in the style of the former printed worksheets.
+ */
+final class CompoundRenderer {
+    /** Fill colour of the shape, matching the former printed worksheets */
+    private static final Color FILL_COLOR = new Color(214, 221, 228);
+    private static final Color PART_COLOR = new Color(30, 90, 200);
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Stroke OUTLINE_STROKE = new BasicStroke(2f);
+    private static final Stroke DASHED_STROKE = new BasicStroke(1.5f, BasicStroke.CAP_BUTT,
+            BasicStroke.JOIN_MITER, 10f, new float[] {6f, 4f}, 0f);
+    /** Space kept around the shape for the measurement labels, in pixels */
+    private static final int MARGIN = 50;
+
+    private CompoundRenderer() {
+    }
+
+    /**
+     * Draws the shape centred in the given area, scaled to fit with room for the labels.
+     *
+     * @param g2d the graphics context
+     * @param compound the shape to draw
+     * @param width the width of the area in pixels
+     * @param height the height of the area in pixels
+     * @param showParts whether to outline the parts of the decomposition, as in the solution
+     */
+    static void draw(Graphics2D g2d, CompoundShape compound, int width, int height, boolean showParts) {
+        Shape outline = compound.getOutline();
+        Rectangle2D bounds = outline.getBounds2D();
+        double scale = Math.min((width - 2.0 * MARGIN) / bounds.getWidth(), (height - 2.0 * MARGIN) / bounds.getHeight());
+        if (scale <= 0) {
+            return;
+        }
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                (width - bounds.getWidth() * scale) / 2, (height - bounds.getHeight() * scale) / 2);
+        transform.scale(scale, scale);
+        transform.translate(-bounds.getX(), -bounds.getY());
+
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Shape screenOutline = transform.createTransformedShape(outline);
+        g2d.setColor(FILL_COLOR);
+        g2d.fill(screenOutline);
+
+        if (showParts) {
+            g2d.setStroke(DASHED_STROKE);
+            g2d.setColor(PART_COLOR);
+            List<CompoundShape.Part> parts = compound.getParts();
+            for (int i = 0; i < parts.size(); i++) {
+                CompoundShape.Part part = parts.get(i);
+                g2d.draw(transform.createTransformedShape(part.getShape()));
+                Point2D centre = transform.transform(part.getLabelPoint(), null);
+                drawCentred(g2d, "S" + (i + 1), centre.getX(), centre.getY());
+            }
+        }
+
+        g2d.setStroke(OUTLINE_STROKE);
+        g2d.setColor(Color.BLACK);
+        g2d.draw(screenOutline);
+
+        g2d.setFont(LABEL_FONT);
+        for (CompoundShape.Measure measure : compound.getMeasures()) {
+            Point2D start = transform.transform(measure.getStart(), null);
+            Point2D end = transform.transform(measure.getEnd(), null);
+            if (measure.isDashed()) {
+                g2d.setStroke(DASHED_STROKE);
+                g2d.draw(new Line2D.Double(start, end));
+                g2d.fillOval((int) Math.round(start.getX()) - 4, (int) Math.round(start.getY()) - 4, 8, 8);
+                g2d.fillOval((int) Math.round(end.getX()) - 4, (int) Math.round(end.getY()) - 4, 8, 8);
+            }
+            // Push the label out along the side direction until it clears the line
+            String text = CompoundShape.format(measure.getLength()) + " " + compound.getUnit();
+            FontMetrics metrics = g2d.getFontMetrics();
+            double clearance = 6 + Math.abs(measure.getSideX()) * metrics.stringWidth(text) / 2.0
+                    + Math.abs(measure.getSideY()) * metrics.getAscent() / 2.0;
+            drawCentred(g2d, text, (start.getX() + end.getX()) / 2 + measure.getSideX() * clearance,
+                    (start.getY() + end.getY()) / 2 + measure.getSideY() * clearance);
+        }
+    }
+
+    private static void drawCentred(Graphics2D g2d, String text, double x, double y) {
+        FontMetrics metrics = g2d.getFontMetrics();
+        g2d.drawString(text, (float) (x - metrics.stringWidth(text) / 2.0),
+                (float) (y + (metrics.getAscent() - metrics.getDescent()) / 2.0));
+    }
+}
@@ -2,6 +2,10 @@ package shapeville.bonus2;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.Question;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
+import shapeville.utils.Scheduler;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -29,8 +33,8 @@ public class SectorPanel extends JPanel {
     private final List<SectorData> sectors;
     /** Index of the current sector being practiced */
     private int currentIndex = -1;
-    /** Number of attempts for the current sector */
-    private int attempts = 0;
+    /** Attempts at the current sector */
+    private Round round;
     /** Number of completed sectors */
     private int completed = 0;
     /** Total number of sectors */
@@ -40,7 +44,7 @@ public class SectorPanel extends JPanel {
     /** Time limit for each sector (in seconds) */
     private static final int TIME_LIMIT = 300;
     /** Countdown timer for the current sector */
-    private Timer countdownTimer;
+    private Scheduler.Task countdownTimer;
     /** Remaining seconds for the current sector */
     private int secondsRemaining;
     /** Array to track which sectors are completed */
@@ -109,16 +113,11 @@ public class SectorPanel extends JPanel {
      *
      * @return List of SectorData objects
      */
-    private List<SectorData> createSectors() {
+    public static List<SectorData> createSectors() {
         List<SectorData> list = new ArrayList<>();
-        list.add(new SectorData(8, 90, "cm"));
-        list.add(new SectorData(18, 130, "ft"));
-        list.add(new SectorData(19, 120, "cm"));
-        list.add(new SectorData(22, 110, "ft"));
-        list.add(new SectorData(3.5, 100, "m"));
-        list.add(new SectorData(8, 270, "in"));
-        list.add(new SectorData(12, 280, "yd"));
-        list.add(new SectorData(15, 250, "mm"));
+        for (Question q : Questions.sectors()) {
+            list.add(new SectorData(q.getParameter(0), (int) q.getParameter(1), q.getSubject()));
+        }
         return list;
     }
 
@@ -186,7 +185,7 @@ public class SectorPanel extends JPanel {
             JPanel buttonPanel = new JPanel();
             buttonPanel.setBackground(panel.getBackground());
             buttonPanel.add(homeButton);
-            mainApp.updateProgress(100.0/6);
+            ScoreManager.completeModule(ScoreManager.Module.BONUS2);
             panel.add(buttonPanel, BorderLayout.SOUTH);
         }
         
@@ -419,8 +418,8 @@ public class SectorPanel extends JPanel {
         perimeterField.setBorder(BorderFactory.createTitledBorder(
             String.format("Perimeter (%s)", s.unit)));
         feedbackLabel.setText(" ");
-        attempts = 0;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + MAX_ATTEMPTS);
+        round = new Round(Questions.sector(s.radius, s.angle, s.unit));
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + MAX_ATTEMPTS);
         progressLabel.setText("Progress: " + completed + "/" + TOTAL);
         startTimer();
     }
@@ -429,36 +428,29 @@ public class SectorPanel extends JPanel {
      * Checks the user's answers for area and perimeter, provides feedback, and updates progress.
      */
     private void checkAnswer() {
-        String areaStr = areaField.getText().trim();
-        String periStr = perimeterField.getText().trim();
-        if (areaStr.isEmpty() || periStr.isEmpty()) {
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(areaField.getText(), perimeterField.getText());
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter both area and perimeter!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
-        double userArea, userPeri;
-        try {
-            userArea = Double.parseDouble(areaStr);
-            userPeri = Double.parseDouble(periStr);
-        } catch (Exception e) {
+        if (outcome == Round.Outcome.INVALID) {
             feedbackLabel.setText("Please enter valid numbers!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + MAX_ATTEMPTS);
         SectorData s = sectors.get(currentIndex);
-        double correctArea = s.getArea();
-        double correctPeri = s.getPerimeter();
-        boolean areaOK = Math.abs(userArea - correctArea) < 0.1;
-        boolean periOK = Math.abs(userPeri - correctPeri) < 0.1;
-        
-        if (areaOK && periOK) {
-            if (countdownTimer != null) countdownTimer.stop();
-            int score = ScoreManager.calculateScore(true, attempts);
+
+        if (outcome == Round.Outcome.CORRECT) {
+            if (countdownTimer != null) countdownTimer.cancel();
+            int score = round.getPoints();
             feedbackLabel.setText("Correct! +" + score + " points");
             feedbackLabel.setForeground(new Color(0, 128, 0));
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
             completedSectors[currentIndex] = true;
             completed++;
             if (completed == TOTAL) {
@@ -476,8 +468,8 @@ public class SectorPanel extends JPanel {
         } else {
             feedbackLabel.setText("Wrong, try again!");
             feedbackLabel.setForeground(Color.RED);
-            if (attempts >= MAX_ATTEMPTS) {
-                if (countdownTimer != null) countdownTimer.stop();
+            if (outcome == Round.Outcome.FAILED) {
+                if (countdownTimer != null) countdownTimer.cancel();
                 completedSectors[currentIndex] = true;
                 completed++;
                 progressLabel.setText("Progress: " + completed + "/" + TOTAL);
@@ -501,7 +493,7 @@ public class SectorPanel extends JPanel {
             completedSectors[currentIndex] = true;
         }
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
         createAndShowSectorSelection();
     }
@@ -511,14 +503,14 @@ public class SectorPanel extends JPanel {
      */
     private void startTimer() {
         secondsRemaining = TIME_LIMIT;
-        if (countdownTimer != null) countdownTimer.stop();
-        countdownTimer = new Timer(1000, e -> {
+        if (countdownTimer != null) countdownTimer.cancel();
+        countdownTimer = Scheduler.repeat(this, 1000, () -> {
             secondsRemaining--;
             int min = secondsRemaining / 60;
             int sec = secondsRemaining % 60;
             timerLabel.setText(String.format("Time left: %d:%02d", min, sec));
             if (secondsRemaining <= 0) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
                 timeExpired();
             } else if (secondsRemaining <= 30) {
                 timerLabel.setForeground(Color.RED);
@@ -526,7 +518,6 @@ public class SectorPanel extends JPanel {
                 timerLabel.setForeground(Color.BLACK);
             }
         });
-        countdownTimer.start();
         timerLabel.setForeground(Color.BLACK);
     }
 
@@ -535,8 +526,9 @@ public class SectorPanel extends JPanel {
      */
     private void timeExpired() {
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
+        round.expire();
         completedSectors[currentIndex] = true;
         completed++;
         progressLabel.setText("Progress: " + completed + "/" + TOTAL);
@@ -571,7 +563,7 @@ public class SectorPanel extends JPanel {
         revalidate();
         repaint();
         // 新增：全部完成时加主进度
-        mainApp.addBonus2Progress();
+        ScoreManager.completeModule(ScoreManager.Module.BONUS2);
     }
 
     /**
@@ -588,7 +580,7 @@ public class SectorPanel extends JPanel {
         solutionArea.setWrapStyleWord(true);
         
         // Calculate with PI = 3.14
-        double PI = 3.14;
+        double PI = Questions.PI;
         double areaStep1 = s.angle / 360.0;
         double areaStep2 = areaStep1 * PI * s.radius * s.radius;
         
@@ -606,14 +598,14 @@ public class SectorPanel extends JPanel {
             
             solution.append("Your answer:\n");
             solution.append(String.format("Area = %.2f %s² ", userAreaVal, s.unit));
-            if (Math.abs(userAreaVal - areaStep2) < 0.1) {
+            if (Math.abs(userAreaVal - areaStep2) <= Question.TOLERANCE) {
                 solution.append("(Correct)\n");
             } else {
                 solution.append("(Incorrect)\n");
             }
             
             solution.append(String.format("Perimeter = %.2f %s ", userPeriVal, s.unit));
-            if (Math.abs(userPeriVal - perimeter) < 0.1) {
+            if (Math.abs(userPeriVal - perimeter) <= Question.TOLERANCE) {
                 solution.append("(Correct)\n");
             } else {
                 solution.append("(Incorrect)\n");
@@ -711,10 +703,72 @@ public class SectorPanel extends JPanel {
         return true;
     }
 
+    /**
+     * Draws a sector with its radius lines and labels, centred in the given area.
+     * Used by the sector display and by the worksheet exporter.
+     *
+     * @param g2 The graphics context
+     * @param w The width of the area
+     * @param h The height of the area
+     * @param radius The radius of the sector
+     * @param angle The central angle in degrees
+     * @param unit The unit of measurement
+     */
+    public static void drawSector(Graphics2D g2, int w, int h, double radius, int angle, String unit) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        // 计算面板尺寸和中心点
+        int cx = w / 2;
+        int cy = h / 2;
+        
+        // 计算绘图半径和位置
+        int drawRadius = (int) Math.round(Math.min(w, h) * 0.35);
+        int x = cx - drawRadius;
+        int y = cy - drawRadius;
+        int drawSize = drawRadius * 2;
+        
+        // 扇形填充
+        g2.setColor(new Color(255, 192, 203));
+        g2.fillArc(x, y, drawSize, drawSize, 0, -angle);
+        
+        // 扇形边框
+        g2.setColor(Color.BLACK);
+        g2.setStroke(new BasicStroke(2));
+        g2.drawArc(x, y, drawSize, drawSize, 0, -angle);
+        
+        // 绘制半径线
+        // 第一条半径线 (0度)
+        int endX1 = cx + (int) Math.round(drawRadius * Math.cos(0));
+        int endY1 = cy - (int) Math.round(drawRadius * Math.sin(0));
+        g2.drawLine(cx, cy, endX1, endY1);
+        
+        // 第二条半径线 (-angle度)
+        double angleRad = Math.toRadians(-angle);
+        int endX2 = cx + (int) Math.round(drawRadius * Math.cos(angleRad));
+        int endY2 = cy - (int) Math.round(drawRadius * Math.sin(angleRad));
+        g2.drawLine(cx, cy, endX2, endY2);
+        
+        // 标注
+        g2.setFont(new Font("Arial", Font.PLAIN, 14));
+        g2.setColor(Color.BLACK);
+        
+        // 半径标注
+        String radiusText = String.format("r=%.2f %s", radius, unit);
+        g2.drawString(radiusText, cx + 5, cy - 5);
+        
+        // 角度标注
+        String angleText = String.format("%d°", angle);
+        double midAngle = Math.toRadians(-angle / 2.0);
+        int labelRadius = (int) Math.round(drawRadius * 0.3);
+        int labelX = cx + (int) Math.round(labelRadius * Math.cos(midAngle));
+        int labelY = cy - (int) Math.round(labelRadius * Math.sin(midAngle));
+        g2.drawString(angleText, labelX, labelY);
+    }
+
     /**
      * Data class representing a sector with radius, angle, and unit.
      */
-    static class SectorData {
+    public static class SectorData {
         /** The radius of the sector */
         double radius;
         /** The central angle of the sector in degrees */
@@ -735,13 +789,34 @@ public class SectorPanel extends JPanel {
             this.unit = u;
         }
 
+        /**
+         * @return The radius of the sector
+         */
+        public double getRadius() {
+            return radius;
+        }
+
+        /**
+         * @return The central angle of the sector in degrees
+         */
+        public int getAngle() {
+            return angle;
+        }
+
+        /**
+         * @return The unit of measurement
+         */
+        public String getUnit() {
+            return unit;
+        }
+
         /**
          * Calculates the area of the sector (π = 3.14).
          *
          * @return The area of the sector
          */
         public double getArea() {
-            return angle / 360.0 * 3.14 * radius * radius;
+            return Questions.sectorArea(radius, angle);
         }
 
         /**
@@ -750,7 +825,7 @@ public class SectorPanel extends JPanel {
          * @return The perimeter of the sector
          */
         public double getPerimeter() {
-            return angle / 360.0 * 2 * 3.14 * radius + 2 * radius;
+            return Questions.sectorPerimeter(radius, angle);
         }
     }
 
@@ -795,57 +870,7 @@ public class SectorPanel extends JPanel {
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             setBackground(new Color(255, 250, 240));
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
-            // 计算面板尺寸和中心点
-            int w = getWidth();
-            int h = getHeight();
-            int cx = w / 2;
-            int cy = h / 2;
-            
-            // 计算绘图半径和位置
-            int drawRadius = (int) Math.round(Math.min(w, h) * 0.35);
-            int x = cx - drawRadius;
-            int y = cy - drawRadius;
-            int drawSize = drawRadius * 2;
-            
-            // 扇形填充
-            g2.setColor(new Color(255, 192, 203));
-            g2.fillArc(x, y, drawSize, drawSize, 0, -angle);
-            
-            // 扇形边框
-            g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(2));
-            g2.drawArc(x, y, drawSize, drawSize, 0, -angle);
-            
-            // 绘制半径线
-            // 第一条半径线 (0度)
-            int endX1 = cx + (int) Math.round(drawRadius * Math.cos(0));
-            int endY1 = cy - (int) Math.round(drawRadius * Math.sin(0));
-            g2.drawLine(cx, cy, endX1, endY1);
-            
-            // 第二条半径线 (-angle度)
-            double angleRad = Math.toRadians(-angle);
-            int endX2 = cx + (int) Math.round(drawRadius * Math.cos(angleRad));
-            int endY2 = cy - (int) Math.round(drawRadius * Math.sin(angleRad));
-            g2.drawLine(cx, cy, endX2, endY2);
-            
-            // 标注
-            g2.setFont(new Font("Arial", Font.PLAIN, 14));
-            g2.setColor(Color.BLACK);
-            
-            // 半径标注
-            String radiusText = String.format("r=%.2f %s", radius, unit);
-            g2.drawString(radiusText, cx + 5, cy - 5);
-            
-            // 角度标注
-            String angleText = String.format("%d°", angle);
-            double midAngle = Math.toRadians(-angle / 2.0);
-            int labelRadius = (int) Math.round(drawRadius * 0.3);
-            int labelX = cx + (int) Math.round(labelRadius * Math.cos(midAngle));
-            int labelY = cy - (int) Math.round(labelRadius * Math.sin(midAngle));
-            g2.drawString(angleText, labelX, labelY);
+            drawSector((Graphics2D) g, getWidth(), getHeight(), radius, angle, unit);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,60 @@
+package shapeville.engine;
+
+/**
+ * The shapes of Task 3 and their area formulas.
+ */
+public enum AreaShape {
+    /** Area = length × width */
+    RECTANGLE("rectangle", "length", "width"),
+    /** Area = base × height */
+    PARALLELOGRAM("parallelogram", "base", "height"),
+    /** Area = ½ × base × height */
+    TRIANGLE("triangle", "base", "height"),
+    /** Area = ½ × (a + b) × height */
+    TRAPEZIUM("trapezium", "a", "b", "height");
+
+    private final String name;
+    private final String[] parameterNames;
+
+    AreaShape(String name, String... parameterNames) {
+        this.name = name;
+        this.parameterNames = parameterNames;
+    }
+
+    /**
+     * @return the shape name, in lower case
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a copy of the names of the measurements the formula takes
+     */
+    public String[] getParameterNames() {
+        return parameterNames.clone();
+    }
+
+    /**
+     * @return the number of measurements the formula takes
+     */
+    public int getParameterCount() {
+        return parameterNames.length;
+    }
+
+    /**
+     * Calculate the area
+     * @param parameters the measurements, in the order of {@link #getParameterNames}
+     * @return the area
+     */
+    public double area(double[] parameters) {
+        switch (this) {
+            case TRIANGLE:
+                return 0.5 * parameters[0] * parameters[1];
+            case TRAPEZIUM:
+                return 0.5 * (parameters[0] + parameters[1]) * parameters[2];
+            default:
+                return parameters[0] * parameters[1];
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package shapeville.engine;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates compound shape problems from a seeded random number generator.
+ * <p>
+ * Produces L-, T- and U-shaped rectilinear compounds and rectangles topped with a right or
+ * isosceles triangle, with whole-number side lengths in cm or m. The same seed always gives
+ * the same sequence of shapes, so a problem set can be reproduced.
+ * </p>
+ */
+public class CompoundGenerator {
+    /** Kinds of compound shape */
+    private static final int L_SHAPE = 0;
+    private static final int T_SHAPE = 1;
+    private static final int U_SHAPE = 2;
+    private static final int SLOPED_TOP = 3;
+    private static final int HOUSE = 4;
+    private static final int KINDS = 5;
+
+    private static final String[] UNITS = {"cm", "m"};
+
+    /** Range of the overall side lengths */
+    private static final int MIN_SIDE = 6;
+    private static final int MAX_SIDE = 24;
+
+    private final Random random;
+    /** Whether the shape being built is mirrored left to right, and its total width */
+    private boolean mirrored;
+    private double totalWidth;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed the random seed
+     */
+    public CompoundGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a list of compound shapes, cycling through every kind before repeating one.
+     *
+     * @param count the number of shapes
+     * @return the shapes
+     */
+    public List<CompoundShape> generate(int count) {
+        List<CompoundShape> shapes = new ArrayList<>();
+        int offset = random.nextInt(KINDS);
+        for (int i = 0; i < count; i++) {
+            shapes.add(next((offset + i) % KINDS));
+        }
+        return shapes;
+    }
+
+    /**
+     * Generates one compound shape of a random kind.
+     *
+     * @return the shape
+     */
+    public CompoundShape next() {
+        return next(random.nextInt(KINDS));
+    }
+
+    private CompoundShape next(int kind) {
+        String unit = UNITS[random.nextInt(UNITS.length)];
+        mirrored = random.nextBoolean();
+        switch (kind) {
+            case L_SHAPE:
+                return lShape(unit);
+            case T_SHAPE:
+                return tShape(unit);
+            case U_SHAPE:
+                return uShape(unit);
+            case SLOPED_TOP:
+                return slopedTop(unit);
+            default:
+                return house(unit);
+        }
+    }
+
+    /**
+     * A rectangle with its upper right corner cut away: an upper left and a lower rectangle.
+     */
+    private CompoundShape lShape(String unit) {
+        int width = side();
+        int height = side();
+        // Keep the notch at least a third of each side so its two labels do not run together
+        int notchWidth = between(Math.max(2, width / 3), width - 2);
+        int notchHeight = between(Math.max(2, height / 3), height - 2);
+        int topWidth = width - notchWidth;
+        totalWidth = width;
+
+        List<CompoundShape.Part> parts = new ArrayList<>();
+        parts.add(rectangle(position("upper left"), 0, 0, topWidth, notchHeight,
+                String.format("The length of the %s rectangle is %d - %d = %d", position("upper left"), width, notchWidth, topWidth)));
+        parts.add(rectangle("lower", 0, notchHeight, width, height - notchHeight, null));
+
+        List<CompoundShape.Measure> measures = new ArrayList<>();
+        measures.add(measure(0, height, 0, 0, -1, 0, false));
+        measures.add(measure(0, height, width, height, 0, 1, false));
+        measures.add(measure(topWidth, 0, topWidth, notchHeight, 1, 0, false));
+        measures.add(measure(topWidth, notchHeight, width, notchHeight, 0, -1, false));
+        measures.add(measure(width, notchHeight, width, height, 1, 0, false));
+        return new CompoundShape("two rectangles", unit, CompoundShape.polygon(
+                x(0), 0, x(topWidth), 0, x(topWidth), notchHeight, x(width), notchHeight, x(width), height, x(0), height),
+                parts, measures);
+    }
+
+    /**
+     * A wide bar with a narrower block centred on top: an upper and a lower rectangle.
+     */
+    private CompoundShape tShape(String unit) {
+        int width = side();
+        int barHeight = between(2, 10);
+        int stemHeight = between(3, 12);
+        int stemWidth = between(2, width - 4);
+        // Keep the overhangs equal so the stem sits exactly in the middle
+        if ((width - stemWidth) % 2 != 0) {
+            stemWidth++;
+        }
+        double stemLeft = (width - stemWidth) / 2.0;
+        int height = stemHeight + barHeight;
+        totalWidth = width;
+
+        List<CompoundShape.Part> parts = new ArrayList<>();
+        parts.add(rectangle("upper", stemLeft, 0, stemWidth, stemHeight, null));
+        parts.add(rectangle("lower", 0, stemHeight, width, barHeight, null));
+
+        List<CompoundShape.Measure> measures = new ArrayList<>();
+        measures.add(measure(stemLeft, 0, stemLeft + stemWidth, 0, 0, -1, false));
+        measures.add(measure(stemLeft + stemWidth, 0, stemLeft + stemWidth, stemHeight, 1, 0, false));
+        measures.add(measure(0, stemHeight, 0, height, -1, 0, false));
+        measures.add(measure(0, height, width, height, 0, 1, false));
+        return new CompoundShape("two rectangles", unit, CompoundShape.polygon(
+                x(stemLeft), 0, x(stemLeft + stemWidth), 0, x(stemLeft + stemWidth), stemHeight, x(width), stemHeight,
+                x(width), height, x(0), height, x(0), stemHeight, x(stemLeft), stemHeight),
+                parts, measures);
+    }
+
+    /**
+     * A rectangle with a notch cut from the middle of its top: two upper rectangles either
+     * side of the notch and a lower rectangle.
+     */
+    private CompoundShape uShape(String unit) {
+        // Wide enough for the labels and the S marks to fit side by side
+        int pillarWidth = between(3, 7);
+        int notchWidth = between(4, 10);
+        int width = 2 * pillarWidth + notchWidth;
+        int height = side();
+        int notchHeight = between(2, height - 2);
+        int baseHeight = height - notchHeight;
+        totalWidth = width;
+
+        List<CompoundShape.Part> parts = new ArrayList<>();
+        parts.add(rectangle("lower", 0, notchHeight, width, baseHeight,
+                String.format("The width of the lower rectangle is %d - %d = %d", height, notchHeight, baseHeight)));
+        parts.add(rectangle(position("upper left"), 0, 0, pillarWidth, notchHeight, null));
+        parts.add(rectangle(position("upper right"), width - pillarWidth, 0, pillarWidth, notchHeight,
+                "The two upper rectangles are the same size, so the length is also " + pillarWidth));
+
+        List<CompoundShape.Measure> measures = new ArrayList<>();
+        measures.add(measure(0, 0, pillarWidth, 0, 0, -1, false));
+        measures.add(measure(pillarWidth, notchHeight, width - pillarWidth, notchHeight, 0, -1, false));
+        measures.add(measure(width - pillarWidth, 0, width - pillarWidth, notchHeight, -1, 0, false));
+        measures.add(measure(0, height, 0, 0, -1, 0, false));
+        measures.add(measure(0, height, width, height, 0, 1, false));
+        return new CompoundShape("three rectangles", unit, CompoundShape.polygon(
+                x(0), 0, x(pillarWidth), 0, x(pillarWidth), notchHeight, x(width - pillarWidth), notchHeight,
+                x(width - pillarWidth), 0, x(width), 0, x(width), height, x(0), height),
+                parts, measures);
+    }
+
+    /**
+     * A rectangle whose top slopes down from one side to the other: an upper right-angled
+     * triangle and a lower rectangle.
+     */
+    private CompoundShape slopedTop(String unit) {
+        int width = side();
+        int rise = between(2, 10);
+        // Keep the triangle's area a whole number
+        if (width * rise % 2 != 0) {
+            rise++;
+        }
+        int rectangleHeight = between(2, 12);
+        int height = rise + rectangleHeight;
+        totalWidth = width;
+
+        List<CompoundShape.Part> parts = new ArrayList<>();
+        parts.add(triangle("upper", x(0), 0, x(width), rise, x(0), rise, width, rise,
+                String.format("The height of the upper triangle is %d - %d = %d", height, rectangleHeight, rise)));
+        parts.add(rectangle("lower", 0, rise, width, rectangleHeight, null));
+
+        List<CompoundShape.Measure> measures = new ArrayList<>();
+        measures.add(measure(0, height, 0, 0, -1, 0, false));
+        measures.add(measure(width, rise, width, height, 1, 0, false));
+        measures.add(measure(0, height, width, height, 0, 1, false));
+        return new CompoundShape("an upper triangle and a lower rectangle", unit, CompoundShape.polygon(
+                x(0), 0, x(width), rise, x(width), height, x(0), height), parts, measures);
+    }
+
+    /**
+     * A rectangle with an isosceles triangle on top: an upper triangle and a lower rectangle.
+     */
+    private CompoundShape house(String unit) {
+        int width = side();
+        int rise = between(2, 10);
+        if (width * rise % 2 != 0) {
+            rise++;
+        }
+        int rectangleHeight = between(3, 12);
+        int height = rise + rectangleHeight;
+        totalWidth = width;
+
+        List<CompoundShape.Part> parts = new ArrayList<>();
+        parts.add(triangle("upper", x(0), rise, x(width / 2.0), 0, x(width), rise, width, rise, null));
+        parts.add(rectangle("lower", 0, rise, width, rectangleHeight, null));
+
+        List<CompoundShape.Measure> measures = new ArrayList<>();
+        measures.add(measure(width / 2.0, 0, width / 2.0, rise, 1, 0, true));
+        measures.add(measure(width, rise, width, height, 1, 0, false));
+        measures.add(measure(0, height, width, height, 0, 1, false));
+        return new CompoundShape("an upper triangle and a lower rectangle", unit, CompoundShape.polygon(
+                x(0), rise, x(width / 2.0), 0, x(width), rise, x(width), height, x(0), height), parts, measures);
+    }
+
+    private CompoundShape.Part rectangle(String position, double left, double top, double width, double height,
+                                         String derivation) {
+        double x = mirrored ? totalWidth - left - width : left;
+        return new CompoundShape.Part("rectangle", position, new Rectangle2D.Double(x, top, width, height),
+                new Point2D.Double(x + width / 2, top + height / 2), width, height, derivation);
+    }
+
+    /**
+     * A triangle from already mirrored corner coordinates
+     */
+    private CompoundShape.Part triangle(String position, double ax, double ay, double bx, double by, double cx, double cy,
+                                        double base, double height, String derivation) {
+        return new CompoundShape.Part("triangle", position, CompoundShape.polygon(ax, ay, bx, by, cx, cy),
+                new Point2D.Double((ax + bx + cx) / 3, (ay + by + cy) / 3), base, height, derivation);
+    }
+
+    private CompoundShape.Measure measure(double x1, double y1, double x2, double y2, double sideX, double sideY,
+                                          boolean dashed) {
+        return new CompoundShape.Measure(x(x1), y1, x(x2), y2, mirrored ? -sideX : sideX, sideY, dashed);
+    }
+
+    /**
+     * Mirror an x coordinate if the shape is drawn the other way round
+     */
+    private double x(double x) {
+        return mirrored ? totalWidth - x : x;
+    }
+
+    /**
+     * Swap left and right in a position name if the shape is mirrored
+     */
+    private String position(String position) {
+        if (!mirrored) {
+            return position;
+        }
+        return position.contains("left") ? position.replace("left", "right") : position.replace("right", "left");
+    }
+
+    private int side() {
+        return between(MIN_SIDE, MAX_SIDE);
+    }
+
+    /**
+     * A whole number from min to max inclusive
+     */
+    private int between(int min, int max) {
+        return min + random.nextInt(Math.max(1, max - min + 1));
+    }
+}
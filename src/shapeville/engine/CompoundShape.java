@@ -0,0 +1,297 @@
+package shapeville.engine;
+
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compound shape made of rectangles and triangles, drawn as vectors.
+ * <p>
+ * The shape keeps its outline, the parts it decomposes into and the measurements printed on
+ * the drawing, all in shape units with y pointing down. The area and the worked solution are
+ * derived from the parts, so they always match what is drawn. The geometry is plain
+ * {@code java.awt.geom}, so shapes can be generated and checked without a display.
+ * </p>
+ */
+public class CompoundShape {
+    private final String description;
+    private final String unit;
+    private final Shape outline;
+    private final List<Part> parts;
+    private final List<Measure> measures;
+
+    /**
+     * Creates a compound shape.
+     *
+     * @param description how the shape divides, e.g. "two rectangles"
+     * @param unit the unit of length, e.g. "cm"
+     * @param outline the outline in shape units
+     * @param parts the parts the shape decomposes into
+     * @param measures the measurements printed on the drawing
+     */
+    CompoundShape(String description, String unit, Shape outline, List<Part> parts, List<Measure> measures) {
+        this.description = description;
+        this.unit = unit;
+        this.outline = outline;
+        this.parts = Collections.unmodifiableList(new ArrayList<>(parts));
+        this.measures = Collections.unmodifiableList(new ArrayList<>(measures));
+    }
+
+    /**
+     * @return the unit of length
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the total area, the sum of the areas of the parts
+     */
+    public double getArea() {
+        double area = 0;
+        for (Part part : parts) {
+            area += part.getArea();
+        }
+        return area;
+    }
+
+    /**
+     * @return the outline in shape units
+     */
+    public Shape getOutline() {
+        return outline;
+    }
+
+    /**
+     * @return the parts the shape decomposes into
+     */
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    /**
+     * @return the measurements printed on the drawing
+     */
+    public List<Measure> getMeasures() {
+        return measures;
+    }
+
+    /**
+     * Gets the worked solution, one numbered step per line.
+     *
+     * @return the solution text
+     */
+    public String getSolution() {
+        StringBuilder solution = new StringBuilder();
+        int step = 1;
+        solution.append(step++).append(".This compound shape can be divided into ").append(description).append(".\n");
+        for (int i = 0; i < parts.size(); i++) {
+            Part part = parts.get(i);
+            if (part.derivation != null) {
+                solution.append(step++).append('.').append(part.derivation).append(' ').append(unit).append(".\n");
+            }
+            solution.append(step++).append(".The area of the ").append(part.position).append(' ').append(part.kind)
+                    .append(" can be derived from the formula of a ").append(part.kind)
+                    .append(part.isTriangle() ? " (base × height / 2).\n" : " (length × width).\n");
+            solution.append(step++).append(".S").append(i + 1).append(" = ").append(format(part.first))
+                    .append(" × ").append(format(part.second)).append(part.isTriangle() ? " / 2" : "")
+                    .append(" = ").append(format(part.getArea())).append(' ').append(unit).append("²\n");
+        }
+        solution.append(step++).append(".The total area of the compound shape is the sum of the areas of the ")
+                .append(parts.size() == 2 ? "two" : "three").append(" parts.\n");
+        StringBuilder names = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                names.append(" + ");
+                values.append(" + ");
+            }
+            names.append('S').append(i + 1);
+            values.append(format(parts.get(i).getArea()));
+        }
+        solution.append(step).append(".S = ").append(names).append(" = ").append(values).append(" = ")
+                .append(format(getArea())).append(' ').append(unit).append("²\n");
+        return solution.toString();
+    }
+
+    /**
+     * Formats a length or area without a trailing ".0" for whole numbers.
+     *
+     * @param value the value
+     * @return the formatted value
+     */
+    public static String format(double value) {
+        if (value == Math.rint(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.format("%.1f", value);
+    }
+
+    /**
+     * A rectangle or right/isosceles triangle the compound shape decomposes into.
+     */
+    public static class Part {
+        private final String kind;
+        private final String position;
+        private final Shape shape;
+        private final Point2D labelPoint;
+        private final double first;
+        private final double second;
+        private final String derivation;
+
+        /**
+         * Creates a part.
+         *
+         * @param kind "rectangle" or "triangle"
+         * @param position where the part sits, e.g. "upper left"
+         * @param shape the part's outline in shape units
+         * @param labelPoint where its S label goes, in shape units
+         * @param first the length, or the base of a triangle
+         * @param second the width, or the height of a triangle
+         * @param derivation how a side that is not labelled is worked out, or null
+         */
+        Part(String kind, String position, Shape shape, Point2D labelPoint, double first, double second,
+             String derivation) {
+            this.kind = kind;
+            this.position = position;
+            this.shape = shape;
+            this.labelPoint = labelPoint;
+            this.first = first;
+            this.second = second;
+            this.derivation = derivation;
+        }
+
+        /**
+         * @return true for triangles, false for rectangles
+         */
+        public boolean isTriangle() {
+            return "triangle".equals(kind);
+        }
+
+        /**
+         * @return the area of the part
+         */
+        public double getArea() {
+            return isTriangle() ? first * second / 2 : first * second;
+        }
+
+        /**
+         * @return where the part sits, e.g. "upper left"
+         */
+        public String getPosition() {
+            return position;
+        }
+
+        /**
+         * @return the part's outline in shape units
+         */
+        public Shape getShape() {
+            return shape;
+        }
+
+        /**
+         * @return where its S label goes, in shape units
+         */
+        public Point2D getLabelPoint() {
+            return labelPoint;
+        }
+    }
+
+    /**
+     * A length printed on the drawing: either along an edge of the outline, or as a dashed
+     * measuring line with dots at the ends.
+     */
+    public static class Measure {
+        private final double x1;
+        private final double y1;
+        private final double x2;
+        private final double y2;
+        private final double length;
+        private final double sideX;
+        private final double sideY;
+        private final boolean dashed;
+
+        /**
+         * Creates a measurement.
+         *
+         * @param x1 start x in shape units
+         * @param y1 start y in shape units
+         * @param x2 end x in shape units
+         * @param y2 end y in shape units
+         * @param sideX x of the unit direction the label is pushed in
+         * @param sideY y of the unit direction the label is pushed in
+         * @param dashed whether to draw a dashed measuring line
+         */
+        Measure(double x1, double y1, double x2, double y2, double sideX, double sideY, boolean dashed) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.length = Math.hypot(x2 - x1, y2 - y1);
+            this.sideX = sideX;
+            this.sideY = sideY;
+            this.dashed = dashed;
+        }
+
+        /**
+         * @return the start point in shape units
+         */
+        public Point2D getStart() {
+            return new Point2D.Double(x1, y1);
+        }
+
+        /**
+         * @return the end point in shape units
+         */
+        public Point2D getEnd() {
+            return new Point2D.Double(x2, y2);
+        }
+
+        /**
+         * @return the length printed on the drawing
+         */
+        public double getLength() {
+            return length;
+        }
+
+        /**
+         * @return x of the unit direction the label is pushed in
+         */
+        public double getSideX() {
+            return sideX;
+        }
+
+        /**
+         * @return y of the unit direction the label is pushed in
+         */
+        public double getSideY() {
+            return sideY;
+        }
+
+        /**
+         * @return true for a dashed measuring line, false for a length along an edge
+         */
+        public boolean isDashed() {
+            return dashed;
+        }
+    }
+
+    /**
+     * Creates a closed polygon outline.
+     *
+     * @param points alternating x and y coordinates
+     * @return the polygon
+     */
+    static Path2D polygon(double... points) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(points[0], points[1]);
+        for (int i = 2; i < points.length; i += 2) {
+            path.lineTo(points[i], points[i + 1]);
+        }
+        path.closePath();
+        return path;
+    }
+}
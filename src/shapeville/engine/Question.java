@@ -0,0 +1,145 @@
+package shapeville.engine;
+
+import java.util.Arrays;
+
+/**
+ * One question of a task: what it is about, the numbers shown with it and its answer.
+ * <p>
+ * A question has either one text answer, e.g. the name of a shape, compared ignoring case and
+ * surrounding spaces, or one or more numeric answers, accepted within {@link #TOLERANCE}.
+ * Questions are immutable; a {@link Round} keeps track of the attempts at one.
+ * </p>
+ */
+public final class Question {
+    /** How far a numeric answer may be from the exact value, for rounding */
+    public static final double TOLERANCE = 0.1;
+
+    private static final double[] NONE = new double[0];
+
+    private final String subject;
+    private final double[] parameters;
+    private final boolean advanced;
+    private final String answerText;
+    private final double[] answers;
+
+    private Question(String subject, double[] parameters, boolean advanced, String answerText, double[] answers) {
+        this.subject = subject;
+        this.parameters = parameters;
+        this.advanced = advanced;
+        this.answerText = answerText;
+        this.answers = answers;
+    }
+
+    /**
+     * Create a question answered with a word or name
+     * @param subject what the question is about
+     * @param answer the correct answer
+     * @param advanced true for advanced level scoring
+     * @return the question
+     */
+    public static Question text(String subject, String answer, boolean advanced) {
+        return new Question(subject, NONE, advanced, answer.trim().toLowerCase(), NONE);
+    }
+
+    /**
+     * Create a question answered with one or more numbers
+     * @param subject what the question is about
+     * @param parameters the numbers shown to the student, e.g. side lengths
+     * @param advanced true for advanced level scoring
+     * @param answers the exact answers, in the order they are asked for
+     * @return the question
+     */
+    public static Question numeric(String subject, double[] parameters, boolean advanced, double... answers) {
+        return new Question(subject, parameters.clone(), advanced, null, answers.clone());
+    }
+
+    /**
+     * @return what the question is about, e.g. a shape name or "Radius"
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return a copy of the numbers shown to the student
+     */
+    public double[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * @param index the parameter index
+     * @return one of the numbers shown to the student
+     */
+    public double getParameter(int index) {
+        return parameters[index];
+    }
+
+    /**
+     * @return true for advanced level scoring
+     */
+    public boolean isAdvanced() {
+        return advanced;
+    }
+
+    /**
+     * @return true if the answers are numbers
+     */
+    public boolean isNumeric() {
+        return answerText == null;
+    }
+
+    /**
+     * @return the text answer, in lower case; null for a numeric question
+     */
+    public String getAnswerText() {
+        return answerText;
+    }
+
+    /**
+     * @return the number of answers asked for: 1 for a text question
+     */
+    public int getAnswerCount() {
+        return isNumeric() ? answers.length : 1;
+    }
+
+    /**
+     * @param index the answer index
+     * @return one of the exact numeric answers
+     */
+    public double getAnswer(int index) {
+        return answers[index];
+    }
+
+    /**
+     * Check a text answer
+     * @param answer the student's answer
+     * @return true if it matches ignoring case and surrounding spaces
+     */
+    public boolean accepts(String answer) {
+        return answerText != null && answerText.equalsIgnoreCase(answer.trim());
+    }
+
+    /**
+     * Check numeric answers
+     * @param values the student's answers, one per answer asked for
+     * @return true if every value is within {@link #TOLERANCE} of its answer
+     */
+    public boolean accepts(double... values) {
+        if (answerText != null || values.length != answers.length) {
+            return false;
+        }
+        for (int i = 0; i < answers.length; i++) {
+            if (!(Math.abs(values[i] - answers[i]) <= TOLERANCE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return subject + " " + Arrays.toString(parameters) + " = "
+                + (answerText != null ? answerText : Arrays.toString(answers));
+    }
+}
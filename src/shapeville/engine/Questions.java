@@ -0,0 +1,219 @@
+package shapeville.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The questions of every task: the content, how random questions are made and how the
+ * answers are worked out. The task screens show these questions and {@link SessionSimulator}
+ * answers them, so both use the same rules.
+ */
+public final class Questions {
+    /** The 2D shapes of Task 1 */
+    public static final List<String> SHAPES_2D = Collections.unmodifiableList(Arrays.asList(
+            "circle", "rectangle", "triangle", "oval", "octagon", "square",
+            "heptagon", "rhombus", "pentagon", "hexagon", "kite"));
+
+    /** The 3D shapes of Task 1 */
+    public static final List<String> SHAPES_3D = Collections.unmodifiableList(Arrays.asList(
+            "cube", "cuboid", "cylinder", "sphere", "triangular prism",
+            "square-based pyramid", "cone", "tetrahedron"));
+
+    /** The angle types of Task 2 */
+    public static final List<String> ANGLE_TYPES = Collections.unmodifiableList(Arrays.asList(
+            "acute", "right", "obtuse", "straight", "reflex"));
+
+    /** Task 2 angles are whole multiples of this many degrees */
+    public static final int ANGLE_STEP = 10;
+
+    /** Task 3 side lengths are whole numbers from 1 to this */
+    public static final int MAX_SIDE = 20;
+
+    /** Task 4 calculation types and the measurement given */
+    public static final String AREA = "Area";
+    public static final String CIRCUMFERENCE = "Circumference";
+    public static final String RADIUS = "Radius";
+    public static final String DIAMETER = "Diameter";
+
+    /** Task 4 radii and diameters are whole numbers from 1 to this */
+    public static final int MAX_CIRCLE_VALUE = 10;
+
+    /** Value of π the students are taught to use */
+    public static final double PI = 3.14;
+
+    /** Radius, angle and unit of each Bonus 2 sector */
+    private static final double[] SECTOR_RADII = {8, 18, 19, 22, 3.5, 8, 12, 15};
+    private static final int[] SECTOR_ANGLES = {90, 130, 120, 110, 100, 270, 280, 250};
+    private static final String[] SECTOR_UNITS = {"cm", "ft", "cm", "ft", "m", "in", "yd", "mm"};
+
+    private Questions() {
+    }
+
+    /**
+     * Create a Task 1 question: name the shape in the picture
+     * @param name the shape name
+     * @param advanced true for 3D shapes, which are scored at advanced level
+     * @return the question
+     */
+    public static Question shape(String name, boolean advanced) {
+        return Question.text(name, name, advanced);
+    }
+
+    /**
+     * Check an angle the student asked for in Task 2
+     * @param degrees the angle
+     * @return true if it is between 0 and 360 and a multiple of {@link #ANGLE_STEP}
+     */
+    public static boolean isValidAngle(int degrees) {
+        return degrees >= 0 && degrees <= 360 && degrees % ANGLE_STEP == 0;
+    }
+
+    /**
+     * Classify an angle
+     * @param degrees the angle
+     * @return "acute", "right", "obtuse", "straight" or "reflex"
+     */
+    public static String angleType(int degrees) {
+        if (degrees < 90) {
+            return "acute";
+        } else if (degrees == 90) {
+            return "right";
+        } else if (degrees < 180) {
+            return "obtuse";
+        } else if (degrees == 180) {
+            return "straight";
+        } else {
+            return "reflex";
+        }
+    }
+
+    /**
+     * Create a Task 2 question: name the type of an angle
+     * @param degrees the angle
+     * @return the question
+     */
+    public static Question angle(int degrees) {
+        return Question.text("angle", angleType(degrees), false);
+    }
+
+    /**
+     * Create a Task 3 question with random side lengths: work out the area
+     * @param shape the shape
+     * @param random the random number generator
+     * @return the question; its parameters are the side lengths
+     */
+    public static Question area(AreaShape shape, Random random) {
+        double[] parameters = new double[shape.getParameterCount()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = 1 + random.nextInt(MAX_SIDE);
+        }
+        return area(shape, parameters);
+    }
+
+    /**
+     * Create a Task 3 question: work out the area
+     * @param shape the shape
+     * @param parameters the side lengths
+     * @return the question
+     */
+    public static Question area(AreaShape shape, double[] parameters) {
+        return Question.numeric(shape.getName(), parameters, false, shape.area(parameters));
+    }
+
+    /**
+     * Create a Task 4 question with a random radius or diameter
+     * @param calculationType {@link #AREA} or {@link #CIRCUMFERENCE}
+     * @param random the random number generator
+     * @return the question; its subject is {@link #RADIUS} or {@link #DIAMETER} and its one
+     * parameter the value
+     */
+    public static Question circle(String calculationType, Random random) {
+        String inputType = random.nextBoolean() ? DIAMETER : RADIUS;
+        return circle(calculationType, inputType, 1 + random.nextInt(MAX_CIRCLE_VALUE));
+    }
+
+    /**
+     * Create a Task 4 question
+     * @param calculationType {@link #AREA} or {@link #CIRCUMFERENCE}
+     * @param inputType {@link #RADIUS} or {@link #DIAMETER}
+     * @param value the radius or diameter
+     * @return the question
+     */
+    public static Question circle(String calculationType, String inputType, double value) {
+        return Question.numeric(inputType, new double[] {value}, false, circleAnswer(calculationType, inputType, value));
+    }
+
+    /**
+     * Work out a circle's area or circumference with π = 3.14
+     * @param calculationType {@link #AREA} or {@link #CIRCUMFERENCE}
+     * @param inputType {@link #RADIUS} or {@link #DIAMETER}
+     * @param value the radius or diameter
+     * @return the answer
+     */
+    public static double circleAnswer(String calculationType, String inputType, double value) {
+        double radius = inputType.equals(RADIUS) ? value : value / 2;
+        if (calculationType.equals(AREA)) {
+            return PI * radius * radius;
+        }
+        if (inputType.equals(RADIUS)) {
+            return 2 * PI * radius;
+        }
+        return Math.round(PI * value * 10) / 10.0;
+    }
+
+    /**
+     * Create the Bonus 2 questions, one per sector
+     * @return the questions; the subject of each is its unit and its parameters the radius and
+     * the angle in degrees, and it asks for the area, then the perimeter
+     */
+    public static List<Question> sectors() {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < SECTOR_RADII.length; i++) {
+            questions.add(sector(SECTOR_RADII[i], SECTOR_ANGLES[i], SECTOR_UNITS[i]));
+        }
+        return questions;
+    }
+
+    /**
+     * Create a Bonus 2 question: work out a sector's area and perimeter
+     * @param radius the radius
+     * @param angle the central angle in degrees
+     * @param unit the unit of length
+     * @return the question
+     */
+    public static Question sector(double radius, int angle, String unit) {
+        return Question.numeric(unit, new double[] {radius, angle}, true,
+                sectorArea(radius, angle), sectorPerimeter(radius, angle));
+    }
+
+    /**
+     * @param radius the radius
+     * @param angle the central angle in degrees
+     * @return the area of the sector (π = 3.14)
+     */
+    public static double sectorArea(double radius, int angle) {
+        return angle / 360.0 * PI * radius * radius;
+    }
+
+    /**
+     * @param radius the radius
+     * @param angle the central angle in degrees
+     * @return the perimeter of the sector, arc and both radii (π = 3.14)
+     */
+    public static double sectorPerimeter(double radius, int angle) {
+        return angle / 360.0 * 2 * PI * radius + 2 * radius;
+    }
+
+    /**
+     * Create a Bonus 1 question: work out the area of a compound shape
+     * @param unit the unit of length
+     * @param area the area of the shape
+     * @return the question
+     */
+    public static Question compound(String unit, double area) {
+        return Question.numeric(unit, new double[0], true, area);
+    }
+}
@@ -0,0 +1,143 @@
+package shapeville.engine;
+
+/**
+ * The attempts at one question: up to {@link Scoring#MAX_ATTEMPTS} answers, until one is right.
+ * <p>
+ * Blank or unreadable answers are turned away without using up an attempt. The round is over
+ * once an answer is right, the last attempt is wrong or the time is up, and a right answer
+ * earns the {@link Scoring#points} for its attempt.
+ * </p>
+ */
+public final class Round {
+    /**
+     * What happened to a submitted answer.
+     */
+    public enum Outcome {
+        /** An answer was left blank; no attempt was used */
+        EMPTY,
+        /** A numeric answer was not a number; no attempt was used */
+        INVALID,
+        /** The answer is right and the round is over */
+        CORRECT,
+        /** The answer is wrong and there are attempts left */
+        WRONG,
+        /** The answer is wrong and it was the last attempt */
+        FAILED
+    }
+
+    private final Question question;
+    private int attempts = 0;
+    private boolean correct = false;
+    private boolean over = false;
+
+    /**
+     * Start answering a question
+     * @param question the question
+     */
+    public Round(Question question) {
+        this.question = question;
+    }
+
+    /**
+     * Submit typed answers, one per answer the question asks for
+     * @param answers the text of each answer
+     * @return the outcome
+     * @throws IllegalStateException if the round is over
+     */
+    public Outcome submit(String... answers) {
+        checkNotOver();
+        if (answers.length != question.getAnswerCount()) {
+            throw new IllegalArgumentException("Expected " + question.getAnswerCount() + " answers, got " + answers.length);
+        }
+        for (String answer : answers) {
+            if (answer == null || answer.trim().isEmpty()) {
+                return Outcome.EMPTY;
+            }
+        }
+        if (!question.isNumeric()) {
+            return attempt(question.accepts(answers[0]));
+        }
+        double[] values = new double[answers.length];
+        try {
+            for (int i = 0; i < answers.length; i++) {
+                values[i] = Double.parseDouble(answers[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return Outcome.INVALID;
+        }
+        return attempt(question.accepts(values));
+    }
+
+    /**
+     * Submit numeric answers directly, e.g. from a simulated student
+     * @param values one value per answer the question asks for
+     * @return the outcome
+     * @throws IllegalStateException if the round is over
+     */
+    public Outcome submit(double... values) {
+        checkNotOver();
+        return attempt(question.accepts(values));
+    }
+
+    /**
+     * End the round without a right answer because the time is up
+     */
+    public void expire() {
+        over = true;
+    }
+
+    private Outcome attempt(boolean right) {
+        attempts++;
+        if (right) {
+            correct = true;
+            over = true;
+            return Outcome.CORRECT;
+        }
+        if (attempts >= Scoring.MAX_ATTEMPTS) {
+            over = true;
+            return Outcome.FAILED;
+        }
+        return Outcome.WRONG;
+    }
+
+    private void checkNotOver() {
+        if (over) {
+            throw new IllegalStateException("The round is over: " + question);
+        }
+    }
+
+    /**
+     * @return the question
+     */
+    public Question getQuestion() {
+        return question;
+    }
+
+    /**
+     * @return the number of attempts used so far
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return true once no more answers are taken
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return true if an answer was right
+     */
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    /**
+     * @return the points earned: those for the right attempt, or 0
+     */
+    public int getPoints() {
+        return correct ? Scoring.points(question.isAdvanced(), attempts) : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package shapeville.engine;
+
+/**
+ * The points a question is worth, by level and by the attempt that got it right.
+ * <p>
+ * Basic questions (Key Stage 1 shapes and angles, Task 3 and Task 4) score 3, 2 or 1 points
+ * on the first, second or third attempt; advanced questions (3D shapes and both bonus tasks)
+ * score 6, 4 or 2.
+ * </p>
+ */
+public final class Scoring {
+    /** Score value for first attempt in basic level */
+    public static final int BASIC_FIRST_ATTEMPT = 3;
+    /** Score value for second attempt in basic level */
+    public static final int BASIC_SECOND_ATTEMPT = 2;
+    /** Score value for third attempt in basic level */
+    public static final int BASIC_THIRD_ATTEMPT = 1;
+    /** Score value for first attempt in advanced level */
+    public static final int ADVANCED_FIRST_ATTEMPT = 6;
+    /** Score value for second attempt in advanced level */
+    public static final int ADVANCED_SECOND_ATTEMPT = 4;
+    /** Score value for third attempt in advanced level */
+    public static final int ADVANCED_THIRD_ATTEMPT = 2;
+    /** Maximum number of attempts allowed per question */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private Scoring() {
+    }
+
+    /**
+     * Get the points for a correct answer
+     * @param advanced true if the question is at advanced level, false for basic level
+     * @param attempt the attempt that was correct (1-3)
+     * @return the points, 0 for an attempt out of range
+     */
+    public static int points(boolean advanced, int attempt) {
+        switch (attempt) {
+            case 1: return advanced ? ADVANCED_FIRST_ATTEMPT : BASIC_FIRST_ATTEMPT;
+            case 2: return advanced ? ADVANCED_SECOND_ATTEMPT : BASIC_SECOND_ATTEMPT;
+            case 3: return advanced ? ADVANCED_THIRD_ATTEMPT : BASIC_THIRD_ATTEMPT;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Get the encouragement shown with a score
+     * @param points the points received for the attempt
+     * @return a motivational feedback message
+     */
+    public static String feedback(int points) {
+        if (points >= ADVANCED_FIRST_ATTEMPT) {
+            return "Outstanding! Perfect on the first try!";
+        } else if (points >= BASIC_FIRST_ATTEMPT) {
+            return "Great job!";
+        } else if (points >= BASIC_THIRD_ATTEMPT) {
+            return "Good effort!";
+        } else {
+            return "Keep practicing!";
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package shapeville.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless command-line simulator of whole student sessions, for tuning the question content
+ * and catching scoring regressions without a display.
+ * <p>
+ * A simulated student works through every task the way the screens run it, answering the same
+ * {@link Questions} through the same {@link Round}s, and gets each attempt right with a fixed
+ * chance, the skill. Sessions run in batches on all cores; each batch has its own seed, so
+ * the totals for a seed do not depend on the number of threads. The simulator prints the
+ * score spread and, per task, how many questions a session takes, how many attempts they
+ * need and how many points they give.
+ * </p>
+ * <pre>
+ * java -cp out shapeville.engine.SessionSimulator --sessions 1000000 --skill 0.7 --seed 1
+ * </pre>
+ */
+public class SessionSimulator {
+    /** Sessions run together with one random number generator */
+    private static final int BATCH_SIZE = 10_000;
+
+    /** Questions a student tries in Task 2 or Task 4 before giving up on getting enough right */
+    private static final int MAX_QUESTIONS_PER_TASK = 100;
+
+    /** Questions per session in the bonus tasks and the number of Task 2 angles and Task 4 calculations needed */
+    private static final int COMPOUNDS = 6;
+    private static final int CIRCLE_CALCULATIONS = 2;
+
+    /** Compound shapes generated per batch; each session draws its six from them */
+    private static final int COMPOUND_POOL = 512;
+
+    /** The questions that are the same in every session; questions are immutable, so sessions share them */
+    private static final List<Question> SHAPES_2D = new ArrayList<>();
+    private static final List<Question> SHAPES_3D = new ArrayList<>();
+    private static final List<Question> SECTORS = Questions.sectors();
+    static {
+        for (String name : Questions.SHAPES_2D) {
+            SHAPES_2D.add(Questions.shape(name, false));
+        }
+        for (String name : Questions.SHAPES_3D) {
+            SHAPES_3D.add(Questions.shape(name, true));
+        }
+    }
+
+    /**
+     * The tasks of a session, in the order they are played.
+     */
+    public enum Task {
+        SHAPES_2D("Task 1 2D shapes"),
+        SHAPES_3D("Task 1 3D shapes"),
+        ANGLES("Task 2 angles"),
+        AREA("Task 3 area"),
+        CIRCLE("Task 4 circles"),
+        COMPOUND("Bonus 1 compound"),
+        SECTOR("Bonus 2 sectors");
+
+        private final String label;
+
+        Task(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return the name printed in the report
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * A simulated student.
+     */
+    public interface Student {
+        /**
+         * Decide whether an attempt is right
+         * @param task the task
+         * @param question the question
+         * @param attempt the attempt, from 1
+         * @param random the random number generator of the session
+         * @return true to give the right answer, false for a wrong one
+         */
+        boolean answersRight(Task task, Question question, int attempt, Random random);
+
+        /**
+         * Create a student who gets every attempt right with the same chance
+         * @param skill the chance, from 0 to 1
+         * @return the student
+         */
+        static Student withSkill(double skill) {
+            return (task, question, attempt, random) -> random.nextDouble() < skill;
+        }
+    }
+
+    /**
+     * Totals over many sessions.
+     */
+    public static final class Stats {
+        private long sessions;
+        private long scoreSum;
+        private long scoreSquares;
+        private int minScore = Integer.MAX_VALUE;
+        private int maxScore = Integer.MIN_VALUE;
+        private final long[] questions = new long[Task.values().length];
+        private final long[] attempts = new long[Task.values().length];
+        private final long[] firstTry = new long[Task.values().length];
+        private final long[] failed = new long[Task.values().length];
+        private final long[] points = new long[Task.values().length];
+
+        void record(Task task, Round round) {
+            int t = task.ordinal();
+            questions[t]++;
+            attempts[t] += round.getAttempts();
+            points[t] += round.getPoints();
+            if (round.isCorrect()) {
+                if (round.getAttempts() == 1) {
+                    firstTry[t]++;
+                }
+            } else {
+                failed[t]++;
+            }
+        }
+
+        void endSession(int score) {
+            sessions++;
+            scoreSum += score;
+            scoreSquares += (long) score * score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+        }
+
+        void add(Stats other) {
+            sessions += other.sessions;
+            scoreSum += other.scoreSum;
+            scoreSquares += other.scoreSquares;
+            minScore = Math.min(minScore, other.minScore);
+            maxScore = Math.max(maxScore, other.maxScore);
+            for (int t = 0; t < questions.length; t++) {
+                questions[t] += other.questions[t];
+                attempts[t] += other.attempts[t];
+                firstTry[t] += other.firstTry[t];
+                failed[t] += other.failed[t];
+                points[t] += other.points[t];
+            }
+        }
+
+        /**
+         * @return the number of sessions
+         */
+        public long getSessions() {
+            return sessions;
+        }
+
+        /**
+         * @return the mean session score
+         */
+        public double getMeanScore() {
+            return sessions == 0 ? 0 : (double) scoreSum / sessions;
+        }
+
+        /**
+         * @return the standard deviation of the session score
+         */
+        public double getScoreDeviation() {
+            if (sessions == 0) {
+                return 0;
+            }
+            double mean = getMeanScore();
+            return Math.sqrt(Math.max(0, (double) scoreSquares / sessions - mean * mean));
+        }
+
+        /**
+         * @param task the task
+         * @return the mean points a session earns in the task
+         */
+        public double getMeanPoints(Task task) {
+            return sessions == 0 ? 0 : (double) points[task.ordinal()] / sessions;
+        }
+
+        /**
+         * Print the score spread and a line per task
+         */
+        public void print() {
+            System.out.printf("Score: mean %.2f, sd %.2f, min %d, max %d over %d sessions%n",
+                    getMeanScore(), getScoreDeviation(), minScore, maxScore, sessions);
+            System.out.printf("%-18s %10s %14s %10s %8s %14s%n",
+                    "task", "questions", "attempts/q", "first try", "failed", "points");
+            for (Task task : Task.values()) {
+                int t = task.ordinal();
+                double perQuestion = questions[t] == 0 ? 0 : 1.0 / questions[t];
+                System.out.printf("%-18s %10.2f %14.2f %9.1f%% %7.1f%% %14.2f%n",
+                        task.getLabel(),
+                        sessions == 0 ? 0 : (double) questions[t] / sessions,
+                        attempts[t] * perQuestion,
+                        100.0 * firstTry[t] * perQuestion,
+                        100.0 * failed[t] * perQuestion,
+                        getMeanPoints(task));
+            }
+        }
+    }
+
+    private final Student student;
+    private final long seed;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param student how the simulated students answer
+     * @param seed the random seed; the same seed and session count give the same totals
+     */
+    public SessionSimulator(Student student, long seed) {
+        this.student = student;
+        this.seed = seed;
+    }
+
+    /**
+     * Entry point. Options: --sessions N, --skill P, --threads N, --seed N
+     *
+     * @param args command line options
+     */
+    public static void main(String[] args) {
+        long sessions = 1_000_000;
+        double skill = 0.7;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--sessions":
+                        sessions = Long.parseLong(args[++i]);
+                        break;
+                    case "--skill":
+                        skill = Double.parseDouble(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            System.err.println("Usage: SessionSimulator [--sessions N] [--skill 0.7] [--threads N] [--seed N]");
+            System.exit(1);
+            return;
+        }
+
+        SessionSimulator simulator = new SessionSimulator(Student.withSkill(skill), seed);
+        try {
+            simulator.run(sessions, Math.max(1, threads)).print();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Simulates sessions on a pool of worker threads and prints the throughput.
+     *
+     * @param sessions the number of sessions
+     * @param threads the number of worker threads
+     * @return the totals
+     * @throws InterruptedException if interrupted while waiting for the workers
+     * @throws ExecutionException if a session fails
+     */
+    public Stats run(long sessions, int threads) throws InterruptedException, ExecutionException {
+        List<Callable<Stats>> jobs = new ArrayList<>();
+        for (long first = 0; first < sessions; first += BATCH_SIZE) {
+            long batch = first / BATCH_SIZE;
+            int count = (int) Math.min(BATCH_SIZE, sessions - first);
+            jobs.add(() -> runBatch(batch, count));
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Stats total = new Stats();
+        try {
+            for (Future<Stats> result : pool.invokeAll(jobs)) {
+                total.add(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %d sessions in %.2f s (%.0f sessions/s, %d threads)%n",
+                sessions, seconds, sessions / seconds, threads);
+        return total;
+    }
+
+    /**
+     * Simulates one batch of sessions with its own random number generator.
+     */
+    private Stats runBatch(long batch, int count) {
+        Random random = new Random(seed * 0x9E3779B97F4A7C15L + batch);
+        // Generating a compound shape costs more than the rest of a session, so a batch shares a pool of them
+        List<CompoundShape> compounds = new CompoundGenerator(random.nextLong()).generate(COMPOUND_POOL);
+        Stats stats = new Stats();
+        for (int i = 0; i < count; i++) {
+            stats.endSession(playSession(random, compounds, stats));
+        }
+        return stats;
+    }
+
+    /**
+     * Plays every task once.
+     *
+     * @return the session score
+     */
+    private int playSession(Random random, List<CompoundShape> compounds, Stats stats) {
+        int score = 0;
+        for (Question shape : SHAPES_2D) {
+            score += play(Task.SHAPES_2D, shape, random, stats);
+        }
+        for (Question shape : SHAPES_3D) {
+            score += play(Task.SHAPES_3D, shape, random, stats);
+        }
+
+        // The student picks angles until each type has been named correctly once
+        int identified = 0;
+        int allTypes = (1 << Questions.ANGLE_TYPES.size()) - 1;
+        for (int q = 0; q < MAX_QUESTIONS_PER_TASK && identified != allTypes; q++) {
+            int degrees;
+            int type;
+            do {
+                degrees = random.nextInt(360 / Questions.ANGLE_STEP + 1) * Questions.ANGLE_STEP;
+                type = 1 << Questions.ANGLE_TYPES.indexOf(Questions.angleType(degrees));
+            } while ((identified & type) != 0);
+            Round round = new Round(Questions.angle(degrees));
+            score += play(Task.ANGLES, round, random, stats);
+            if (round.isCorrect()) {
+                identified |= type;
+            }
+        }
+
+        for (AreaShape shape : AreaShape.values()) {
+            score += play(Task.AREA, Questions.area(shape, random), random, stats);
+        }
+
+        // A right answer switches between area and circumference, a wrong one repeats the type
+        String calculationType = random.nextBoolean() ? Questions.AREA : Questions.CIRCUMFERENCE;
+        int calculations = 0;
+        for (int q = 0; q < MAX_QUESTIONS_PER_TASK && calculations < CIRCLE_CALCULATIONS; q++) {
+            Round round = new Round(Questions.circle(calculationType, random));
+            score += play(Task.CIRCLE, round, random, stats);
+            if (round.isCorrect()) {
+                calculations++;
+                calculationType = calculationType.equals(Questions.AREA) ? Questions.CIRCUMFERENCE : Questions.AREA;
+            }
+        }
+
+        for (int q = 0; q < COMPOUNDS; q++) {
+            CompoundShape compound = compounds.get(random.nextInt(compounds.size()));
+            score += play(Task.COMPOUND, Questions.compound(compound.getUnit(), compound.getArea()), random, stats);
+        }
+        for (Question sector : SECTORS) {
+            score += play(Task.SECTOR, sector, random, stats);
+        }
+        return score;
+    }
+
+    private int play(Task task, Question question, Random random, Stats stats) {
+        return play(task, new Round(question), random, stats);
+    }
+
+    /**
+     * Answers a question until the round is over.
+     *
+     * @return the points earned
+     */
+    private int play(Task task, Round round, Random random, Stats stats) {
+        Question question = round.getQuestion();
+        while (!round.isOver()) {
+            boolean right = student.answersRight(task, question, round.getAttempts() + 1, random);
+            if (question.isNumeric()) {
+                double[] values = new double[question.getAnswerCount()];
+                for (int i = 0; i < values.length; i++) {
+                    // Anything further off than the tolerance is wrong
+                    values[i] = question.getAnswer(i) + (right ? 0 : 1);
+                }
+                round.submit(values);
+            } else {
+                round.submit(right ? question.getAnswerText() : "?");
+            }
+        }
+        stats.record(task, round);
+        return round.getPoints();
+    }
+}
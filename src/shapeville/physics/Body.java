@@ -0,0 +1,66 @@
+package shapeville.physics;
+
+/**
+ * A moving box, such as the start screen character. Its position is its top left corner.
+ */
+public class Body {
+    public int x;
+    public int y;
+    public int width;
+    public int height;
+    /** Vertical speed in pixels per step, positive downwards */
+    public int velocityY;
+    /** What the body is standing on, or null while it is in the air */
+    Collider support;
+
+    /**
+     * Create a body.
+     * @param x the left edge
+     * @param y the top edge
+     * @param width the width
+     * @param height the height
+     */
+    public Body(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the y coordinate of the bottom edge
+     */
+    public int getBottom() {
+        return y + height;
+    }
+
+    /**
+     * @return the x coordinate of the middle, which decides whether the body is over a platform
+     */
+    public int getCentreX() {
+        return x + width / 2;
+    }
+
+    /**
+     * @return the platform or floor the body stands on, or null while in the air
+     */
+    public Collider getSupport() {
+        return support;
+    }
+
+    /**
+     * @return true while the body stands on a platform or the floor
+     */
+    public boolean isGrounded() {
+        return support != null;
+    }
+
+    /**
+     * Leave the ground with an upward speed.
+     * @param velocity the new vertical speed, negative to go up
+     */
+    public void launch(int velocity) {
+        velocityY = velocity;
+        support = null;
+    }
+}
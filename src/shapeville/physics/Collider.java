@@ -0,0 +1,51 @@
+package shapeville.physics;
+
+import java.awt.*;
+
+/**
+ * An axis-aligned box in a {@link PhysicsWorld}. A plain collider is a one-way platform: bodies
+ * falling onto its top edge land on it, while walking or jumping through it from the side or
+ * from below is allowed.
+ */
+public class Collider {
+    private final String name;
+    final Rectangle bounds;
+    /** The query that last returned this collider, so a grid query reports it only once */
+    int queryStamp;
+
+    /**
+     * Create a collider.
+     * @param name a name for debugging, e.g. "Key Stage 1"
+     * @param bounds the box; it is copied
+     */
+    Collider(String name, Rectangle bounds) {
+        this.name = name;
+        this.bounds = new Rectangle(bounds);
+    }
+
+    /**
+     * @return the collider's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a copy of the collider's box
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(bounds);
+    }
+
+    /**
+     * @return the y coordinate of the top edge, where bodies land
+     */
+    public int getTop() {
+        return bounds.y;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + bounds;
+    }
+}
@@ -0,0 +1,218 @@
+package shapeville.physics;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small 2D world of one-way platforms, triggers and a floor, for characters that walk,
+ * jump and land.
+ * <p>
+ * Platforms and triggers are declared once with {@link #addPlatform} and {@link #addTrigger}
+ * and kept in a uniform grid, so each step only tests the ones near the body. Falls are swept:
+ * a body lands on the first platform top it crosses during the step however fast it falls,
+ * instead of passing through thin platforms between two positions.
+ * </p>
+ */
+public class PhysicsWorld {
+    /** Grid cell size in pixels, about the size of a sign */
+    private static final int CELL_SIZE = 128;
+
+    private final SpatialGrid platforms = new SpatialGrid(CELL_SIZE);
+    private final SpatialGrid triggers = new SpatialGrid(CELL_SIZE);
+    private final Collider floor = new Collider("floor", new Rectangle(Integer.MIN_VALUE / 2, 0, Integer.MAX_VALUE, 1));
+    /** Triggers the body was standing in after the last step */
+    private final List<Trigger> occupied = new ArrayList<>();
+    /** Reused for queries so stepping allocates nothing */
+    private final List<Collider> candidates = new ArrayList<>();
+    private final Rectangle sweep = new Rectangle();
+
+    /**
+     * Set the area the grid covers, usually the size of the screen.
+     * @param width the width in pixels
+     * @param height the height in pixels
+     */
+    public void setArea(int width, int height) {
+        platforms.resize(width, height);
+        triggers.resize(width, height);
+    }
+
+    /**
+     * Set where the floor is; nothing falls below it.
+     * @param top the y coordinate bodies stand at on the floor
+     */
+    public void setFloor(int top) {
+        floor.bounds.y = top;
+    }
+
+    /**
+     * @return the floor, as reported by {@link Body#getSupport()}
+     */
+    public Collider getFloor() {
+        return floor;
+    }
+
+    /**
+     * Add a one-way platform.
+     * @param name a name for debugging
+     * @param bounds the platform's box; bodies land on its top edge
+     * @return the platform
+     */
+    public Collider addPlatform(String name, Rectangle bounds) {
+        Collider platform = new Collider(name, bounds);
+        platforms.insert(platform);
+        return platform;
+    }
+
+    /**
+     * Add an area that runs an action when a body stands in it.
+     * @param name a name for debugging
+     * @param area the area
+     * @param delayMillis how long the body has to stay before the action runs
+     * @param action the action
+     * @return the trigger
+     */
+    public Trigger addTrigger(String name, Rectangle area, long delayMillis, Runnable action) {
+        Trigger trigger = new Trigger(name, area, delayMillis, action);
+        triggers.insert(trigger);
+        return trigger;
+    }
+
+    /**
+     * Move a platform or trigger, e.g. after the screen is resized.
+     * @param collider the platform or trigger
+     * @param bounds its new box
+     */
+    public void setBounds(Collider collider, Rectangle bounds) {
+        if (collider.bounds.equals(bounds)) {
+            return;
+        }
+        (collider instanceof Trigger ? triggers : platforms).move(collider, bounds);
+    }
+
+    /**
+     * Put a body at rest on the floor, e.g. when a level restarts.
+     * @param body the body
+     */
+    public void placeOnFloor(Body body) {
+        land(body, floor);
+    }
+
+    /**
+     * Advance a body by one step: apply gravity while it is in the air and land it on the first
+     * platform or the floor it reaches, or start it falling if it has walked off its support.
+     * @param body the body
+     * @param gravity the increase in downward speed per step
+     */
+    public void step(Body body, int gravity) {
+        if (body.support != null) {
+            if (body.support != floor && !isOn(body, body.support)) {
+                // Walked off the edge
+                body.support = null;
+                body.velocityY = 0;
+            } else if (body.support == floor && body.getBottom() != floor.bounds.y) {
+                // The floor moved, e.g. the window was resized
+                body.y = floor.bounds.y - body.height;
+            }
+        }
+        if (body.support != null) {
+            return;
+        }
+
+        body.velocityY += gravity;
+        int bottomBefore = body.getBottom();
+        body.y += body.velocityY;
+        int bottomAfter = body.getBottom();
+
+        if (body.velocityY > 0) {
+            Collider landing = firstPlatformCrossed(body, bottomBefore, bottomAfter);
+            if (landing != null) {
+                land(body, landing);
+                return;
+            }
+        }
+        if (bottomAfter >= floor.bounds.y) {
+            land(body, floor);
+        }
+    }
+
+    /**
+     * Find the highest platform whose top the body's feet passed during a fall.
+     */
+    private Collider firstPlatformCrossed(Body body, int bottomBefore, int bottomAfter) {
+        sweep.setBounds(body.x, bottomBefore, body.width, bottomAfter - bottomBefore + 1);
+        candidates.clear();
+        platforms.query(sweep, candidates);
+        Collider best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Collider platform = candidates.get(i);
+            int top = platform.bounds.y;
+            if (bottomBefore <= top && bottomAfter >= top && isOver(body, platform)
+                    && (best == null || top < best.bounds.y)) {
+                best = platform;
+            }
+        }
+        return best;
+    }
+
+    private void land(Body body, Collider support) {
+        body.y = support.bounds.y - body.height;
+        body.velocityY = 0;
+        body.support = support;
+    }
+
+    /**
+     * Whether the middle of the body is over a platform, edges included
+     */
+    private static boolean isOver(Body body, Collider platform) {
+        int centre = body.getCentreX();
+        return centre >= platform.bounds.x && centre <= platform.bounds.x + platform.bounds.width;
+    }
+
+    private static boolean isOn(Body body, Collider platform) {
+        return body.getBottom() == platform.bounds.y && isOver(body, platform);
+    }
+
+    /**
+     * Update which triggers the body stands in and run any that are due.
+     * @param body the body
+     * @param nowMillis the current time, usually simulated time
+     */
+    public void updateTriggers(Body body, long nowMillis) {
+        int footX = body.getCentreX();
+        int footY = body.getBottom();
+        // Leave the triggers the body is no longer standing in
+        for (int i = occupied.size() - 1; i >= 0; i--) {
+            Trigger trigger = occupied.get(i);
+            if (!body.isGrounded() || !trigger.bounds.contains(footX, footY)) {
+                trigger.reset();
+                occupied.remove(i);
+            }
+        }
+        if (body.isGrounded()) {
+            sweep.setBounds(footX, footY, 1, 1);
+            candidates.clear();
+            triggers.query(sweep, candidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                Trigger trigger = (Trigger) candidates.get(i);
+                if (!trigger.isOccupied() && trigger.bounds.contains(footX, footY)) {
+                    trigger.enteredAt = nowMillis;
+                    occupied.add(trigger);
+                }
+            }
+        }
+        for (int i = 0; i < occupied.size(); i++) {
+            occupied.get(i).check(nowMillis);
+        }
+    }
+
+    /**
+     * Forget which triggers are occupied, so they can fire again.
+     */
+    public void resetTriggers() {
+        for (Trigger trigger : occupied) {
+            trigger.reset();
+        }
+        occupied.clear();
+    }
+}
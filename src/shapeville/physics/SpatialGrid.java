@@ -0,0 +1,109 @@
+package shapeville.physics;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid of square cells, each listing the colliders that overlap it. A query only
+ * looks at the cells its box touches, so its cost depends on how crowded that spot is rather
+ * than on how many colliders the world holds. Colliders outside the grid are kept in the
+ * border cells.
+ */
+class SpatialGrid {
+    private final int cellSize;
+    private int columns = 1;
+    private int rows = 1;
+    private List<List<Collider>> cells = new ArrayList<>();
+    private final List<Collider> all = new ArrayList<>();
+    /** Increases with every query; see {@link Collider#queryStamp} */
+    private int stamp;
+
+    SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+        cells.add(new ArrayList<>());
+    }
+
+    /**
+     * Size the grid to cover an area and put every collider back in.
+     */
+    void resize(int width, int height) {
+        int newColumns = Math.max(1, (width + cellSize - 1) / cellSize);
+        int newRows = Math.max(1, (height + cellSize - 1) / cellSize);
+        if (newColumns == columns && newRows == rows) {
+            return;
+        }
+        columns = newColumns;
+        rows = newRows;
+        cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+        for (Collider collider : all) {
+            forEachCell(collider.bounds, collider, true);
+        }
+    }
+
+    void insert(Collider collider) {
+        all.add(collider);
+        forEachCell(collider.bounds, collider, true);
+    }
+
+    /**
+     * Move a collider to a new box.
+     */
+    void move(Collider collider, Rectangle bounds) {
+        forEachCell(collider.bounds, collider, false);
+        collider.bounds.setBounds(bounds);
+        forEachCell(collider.bounds, collider, true);
+    }
+
+    /**
+     * Add every collider overlapping the cells an area touches to a list, each only once.
+     * The caller still has to test the exact boxes.
+     */
+    void query(Rectangle area, List<Collider> out) {
+        stamp++;
+        int left = column(area.x);
+        int right = column(area.x + area.width);
+        int top = row(area.y);
+        int bottom = row(area.y + area.height);
+        for (int r = top; r <= bottom; r++) {
+            for (int c = left; c <= right; c++) {
+                List<Collider> cell = cells.get(r * columns + c);
+                for (int i = 0; i < cell.size(); i++) {
+                    Collider collider = cell.get(i);
+                    if (collider.queryStamp != stamp) {
+                        collider.queryStamp = stamp;
+                        out.add(collider);
+                    }
+                }
+            }
+        }
+    }
+
+    private void forEachCell(Rectangle bounds, Collider collider, boolean add) {
+        int left = column(bounds.x);
+        int right = column(bounds.x + bounds.width);
+        int top = row(bounds.y);
+        int bottom = row(bounds.y + bounds.height);
+        for (int r = top; r <= bottom; r++) {
+            for (int c = left; c <= right; c++) {
+                List<Collider> cell = cells.get(r * columns + c);
+                if (add) {
+                    cell.add(collider);
+                } else {
+                    cell.remove(collider);
+                }
+            }
+        }
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, cellSize)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+    }
+}
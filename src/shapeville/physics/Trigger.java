@@ -0,0 +1,52 @@
+package shapeville.physics;
+
+import java.awt.*;
+
+/**
+ * An area that runs an action once a body has stood in it for long enough. The body counts as
+ * being in the area when it is on the ground or a platform and the middle of its bottom edge
+ * is inside the area. Leaving the area, or jumping, starts the wait again.
+ */
+public class Trigger extends Collider {
+    private final long delayMillis;
+    private final Runnable action;
+    /** When the body entered, or -1 while it is outside */
+    long enteredAt = -1;
+    /** Whether the action has run since the body entered */
+    boolean fired;
+
+    /**
+     * Create a trigger.
+     * @param name a name for debugging
+     * @param area the area the body has to stand in; it is copied
+     * @param delayMillis how long the body has to stay, 0 to run the action straight away
+     * @param action what to do, run on the thread that steps the world
+     */
+    Trigger(String name, Rectangle area, long delayMillis, Runnable action) {
+        super(name, area);
+        this.delayMillis = delayMillis;
+        this.action = action;
+    }
+
+    /**
+     * @return true while a body is standing in the area
+     */
+    public boolean isOccupied() {
+        return enteredAt >= 0;
+    }
+
+    /**
+     * Work out whether the action is due and run it.
+     */
+    void check(long nowMillis) {
+        if (!fired && nowMillis - enteredAt >= delayMillis) {
+            fired = true;
+            action.run();
+        }
+    }
+
+    void reset() {
+        enteredAt = -1;
+        fired = false;
+    }
+}
@@ -0,0 +1,392 @@
+package shapeville.task1;
+
+import shapeville.utils.Scheduler;
+import shapeville.utils.SolidMesh;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Draws a {@link SolidMesh} with a small software 3D pipeline and lets the user drag to rotate it.
+ * <p>
+ * Each frame the vertices are rotated and perspective-projected into preallocated {@code float[]}
+ * buffers, back-facing triangles are culled by the sign of their projected area, and the rest
+ * are flat shaded from a precomputed palette and scan-converted straight into an {@code int[]}
+ * pixel buffer at twice the screen resolution. The buffer is then averaged down 2x2 into the
+ * frame image, which smooths the edges, and the frame is blitted once. Because every solid is
+ * convex, the front-facing triangles never overlap, so no depth sorting is needed.
+ * Nothing is allocated while painting or rotating; buffers are only sized when the mesh or the
+ * component size changes.
+ * </p>
+ */
+class MeshView extends JComponent {
+    /** Repaint interval of the spin animation, about 60 frames per second */
+    private static final int FRAME_MILLIS = 16;
+
+    /** Radians turned per pixel dragged */
+    private static final float DRAG_SPEED = 0.01f;
+
+    /** Slow turn while the user is not dragging, in radians per frame */
+    private static final float IDLE_SPIN = 0.006f;
+
+    /** How much of the release speed is kept each frame */
+    private static final float SPIN_DAMPING = 0.95f;
+
+    /** Distance from the eye to the centre of the solid, in mesh units */
+    private static final float CAMERA_DISTANCE = 3.5f;
+
+    /** Fraction of the component the unit sphere fills */
+    private static final float VIEW_FILL = 0.8f;
+
+    /** Light direction in view space (normalised below): from the upper left, in front */
+    private static final float[] LIGHT = normalise(-0.45f, 0.6f, 0.65f);
+    private static final float AMBIENT = 0.35f;
+
+    /** Number of precomputed shades per mesh colour */
+    private static final int SHADES = 64;
+
+    /** Samples per pixel along each axis; resolve() assumes 2 */
+    private static final int SUPERSAMPLE = 2;
+
+    /** Outline width in screen pixels */
+    private static final float OUTLINE_WIDTH = 1.5f;
+    private static final int OUTLINE_RGB = 0x3C3C3C;
+
+    private static final String HINT = "Drag to rotate";
+
+    private SolidMesh mesh;
+    private final int[] palette = new int[SHADES];
+
+    /** Per-vertex buffers: projected sample position, reused every frame */
+    private float[] sampleX = new float[0];
+    private float[] sampleY = new float[0];
+    /** Rotation matrix, row-major */
+    private final float[] rotation = new float[9];
+
+    /** Supersampled colour buffer and the frame image it is resolved into */
+    private int[] samples = new int[0];
+    private int sampleWidth;
+    private int sampleHeight;
+    private BufferedImage frame;
+    private int[] framePixels;
+
+    private float yaw = 0.6f;
+    private float pitch = 0.45f;
+    private float spin = IDLE_SPIN;
+    private boolean dragging = false;
+    private int lastX;
+    private int lastY;
+    private float lastDeltaX;
+
+    MeshView() {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+
+        // Only animates while the view is on screen
+        Scheduler.repeat(this, FRAME_MILLIS, () -> {
+            if (!dragging && mesh != null) {
+                yaw += spin;
+                // Ease from the release speed back to the idle spin
+                spin = IDLE_SPIN + (spin - IDLE_SPIN) * SPIN_DAMPING;
+                repaint();
+            }
+        });
+
+        MouseAdapter rotator = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragging = true;
+                lastX = e.getX();
+                lastY = e.getY();
+                lastDeltaX = 0;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                lastDeltaX = (e.getX() - lastX) * DRAG_SPEED;
+                yaw += lastDeltaX;
+                pitch += (e.getY() - lastY) * DRAG_SPEED;
+                // Keep the solid from turning upside down
+                pitch = Math.max(-1.5f, Math.min(1.5f, pitch));
+                lastX = e.getX();
+                lastY = e.getY();
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragging = false;
+                // Carry on turning at the speed the user let go at
+                spin = lastDeltaX;
+            }
+        };
+        addMouseListener(rotator);
+        addMouseMotionListener(rotator);
+    }
+
+    /**
+     * Show a solid, resetting the view angle
+     * @param mesh the mesh to draw, or null for an empty view
+     */
+    void setMesh(SolidMesh mesh) {
+        this.mesh = mesh;
+        yaw = 0.6f;
+        pitch = 0.45f;
+        spin = IDLE_SPIN;
+        if (mesh != null) {
+            if (sampleX.length < mesh.getVertexCount()) {
+                sampleX = new float[mesh.getVertexCount()];
+                sampleY = new float[mesh.getVertexCount()];
+            }
+            Color base = mesh.getColor();
+            for (int i = 0; i < SHADES; i++) {
+                float intensity = AMBIENT + (1 - AMBIENT) * i / (SHADES - 1);
+                palette[i] = Math.min(255, Math.round(base.getRed() * intensity)) << 16
+                        | Math.min(255, Math.round(base.getGreen() * intensity)) << 8
+                        | Math.min(255, Math.round(base.getBlue() * intensity));
+            }
+        }
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return isPreferredSizeSet() ? super.getPreferredSize() : new Dimension(300, 300);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        Insets insets = getInsets();
+        int width = getWidth() - insets.left - insets.right;
+        int height = getHeight() - insets.top - insets.bottom;
+        if (mesh == null || width <= 0 || height <= 0) {
+            g2d.setColor(getBackground());
+            g2d.fillRect(insets.left, insets.top, Math.max(0, width), Math.max(0, height));
+            return;
+        }
+
+        // Render at device resolution so the model stays sharp on HiDPI screens
+        double deviceScale = Math.max(1.0, g2d.getTransform().getScaleX());
+        int pixelWidth = (int) Math.ceil(width * deviceScale);
+        int pixelHeight = (int) Math.ceil(height * deviceScale);
+        ensureBuffers(pixelWidth, pixelHeight);
+
+        Arrays.fill(samples, 0, sampleWidth * sampleHeight, getBackground().getRGB() & 0xFFFFFF);
+        updateRotation();
+        project(sampleWidth / 2f, sampleHeight / 2f, Math.min(sampleWidth, sampleHeight) * VIEW_FILL / 2);
+        drawTriangles((float) (OUTLINE_WIDTH * deviceScale * SUPERSAMPLE));
+        resolve();
+
+        g2d.drawImage(frame, insets.left, insets.top, width, height, null);
+        g2d.setColor(Color.GRAY);
+        g2d.drawString(HINT, insets.left + 8, insets.top + height - 8);
+    }
+
+    /**
+     * (Re)allocate the sample buffer and frame image when the pixel size changes
+     */
+    private void ensureBuffers(int pixelWidth, int pixelHeight) {
+        if (frame != null && frame.getWidth() == pixelWidth && frame.getHeight() == pixelHeight) {
+            return;
+        }
+        frame = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+        framePixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        sampleWidth = pixelWidth * SUPERSAMPLE;
+        sampleHeight = pixelHeight * SUPERSAMPLE;
+        if (samples.length < sampleWidth * sampleHeight) {
+            samples = new int[sampleWidth * sampleHeight];
+        }
+    }
+
+    /**
+     * Build the rotation matrix for the current pitch (about x) and yaw (about y)
+     */
+    private void updateRotation() {
+        float cosYaw = (float) Math.cos(yaw);
+        float sinYaw = (float) Math.sin(yaw);
+        float cosPitch = (float) Math.cos(pitch);
+        float sinPitch = (float) Math.sin(pitch);
+        rotation[0] = cosYaw;
+        rotation[1] = 0;
+        rotation[2] = sinYaw;
+        rotation[3] = sinPitch * sinYaw;
+        rotation[4] = cosPitch;
+        rotation[5] = -sinPitch * cosYaw;
+        rotation[6] = -cosPitch * sinYaw;
+        rotation[7] = sinPitch;
+        rotation[8] = cosPitch * cosYaw;
+    }
+
+    /**
+     * Rotate every vertex and project it into sample coordinates
+     */
+    private void project(float centreX, float centreY, float scale) {
+        float[] vertices = mesh.getVertices();
+        float[] r = rotation;
+        int vertexCount = mesh.getVertexCount();
+        for (int v = 0; v < vertexCount; v++) {
+            float x = vertices[v * 3];
+            float y = vertices[v * 3 + 1];
+            float z = vertices[v * 3 + 2];
+            float viewX = r[0] * x + r[1] * y + r[2] * z;
+            float viewY = r[3] * x + r[4] * y + r[5] * z;
+            float viewZ = r[6] * x + r[7] * y + r[8] * z;
+            // Perspective divide; the eye sits on the +z axis looking at the origin
+            float perspective = (CAMERA_DISTANCE - 1) / (CAMERA_DISTANCE - viewZ);
+            sampleX[v] = centreX + viewX * perspective * scale;
+            sampleY[v] = centreY - viewY * perspective * scale;
+        }
+    }
+
+    /**
+     * Cull, shade and fill every triangle, then draw the outline edges of the visible faces
+     */
+    private void drawTriangles(float outlineWidth) {
+        int[] triangles = mesh.getTriangles();
+        float[] normals = mesh.getNormals();
+        float[] r = rotation;
+        int triangleCount = mesh.getTriangleCount();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int t = 0; t < triangleCount; t++) {
+                int a = triangles[t * 3];
+                int b = triangles[t * 3 + 1];
+                int c = triangles[t * 3 + 2];
+                // Screen y points down, so a counter-clockwise (front) triangle has negative area here
+                float area = (sampleX[b] - sampleX[a]) * (sampleY[c] - sampleY[a])
+                        - (sampleX[c] - sampleX[a]) * (sampleY[b] - sampleY[a]);
+                if (area >= 0) {
+                    continue;
+                }
+                if (pass == 0) {
+                    float nx = normals[t * 3];
+                    float ny = normals[t * 3 + 1];
+                    float nz = normals[t * 3 + 2];
+                    float diffuse = (r[0] * nx + r[1] * ny + r[2] * nz) * LIGHT[0]
+                            + (r[3] * nx + r[4] * ny + r[5] * nz) * LIGHT[1]
+                            + (r[6] * nx + r[7] * ny + r[8] * nz) * LIGHT[2];
+                    fillTriangle(a, b, c, palette[Math.round(Math.max(0, diffuse) * (SHADES - 1))]);
+                } else {
+                    // Outlines go on top of all faces, so the second pass draws them
+                    int mask = mesh.getEdgeMask(t);
+                    if ((mask & 1) != 0) {
+                        drawLine(a, b, outlineWidth);
+                    }
+                    if ((mask & 2) != 0) {
+                        drawLine(b, c, outlineWidth);
+                    }
+                    if ((mask & 4) != 0) {
+                        drawLine(c, a, outlineWidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Scan-convert a triangle. A sample is covered when its centre lies inside; rows and spans
+     * are half-open, so triangles sharing an edge leave neither gaps nor double-filled samples.
+     */
+    private void fillTriangle(int a, int b, int c, int rgb) {
+        // Sort the corners from top to bottom
+        if (sampleY[b] < sampleY[a]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        if (sampleY[c] < sampleY[b]) {
+            int swap = b;
+            b = c;
+            c = swap;
+            if (sampleY[b] < sampleY[a]) {
+                swap = a;
+                a = b;
+                b = swap;
+            }
+        }
+        float topY = sampleY[a];
+        float middleY = sampleY[b];
+        float bottomY = sampleY[c];
+        int firstRow = Math.max(0, (int) Math.ceil(topY - 0.5f));
+        int lastRow = Math.min(sampleHeight, (int) Math.ceil(bottomY - 0.5f));
+        for (int row = firstRow; row < lastRow; row++) {
+            float centreY = row + 0.5f;
+            float longX = edgeX(a, c, centreY);
+            float shortX = centreY < middleY ? edgeX(a, b, centreY) : edgeX(b, c, centreY);
+            int start = Math.max(0, (int) Math.ceil(Math.min(longX, shortX) - 0.5f));
+            int end = Math.min(sampleWidth, (int) Math.ceil(Math.max(longX, shortX) - 0.5f));
+            if (start < end) {
+                Arrays.fill(samples, row * sampleWidth + start, row * sampleWidth + end, rgb);
+            }
+        }
+    }
+
+    /**
+     * x of the edge from the upper vertex p to the lower vertex q at height y. Shared edges are
+     * always evaluated in the same direction, so neighbouring triangles agree exactly.
+     */
+    private float edgeX(int p, int q, float y) {
+        return sampleX[p] + (y - sampleY[p]) * (sampleX[q] - sampleX[p]) / (sampleY[q] - sampleY[p]);
+    }
+
+    /**
+     * Draw a thick line by stamping a square brush along it
+     */
+    private void drawLine(int p, int q, float lineWidth) {
+        float x0 = sampleX[p];
+        float y0 = sampleY[p];
+        float dx = sampleX[q] - x0;
+        float dy = sampleY[q] - y0;
+        int steps = Math.max(1, (int) Math.ceil(Math.max(Math.abs(dx), Math.abs(dy))));
+        int half = (int) (lineWidth / 2);
+        for (int i = 0; i <= steps; i++) {
+            int x = Math.round(x0 + dx * i / steps);
+            int y = Math.round(y0 + dy * i / steps);
+            int top = Math.max(0, y - half);
+            int bottom = Math.min(sampleHeight, y + half + 1);
+            int left = Math.max(0, x - half);
+            int right = Math.min(sampleWidth, x + half + 1);
+            for (int row = top; row < bottom; row++) {
+                if (left < right) {
+                    Arrays.fill(samples, row * sampleWidth + left, row * sampleWidth + right, OUTLINE_RGB);
+                }
+            }
+        }
+    }
+
+    /**
+     * Average each 2x2 block of samples into one frame pixel. Red and blue are summed in one
+     * int and green in another; each channel has 8 spare bits, so the sums cannot overflow.
+     */
+    private void resolve() {
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        for (int y = 0; y < height; y++) {
+            int upper = y * SUPERSAMPLE * sampleWidth;
+            int lower = upper + sampleWidth;
+            int out = y * width;
+            for (int x = 0; x < width; x++) {
+                int p0 = samples[upper];
+                int p1 = samples[upper + 1];
+                int p2 = samples[lower];
+                int p3 = samples[lower + 1];
+                int redBlue = (p0 & 0xFF00FF) + (p1 & 0xFF00FF) + (p2 & 0xFF00FF) + (p3 & 0xFF00FF);
+                int green = (p0 & 0x00FF00) + (p1 & 0x00FF00) + (p2 & 0x00FF00) + (p3 & 0x00FF00);
+                framePixels[out++] = (redBlue >> 2 & 0xFF00FF) | (green >> 2 & 0x00FF00);
+                upper += SUPERSAMPLE;
+                lower += SUPERSAMPLE;
+            }
+        }
+    }
+
+    private static float[] normalise(float x, float y, float z) {
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        return new float[] {x / length, y / length, z / length};
+    }
+}
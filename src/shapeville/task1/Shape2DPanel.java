@@ -1,6 +1,8 @@
 package shapeville.task1;
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
 import shapeville.utils.ImageProvider;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
@@ -9,6 +11,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +32,12 @@ public class Shape2DPanel extends JPanel {
     /** Container panel for all content */
     private final JPanel contentPanel;
 
+    /** Icon sizes are rounded down to multiples of this many pixels */
+    static final int ICON_SIZE_STEP = 50;
+
+    /** Icon size the remaining shapes were last pre-rendered at */
+    private int warmedIconSide = ImageProvider.IMAGE_SIZE;
+
     /** Label to display the shape image */
     private JLabel shapeImageLabel;
     /** Input field for entering the shape name */
@@ -51,8 +61,8 @@ public class Shape2DPanel extends JPanel {
     private List<Shape2D> shapes;
     /** The current shape being displayed */
     private Shape2D currentShape;
-    /** Number of attempts for the current shape */
-    private int attempts = 0;
+    /** The attempts at naming the current shape */
+    private Round round;
     /** Number of shapes completed */
     private int totalCompleted = 0;
 
@@ -116,20 +126,35 @@ public class Shape2DPanel extends JPanel {
      * Initializes the list of 2D shapes for the task.
      */
     private void initializeShapes() {
-        shapes = new ArrayList<>();
-
-        // Add the 2D shapes from Figure 1
-        shapes.add(new Shape2D("circle", "circle"));
-        shapes.add(new Shape2D("rectangle", "rectangle"));
-        shapes.add(new Shape2D("triangle", "triangle"));
-        shapes.add(new Shape2D("oval", "oval"));
-        shapes.add(new Shape2D("octagon", "octagon"));
-        shapes.add(new Shape2D("square", "square"));
-        shapes.add(new Shape2D("heptagon", "heptagon"));
-        shapes.add(new Shape2D("rhombus", "rhombus"));
-        shapes.add(new Shape2D("pentagon", "pentagon"));
-        shapes.add(new Shape2D("hexagon", "hexagon"));
-        shapes.add(new Shape2D("kite", "kite"));
+        shapes = createShapes();
+    }
+
+    /**
+     * Gets the image names of all 2D shapes, e.g. to warm the icon cache at launch.
+     *
+     * @return the image names passed to ImageProvider
+     */
+    public static List<String> getImageNames() {
+        List<String> names = new ArrayList<>();
+        for (Shape2D shape : createShapes()) {
+            names.add(shape.getImagePath());
+        }
+        return names;
+    }
+
+    /**
+     * Creates the list of 2D shapes for the task.
+     *
+     * @return a new list containing every 2D shape
+     */
+    private static List<Shape2D> createShapes() {
+        List<Shape2D> shapes = new ArrayList<>();
+
+        // Add the 2D shapes from Figure 1; each is drawn by ImageProvider under its own name
+        for (String name : Questions.SHAPES_2D) {
+            shapes.add(new Shape2D(name, name));
+        }
+        return shapes;
     }
 
     /**
@@ -160,6 +185,13 @@ public class Shape2DPanel extends JPanel {
         shapeImageLabel.setHorizontalAlignment(JLabel.CENTER);
         shapeImageLabel.setPreferredSize(new Dimension(300, 300));
         shapeImageLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+        // Re-render the shape when the label grows so it stays sharp at any window size
+        shapeImageLabel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateShapeIcon();
+            }
+        });
         centerPanel.add(shapeImageLabel, BorderLayout.CENTER);
 
         // 新增：模块进度条
@@ -305,6 +337,49 @@ public class Shape2DPanel extends JPanel {
         return panel;
     }
 
+    /**
+     * Shows the current shape at a size that fits the image label. The icon is a
+     * multi-resolution image, so HiDPI screens get a natively rendered variant
+     * instead of a scaled bitmap.
+     */
+    private void updateShapeIcon() {
+        if (currentShape == null) {
+            return;
+        }
+        try {
+            int side = iconSide(shapeImageLabel);
+            if (side != warmedIconSide) {
+                // Render the remaining shapes at the new size in the background
+                warmedIconSide = side;
+                List<String> names = new ArrayList<>();
+                for (Shape2D shape : shapes) {
+                    names.add(shape.getImagePath());
+                }
+                ImageProvider.prewarm(names, Collections.emptyList(), side,
+                        ImageProvider.getDeviceScale(shapeImageLabel));
+            }
+            shapeImageLabel.setText(null);
+            shapeImageLabel.setIcon(new ImageIcon(
+                    ImageProvider.get2DShapeImage(currentShape.getImagePath(), side, side)));
+        } catch (Exception e) {
+            shapeImageLabel.setIcon(null);
+            shapeImageLabel.setText("Error loading image");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Computes the icon edge length for a label, in steps of ICON_SIZE_STEP so that
+     * resizing the window only renders a handful of sizes.
+     *
+     * @param label the label showing the icon
+     * @return the icon edge length in logical pixels
+     */
+    static int iconSide(JLabel label) {
+        int available = Math.min(label.getWidth(), label.getHeight()) * 2 / 3;
+        return Math.max(ImageProvider.IMAGE_SIZE, available / ICON_SIZE_STEP * ICON_SIZE_STEP);
+    }
+
     /**
      * Displays the next shape in the list, updates progress, and resets input fields.
      */
@@ -318,25 +393,13 @@ public class Shape2DPanel extends JPanel {
             return;
         }
 
-        // Reset attempt count
-        attempts = 0;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
-
         // Get the next unanswered shape
         currentShape = shapes.remove(0); // Get and remove first shape from list
+        round = new Round(Questions.shape(currentShape.getName(), false)); // Basic level
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
         
         // Display the shape
-        try {
-            ImageIcon icon = ImageProvider.get2DShapeIcon(currentShape.getImagePath());
-            if (icon != null) {
-                shapeImageLabel.setIcon(icon);
-            } else {
-                shapeImageLabel.setText("Image not found: " + currentShape.getImagePath());
-            }
-        } catch (Exception e) {
-            shapeImageLabel.setText("Error loading image");
-            e.printStackTrace();
-        }
+        updateShapeIcon();
 
         // Clear feedback and input
         feedbackLabel.setText(" ");
@@ -355,21 +418,23 @@ public class Shape2DPanel extends JPanel {
      * Updates progress and handles correct/incorrect answers.
      */
     private void checkAnswer() {
-        String userAnswer = answerField.getText().trim().toLowerCase();
-        String correctAnswer = currentShape.getName().toLowerCase();
+        if (round == null || round.isOver()) {
+            return;
+        }
+        String correctAnswer = round.getQuestion().getAnswerText();
+        Round.Outcome outcome = round.submit(answerField.getText());
 
-        if (userAnswer.isEmpty()) {
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter an answer!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
 
-        if (userAnswer.equals(correctAnswer)) {
+        if (outcome == Round.Outcome.CORRECT) {
             // Correct answer
-            int score = ScoreManager.calculateScore(false, attempts); // Basic level
+            int score = round.getPoints();
             moduleScore += score; // Add to module score
             ScoreManager.addToTask1_2dScore(score); // Persist module score
             System.out.println("2D Module Score: " + ScoreManager.getTask1_2dScore());
@@ -378,7 +443,7 @@ public class Shape2DPanel extends JPanel {
             feedbackLabel.setForeground(new Color(0, 128, 0)); // Dark green
 
             // Update score in main app
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
             
             // Mark this shape as completed
             ScoreManager.markShape2DAnswered(currentShape.getName());
@@ -395,7 +460,7 @@ public class Shape2DPanel extends JPanel {
             // Check if all shapes are completed
             if (shapes.isEmpty() || totalCompleted >= 11) { // 11 is the total number of shapes
                 // Mark task as completed
-                mainApp.addTask1ProgressPart(0.5);
+                ScoreManager.completeModule(ScoreManager.Module.TASK1_2D);
                 JPanel completionPanel = createCompletionPanel();
                 contentPanel.add(completionPanel, "COMPLETION");
                 // Show completion panel
@@ -407,7 +472,7 @@ public class Shape2DPanel extends JPanel {
             feedbackLabel.setForeground(Color.RED);
 
             // If max attempts reached, show correct answer
-            if (attempts >= ScoreManager.MAX_ATTEMPTS) {
+            if (outcome == Round.Outcome.FAILED) {
                 feedbackLabel.setText("The correct answer is: " + correctAnswer);
                 nextButton.setEnabled(true);
                 answerField.setEnabled(false);
@@ -420,7 +485,7 @@ public class Shape2DPanel extends JPanel {
 
                 // 检查是否全部完成
                 if (shapes.isEmpty() || totalCompleted >= 11) {
-                    mainApp.addTask1ProgressPart(0.5);
+                    ScoreManager.completeModule(ScoreManager.Module.TASK1_2D);
                     JPanel completionPanel = createCompletionPanel();
                     contentPanel.add(completionPanel, "COMPLETION");
                     cardLayout.show(contentPanel, "COMPLETION");
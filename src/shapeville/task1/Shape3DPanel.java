@@ -2,6 +2,10 @@ package shapeville.task1;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
+import shapeville.utils.ImageProvider;
+import shapeville.utils.SolidMesh;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -9,6 +13,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,8 +34,20 @@ public class Shape3DPanel extends JPanel {
     /** Container panel for all content */
     private final JPanel contentPanel;
 
+    /** Icon size the remaining pictures were last pre-scaled at */
+    private int warmedIconSide = ImageProvider.IMAGE_SIZE;
+
     /** Label to display the shape image */
     private JLabel shapeImageLabel;
+    /** Interactive, rotatable model of the shape */
+    private MeshView meshView;
+    /** Switches between the 3D model and the picture */
+    private CardLayout shapeViewLayout;
+    private JPanel shapeViewPanel;
+    /** Button to switch between the 3D model and the picture */
+    private WoodenButton viewToggleButton;
+    /** Whether the picture is shown instead of the 3D model */
+    private boolean showingPicture = false;
     /** Input field for entering the shape name */
     private JTextField answerField;
     /** Button to submit the answer */
@@ -53,8 +71,8 @@ public class Shape3DPanel extends JPanel {
     private Shape3D currentShape;
     /** Index of the current shape in the list */
     private int currentShapeIndex = 0;
-    /** Number of attempts for the current shape */
-    private int attempts = 0;
+    /** The attempts at naming the current shape */
+    private Round round;
     /** Number of shapes completed */
     private int totalCompleted = 0;
     /** Button to proceed to the next shape */
@@ -95,17 +113,38 @@ public class Shape3DPanel extends JPanel {
     }
 
     private void initializeShapes() {
-        shapes = new ArrayList<>();
+        shapes = createShapes();
+    }
+
+    /**
+     * Gets the image resources of all 3D shapes, e.g. to warm the icon cache at launch.
+     *
+     * @return the classpath resources of the shape pictures
+     */
+    public static List<String> getImagePaths() {
+        List<String> paths = new ArrayList<>();
+        for (Shape3D shape : createShapes()) {
+            paths.add(shape.getImagePath());
+        }
+        return paths;
+    }
+
+    private static List<Shape3D> createShapes() {
+        List<Shape3D> shapes = new ArrayList<>();
 
         // Add the 3D shapes from Figure 2
-        shapes.add(new Shape3D("cube", "/shapeville/images/3d/cube.png"));
-        shapes.add(new Shape3D("cuboid", "/shapeville/images/3d/cuboid.png"));
-        shapes.add(new Shape3D("cylinder", "/shapeville/images/3d/cylinder.png"));
-        shapes.add(new Shape3D("sphere", "/shapeville/images/3d/sphere.png"));
-        shapes.add(new Shape3D("triangular prism", "/shapeville/images/3d/triangular_prism.png"));
-        shapes.add(new Shape3D("square-based pyramid", "/shapeville/images/3d/square_pyramid.png"));
-        shapes.add(new Shape3D("cone", "/shapeville/images/3d/cone.png"));
-        shapes.add(new Shape3D("tetrahedron", "/shapeville/images/3d/tetrahedron.png"));
+        for (String name : Questions.SHAPES_3D) {
+            shapes.add(new Shape3D(name, "/shapeville/images/3d/" + imageFile(name) + ".png"));
+        }
+        return shapes;
+    }
+
+    /**
+     * Gets the picture file name of a 3D shape: its name with underscores, but the
+     * square-based pyramid is just square_pyramid.
+     */
+    private static String imageFile(String name) {
+        return name.equals("square-based pyramid") ? "square_pyramid" : name.replace(' ', '_');
     }
 
     private JPanel createTaskPanel() {
@@ -130,7 +169,22 @@ public class Shape3DPanel extends JPanel {
         shapeImageLabel.setHorizontalAlignment(JLabel.CENTER);
         shapeImageLabel.setPreferredSize(new Dimension(300, 300));
         shapeImageLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-        centerPanel.add(shapeImageLabel, BorderLayout.CENTER);
+        // Re-scale the picture when the label grows so it stays sharp at any window size
+        shapeImageLabel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateShapeIcon();
+            }
+        });
+
+        // Rotatable model, shown instead of the picture unless the user switches back
+        meshView = new MeshView();
+        meshView.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+        shapeViewLayout = new CardLayout();
+        shapeViewPanel = new JPanel(shapeViewLayout);
+        shapeViewPanel.add(meshView, "MODEL");
+        shapeViewPanel.add(shapeImageLabel, "PICTURE");
+        centerPanel.add(shapeViewPanel, BorderLayout.CENTER);
 
         // 新增：模块进度条
         moduleProgressBar = new JProgressBar(0, shapes.size());
@@ -223,6 +277,17 @@ public class Shape3DPanel extends JPanel {
             }
         });
 
+        viewToggleButton = new WoodenButton("Show Picture");
+        viewToggleButton.setFont(new Font("Arial", Font.BOLD, 14));
+        viewToggleButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showingPicture = !showingPicture;
+                updateShapeView();
+            }
+        });
+
+        buttonPanel.add(viewToggleButton);
         buttonPanel.add(nextButton);
 
         bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
@@ -279,10 +344,52 @@ public class Shape3DPanel extends JPanel {
         return panel;
     }
 
+    /**
+     * Shows the current shape's picture at a size that fits the image label. The picture
+     * is decoded and scaled once per size and device resolution, not on every question.
+     */
+    private void updateShapeIcon() {
+        if (currentShape == null) {
+            return;
+        }
+        try {
+            int side = Shape2DPanel.iconSide(shapeImageLabel);
+            if (side != warmedIconSide) {
+                // Decode and scale the remaining pictures at the new size in the background
+                warmedIconSide = side;
+                List<String> paths = new ArrayList<>();
+                for (int i = currentShapeIndex; i < shapes.size(); i++) {
+                    paths.add(shapes.get(i).getImagePath());
+                }
+                ImageProvider.prewarm(Collections.emptyList(), paths, side,
+                        ImageProvider.getDeviceScale(shapeImageLabel));
+            }
+            shapeImageLabel.setText(null);
+            shapeImageLabel.setIcon(new ImageIcon(
+                    ImageProvider.getResourceImage(currentShape.getImagePath(), side, side)));
+        } catch (Exception e) {
+            System.err.println("Could not load image: " + currentShape.getImagePath());
+            e.printStackTrace();
+            // Use a placeholder if the image couldn't be loaded
+            shapeImageLabel.setIcon(null);
+            shapeImageLabel.setText("Shape: " + currentShape.getName());
+        }
+    }
+
+    /**
+     * Shows either the rotatable model or the picture. Shapes without a model always
+     * show the picture.
+     */
+    private void updateShapeView() {
+        boolean hasModel = currentShape != null && SolidMesh.forName(currentShape.getName()) != null;
+        viewToggleButton.setEnabled(hasModel);
+        viewToggleButton.setText(showingPicture ? "Show 3D Model" : "Show Picture");
+        shapeViewLayout.show(shapeViewPanel, hasModel && !showingPicture ? "MODEL" : "PICTURE");
+    }
+
     private void displayNextShape() {
         // Reset attempts
-        attempts = 0;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: 0/" + ScoreManager.MAX_ATTEMPTS);
 
         // Clear feedback and answer field
         feedbackLabel.setText(" ");
@@ -292,7 +399,7 @@ public class Shape3DPanel extends JPanel {
         // Check if we've gone through all shapes
         if (currentShapeIndex >= shapes.size()) {
             // 只在全部完成时加分
-            mainApp.addTask1Progress3DPart();
+            ScoreManager.completeModule(ScoreManager.Module.TASK1_3D);
             JPanel completionPanel = createCompletionPanel();
             contentPanel.add(completionPanel, "COMPLETION");
             cardLayout.show(contentPanel, "COMPLETION");
@@ -301,21 +408,12 @@ public class Shape3DPanel extends JPanel {
 
         // Get the current shape
         currentShape = shapes.get(currentShapeIndex);
+        round = new Round(Questions.shape(currentShape.getName(), true)); // Advanced level
 
-        // Display the shape image
-        try {
-            ImageIcon icon = new ImageIcon(getClass().getResource(currentShape.getImagePath()));
-            // Resize the image to fit the label nicely
-            Image image = icon.getImage();
-            Image scaledImage = image.getScaledInstance(200, 200, Image.SCALE_SMOOTH);
-            shapeImageLabel.setIcon(new ImageIcon(scaledImage));
-        } catch (Exception e) {
-            System.err.println("Could not load image: " + currentShape.getImagePath());
-            e.printStackTrace();
-            // Use a placeholder if the image couldn't be loaded
-            shapeImageLabel.setIcon(null);
-            shapeImageLabel.setText("Shape: " + currentShape.getName());
-        }
+        // Display the shape model and image
+        meshView.setMesh(SolidMesh.forName(currentShape.getName()));
+        updateShapeIcon();
+        updateShapeView();
 
         // Update progress
         progressLabel.setText("Progress: " + totalCompleted + "/" + shapes.size());
@@ -330,28 +428,29 @@ public class Shape3DPanel extends JPanel {
     }
 
     private void checkAnswer() {
-        String userAnswer = answerField.getText().trim().toLowerCase();
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(answerField.getText());
 
-        if (userAnswer.isEmpty()) {
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter an answer!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
 
-        boolean correct = userAnswer.equals(currentShape.getName());
-        if (correct) {
+        if (outcome == Round.Outcome.CORRECT) {
             // Correct answer
-            int score = ScoreManager.calculateScore(true, attempts); // Advanced level
+            int score = round.getPoints();
             String feedback = ScoreManager.getFeedbackMessage(score);
 
             feedbackLabel.setText("Correct! " + feedback + " +" + score + " points");
             feedbackLabel.setForeground(new Color(0, 128, 0)); // Dark green
 
             // Update score in main app
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
             // 新增：更新模块分数
             moduleScore += score;
             moduleScoreLabel.setText("Module Score: " + moduleScore);
@@ -368,7 +467,7 @@ public class Shape3DPanel extends JPanel {
             feedbackLabel.setForeground(Color.RED);
 
             // If max attempts reached, show correct answer
-            if (attempts >= ScoreManager.MAX_ATTEMPTS) {
+            if (outcome == Round.Outcome.FAILED) {
                 feedbackLabel.setText("The correct answer is: " + currentShape.getName());
                 // Disable input fields
                 answerField.setEnabled(false);
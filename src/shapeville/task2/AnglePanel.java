@@ -2,6 +2,8 @@ package shapeville.task2;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -58,8 +60,8 @@ public class AnglePanel extends JPanel {
     private int currentAngleDegrees;
     /** The current angle type (acute, right, obtuse, straight, reflex) */
     private String currentAngleType;
-    /** Number of attempts for the current angle */
-    private int attempts = 0;
+    /** The attempts at naming the current angle's type */
+    private Round round;
 
     public AnglePanel(ShapevilleApp mainApp) {
         this.mainApp = mainApp;
@@ -68,11 +70,9 @@ public class AnglePanel extends JPanel {
 
         // Load saved progress
         identifiedAngleTypes = new HashSet<>();
-        if (ScoreManager.isAngleTypeAnswered("acute")) identifiedAngleTypes.add("acute");
-        if (ScoreManager.isAngleTypeAnswered("right")) identifiedAngleTypes.add("right");
-        if (ScoreManager.isAngleTypeAnswered("obtuse")) identifiedAngleTypes.add("obtuse");
-        if (ScoreManager.isAngleTypeAnswered("straight")) identifiedAngleTypes.add("straight");
-        if (ScoreManager.isAngleTypeAnswered("reflex")) identifiedAngleTypes.add("reflex");
+        for (String type : Questions.ANGLE_TYPES) {
+            if (ScoreManager.isAngleTypeAnswered(type)) identifiedAngleTypes.add(type);
+        }
 
         // Set up the layout
         setLayout(new BorderLayout());
@@ -91,7 +91,7 @@ public class AnglePanel extends JPanel {
         // If all 5 angle types are already identified, show completion
         if (identifiedAngleTypes.size() >= 5) {
             cardLayout.show(contentPanel, "COMPLETION");
-            mainApp.addTask2Progress();
+            ScoreManager.completeModule(ScoreManager.Module.TASK2);
         } else {
             // Show the task panel first
             cardLayout.show(contentPanel, "TASK");
@@ -343,15 +343,15 @@ public class AnglePanel extends JPanel {
         String input = angleInputField.getText().trim();
         try {
             int degrees = Integer.parseInt(input);
-            if (degrees >= 0 && degrees <= 360 && degrees % 10 == 0) {
+            if (Questions.isValidAngle(degrees)) {
                 currentAngleDegrees = degrees;
-                currentAngleType = getAngleType(degrees);
+                round = new Round(Questions.angle(degrees));
+                currentAngleType = round.getQuestion().getAnswerText();
                 angleDisplay.setAngle(degrees);
                 currentAngleLabel.setText("Current Angle: " + degrees + "°");
                 answerField.setEnabled(true);
                 submitAnswerButton.setEnabled(true);
-                attempts = 0;
-                attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+                attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
                 feedbackLabel.setText(" ");
                 answerField.setText("");
                 answerField.requestFocus();
@@ -369,42 +369,30 @@ public class AnglePanel extends JPanel {
         }
     }
 
-    private String getAngleType(int degrees) {
-        if (degrees < 90) {
-            return "acute";
-        } else if (degrees == 90) {
-            return "right";
-        } else if (degrees < 180) {
-            return "obtuse";
-        } else if (degrees == 180) {
-            return "straight";
-        } else {
-            return "reflex";
-        }
-    }
-
     private void checkAnswer() {
-        String userAnswer = answerField.getText().trim().toLowerCase();
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(answerField.getText());
 
-        if (userAnswer.isEmpty()) {
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter an answer!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
 
-        if (userAnswer.equals(currentAngleType)) {
+        if (outcome == Round.Outcome.CORRECT) {
             // Correct answer
-            int score = ScoreManager.calculateScore(false, attempts); // Basic level
+            int score = round.getPoints();
             String feedback = ScoreManager.getFeedbackMessage(score);
 
             feedbackLabel.setText("Correct! " + feedback + " +" + score + " points");
             feedbackLabel.setForeground(new Color(0, 128, 0)); // Dark green
 
             // Update score in main app
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
             // Update module score
             ScoreManager.addToTask2Score(score);
 
@@ -415,7 +403,7 @@ public class AnglePanel extends JPanel {
 
             if (identifiedAngleTypes.size() == 5) {
                 cardLayout.show(contentPanel, "COMPLETION");
-                mainApp.addTask2Progress();
+                ScoreManager.completeModule(ScoreManager.Module.TASK2);
                 return;
             }
 
@@ -434,7 +422,7 @@ public class AnglePanel extends JPanel {
             feedbackLabel.setForeground(Color.RED);
 
             // If max attempts reached, show correct answer and move to next angle
-            if (attempts >= ScoreManager.MAX_ATTEMPTS) {
+            if (outcome == Round.Outcome.FAILED) {
                 feedbackLabel.setText("The correct answer is: " + currentAngleType);
 
                 // Enable angle input field and submit button
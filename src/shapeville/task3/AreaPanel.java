@@ -2,6 +2,10 @@ package shapeville.task3;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.AreaShape;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
+import shapeville.utils.Scheduler;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -9,7 +13,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.HierarchyEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -54,6 +57,9 @@ public class AreaPanel extends JPanel {
     
     /** Progress bar showing completion status */
     private JProgressBar progressBar;
+    
+    /** Label showing how many shapes are completed */
+    private JLabel progressLabel;
 
     /** List of available geometric shapes */
     private List<GeometricShape> shapes;
@@ -61,14 +67,14 @@ public class AreaPanel extends JPanel {
     /** Currently selected shape for practice */
     private GeometricShape currentShape;
     
-    /** Number of attempts made for current shape */
-    private int attempts = 0;
+    /** The attempts at the current shape's area */
+    private Round round;
     
     /** Total number of completed shapes */
     private int totalCompleted = 0;
     
     /** Timer for countdown */
-    private Timer countdownTimer;
+    private Scheduler.Task countdownTimer;
     
     /** Remaining time in seconds */
     private int secondsRemaining;
@@ -90,9 +96,6 @@ public class AreaPanel extends JPanel {
     
     /** Array to store shape selection panels */
     private JPanel[] shapePanels = new JPanel[4];
-    
-    /** Timer for updating progress display */
-    private Timer updateTimer;
 
     /**
      * Constructs a new AreaPanel with the specified main application.
@@ -150,37 +153,17 @@ public class AreaPanel extends JPanel {
         progressPanel.setBackground(panel.getBackground());
         
         // Progress label
-        JLabel progressLabel = new JLabel(String.format("Completed: %d/4", totalCompleted));
+        progressLabel = new JLabel();
         progressLabel.setFont(new Font("Arial", Font.PLAIN, 16));
         progressLabel.setHorizontalAlignment(JLabel.CENTER);
         progressLabel.setBorder(BorderFactory.createEmptyBorder(10, 0, 5, 0));
         progressPanel.add(progressLabel, BorderLayout.NORTH);
         
         progressBar = new JProgressBar(0, 100);
-        progressBar.setValue((int)((totalCompleted * 100.0) / 4));
         progressBar.setStringPainted(true);
-        progressBar.setString(progressBar.getValue() + "%");
         progressPanel.add(progressBar, BorderLayout.CENTER);
-
-        // 添加更新进度的监听器
-        if (updateTimer != null) {
-            updateTimer.stop();
-        }
-        updateTimer = new Timer(100, e -> {
-            progressLabel.setText(String.format("Completed: %d/4", totalCompleted));
-            progressBar.setValue((int)((totalCompleted * 100.0) / 4));
-            progressBar.setString(progressBar.getValue() + "%");
-        });
-        updateTimer.start();
-
-        // 添加面板销毁时的清理
-        panel.addHierarchyListener(e -> {
-            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0) {
-                if (!panel.isDisplayable() && updateTimer != null) {
-                    updateTimer.stop();
-                }
-            }
-        });
+        // Updated by showProgress() whenever a shape is completed, not polled
+        showProgress();
 
         // 形状按钮面板（2x2网格布局）
         JPanel buttonPanel = new JPanel(new GridLayout(2, 2, 15, 15));
@@ -284,27 +267,21 @@ public class AreaPanel extends JPanel {
      * Initializes the list of available geometric shapes with their area calculation formulas.
      */
     private void initializeShapes() {
-        shapes = new ArrayList<>();
-
-        // Rectangle shape
-        shapes.add(new GeometricShape("rectangle",
-                (parameters) -> parameters[0] * parameters[1], // Area formula: length * width
-                new String[]{"length", "width"}));
-
-        // Parallelogram shape
-        shapes.add(new GeometricShape("parallelogram",
-                (parameters) -> parameters[0] * parameters[1], // Area formula: base * height
-                new String[]{"base", "height"}));
-
-        // Triangle shape
-        shapes.add(new GeometricShape("triangle",
-                (parameters) -> 0.5 * parameters[0] * parameters[1], // Area formula: 0.5 * base * height
-                new String[]{"base", "height"}));
-
-        // Trapezium shape
-        shapes.add(new GeometricShape("trapezium",
-                (parameters) -> 0.5 * (parameters[0] + parameters[1]) * parameters[2], // Area formula: 0.5 * (a + b) * height
-                new String[]{"a", "b", "height"}));
+        shapes = createShapes();
+    }
+
+    /**
+     * Creates the geometric shapes of Task 3 with their area formulas. Parameters are unset.
+     *
+     * @return a new list containing every shape
+     */
+    public static List<GeometricShape> createShapes() {
+        List<GeometricShape> shapes = new ArrayList<>();
+
+        for (AreaShape shape : AreaShape.values()) {
+            shapes.add(new GeometricShape(shape.getName(), shape::area, shape.getParameterNames()));
+        }
+        return shapes;
     }
 
     /**
@@ -395,11 +372,11 @@ public class AreaPanel extends JPanel {
         backButton.setForeground(Color.BLACK);
         backButton.addActionListener(e -> {
             if (countdownTimer != null) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
             }
             System.out.println("totalCompleted: " + totalCompleted);
             if (totalCompleted == 4) {
-                mainApp.updateProgress(100.0/6);
+                ScoreManager.completeModule(ScoreManager.Module.TASK3);
                 cardLayout.show(contentPanel, "COMPLETION");
             } else {
                 shapeDisplay.setShowSolution(false);
@@ -480,27 +457,22 @@ public class AreaPanel extends JPanel {
         secondsRemaining = 180; // 3 minutes
 
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
 
-        countdownTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                secondsRemaining--;
-                int minutes = secondsRemaining / 60;
-                int seconds = secondsRemaining % 60;
-                timerLabel.setText(String.format("Time: %d:%02d", minutes, seconds));
-
-                if (secondsRemaining <= 0) {
-                    countdownTimer.stop();
-                    timeExpired();
-                } else if (secondsRemaining <= 30) {
-                    timerLabel.setForeground(Color.RED);
-                }
+        countdownTimer = Scheduler.repeat(this, 1000, () -> {
+            secondsRemaining--;
+            int minutes = secondsRemaining / 60;
+            int seconds = secondsRemaining % 60;
+            timerLabel.setText(String.format("Time: %d:%02d", minutes, seconds));
+
+            if (secondsRemaining <= 0) {
+                countdownTimer.cancel();
+                timeExpired();
+            } else if (secondsRemaining <= 30) {
+                timerLabel.setForeground(Color.RED);
             }
         });
-
-        countdownTimer.start();
         timerLabel.setForeground(Color.BLACK);
     }
 
@@ -512,9 +484,11 @@ public class AreaPanel extends JPanel {
         feedbackLabel.setForeground(Color.RED);
 
         // Disable input
+        round.expire();
         answerField.setEnabled(false);
         submitButton.setEnabled(false);
         totalCompleted++;
+        showProgress();
         // Enable after a short delay and move to next shape
 //        Timer timer = new Timer(2000, new ActionListener() {
 //            @Override
@@ -535,8 +509,7 @@ public class AreaPanel extends JPanel {
      */
     private void displayNextShape() {
         // 重置尝试次数
-        attempts = 0;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: 0/" + ScoreManager.MAX_ATTEMPTS);
 
         // 清空反馈信息和输入框
         feedbackLabel.setText(" ");
@@ -545,7 +518,7 @@ public class AreaPanel extends JPanel {
 
         // 停止当前计时器
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
 
         // 直接返回形状选择界面
@@ -559,57 +532,49 @@ public class AreaPanel extends JPanel {
      * Generates random parameters for the current shape.
      */
     private void generateShapeParameters() {
-        double[] parameters = new double[currentShape.getParameterNames().length];
-
-        // Generate random values between 1 and 20 for each parameter
-        for (int i = 0; i < parameters.length; i++) {
-            parameters[i] = 1 + random.nextInt(20);
-        }
-
-        currentShape.setParameters(parameters);
+        AreaShape shape = AreaShape.valueOf(currentShape.getName().toUpperCase());
+        round = new Round(Questions.area(shape, random));
+        currentShape.setParameters(round.getQuestion().getParameters());
     }
 
     /**
      * Checks the user's answer against the correct area calculation.
      */
     private void checkAnswer() {
-        String userAnswer = answerField.getText().trim();
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(answerField.getText());
 
-        if (userAnswer.isEmpty()) {
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter an answer!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
-
-        double userValue;
-        try {
-            userValue = Double.parseDouble(userAnswer);
-        } catch (NumberFormatException e) {
+        if (outcome == Round.Outcome.INVALID) {
             feedbackLabel.setText("Please enter a valid number!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
 
-        double correctAnswer = currentShape.calculateArea();
-        double tolerance = 0.1; // Allow for small rounding differences
+        double correctAnswer = round.getQuestion().getAnswer(0);
 
-        if (Math.abs(userValue - correctAnswer) <= tolerance) {
+        if (outcome == Round.Outcome.CORRECT) {
             // Correct answer
             if (countdownTimer != null) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
             }
 
-            int score = ScoreManager.calculateScore(false, attempts); // Basic level
+            int score = round.getPoints();
             String feedback = ScoreManager.getFeedbackMessage(score);
 
             feedbackLabel.setText("Correct! " + feedback + " +" + score + " points");
             feedbackLabel.setForeground(new Color(0, 128, 0)); // Dark green
 
             // Update score in main app
-            mainApp.updateScore(score);
+            ScoreManager.addScore(score);
 
             // 记录已答
             ScoreManager.markTask3Answered(currentShape.getName());
@@ -622,8 +587,7 @@ public class AreaPanel extends JPanel {
                 totalCompleted++;
                 
                 // 更新进度条
-                progressBar.setValue((int)((totalCompleted * 100.0) / 4));
-                progressBar.setString(progressBar.getValue() + "%");
+                showProgress();
                 
                 // 更新按钮状态
                 JPanel shapePanel = shapePanels[shapeIndex];
@@ -654,9 +618,9 @@ public class AreaPanel extends JPanel {
             feedbackLabel.setForeground(Color.RED);
 
             // If max attempts reached, show correct answer and move to next shape
-            if (attempts >= ScoreManager.MAX_ATTEMPTS) {
+            if (outcome == Round.Outcome.FAILED) {
                 if (countdownTimer != null) {
-                    countdownTimer.stop();
+                    countdownTimer.cancel();
                 }
 
                 feedbackLabel.setText("The correct answer is: " + df.format(correctAnswer));
@@ -679,8 +643,7 @@ public class AreaPanel extends JPanel {
                     totalCompleted++;
                     
                     // 更新进度条
-                    progressBar.setValue((int)((totalCompleted * 100.0) / 4));
-                    progressBar.setString(progressBar.getValue() + "%");
+                    showProgress();
                     
                     // 更新按钮状态
                     JPanel shapePanel = shapePanels[shapeIndex];
@@ -708,6 +671,15 @@ public class AreaPanel extends JPanel {
         }
     }
 
+    /**
+     * Shows the number of completed shapes in the progress label and bar.
+     */
+    private void showProgress() {
+        progressLabel.setText(String.format("Completed: %d/4", totalCompleted));
+        progressBar.setValue((int)((totalCompleted * 100.0) / 4));
+        progressBar.setString(progressBar.getValue() + "%");
+    }
+
     /**
      * Gets the index of a shape in the shapes array.
      *
@@ -778,243 +750,257 @@ public class AreaPanel extends JPanel {
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             if (shape == null) return;
+            drawShapeArea((Graphics2D) g, getWidth(), getHeight(), shape, showSolution);
+        }
+    }
 
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    /**
+     * Draws a geometric shape with its parameters and dimension lines, and optionally the
+     * solution. Used by the area display and by the worksheet exporter.
+     *
+     * @param g2d The graphics context
+     * @param width The width of the drawing area
+     * @param height The height of the drawing area
+     * @param shape The shape to draw
+     * @param showSolution True to show the solution, false otherwise
+     */
+    public static void drawShapeArea(Graphics2D g2d, int width, int height, GeometricShape shape, boolean showSolution) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            int centerX = getWidth() / 2;
-            int centerY = getHeight() / 2;
+        int centerX = width / 2;
+        int centerY = height / 2;
 
-            g2d.setFont(new Font("Arial", Font.BOLD, 16));
-            g2d.drawString("Shape: " + shape.getName(), 20, 30);
+        g2d.setFont(new Font("Arial", Font.BOLD, 16));
+        g2d.drawString("Shape: " + shape.getName(), 20, 30);
 
-            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-            double[] parameters = shape.getParameters();
-            String[] paramNames = shape.getParameterNames();
+        g2d.setFont(new Font("Arial", Font.PLAIN, 14));
+        double[] parameters = shape.getParameters();
+        String[] paramNames = shape.getParameterNames();
 
-            for (int i = 0; i < parameters.length; i++) {
-                g2d.drawString(paramNames[i] + " = " + parameters[i], 20, 60 + i * 20);
-            }
+        for (int i = 0; i < parameters.length; i++) {
+            g2d.drawString(paramNames[i] + " = " + parameters[i], 20, 60 + i * 20);
+        }
 
-            g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(new BasicStroke(2));
+
+        // Draw based on the shape type
+        switch (shape.getName()) {
+            case "rectangle":
+                drawRectangle(g2d, centerX, centerY, parameters);
+                break;
+            case "parallelogram":
+                drawParallelogram(g2d, centerX, centerY, parameters);
+                break;
+            case "triangle":
+                drawTriangle(g2d, centerX, centerY, parameters);
+                break;
+            case "trapezium":
+                drawTrapezium(g2d, centerX, centerY, parameters);
+                break;
+        }
+
+        // Show solution if required
+        if (showSolution) {
+            g2d.setColor(new Color(0, 150, 0));
+            g2d.setFont(new Font("Arial", Font.BOLD, 16));
+            String solution = "Area = " + new DecimalFormat("#.##").format(shape.calculateArea());
 
-            // Draw based on the shape type
+            // Draw solution with formula
+            StringBuilder formula = new StringBuilder("Formula: ");
             switch (shape.getName()) {
                 case "rectangle":
-                    drawRectangle(g2d, centerX, centerY, parameters);
+                    formula.append("length × width");
                     break;
                 case "parallelogram":
-                    drawParallelogram(g2d, centerX, centerY, parameters);
+                    formula.append("base × height");
                     break;
                 case "triangle":
-                    drawTriangle(g2d, centerX, centerY, parameters);
+                    formula.append("(1/2) × base × height");
                     break;
                 case "trapezium":
-                    drawTrapezium(g2d, centerX, centerY, parameters);
+                    formula.append("(1/2) × (a + b) × height");
                     break;
             }
 
-            // Show solution if required
-            if (showSolution) {
-                g2d.setColor(new Color(0, 150, 0));
-                g2d.setFont(new Font("Arial", Font.BOLD, 16));
-                String solution = "Area = " + df.format(shape.calculateArea());
-
-                // Draw solution with formula
-                StringBuilder formula = new StringBuilder("Formula: ");
-                switch (shape.getName()) {
-                    case "rectangle":
-                        formula.append("length × width");
-                        break;
-                    case "parallelogram":
-                        formula.append("base × height");
-                        break;
-                    case "triangle":
-                        formula.append("(1/2) × base × height");
-                        break;
-                    case "trapezium":
-                        formula.append("(1/2) × (a + b) × height");
-                        break;
-                }
-
-                g2d.drawString(solution, getWidth() - 200, getHeight() - 60);
-                g2d.drawString(formula.toString(), getWidth() - 250, getHeight() - 30);
-            }
+            // Right-align both lines by their measured width so neither is cut off
+            FontMetrics metrics = g2d.getFontMetrics();
+            g2d.drawString(solution, Math.max(20, width - 20 - metrics.stringWidth(solution)), height - 60);
+            g2d.drawString(formula.toString(), Math.max(20, width - 20 - metrics.stringWidth(formula.toString())), height - 30);
         }
+    }
 
-        /**
-         * Draws a rectangle with its dimensions.
-         *
-         * @param g2d The graphics context
-         * @param centerX The x-coordinate of the center
-         * @param centerY The y-coordinate of the center
-         * @param parameters The rectangle's parameters
-         */
-        private void drawRectangle(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
-            int length = (int) (parameters[0] * 10);
-            int width = (int) (parameters[1] * 10);
+    /**
+     * Draws a rectangle with its dimensions.
+     *
+     * @param g2d The graphics context
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param parameters The rectangle's parameters
+     */
+    private static void drawRectangle(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
+        int length = (int) (parameters[0] * 10);
+        int width = (int) (parameters[1] * 10);
 
-            int x = centerX - length / 2;
-            int y = centerY - width / 2;
+        int x = centerX - length / 2;
+        int y = centerY - width / 2;
 
-            g2d.setColor(new Color(135, 206, 250)); // Light sky blue
-            g2d.fillRect(x, y, length, width);
+        g2d.setColor(new Color(135, 206, 250)); // Light sky blue
+        g2d.fillRect(x, y, length, width);
 
-            g2d.setColor(Color.BLACK);
-            g2d.drawRect(x, y, length, width);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(x, y, length, width);
 
-            // Draw dimension lines and labels
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
+        // Draw dimension lines and labels
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
 
-            // Length
-            g2d.drawLine(x, y - 15, x + length, y - 15);
-            g2d.drawLine(x, y - 10, x, y - 20);
-            g2d.drawLine(x + length, y - 10, x + length, y - 20);
-            g2d.drawString("Length = " + parameters[0], x + length / 3, y - 20);
+        // Length
+        g2d.drawLine(x, y - 15, x + length, y - 15);
+        g2d.drawLine(x, y - 10, x, y - 20);
+        g2d.drawLine(x + length, y - 10, x + length, y - 20);
+        g2d.drawString("Length = " + parameters[0], x + length / 3, y - 20);
 
-            // Width
-            g2d.drawLine(x - 15, y, x - 15, y + width);
-            g2d.drawLine(x - 10, y, x - 20, y);
-            g2d.drawLine(x - 10, y + width, x - 20, y + width);
-            g2d.drawString("Width = " + parameters[1], x - 50, y + width / 2);
-        }
+        // Width
+        g2d.drawLine(x - 15, y, x - 15, y + width);
+        g2d.drawLine(x - 10, y, x - 20, y);
+        g2d.drawLine(x - 10, y + width, x - 20, y + width);
+        g2d.drawString("Width = " + parameters[1], x - 50, y + width / 2);
+    }
 
-        /**
-         * Draws a parallelogram with its dimensions.
-         *
-         * @param g2d The graphics context
-         * @param centerX The x-coordinate of the center
-         * @param centerY The y-coordinate of the center
-         * @param parameters The parallelogram's parameters
-         */
-        private void drawParallelogram(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
-            int base = (int) (parameters[0] * 10);
-            int height = (int) (parameters[1] * 10);
-            int skew = 30; // Skew amount for parallelogram
-
-            int x = centerX - base / 2 - skew / 2;
-            int y = centerY - height / 2;
-
-            int[] xPoints = {x, x + base, x + base + skew, x + skew};
-            int[] yPoints = {y + height, y + height, y, y};
-
-            g2d.setColor(new Color(221, 160, 221)); // Plum
-            g2d.fillPolygon(xPoints, yPoints, 4);
-
-            g2d.setColor(Color.BLACK);
-            g2d.drawPolygon(xPoints, yPoints, 4);
-
-            // Draw dimension lines and labels
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
-
-            // Base
-            g2d.drawLine(x, y + height + 15, x + base, y + height + 15);
-            g2d.drawLine(x, y + height + 10, x, y + height + 20);
-            g2d.drawLine(x + base, y + height + 10, x + base, y + height + 20);
-            g2d.drawString("Base = " + parameters[0], x + base / 3, y + height + 30);
-
-            // Height
-            g2d.drawLine(x + base + skew + 15, y, x + base + skew + 15, y + height);
-            g2d.drawLine(x + base + skew + 10, y, x + base + skew + 20, y);
-            g2d.drawLine(x + base + skew + 10, y + height, x + base + skew + 20, y + height);
-            g2d.drawString("Height = " + parameters[1], x + base + skew + 20, y + height / 2);
-
-            // Draw a dashed height line
-            g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] {3}, 0));
-            g2d.drawLine(x + base, y + height, x + base, y);
-            g2d.setStroke(new BasicStroke(2));
-        }
+    /**
+     * Draws a parallelogram with its dimensions.
+     *
+     * @param g2d The graphics context
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param parameters The parallelogram's parameters
+     */
+    private static void drawParallelogram(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
+        int base = (int) (parameters[0] * 10);
+        int height = (int) (parameters[1] * 10);
+        int skew = 30; // Skew amount for parallelogram
+
+        int x = centerX - base / 2 - skew / 2;
+        int y = centerY - height / 2;
+
+        int[] xPoints = {x, x + base, x + base + skew, x + skew};
+        int[] yPoints = {y + height, y + height, y, y};
+
+        g2d.setColor(new Color(221, 160, 221)); // Plum
+        g2d.fillPolygon(xPoints, yPoints, 4);
+
+        g2d.setColor(Color.BLACK);
+        g2d.drawPolygon(xPoints, yPoints, 4);
+
+        // Draw dimension lines and labels
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
+
+        // Base
+        g2d.drawLine(x, y + height + 15, x + base, y + height + 15);
+        g2d.drawLine(x, y + height + 10, x, y + height + 20);
+        g2d.drawLine(x + base, y + height + 10, x + base, y + height + 20);
+        g2d.drawString("Base = " + parameters[0], x + base / 3, y + height + 30);
+
+        // Height
+        g2d.drawLine(x + base + skew + 15, y, x + base + skew + 15, y + height);
+        g2d.drawLine(x + base + skew + 10, y, x + base + skew + 20, y);
+        g2d.drawLine(x + base + skew + 10, y + height, x + base + skew + 20, y + height);
+        g2d.drawString("Height = " + parameters[1], x + base + skew + 20, y + height / 2);
+
+        // Draw a dashed height line
+        g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] {3}, 0));
+        g2d.drawLine(x + base, y + height, x + base, y);
+        g2d.setStroke(new BasicStroke(2));
+    }
 
-        /**
-         * Draws a triangle with its dimensions.
-         *
-         * @param g2d The graphics context
-         * @param centerX The x-coordinate of the center
-         * @param centerY The y-coordinate of the center
-         * @param parameters The triangle's parameters
-         */
-        private void drawTriangle(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
-            int base = (int) (parameters[0] * 10);
-            int height = (int) (parameters[1] * 10);
+    /**
+     * Draws a triangle with its dimensions.
+     *
+     * @param g2d The graphics context
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param parameters The triangle's parameters
+     */
+    private static void drawTriangle(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
+        int base = (int) (parameters[0] * 10);
+        int height = (int) (parameters[1] * 10);
 
-            int x = centerX - base / 2;
-            int y = centerY + height / 2;
+        int x = centerX - base / 2;
+        int y = centerY + height / 2;
 
-            int[] xPoints = {x, x + base, centerX};
-            int[] yPoints = {y, y, y - height};
+        int[] xPoints = {x, x + base, centerX};
+        int[] yPoints = {y, y, y - height};
 
-            g2d.setColor(new Color(144, 238, 144)); // Light green
-            g2d.fillPolygon(xPoints, yPoints, 3);
+        g2d.setColor(new Color(144, 238, 144)); // Light green
+        g2d.fillPolygon(xPoints, yPoints, 3);
 
-            g2d.setColor(Color.BLACK);
-            g2d.drawPolygon(xPoints, yPoints, 3);
+        g2d.setColor(Color.BLACK);
+        g2d.drawPolygon(xPoints, yPoints, 3);
 
-            // Draw dimension lines and labels
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
+        // Draw dimension lines and labels
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
 
-            // Base
-            g2d.drawLine(x, y + 15, x + base, y + 15);
-            g2d.drawLine(x, y + 10, x, y + 20);
-            g2d.drawLine(x + base, y + 10, x + base, y + 20);
-            g2d.drawString("Base = " + parameters[0], x + base / 3, y + 30);
+        // Base
+        g2d.drawLine(x, y + 15, x + base, y + 15);
+        g2d.drawLine(x, y + 10, x, y + 20);
+        g2d.drawLine(x + base, y + 10, x + base, y + 20);
+        g2d.drawString("Base = " + parameters[0], x + base / 3, y + 30);
 
-            // Height
-            g2d.drawLine(centerX, y, centerX, y - height);
-            g2d.drawString("Height = " + parameters[1], centerX + 5, y - height / 2);
+        // Height
+        g2d.drawLine(centerX, y, centerX, y - height);
+        g2d.drawString("Height = " + parameters[1], centerX + 5, y - height / 2);
 
-            // Draw a dot at the apex
-            g2d.fillOval(centerX - 3, y - height - 3, 6, 6);
-        }
+        // Draw a dot at the apex
+        g2d.fillOval(centerX - 3, y - height - 3, 6, 6);
+    }
 
-        /**
-         * Draws a trapezium with its dimensions.
-         *
-         * @param g2d The graphics context
-         * @param centerX The x-coordinate of the center
-         * @param centerY The y-coordinate of the center
-         * @param parameters The trapezium's parameters
-         */
-        private void drawTrapezium(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
-            int a = (int) (parameters[0] * 10); // Top side
-            int b = (int) (parameters[1] * 10); // Bottom side
-            int height = (int) (parameters[2] * 10);
-
-            int x = centerX - b / 2;
-            int y = centerY + height / 2;
-
-            int topLeftX = centerX - a / 2;
-            int topLeftY = y - height;
-
-            int[] xPoints = {x, x + b, topLeftX + a, topLeftX};
-            int[] yPoints = {y, y, topLeftY, topLeftY};
-
-            g2d.setColor(new Color(255, 182, 193)); // Light pink
-            g2d.fillPolygon(xPoints, yPoints, 4);
-
-            g2d.setColor(Color.BLACK);
-            g2d.drawPolygon(xPoints, yPoints, 4);
-
-            // Draw dimension lines and labels
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
-
-            // Bottom side (b)
-            g2d.drawLine(x, y + 15, x + b, y + 15);
-            g2d.drawLine(x, y + 10, x, y + 20);
-            g2d.drawLine(x + b, y + 10, x + b, y + 20);
-            g2d.drawString("b = " + parameters[1], x + b / 3, y + 30);
-
-            // Top side (a)
-            g2d.drawLine(topLeftX, topLeftY - 15, topLeftX + a, topLeftY - 15);
-            g2d.drawLine(topLeftX, topLeftY - 10, topLeftX, topLeftY - 20);
-            g2d.drawLine(topLeftX + a, topLeftY - 10, topLeftX + a, topLeftY - 20);
-            g2d.drawString("a = " + parameters[0], topLeftX + a / 3, topLeftY - 20);
-
-            // Height
-            g2d.drawLine(x - 15, y, x - 15, topLeftY);
-            g2d.drawLine(x - 10, y, x - 20, y);
-            g2d.drawLine(x - 10, topLeftY, x - 20, topLeftY);
-            g2d.drawString("Height = " + parameters[2], x - 70, centerY);
-        }
+    /**
+     * Draws a trapezium with its dimensions.
+     *
+     * @param g2d The graphics context
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param parameters The trapezium's parameters
+     */
+    private static void drawTrapezium(Graphics2D g2d, int centerX, int centerY, double[] parameters) {
+        int a = (int) (parameters[0] * 10); // Top side
+        int b = (int) (parameters[1] * 10); // Bottom side
+        int height = (int) (parameters[2] * 10);
+
+        int x = centerX - b / 2;
+        int y = centerY + height / 2;
+
+        int topLeftX = centerX - a / 2;
+        int topLeftY = y - height;
+
+        int[] xPoints = {x, x + b, topLeftX + a, topLeftX};
+        int[] yPoints = {y, y, topLeftY, topLeftY};
+
+        g2d.setColor(new Color(255, 182, 193)); // Light pink
+        g2d.fillPolygon(xPoints, yPoints, 4);
+
+        g2d.setColor(Color.BLACK);
+        g2d.drawPolygon(xPoints, yPoints, 4);
+
+        // Draw dimension lines and labels
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
+
+        // Bottom side (b)
+        g2d.drawLine(x, y + 15, x + b, y + 15);
+        g2d.drawLine(x, y + 10, x, y + 20);
+        g2d.drawLine(x + b, y + 10, x + b, y + 20);
+        g2d.drawString("b = " + parameters[1], x + b / 3, y + 30);
+
+        // Top side (a)
+        g2d.drawLine(topLeftX, topLeftY - 15, topLeftX + a, topLeftY - 15);
+        g2d.drawLine(topLeftX, topLeftY - 10, topLeftX, topLeftY - 20);
+        g2d.drawLine(topLeftX + a, topLeftY - 10, topLeftX + a, topLeftY - 20);
+        g2d.drawString("a = " + parameters[0], topLeftX + a / 3, topLeftY - 20);
+
+        // Height
+        g2d.drawLine(x - 15, y, x - 15, topLeftY);
+        g2d.drawLine(x - 10, y, x - 20, y);
+        g2d.drawLine(x - 10, topLeftY, x - 20, topLeftY);
+        g2d.drawString("Height = " + parameters[2], x - 70, centerY);
     }
 
     /**
@@ -5,6 +5,8 @@ import java.util.HashSet;
 
 import shapeville.ScoreManager;
 import shapeville.ShapevilleApp;
+import shapeville.engine.Questions;
+import shapeville.engine.Round;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,6 +19,7 @@ import java.awt.event.KeyEvent;
 import java.util.List;
 import java.util.ArrayList;
 
+import shapeville.utils.Scheduler;
 import shapeville.utils.WoodenButton;
 import shapeville.utils.ColorConstants;
 
@@ -59,16 +62,16 @@ public class CirclePanel extends JPanel {
     private String currentInputType;
     /** Current value (radius or diameter) */
     private double currentValue;
-    /** Number of attempts for current calculation */
-    private int attempts = 0;
+    /** The attempts at the current calculation */
+    private Round round;
     /** Total number of calculations required */
     private int totalCalculations = 0;
     /** Number of completed calculations */
     private int completedCalculations = 0;
     /** Timer for countdown */
-    private Timer countdownTimer;
+    private Scheduler.Task countdownTimer;
     /** Timer for managing next steps */
-    private Timer nextStepTimer;
+    private Scheduler.Task nextStepTimer;
     /** Remaining seconds in current calculation */
     private int secondsRemaining;
     /** Total time used across all calculations */
@@ -79,8 +82,6 @@ public class CirclePanel extends JPanel {
     /** Formatter for decimal numbers */
     private final DecimalFormat df = new DecimalFormat("#.#");
 
-    /** Value of π used in calculations */
-    private static final double PI = 3.14;
     /** Total number of calculations required */
     private static final int TOTAL_CALCULATIONS = 2;
 
@@ -252,7 +253,7 @@ public class CirclePanel extends JPanel {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (countdownTimer != null) {
-                    countdownTimer.stop();
+                    countdownTimer.cancel();
                 }
                 generateNextCalculation();
             }
@@ -371,27 +372,22 @@ public class CirclePanel extends JPanel {
         secondsRemaining = 180; // 3 minutes
 
         if (countdownTimer != null) {
-            countdownTimer.stop();
+            countdownTimer.cancel();
         }
 
-        countdownTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                secondsRemaining--;
-                int minutes = secondsRemaining / 60;
-                int seconds = secondsRemaining % 60;
-                timerLabel.setText(String.format("Time: %d:%02d", minutes, seconds));
-
-                if (secondsRemaining <= 0) {
-                    countdownTimer.stop();
-                    timeExpired();
-                } else if (secondsRemaining <= 30) {
-                    timerLabel.setForeground(Color.RED);
-                }
+        countdownTimer = Scheduler.repeat(this, 1000, () -> {
+            secondsRemaining--;
+            int minutes = secondsRemaining / 60;
+            int seconds = secondsRemaining % 60;
+            timerLabel.setText(String.format("Time: %d:%02d", minutes, seconds));
+
+            if (secondsRemaining <= 0) {
+                countdownTimer.cancel();
+                timeExpired();
+            } else if (secondsRemaining <= 30) {
+                timerLabel.setForeground(Color.RED);
             }
         });
-
-        countdownTimer.start();
         timerLabel.setForeground(Color.BLACK);
     }
 
@@ -404,22 +400,18 @@ public class CirclePanel extends JPanel {
         circleDisplay.setShowSolution(true);
 
         // Disable input
+        round.expire();
         answerField.setEnabled(false);
         submitButton.setEnabled(false);
 
         // Enable after a short delay and move to next calculation
-        Timer timer = new Timer(3000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                circleDisplay.setShowSolution(false);
-                //completedCalculations++;
-                generateNextCalculation();
-                answerField.setEnabled(true);
-                submitButton.setEnabled(true);
-            }
+        Scheduler.schedule(this, 3000, () -> {
+            circleDisplay.setShowSolution(false);
+            //completedCalculations++;
+            generateNextCalculation();
+            answerField.setEnabled(true);
+            submitButton.setEnabled(true);
         });
-        timer.setRepeats(false);
-        timer.start();
     }
 
     /**
@@ -439,25 +431,24 @@ public class CirclePanel extends JPanel {
         answerField.setText("");
         answerField.setEnabled(true);
         submitButton.setEnabled(true);
-        attempts = 0;
         attemptsLabel.setText("Attempts: " + ScoreManager.MAX_ATTEMPTS);
 
         // 检查是否完成所有题目
         if (completedCalculations >= totalCalculations) {
             if (countdownTimer != null) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
             }
 
-            mainApp.updateProgress(100.0/6);
+            ScoreManager.completeModule(ScoreManager.Module.TASK4);
             cardLayout.show(contentPanel, "COMPLETION");
             return;
         }
         currentCalculationType = nextCalculationType;// 动态切换计算类型
         // ==== 保持随机生成逻辑 ====
-        String[] inputTypes = {"Radius", "Diameter"};
-        currentInputType = inputTypes[random.nextInt(2)];
+        round = new Round(Questions.circle(currentCalculationType, random));
+        currentInputType = round.getQuestion().getSubject();
         // 生成随机值并更新界面
-        currentValue = 1 + random.nextInt(10);
+        currentValue = round.getQuestion().getParameter(0);
         circleDisplay.setCircleInfo(currentCalculationType, currentInputType, currentValue);
 
         // 更新进度
@@ -610,20 +601,7 @@ public class CirclePanel extends JPanel {
      * @return double The correct answer
      */
     private double calculateCorrectAnswer() {
-        if (currentCalculationType.equals("Area")) {
-            if (currentInputType.equals("Radius")) {
-                return PI* Math.pow(currentValue, 2);
-            } else { // Diameter
-                double radius = currentValue / 2;
-                return PI * Math.pow(radius, 2);
-            }
-        } else { // Circumference
-            if (currentInputType.equals("Radius")) {
-                return 2 * PI * currentValue;
-            } else { // Diameter
-                return Math.round( PI * currentValue * 10) / 10.0;
-            }
-        }
+        return Questions.circleAnswer(currentCalculationType, currentInputType, currentValue);
     }
 
     /**
@@ -636,42 +614,39 @@ public class CirclePanel extends JPanel {
      * - Progress updates
      */
     private void checkAnswer() {
+        if (round == null || round.isOver()) {
+            return;
+        }
+        Round.Outcome outcome = round.submit(answerField.getText());
         // 输入验证（保留原有逻辑）
-        String userAnswer = answerField.getText().trim();
-        if (userAnswer.isEmpty()) {
+        if (outcome == Round.Outcome.EMPTY) {
             feedbackLabel.setText("Please enter an answer!");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
         // 数字格式验证（保留原有逻辑）
-        double userValue;
-        try {
-            userValue = Double.parseDouble(userAnswer);
-        } catch (NumberFormatException e) {
+        if (outcome == Round.Outcome.INVALID) {
             feedbackLabel.setText("Invalid input! Numbers only.");
             feedbackLabel.setForeground(Color.RED);
             return;
         }
 
         // 更新尝试次数（保留原有逻辑）
-        attempts++;
-        attemptsLabel.setText("Attempts: " + attempts + "/" + ScoreManager.MAX_ATTEMPTS);
+        attemptsLabel.setText("Attempts: " + round.getAttempts() + "/" + ScoreManager.MAX_ATTEMPTS);
 
-        // 计算正确答案（保留原有逻辑）
-        double correctAnswer = calculateCorrectAnswer();
-        double tolerance = 0.1;
+        double correctAnswer = round.getQuestion().getAnswer(0);
 
         // 答案正确处理（修改部分开始）
-        if (Math.abs(userValue - correctAnswer) <= tolerance) {
+        if (outcome == Round.Outcome.CORRECT) {
             // 停止计时器
             if (countdownTimer != null) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
             }
 
             // 更新得分和进度
-            int score = ScoreManager.calculateScore(false, attempts);
-            //mainApp.updateScore(score);
+            int score = round.getPoints();
+            ScoreManager.addScore(score);
             completedCalculations++; // 关键：正确回答后递增完成数
 
             // 显示反馈
@@ -703,10 +678,10 @@ public class CirclePanel extends JPanel {
             // 答错保持类型
             nextCalculationType = currentCalculationType;
             lastAnswerCorrect = false;
-            if (attempts >= ScoreManager.MAX_ATTEMPTS) {
+            if (outcome == Round.Outcome.FAILED) {
                 // 停止计时器
                 if (countdownTimer != null) {
-                    countdownTimer.stop();
+                    countdownTimer.cancel();
                 }
 
                 // 显示正确答案
@@ -742,17 +717,15 @@ public class CirclePanel extends JPanel {
 
     // 新增辅助方法
     private void stopAllTimers() {
-        if (countdownTimer != null) countdownTimer.stop();
-        if (nextStepTimer != null && nextStepTimer.isRunning()) {
-            nextStepTimer.stop();
+        if (countdownTimer != null) countdownTimer.cancel();
+        if (nextStepTimer != null) {
+            nextStepTimer.cancel();
         }
     }
 
     private void scheduleNextStep(int delay, Runnable action) {
         stopAllTimers();
-        nextStepTimer = new Timer(delay, e -> action.run());
-        nextStepTimer.setRepeats(false);
-        nextStepTimer.start();
+        nextStepTimer = Scheduler.schedule(this, delay, action);
     }
 
     private String getNextCalculationType() {
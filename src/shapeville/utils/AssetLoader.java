@@ -0,0 +1,83 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Decodes bundled pictures on background threads so screens can show their first frame
+ * straight away.
+ * <p>
+ * Each resource is decoded once, in parallel with the others, on the common fork-join pool
+ * and straight into the screen's pixel format. Screens draw a placeholder until the picture
+ * arrives; the callbacks run on the event dispatch thread, where the screen swaps the picture
+ * in and repaints. Loading can be started early, e.g. from {@code main} before the window
+ * exists, and a later request for the same resource joins the decode already running.
+ * </p>
+ */
+public final class AssetLoader {
+    /** Decodes started so far, finished or not, by resource path */
+    private static final Map<String, CompletableFuture<BufferedImage>> loads = new ConcurrentHashMap<>();
+
+    private AssetLoader() {
+    }
+
+    /**
+     * Start decoding resources in the background without waiting for them
+     * @param resourcePaths the classpath resources
+     * @return a future that completes when every resource has been decoded
+     */
+    public static CompletableFuture<Void> preload(String... resourcePaths) {
+        CompletableFuture<?>[] decodes = new CompletableFuture<?>[resourcePaths.length];
+        for (int i = 0; i < resourcePaths.length; i++) {
+            decodes[i] = load(resourcePaths[i]);
+        }
+        return CompletableFuture.allOf(decodes);
+    }
+
+    /**
+     * Decode a bundled picture in the background
+     * @param resourcePath the classpath resource, e.g. "/shapeville/images/start_backgound/Door.png"
+     * @return the image in the screen's pixel format; null if it is missing or cannot be decoded
+     */
+    public static CompletableFuture<BufferedImage> load(String resourcePath) {
+        return loads.computeIfAbsent(resourcePath, path ->
+                CompletableFuture.supplyAsync(() -> decode(path), ForkJoinPool.commonPool()));
+    }
+
+    private static BufferedImage decode(String resourcePath) {
+        StartupEvents.AssetDecode event = new StartupEvents.AssetDecode();
+        event.begin();
+        BufferedImage image = SpriteManager.loadCompatible(resourcePath);
+        event.resource = resourcePath;
+        if (image != null) {
+            event.width = image.getWidth();
+            event.height = image.getHeight();
+        }
+        event.commit();
+        return image;
+    }
+
+    /**
+     * Decode a bundled picture in the background and hand it over as a sprite
+     * @param resourcePath the classpath resource
+     * @param onReady called on the event dispatch thread with the sprite; not called if the
+     *                picture is missing or cannot be decoded
+     */
+    public static void loadSprite(String resourcePath, Consumer<SpriteManager.Sprite> onReady) {
+        load(resourcePath).whenComplete((image, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+            } else if (image == null) {
+                System.err.println("Could not load sprite: " + resourcePath);
+            } else {
+                SpriteManager.Sprite sprite = new SpriteManager.Sprite(image);
+                SwingUtilities.invokeLater(() -> onReady.accept(sprite));
+            }
+        });
+    }
+}
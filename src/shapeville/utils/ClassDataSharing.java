@@ -0,0 +1,280 @@
+package shapeville.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Builds and uses an application class-data-sharing (AppCDS) archive, so a fresh JVM maps the
+ * classes of Swing, Java2D and the application from one file instead of loading and verifying
+ * them one by one.
+ * <p>
+ * {@code --train} runs the application's training mode in a child JVM that writes the archive
+ * when it exits ({@code -XX:ArchiveClassesAtExit}), and times the training mode with and
+ * without the archive. The JVM only archives classes from jar files, so classpath directories,
+ * e.g. an IDE's output folder, are first packed into a jar next to the archive.
+ * </p>
+ * <p>
+ * A JVM can only use an archive named on its command line, so a normal launch calls
+ * {@link #relaunchWithArchive}: if an archive built from the same classes and JDK exists, the
+ * application is started again in a child JVM that uses it, and the first JVM just waits for it
+ * and passes on its exit code. A changed classpath or class file makes the archive stale and it
+ * is ignored until the next {@code --train}. Starting the second JVM has a cost of its own, so
+ * {@code --train} only turns the relaunch on when its measurement shows that it pays off. Set
+ * -Dshapeville.cds=false to never relaunch.
+ * </p>
+ */
+public final class ClassDataSharing {
+    /** The command line option that builds the archive */
+    public static final String TRAIN_OPTION = "--train";
+
+    /** Where the archive and the packed jars go, overridable with -Dshapeville.cds.dir */
+    public static final Path DIRECTORY = Paths.get(System.getProperty("shapeville.cds.dir",
+            Paths.get(System.getProperty("user.home"), ".shapeville", "cds").toString()));
+
+    /** Set to false to turn the relaunch off; the child JVMs get it so they do not relaunch again */
+    private static final String ENABLED_PROPERTY = "shapeville.cds";
+    private static final Path ARCHIVE = DIRECTORY.resolve("shapeville.jsa");
+    private static final Path STAMP = DIRECTORY.resolve("archive.properties");
+    /** Training runs timed with and without the archive; the median is reported */
+    private static final int MEASURED_RUNS = 5;
+
+    private ClassDataSharing() {
+    }
+
+    /**
+     * Start the application again on the archive if there is an up-to-date one. Returns false
+     * straight away when there is nothing to do; otherwise runs the child JVM, waits for it
+     * and exits with its exit code.
+     * @param mainClass the class whose {@code main} is running
+     * @param args the arguments of {@code main}
+     * @return false if the application should carry on starting in this JVM
+     */
+    public static boolean relaunchWithArchive(Class<?> mainClass, String[] args) {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")) || !Files.isRegularFile(ARCHIVE)) {
+            return false;
+        }
+        try {
+            Properties stamp = readStamp();
+            if (stamp == null) {
+                // --train found that relaunching does not pay off on this machine
+                return false;
+            }
+            if (!fingerprint(classPath()).equals(stamp.getProperty("fingerprint"))) {
+                System.out.println("Class data archive is out of date; run with " + TRAIN_OPTION + " to rebuild it");
+                return false;
+            }
+            List<String> command = javaCommand(stamp.getProperty("classpath"), mainClass, args,
+                    "-XX:SharedArchiveFile=" + ARCHIVE);
+            Process child = new ProcessBuilder(command).inheritIO().start();
+            System.exit(child.waitFor());
+            return true;
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Build the archive by running the application's training mode, then print how long the
+     * training mode takes with and without it
+     * @param mainClass the class whose {@code main} runs the training mode
+     * @param runOption the option that makes {@code main} run the training mode and exit
+     * @return 0 if the archive was written, 1 if not
+     */
+    public static int train(Class<?> mainClass, String runOption) {
+        try {
+            Files.createDirectories(DIRECTORY);
+            Files.deleteIfExists(STAMP);
+            List<String> original = classPath();
+            String packed = pack(original);
+            String[] args = {runOption};
+
+            System.out.println("Training: timing startup without an archive...");
+            long before = medianMillis(javaCommand(String.join(File.pathSeparator, original), mainClass, args));
+
+            System.out.println("Training: writing " + ARCHIVE + "...");
+            Files.deleteIfExists(ARCHIVE);
+            Process dump = new ProcessBuilder(javaCommand(packed, mainClass, args,
+                    "-XX:ArchiveClassesAtExit=" + ARCHIVE))
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            if (dump.waitFor() != 0 || !Files.isRegularFile(ARCHIVE)) {
+                System.out.println("Training: the training run failed, no archive was written");
+                return 1;
+            }
+            Properties stamp = new Properties();
+            stamp.setProperty("fingerprint", fingerprint(original));
+            stamp.setProperty("classpath", packed);
+            try (OutputStream out = Files.newOutputStream(STAMP)) {
+                stamp.store(out, "Shapeville class data archive");
+            }
+
+            // Launch the way a student would, so the relaunch itself is part of the time
+            System.out.println("Training: timing startup with the archive...");
+            List<String> command = javaCommand(String.join(File.pathSeparator, original), mainClass, args);
+            command.removeIf(arg -> arg.startsWith("-D" + ENABLED_PROPERTY + "="));
+            long after = medianMillis(command);
+
+            System.out.printf("Training: archive %d KB; training run %d ms without it, %d ms with it (%.0f%% %s, median of %d)%n",
+                    Files.size(ARCHIVE) / 1024, before, after, 100.0 * Math.abs(before - after) / before,
+                    after < before ? "faster" : "slower", MEASURED_RUNS);
+            if (after >= before) {
+                // Starting a second JVM cost more than the archive saved, e.g. on a single-core machine
+                Files.delete(STAMP);
+                System.out.println("Training: relaunching is not faster here, so normal launches will not use the archive."
+                        + " To use it directly: java -XX:SharedArchiveFile=" + ARCHIVE + " -cp " + packed + " " + mainClass.getName());
+            } else {
+                System.out.println("Training: normal launches will use the archive from now on");
+            }
+            return 0;
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    /**
+     * Run a command a few times and get the median wall-clock time
+     */
+    private static long medianMillis(List<String> command) throws IOException, InterruptedException {
+        long[] millis = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            int status = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start().waitFor();
+            millis[i] = (System.nanoTime() - start) / 1_000_000L;
+            if (status != 0) {
+                System.out.println("Training: run " + (i + 1) + " exited with " + status);
+            }
+        }
+        Arrays.sort(millis);
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    /**
+     * Build the command line of a child JVM with this JVM's options, minus any archive options,
+     * and with the relaunch turned off
+     */
+    private static List<String> javaCommand(String classPath, Class<?> mainClass, String[] args, String... options) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!arg.startsWith("-XX:SharedArchiveFile") && !arg.startsWith("-XX:ArchiveClassesAtExit")
+                    && !arg.startsWith("-Xshare") && !arg.startsWith("-D" + ENABLED_PROPERTY + "=")) {
+                command.add(arg);
+            }
+        }
+        command.addAll(Arrays.asList(options));
+        command.add("-D" + ENABLED_PROPERTY + "=false");
+        command.add("-cp");
+        command.add(classPath);
+        command.add(mainClass.getName());
+        command.addAll(Arrays.asList(args));
+        return command;
+    }
+
+    private static List<String> classPath() {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Copy every classpath directory into a jar next to the archive; jars are used as they are
+     * @return the classpath to archive from
+     */
+    private static String pack(List<String> classPath) throws IOException {
+        List<String> packed = new ArrayList<>();
+        for (int i = 0; i < classPath.size(); i++) {
+            Path entry = Paths.get(classPath.get(i));
+            if (!Files.isDirectory(entry)) {
+                packed.add(entry.toAbsolutePath().toString());
+                continue;
+            }
+            Path jar = DIRECTORY.resolve("classes-" + i + ".jar");
+            Path temp = DIRECTORY.resolve("classes-" + i + ".jar.tmp");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(temp));
+                 Stream<Path> files = Files.walk(entry)) {
+                for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                    if (!Files.isRegularFile(file)) {
+                        continue;
+                    }
+                    out.putNextEntry(new JarEntry(entry.relativize(file).toString().replace(File.separatorChar, '/')));
+                    try (InputStream in = Files.newInputStream(file)) {
+                        in.transferTo(out);
+                    }
+                    out.closeEntry();
+                }
+            }
+            Files.move(temp, jar, StandardCopyOption.REPLACE_EXISTING);
+            packed.add(jar.toAbsolutePath().toString());
+        }
+        return String.join(File.pathSeparator, packed);
+    }
+
+    /**
+     * Sum up the JDK, the classpath and the name, size and date of every file on it. Runs on
+     * every launch, so it avoids streams, lambdas and message digests, which take longer to load
+     * than the walk itself.
+     */
+    private static String fingerprint(List<String> classPath) throws IOException {
+        StringBuilder text = new StringBuilder()
+                .append(System.getProperty("java.home")).append('|')
+                .append(System.getProperty("java.vm.version"));
+        for (String entry : classPath) {
+            Path root = Paths.get(entry).toAbsolutePath();
+            long[] files = new long[2];
+            if (Files.exists(root)) {
+                Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        long hash = root.relativize(file).toString().hashCode();
+                        hash = hash * 1_000_003L + attributes.size();
+                        hash = hash * 1_000_003L + attributes.lastModifiedTime().toMillis();
+                        // Added up, so the order the files are visited in does not matter
+                        files[0]++;
+                        files[1] += hash * 0x9E3779B97F4A7C15L;
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+            text.append('|').append(root).append(':').append(files[0]).append(':').append(Long.toHexString(files[1]));
+        }
+        return text.toString();
+    }
+
+    private static Properties readStamp() throws IOException {
+        if (!Files.isRegularFile(STAMP)) {
+            return null;
+        }
+        Properties stamp = new Properties();
+        try (InputStream in = Files.newInputStream(STAMP)) {
+            stamp.load(in);
+        }
+        return stamp;
+    }
+}
@@ -0,0 +1,172 @@
+package shapeville.utils;
+
+import java.awt.*;
+
+/**
+ * Collects the screen areas that changed during one animation frame.
+ * <p>
+ * Swing's RepaintManager folds every {@code repaint(Rectangle)} on a component into a single
+ * bounding box, so a cloud at the top and a character at the bottom still repaint most of the
+ * screen. This class keeps the areas apart instead: each added rectangle is merged with an
+ * existing one only when they overlap or when merging adds little extra area, and the result
+ * can be painted one rectangle at a time. The rectangles are kept as edges in a fixed array
+ * and merged in place, so adding and reading them allocates nothing.
+ * </p>
+ */
+public final class DirtyRegion {
+    /** Extra pixels a merge may add before two rectangles are kept apart */
+    private static final int MERGE_SLACK = 64 * 64;
+    /** Above this many rectangles everything is merged into one */
+    private static final int MAX_RECTANGLES = 32;
+
+    /** Left, top, right and bottom edge of each rectangle, four entries per rectangle */
+    private final int[] edges = new int[(MAX_RECTANGLES + 1) * 4];
+    private int count = 0;
+
+    /**
+     * Mark an area as changed
+     * @param x the left edge
+     * @param y the top edge
+     * @param width the width, ignored if not positive
+     * @param height the height, ignored if not positive
+     */
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int left = x;
+        int top = y;
+        int right = x + width;
+        int bottom = y + height;
+        // Keep merging until the new rectangle no longer touches any existing one
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < count; i++) {
+                int o = i * 4;
+                int unionLeft = Math.min(left, edges[o]);
+                int unionTop = Math.min(top, edges[o + 1]);
+                int unionRight = Math.max(right, edges[o + 2]);
+                int unionBottom = Math.max(bottom, edges[o + 3]);
+                boolean overlaps = left < edges[o + 2] && edges[o] < right && top < edges[o + 3] && edges[o + 1] < bottom;
+                if (overlaps || area(unionLeft, unionTop, unionRight, unionBottom)
+                        <= area(left, top, right, bottom) + area(edges[o], edges[o + 1], edges[o + 2], edges[o + 3]) + MERGE_SLACK) {
+                    remove(i);
+                    left = unionLeft;
+                    top = unionTop;
+                    right = unionRight;
+                    bottom = unionBottom;
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        set(count++, left, top, right, bottom);
+
+        if (count > MAX_RECTANGLES) {
+            for (int i = 1; i < count; i++) {
+                int o = i * 4;
+                left = Math.min(left, edges[o]);
+                top = Math.min(top, edges[o + 1]);
+                right = Math.max(right, edges[o + 2]);
+                bottom = Math.max(bottom, edges[o + 3]);
+            }
+            count = 1;
+            set(0, left, top, right, bottom);
+        }
+    }
+
+    /**
+     * Mark an area as changed
+     * @param area the area; it is copied, not kept
+     */
+    public void add(Rectangle area) {
+        add(area.x, area.y, area.width, area.height);
+    }
+
+    /**
+     * @return true if nothing has changed
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return the number of changed areas
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Copy one changed area into a rectangle; the areas do not overlap each other
+     * @param index the area, from 0 to {@link #size()} - 1
+     * @param into the rectangle to set
+     * @return {@code into}
+     */
+    public Rectangle getRectangle(int index, Rectangle into) {
+        int o = index * 4;
+        into.setBounds(edges[o], edges[o + 1], edges[o + 2] - edges[o], edges[o + 3] - edges[o + 1]);
+        return into;
+    }
+
+    /**
+     * @return the bounding box of all changed areas, empty if nothing changed
+     */
+    public Rectangle getBounds() {
+        if (count == 0) {
+            return new Rectangle();
+        }
+        int left = Integer.MAX_VALUE;
+        int top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            left = Math.min(left, edges[o]);
+            top = Math.min(top, edges[o + 1]);
+            right = Math.max(right, edges[o + 2]);
+            bottom = Math.max(bottom, edges[o + 3]);
+        }
+        return new Rectangle(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * @return the number of pixels covered by the changed areas
+     */
+    public long getPixelCount() {
+        long pixels = 0;
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            pixels += area(edges[o], edges[o + 1], edges[o + 2], edges[o + 3]);
+        }
+        return pixels;
+    }
+
+    /**
+     * Forget all changed areas, ready for the next frame
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    private void set(int index, int left, int top, int right, int bottom) {
+        int o = index * 4;
+        edges[o] = left;
+        edges[o + 1] = top;
+        edges[o + 2] = right;
+        edges[o + 3] = bottom;
+    }
+
+    /**
+     * Remove a rectangle, keeping the others in order
+     */
+    private void remove(int index) {
+        count--;
+        System.arraycopy(edges, (index + 1) * 4, edges, index * 4, (count - index) * 4);
+    }
+
+    private static long area(int left, int top, int right, int bottom) {
+        return (long) (right - left) * (bottom - top);
+    }
+}
@@ -0,0 +1,99 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers typed events to the listeners registered for their class, at most once per frame.
+ * <p>
+ * Events describe the new state, e.g. "the score is now 12", rather than the change, so when
+ * several of the same class are published before the next frame only the latest is delivered.
+ * Delivery happens on the event dispatch thread one frame after the first pending publish, so
+ * a burst of changes from one click turns into a single update of each label. Events can be
+ * published from any thread.
+ * </p>
+ */
+public final class EventBus {
+    /** How long published events wait before delivery; one frame at 60 Hz */
+    private static final long FRAME_MILLIS = 16;
+
+    private final Map<Class<?>, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+    /** Latest pending event per class, in publish order */
+    private final Map<Class<?>, Object> pending = new LinkedHashMap<>();
+    private boolean deliveryScheduled = false;
+
+    /**
+     * A listener registration.
+     */
+    public interface Subscription {
+        /**
+         * Stop delivering events to the listener; calling it again does nothing.
+         */
+        void cancel();
+    }
+
+    /**
+     * Register a listener for one class of event
+     * @param type the event class; events of subclasses are not delivered
+     * @param listener called on the event dispatch thread with each delivered event
+     * @param <E> the event type
+     * @return the registration, for cancelling it
+     */
+    public <E> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Consumer<Object> wrapped = event -> listener.accept(type.cast(event));
+        List<Consumer<Object>> forType = listeners.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>());
+        forType.add(wrapped);
+        return () -> forType.remove(wrapped);
+    }
+
+    /**
+     * Queue an event for delivery in the next frame, replacing a pending event it coalesces with
+     * @param event the event
+     */
+    public void publish(Object event) {
+        Class<?> key = event.getClass();
+        boolean schedule;
+        synchronized (pending) {
+            // Re-inserting moves the key to the end, so events arrive in the order of their latest publish
+            pending.remove(key);
+            pending.put(key, event);
+            schedule = !deliveryScheduled;
+            deliveryScheduled = true;
+        }
+        if (schedule) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                Scheduler.schedule(null, FRAME_MILLIS, this::deliver);
+            } else {
+                SwingUtilities.invokeLater(() -> Scheduler.schedule(null, FRAME_MILLIS, this::deliver));
+            }
+        }
+    }
+
+    private void deliver() {
+        List<Object> events;
+        synchronized (pending) {
+            events = new ArrayList<>(pending.values());
+            pending.clear();
+            deliveryScheduled = false;
+        }
+        for (Object event : events) {
+            List<Consumer<Object>> forType = listeners.get(event.getClass());
+            if (forType == null) {
+                continue;
+            }
+            for (Consumer<Object> listener : forType) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Measures what each frame costs and shows it in an overlay on top of every screen.
+ * <p>
+ * F3 shows or hides the overlay and Shift+F3 writes the recorded frames to a CSV file in the
+ * working directory. While the overlay is shown, every Swing paint pass, apart from the
+ * overlay's own refreshes, and every {@link GameLoop} frame is recorded: the time spent in
+ * updates and painting, the bytes allocated on the event dispatch thread and the garbage
+ * collections that ran since the previous frame. The last {@value #CAPACITY} frames are kept. Nothing is measured while the
+ * overlay is hidden. Start with -Dshapeville.profile=true to show it from launch.
+ * </p>
+ * <p>
+ * Everything here runs on the event dispatch thread.
+ * </p>
+ */
+public final class FrameProfiler {
+    /** Frames kept for the statistics and the CSV dump */
+    private static final int CAPACITY = 600;
+    /** How often the overlay text is refreshed */
+    private static final int REFRESH_MILLIS = 250;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    /** Where the overlay box sits in the window */
+    private static final Rectangle BOX = new Rectangle(8, 8, 300, 118);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /** Ring buffer of frames, one entry per column */
+    private static final long[] frameEndNanos = new long[CAPACITY];
+    private static final long[] updateNanos = new long[CAPACITY];
+    private static final long[] paintNanos = new long[CAPACITY];
+    private static final long[] allocatedBytes = new long[CAPACITY];
+    private static final long[] gcCounts = new long[CAPACITY];
+    private static final long[] gcMillis = new long[CAPACITY];
+    private static int next = 0;
+    private static int size = 0;
+    /** Frame numbers count up from when profiling was switched on */
+    private static long frameNumber = 0;
+
+    /** Totals at the end of the last frame, and update time since then */
+    private static long lastAllocated;
+    private static long lastGcCount;
+    private static long lastGcMillis;
+    private static long pendingUpdateNanos;
+
+    /** Scratch space for working out percentiles without allocating */
+    private static final long[] sorted = new long[CAPACITY];
+
+    private static boolean enabled = false;
+    private static JFrame frame;
+    private static Overlay overlay;
+    private static Scheduler.Task refreshTimer;
+    /** The repaint manager that was current before profiling started, put back when it stops */
+    private static RepaintManager previousManager;
+
+    private FrameProfiler() {
+    }
+
+    /**
+     * Bind F3 and Shift+F3 in a window so the overlay works on every screen in it.
+     * Screens that handle keys themselves should also pass key events to {@link #handleKey}.
+     * @param window the application window
+     */
+    public static void install(JFrame window) {
+        frame = window;
+        JRootPane root = window.getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleProfiler");
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_F3, InputEvent.SHIFT_DOWN_MASK), "dumpProfiler");
+        root.getActionMap().put("toggleProfiler", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                setEnabled(!enabled);
+            }
+        });
+        root.getActionMap().put("dumpProfiler", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                dumpCsv();
+            }
+        });
+        if (Boolean.getBoolean("shapeville.profile")) {
+            setEnabled(true);
+        }
+    }
+
+    /**
+     * Handle the profiler hotkeys from a key listener.
+     * @param e the key event
+     * @return true if it was a profiler key, which is then consumed
+     */
+    public static boolean handleKey(KeyEvent e) {
+        if (e.getKeyCode() != KeyEvent.VK_F3 || frame == null) {
+            return false;
+        }
+        if (e.isShiftDown()) {
+            dumpCsv();
+        } else {
+            setEnabled(!enabled);
+        }
+        e.consume();
+        return true;
+    }
+
+    /**
+     * @return true while frames are being measured
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Show or hide the overlay, starting or stopping the measurements with it.
+     * @param on true to show it
+     */
+    public static void setEnabled(boolean on) {
+        if (on == enabled || frame == null) {
+            return;
+        }
+        enabled = on;
+        if (on) {
+            if (overlay == null) {
+                overlay = new Overlay();
+                frame.setGlassPane(overlay);
+            }
+            // Swing paint passes are timed by replacing the repaint manager while profiling
+            previousManager = RepaintManager.currentManager(frame);
+            RepaintManager.setCurrentManager(new ProfilingRepaintManager());
+            next = 0;
+            size = 0;
+            frameNumber = 0;
+            pendingUpdateNanos = 0;
+            lastAllocated = currentAllocated();
+            lastGcCount = totalGcCount();
+            lastGcMillis = totalGcMillis();
+            overlay.setVisible(true);
+            refreshTimer = Scheduler.repeat(null, REFRESH_MILLIS, () -> overlay.repaint(BOX));
+        } else {
+            refreshTimer.cancel();
+            RepaintManager.setCurrentManager(previousManager);
+            previousManager = null;
+            overlay.setVisible(false);
+            // Regions still queued in the profiling manager were dropped with it
+            frame.repaint();
+        }
+    }
+
+    /**
+     * Record time spent updating game state; it is added to the next frame.
+     * @param nanos the time taken
+     */
+    public static void recordUpdate(long nanos) {
+        if (enabled) {
+            pendingUpdateNanos += nanos;
+        }
+    }
+
+    /**
+     * Record a finished frame.
+     * @param nanos the time spent painting it
+     */
+    public static void recordPaint(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        long allocated = currentAllocated();
+        long gcCount = totalGcCount();
+        long gcTime = totalGcMillis();
+
+        frameEndNanos[next] = System.nanoTime();
+        updateNanos[next] = pendingUpdateNanos;
+        paintNanos[next] = nanos;
+        allocatedBytes[next] = allocated - lastAllocated;
+        gcCounts[next] = gcCount - lastGcCount;
+        gcMillis[next] = gcTime - lastGcMillis;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+        frameNumber++;
+
+        pendingUpdateNanos = 0;
+        lastAllocated = allocated;
+        lastGcCount = gcCount;
+        lastGcMillis = gcTime;
+    }
+
+    /**
+     * Write the recorded frames, oldest first, to shapeville-frames-&lt;time&gt;.csv
+     */
+    public static void dumpCsv() {
+        if (size == 0) {
+            System.out.println("FrameProfiler: no frames recorded, press F3 to start profiling");
+            return;
+        }
+        Path path = Paths.get("shapeville-frames-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("frame,time_ms,update_ms,paint_ms,allocated_bytes,gc_count,gc_ms");
+            writer.newLine();
+            int first = (next - size + CAPACITY) % CAPACITY;
+            long start = frameEndNanos[first];
+            for (int n = 0; n < size; n++) {
+                int i = (first + n) % CAPACITY;
+                writer.write((frameNumber - size + n + 1) + ","
+                        + String.format("%.3f,%.3f,%.3f", (frameEndNanos[i] - start) / 1e6, updateNanos[i] / 1e6, paintNanos[i] / 1e6)
+                        + "," + allocatedBytes[i] + "," + gcCounts[i] + "," + gcMillis[i]);
+                writer.newLine();
+            }
+            System.out.println("FrameProfiler: wrote " + size + " frames to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long currentAllocated() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Get a percentile of one column over the recorded frames
+     */
+    private static long percentile(long[] column, double fraction) {
+        System.arraycopy(column, 0, sorted, 0, CAPACITY);
+        // Only the first size entries are filled until the ring wraps
+        Arrays.sort(sorted, 0, size);
+        return sorted[Math.min(size - 1, (int) (fraction * size))];
+    }
+
+    private static long sum(long[] column) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += column[i];
+        }
+        return total;
+    }
+
+    /**
+     * Count the frames that ended within the last second
+     */
+    private static int framesInLastSecond() {
+        long since = System.nanoTime() - 1_000_000_000L;
+        int frames = 0;
+        for (int i = 0; i < size; i++) {
+            if (frameEndNanos[i] >= since) {
+                frames++;
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Times each Swing paint pass and records it as a frame. Passes that only refresh the
+     * overlay are not frames of the application and are left out.
+     */
+    private static final class ProfilingRepaintManager extends RepaintManager {
+        /** Set when something other than the overlay asked to be repainted */
+        private boolean appDirty = false;
+
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            if (c != overlay) {
+                appDirty = true;
+            }
+            super.addDirtyRegion(c, x, y, w, h);
+        }
+
+        @Override
+        public void addDirtyRegion(Window window, int x, int y, int w, int h) {
+            appDirty = true;
+            super.addDirtyRegion(window, x, y, w, h);
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            boolean record = enabled && appDirty;
+            appDirty = false;
+            if (!record) {
+                super.paintDirtyRegions();
+                return;
+            }
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            recordPaint(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The glass pane that draws the statistics box in the top left corner.
+     */
+    private static final class Overlay extends JComponent {
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (size == 0) {
+                return;
+            }
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setColor(BACKGROUND);
+            g2d.fillRoundRect(BOX.x, BOX.y, BOX.width, BOX.height, 10, 10);
+            g2d.setFont(FONT);
+            g2d.setColor(Color.WHITE);
+            int x = BOX.x + 10;
+            int y = BOX.y + 18;
+            int line = 16;
+            g2d.drawString(String.format("FPS %d   frames %d", framesInLastSecond(), size), x, y);
+            g2d.drawString(String.format("update p50 %.2f  p99 %.2f ms",
+                    percentile(updateNanos, 0.5) / 1e6, percentile(updateNanos, 0.99) / 1e6), x, y + line);
+            g2d.drawString(String.format("paint  p50 %.2f  p99 %.2f ms",
+                    percentile(paintNanos, 0.5) / 1e6, percentile(paintNanos, 0.99) / 1e6), x, y + 2 * line);
+            g2d.drawString(String.format("alloc  %.1f KB/frame  p99 %.1f KB",
+                    sum(allocatedBytes) / 1024.0 / size, percentile(allocatedBytes, 0.99) / 1024.0), x, y + 3 * line);
+            g2d.drawString(String.format("GC     %d runs  %d ms", sum(gcCounts), sum(gcMillis)), x, y + 4 * line);
+            g2d.setColor(Color.LIGHT_GRAY);
+            g2d.drawString("F3 hide   Shift+F3 save CSV", x, y + 5 * line + 4);
+        }
+    }
+}
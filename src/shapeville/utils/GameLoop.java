@@ -0,0 +1,190 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * A fixed-timestep animation loop for a Swing component.
+ * <p>
+ * Game logic advances in steps of a fixed length measured with {@link System#nanoTime()}, so
+ * physics does not depend on how punctually the timer fires. Frames are rendered at the
+ * display's refresh rate, with the fraction of a step elapsed since the last update passed
+ * along so moving things can be drawn between their previous and current positions.
+ * </p>
+ * <p>
+ * The loop only runs while its component is showing and its window is not minimized. It
+ * stops completely otherwise, and when it resumes it carries on from where it stopped without
+ * trying to catch up on the time spent hidden. Everything runs on the event dispatch thread.
+ * </p>
+ */
+public final class GameLoop {
+    /** Refresh rate assumed when the display does not report one, or when running headless */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    /** Most updates run in one frame after a stall, so a long pause cannot freeze the UI */
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    /**
+     * Receives the loop's updates and frames.
+     */
+    public interface Listener {
+        /**
+         * Advance the simulation by one fixed step.
+         */
+        void update();
+
+        /**
+         * Draw a frame.
+         * @param alpha how far between the previous and the current step to draw, from 0 to 1
+         */
+        void render(double alpha);
+    }
+
+    private final JComponent host;
+    private final long stepNanos;
+    private final Listener listener;
+    /** The frame task while running, or null while stopped */
+    private Scheduler.Task frameTask;
+
+    /** When the last frame ran, and simulated time not yet consumed by an update */
+    private long lastFrameNanos;
+    private long accumulatorNanos;
+    /** Updates run so far; simulated time is this times the step */
+    private long steps;
+    /** The window we listen to for minimize and restore */
+    private Window window;
+    private boolean iconified;
+
+    private final WindowAdapter windowListener = new WindowAdapter() {
+        @Override
+        public void windowIconified(WindowEvent e) {
+            iconified = true;
+            updateRunning();
+        }
+
+        @Override
+        public void windowDeiconified(WindowEvent e) {
+            iconified = false;
+            updateRunning();
+        }
+    };
+
+    /**
+     * Create a loop for a component. It starts by itself once the component is showing.
+     * @param host the component being animated
+     * @param stepMillis the length of one update in milliseconds
+     * @param listener receives the updates and frames
+     */
+    public GameLoop(JComponent host, int stepMillis, Listener listener) {
+        this.host = host;
+        this.stepNanos = stepMillis * 1_000_000L;
+        this.listener = listener;
+
+        host.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.DISPLAYABILITY_CHANGED)) != 0) {
+                attachWindow();
+            }
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                updateRunning();
+            }
+        });
+        attachWindow();
+        updateRunning();
+    }
+
+    /**
+     * @return the simulated time in milliseconds; it does not advance while the loop is paused
+     */
+    public long getSimulatedMillis() {
+        return steps * stepNanos / 1_000_000L;
+    }
+
+    /**
+     * @return true while the loop is running
+     */
+    public boolean isRunning() {
+        return frameTask != null;
+    }
+
+    /**
+     * Run one frame: as many fixed updates as the elapsed time calls for, then a render
+     */
+    private void frame() {
+        long now = System.nanoTime();
+        accumulatorNanos += now - lastFrameNanos;
+        lastFrameNanos = now;
+
+        int stepsThisFrame = 0;
+        long updateStart = System.nanoTime();
+        while (accumulatorNanos >= stepNanos && stepsThisFrame < MAX_STEPS_PER_FRAME) {
+            listener.update();
+            steps++;
+            accumulatorNanos -= stepNanos;
+            stepsThisFrame++;
+        }
+        if (accumulatorNanos >= stepNanos) {
+            // Too far behind: drop the backlog rather than fast-forwarding
+            accumulatorNanos %= stepNanos;
+        }
+        long renderStart = System.nanoTime();
+        listener.render((double) accumulatorNanos / stepNanos);
+        if (FrameProfiler.isEnabled()) {
+            FrameProfiler.recordUpdate(renderStart - updateStart);
+            FrameProfiler.recordPaint(System.nanoTime() - renderStart);
+        }
+    }
+
+    /**
+     * Start or stop the loop to match whether the component can be seen
+     */
+    private void updateRunning() {
+        boolean visible = host.isShowing() && !iconified;
+        if (visible && frameTask == null) {
+            lastFrameNanos = System.nanoTime();
+            accumulatorNanos = 0;
+            // Paused here rather than by the scheduler, which does not know about minimizing
+            frameTask = Scheduler.repeat(null, frameDelayMillis(), this::frame);
+        } else if (!visible && frameTask != null) {
+            frameTask.cancel();
+            frameTask = null;
+        }
+    }
+
+    /**
+     * Get the frame interval for the refresh rate of the screen the component is on
+     */
+    private int frameDelayMillis() {
+        int refreshRate = DEFAULT_REFRESH_RATE;
+        GraphicsConfiguration config = host.getGraphicsConfiguration();
+        if (config != null) {
+            int rate = config.getDevice().getDisplayMode().getRefreshRate();
+            if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                refreshRate = rate;
+            }
+        }
+        return Math.max(1, 1000 / refreshRate);
+    }
+
+    /**
+     * Listen to the window the component is currently in
+     */
+    private void attachWindow() {
+        Window current = SwingUtilities.getWindowAncestor(host);
+        if (current == window) {
+            return;
+        }
+        if (window != null) {
+            window.removeWindowListener(windowListener);
+        }
+        window = current;
+        iconified = false;
+        if (window != null) {
+            window.addWindowListener(windowListener);
+            if (window instanceof Frame) {
+                iconified = (((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package shapeville.utils;
+
+import javax.swing.ImageIcon;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, size-bounded LRU cache for rendered shape icons.
+ * <p>
+ * Entries are keyed by dimension ("2d"/"3d"), shape name, pixel size and scale, and the cache
+ * is bounded by the estimated number of bytes held by the cached bitmaps. When a new icon does
+ * not fit, the least recently used icons are evicted first. Hit, miss and eviction counters and
+ * the current byte footprint are exposed so the cache can be sized against the heap budget of
+ * the machine the application runs on.
+ * </p>
+ */
+public class IconCache {
+    /** Bytes used per pixel by the ARGB bitmaps stored in the cache */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** Maximum number of bytes the cached bitmaps may occupy */
+    private final long maxBytes;
+
+    /** Cached icons in access order, least recently used first */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(32, 0.75f, true);
+
+    /** Estimated bytes currently held by the cached bitmaps */
+    private long byteSize = 0;
+
+    /** Cache statistics */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache bounded to the given number of bytes.
+     *
+     * @param maxBytes the maximum estimated footprint of the cached bitmaps
+     */
+    public IconCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Looks up an icon and marks it as recently used.
+     *
+     * @param key the icon key
+     * @return the cached icon, or null if it is not cached
+     */
+    public ImageIcon get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.icon;
+    }
+
+    /**
+     * Looks up an icon without counting the lookup in the hit/miss statistics.
+     * Used by background work such as cache warm-up.
+     *
+     * @param key the icon key
+     * @return the cached icon, or null if it is not cached
+     */
+    public synchronized ImageIcon peek(Key key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.icon : null;
+    }
+
+    /**
+     * Stores an icon unless another thread has already stored one for the same key.
+     * Least recently used icons are evicted until the new icon fits into the byte budget.
+     * An icon larger than the whole budget is returned without being cached.
+     *
+     * @param key the icon key
+     * @param icon the rendered icon
+     * @return the icon now associated with the key (the existing one if there was a race)
+     */
+    public ImageIcon putIfAbsent(Key key, ImageIcon icon) {
+        long bytes = footprint(icon);
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing.icon;
+            }
+            if (bytes > maxBytes) {
+                return icon;
+            }
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (byteSize + bytes > maxBytes && it.hasNext()) {
+                byteSize -= it.next().getValue().bytes;
+                it.remove();
+                evictions.increment();
+            }
+            entries.put(key, new Entry(icon, bytes));
+            byteSize += bytes;
+        }
+        return icon;
+    }
+
+    /**
+     * Removes every cached icon. Statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        byteSize = 0;
+    }
+
+    /**
+     * @return the number of lookups that found a cached icon
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find a cached icon
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of icons evicted to stay within the byte budget
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the estimated number of bytes held by the cached bitmaps
+     */
+    public synchronized long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * @return the maximum number of bytes the cached bitmaps may occupy
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the number of cached icons
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IconCache[entries=%d, bytes=%d/%d, hits=%d, misses=%d, evictions=%d]",
+                size(), getByteSize(), maxBytes, getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * Estimates the heap footprint of an icon's bitmap.
+     *
+     * @param icon the icon
+     * @return the estimated size in bytes
+     */
+    static long footprint(ImageIcon icon) {
+        return (long) Math.max(icon.getIconWidth(), 0) * Math.max(icon.getIconHeight(), 0) * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * A cached icon together with its estimated footprint.
+     */
+    private static final class Entry {
+        private final ImageIcon icon;
+        private final long bytes;
+
+        Entry(ImageIcon icon, long bytes) {
+            this.icon = icon;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Identifies a rendered icon by dimension, shape, pixel size and scale.
+     */
+    public static final class Key {
+        private final String dimension;
+        private final String shape;
+        private final int width;
+        private final int height;
+        private final double scale;
+
+        /**
+         * Constructs a cache key.
+         *
+         * @param dimension the shape dimension, e.g. "2d" or "3d"
+         * @param shape the shape name
+         * @param width the logical width in pixels
+         * @param height the logical height in pixels
+         * @param scale the device scale the icon is rendered for
+         */
+        public Key(String dimension, String shape, int width, int height, double scale) {
+            this.dimension = Objects.requireNonNull(dimension);
+            this.shape = Objects.requireNonNull(shape);
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+        }
+
+        public String getDimension() {
+            return dimension;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public double getScale() {
+            return scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return width == other.width
+                    && height == other.height
+                    && Double.compare(scale, other.scale) == 0
+                    && dimension.equals(other.dimension)
+                    && shape.equals(other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = dimension.hashCode();
+            result = 31 * result + shape.hashCode();
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + Double.hashCode(scale);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return dimension + "_" + shape + "@" + width + "x" + height + "x" + scale;
+        }
+    }
+}
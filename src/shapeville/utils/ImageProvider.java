@@ -3,17 +3,55 @@ package shapeville.utils;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.*;
+import java.awt.image.AbstractMultiResolutionImage;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class to generate shape images dynamically instead of loading them from files.
  * This avoids the need to include actual image files with the application.
  */
 public class ImageProvider {
-    private static final int IMAGE_SIZE = 200;
-    private static final Map<String, ImageIcon> imageCache = new HashMap<>();
+    /** Default logical size of a shape icon, also the design size the shapes are drawn in */
+    public static final int IMAGE_SIZE = 200;
+
+    /** Version of the shape drawing code; bump it whenever ShapeDisplayList output changes */
+    public static final int RENDERER_VERSION = 2;
+
+    /** Colour theme of the procedurally drawn shapes */
+    public static final String THEME = "classic";
+
+    /** Default location of the pre-rendered icon atlas, overridable with -Dshapeville.atlas */
+    public static final Path DEFAULT_ATLAS_FILE = Paths.get(System.getProperty("shapeville.atlas",
+            Paths.get(System.getProperty("user.home"), ".shapeville", "shape-atlas.bin").toString()));
+
+    /** Default byte budget for rendered icons, overridable with -Dshapeville.iconCache.maxBytes */
+    private static final long DEFAULT_CACHE_BYTES = 16L * 1024 * 1024;
+
+    /** Cache dimensions for procedurally drawn 2D/3D shapes and for bundled image resources */
+    private static final String DIMENSION_2D = "2d";
+    private static final String DIMENSION_3D = "3d";
+    private static final String DIMENSION_RESOURCE = "res";
+
+    private static final IconCache imageCache =
+            new IconCache(Long.getLong("shapeville.iconCache.maxBytes", DEFAULT_CACHE_BYTES));
+
+    /** Renders in progress on the warm-up pool; lookups take the result once it is ready */
+    private static final Map<IconCache.Key, CompletableFuture<ImageIcon>> pendingRenders = new ConcurrentHashMap<>();
     
     /**
      * Get the image icon for a 2D shape
@@ -21,35 +59,30 @@ public class ImageProvider {
      * @return the ImageIcon for the shape
      */
     public static ImageIcon get2DShapeIcon(String shapeName) {
-        String key = "2d_" + shapeName;
-        if (imageCache.containsKey(key)) {
-            return imageCache.get(key);
-        }
-        
-        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        // Set up anti-aliasing for smoother drawing
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        
-        // Background
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, IMAGE_SIZE, IMAGE_SIZE);
-        
-        // Shape outline style
-        g2d.setStroke(new BasicStroke(3));
-        
-        // Draw the shape based on its e
-        drawShape2D(g2d, shapeName);
-        
-        g2d.dispose();
-        
-        // Create and cache the icon
-        ImageIcon icon = new ImageIcon(image);
-        imageCache.put(key, icon);
-        
-        return icon;
+        return get2DShapeIcon(shapeName, IMAGE_SIZE, IMAGE_SIZE);
+    }
+
+    /**
+     * Get the image icon for a 2D shape rendered at the given size
+     * @param shapeName the name of the shape
+     * @param width the icon width in pixels
+     * @param height the icon height in pixels
+     * @return the ImageIcon for the shape
+     */
+    public static ImageIcon get2DShapeIcon(String shapeName, int width, int height) {
+        return getIcon(DIMENSION_2D, shapeName.toLowerCase(), width, height, 1.0);
+    }
+
+    /**
+     * Get a multi-resolution image for a 2D shape. Each device resolution the image is
+     * painted at is rendered once, on demand, and reused from the icon cache after that.
+     * @param shapeName the name of the shape
+     * @param width the logical width in pixels
+     * @param height the logical height in pixels
+     * @return the multi-resolution image for the shape
+     */
+    public static Image get2DShapeImage(String shapeName, int width, int height) {
+        return new ShapeResolutionImage(DIMENSION_2D, shapeName.toLowerCase(), width, height);
     }
     
     /**
@@ -58,518 +91,352 @@ public class ImageProvider {
      * @return the ImageIcon for the shape
      */
     public static ImageIcon get3DShapeIcon(String shapeName) {
-        String key = "3d_" + shapeName;
-        if (imageCache.containsKey(key)) {
-            return imageCache.get(key);
-        }
-        
-        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        // Set up anti-aliasing for smoother drawing
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        
-        // Background
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, IMAGE_SIZE, IMAGE_SIZE);
-        
-        // Shape outline style
-        g2d.setStroke(new BasicStroke(3));
-        
-        // Draw the shape based on its name
-        drawShape3D(g2d, shapeName);
-        
-        g2d.dispose();
-        
-        // Create and cache the icon
-        ImageIcon icon = new ImageIcon(image);
-        imageCache.put(key, icon);
-        
-        return icon;
+        return get3DShapeIcon(shapeName, IMAGE_SIZE, IMAGE_SIZE);
     }
-    
+
     /**
-     * Draw a 2D shape
-     * @param g2d the Graphics2D object to draw on
+     * Get the image icon for a 3D shape rendered at the given size
      * @param shapeName the name of the shape
+     * @param width the icon width in pixels
+     * @param height the icon height in pixels
+     * @return the ImageIcon for the shape
      */
-    private static void drawShape2D(Graphics2D g2d, String shapeName) {
-        Color color;
-        Shape shape;
-        
-        // Center of the image
-        int centerX = IMAGE_SIZE / 2;
-        int centerY = IMAGE_SIZE / 2;
-        
-        // Size of the shape (slightly smaller than the image)
-        int size = (int)(IMAGE_SIZE * 0.7);
-        
-        switch (shapeName.toLowerCase()) {
-            case "circle":
-                color = new Color(255, 100, 100); // Red
-                shape = new Ellipse2D.Double(centerX - size/2, centerY - size/2, size, size);
-                break;
-                
-            case "rectangle":
-                color = new Color(100, 100, 255); // Blue
-                shape = new Rectangle2D.Double(centerX - size/2, centerY - size/3, size, size*2/3);
-                break;
-                
-            case "triangle":
-                color = new Color(100, 255, 100); // Green
-                int[] xPoints = {centerX, centerX - size/2, centerX + size/2};
-                int[] yPoints = {centerY - size/2, centerY + size/2, centerY + size/2};
-                shape = new Polygon(xPoints, yPoints, 3);
-                break;
-                
-            case "oval":
-                color = new Color(186, 85, 211); // Medium Orchid
-                shape = new Ellipse2D.Double(centerX - size/2, centerY - size/3, size, size*2/3);
-                break;
-                
-            case "square":
-                color = new Color(30, 144, 255); // Dodger Blue
-                shape = new Rectangle2D.Double(centerX - size/2, centerY - size/2, size, size);
-                break;
-                
-            case "octagon":
-                color = new Color(255, 165, 0); // Orange
-                shape = createRegularPolygon(centerX, centerY, size/2, 8);
-                break;
-                
-            case "heptagon":
-                color = new Color(255, 105, 180); // Hot Pink
-                shape = createRegularPolygon(centerX, centerY, size/2, 7);
-                break;
-                
-            case "hexagon":
-                color = new Color(128, 128, 128); // Gray
-                shape = createRegularPolygon(centerX, centerY, size/2, 6);
-                break;
-                
-            case "pentagon":
-                color = new Color(139, 69, 19); // Saddle Brown
-                shape = createRegularPolygon(centerX, centerY, size/2, 5);
-                break;
-
-            case "kite":
-                color = new Color(255, 105, 180);
-                int[] kiteX = {centerX, centerX + size / 3, centerX, centerX - size / 3};
-                int[] kiteY = {centerY - size * 2 / 3, centerY, centerY + size / 3, centerY};
-                shape = new Polygon(kiteX, kiteY, 4);
-                break;
-            case "rhombus":
-                color = new Color(32, 178, 170); // Pink
-                int[] rhombusX = {centerX, centerX + size/3, centerX, centerX - size/3};
-                int[] rhombusY = {centerY - size/2, centerY, centerY + size/2, centerY};
-                shape = new Polygon(rhombusX, rhombusY, 4);
-                break;
-                
-            default:
-                // Default to a circle if shape name is not recognized
-                color = Color.GRAY;
-                shape = new Ellipse2D.Double(centerX - size/2, centerY - size/2, size, size);
-        }
-        
-        // Fill the shape
-        g2d.setColor(color);
-        g2d.fill(shape);
-        
-        // Draw the outline
-        g2d.setColor(Color.BLACK);
-        g2d.draw(shape);
+    public static ImageIcon get3DShapeIcon(String shapeName, int width, int height) {
+        return getIcon(DIMENSION_3D, shapeName.toLowerCase(), width, height, 1.0);
     }
-    
+
     /**
-     * Draw a 3D shape
-     * @param g2d the Graphics2D object to draw on
+     * Get a multi-resolution image for a 3D shape
      * @param shapeName the name of the shape
+     * @param width the logical width in pixels
+     * @param height the logical height in pixels
+     * @return the multi-resolution image for the shape
      */
-    private static void drawShape3D(Graphics2D g2d, String shapeName) {
-        // Center of the image
-        int centerX = IMAGE_SIZE / 2;
-        int centerY = IMAGE_SIZE / 2;
-        
-        // Size of the shape (slightly smaller than the image)
-        int size = (int)(IMAGE_SIZE * 0.6);
-        
-        switch (shapeName.toLowerCase()) {
-            case "cube":
-                drawCube(g2d, centerX, centerY, size);
-                break;
-                
-            case "cuboid":
-                drawCuboid(g2d, centerX, centerY, size, size, size/2);
-                break;
-                
-            case "cylinder":
-                drawCylinder(g2d, centerX, centerY, size/2, size);
-                break;
-                
-            case "sphere":
-                drawSphere(g2d, centerX, centerY, size/2);
-                break;
-                
-            case "triangular prism":
-            case "triangular_prism":
-                drawTriangularPrism(g2d, centerX, centerY, size);
-                break;
-                
-            case "square-based pyramid":
-            case "square_pyramid":
-                drawSquarePyramid(g2d, centerX, centerY, size);
-                break;
-                
-            case "cone":
-                drawCone(g2d, centerX, centerY, size/2, size);
-                break;
-                
-            case "tetrahedron":
-                drawTetrahedron(g2d, centerX, centerY, size);
-                break;
-                
-            default:
-                // Default to a cube if shape name is not recognized
-                drawCube(g2d, centerX, centerY, size);
-        }
+    public static Image get3DShapeImage(String shapeName, int width, int height) {
+        return new ShapeResolutionImage(DIMENSION_3D, shapeName.toLowerCase(), width, height);
     }
-    
+
     /**
-     * Create a regular polygon with the given number of sides
-     * @param centerX center X coordinate
-     * @param centerY center Y coordinate
-     * @param radius radius of the polygon
-     * @param sides number of sides
-     * @return a GeneralPath representing the polygon
+     * Get a multi-resolution image for a bundled picture such as the 3D shape PNGs.
+     * The picture is decoded and scaled once per device resolution instead of on every paint.
+     * @param resourcePath the classpath resource, e.g. "/shapeville/images/3d/cube.png"
+     * @param width the logical width in pixels
+     * @param height the logical height in pixels
+     * @return the multi-resolution image for the picture
+     * @throws IllegalArgumentException if the resource cannot be read
      */
-    private static Shape createRegularPolygon(int centerX, int centerY, int radius, int sides) {
-        GeneralPath polygon = new GeneralPath();
-        
-        double angle = 2 * Math.PI / sides;
-        
-        // Start from the top
-        double startAngle = -Math.PI / 2;
-        
-        // First point
-        polygon.moveTo(
-            centerX + radius * Math.cos(startAngle),
-            centerY + radius * Math.sin(startAngle)
-        );
-        
-        // Remaining points
-        for (int i = 1; i < sides; i++) {
-            double theta = startAngle + angle * i;
-            polygon.lineTo(
-                centerX + radius * Math.cos(theta),
-                centerY + radius * Math.sin(theta)
-            );
-        }
-        
-        // Close the path
-        polygon.closePath();
-        
-        return polygon;
+    public static Image getResourceImage(String resourcePath, int width, int height) {
+        return new ShapeResolutionImage(DIMENSION_RESOURCE, resourcePath, width, height);
     }
-    
-    // Drawing methods for 3D shapes
-    
-    private static void drawCube(Graphics2D g2d, int centerX, int centerY, int size) {
-        int half = size / 2;
-        int offset = size / 4; // 3D perspective offset
-        
-        // Front face
-        int[] xPoints = {centerX - half, centerX + half, centerX + half, centerX - half};
-        int[] yPoints = {centerY - half, centerY - half, centerY + half, centerY + half};
-        Polygon frontFace = new Polygon(xPoints, yPoints, 4);
-        
-        // Back face
-        int[] xPointsBack = {centerX - half + offset, centerX + half + offset, centerX + half + offset, centerX - half + offset};
-        int[] yPointsBack = {centerY - half - offset, centerY - half - offset, centerY + half - offset, centerY + half - offset};
-        Polygon backFace = new Polygon(xPointsBack, yPointsBack, 4);
-        
-        // Fill the back face
-        g2d.setColor(new Color(144, 238, 144)); // Light Green
-        g2d.fill(backFace);
-        
-        // Connect front and back faces with lines
-        g2d.setColor(Color.BLACK);
-        for (int i = 0; i < 4; i++) {
-            g2d.drawLine(xPoints[i], yPoints[i], xPointsBack[i], yPointsBack[i]);
+
+    /**
+     * Get the shared icon cache, e.g. to read its hit/miss/eviction statistics
+     * @return the icon cache
+     */
+    public static IconCache getCache() {
+        return imageCache;
+    }
+
+    /**
+     * Render shape icons in parallel on the common fork-join pool so that the task panels
+     * find them in the cache. Icons are rendered at the given logical size and, on HiDPI
+     * screens, also at the device scale that Swing will ask the multi-resolution images for.
+     * Icons that are already cached or being rendered are skipped.
+     * @param shapes2D names of procedurally drawn 2D shapes
+     * @param resources classpath resources of bundled pictures, e.g. the 3D shape PNGs
+     * @param size the logical edge length in pixels
+     * @param deviceScale the device scale of the screen, 1.0 on standard displays
+     * @return a future that completes when every requested icon is cached
+     */
+    public static CompletableFuture<Void> prewarm(Collection<String> shapes2D, Collection<String> resources,
+                                                  int size, double deviceScale) {
+        List<CompletableFuture<ImageIcon>> renders = new ArrayList<>();
+        for (double scale : deviceScale > 1.0 ? new double[] {1.0, deviceScale} : new double[] {1.0}) {
+            for (String shapeName : shapes2D) {
+                renders.add(renderAsync(new IconCache.Key(DIMENSION_2D, shapeName.toLowerCase(), size, size, scale)));
+            }
+            for (String resourcePath : resources) {
+                renders.add(renderAsync(new IconCache.Key(DIMENSION_RESOURCE, resourcePath, size, size, scale)));
+            }
         }
-        
-        // Fill the front face
-        g2d.setColor(new Color(50, 205, 50)); // Lime Green
-        g2d.fill(frontFace);
-        
-        // Draw the outlines
-        g2d.setColor(Color.BLACK);
-        g2d.draw(frontFace);
-        g2d.draw(backFace);
+        return CompletableFuture.allOf(renders.toArray(new CompletableFuture<?>[0]));
     }
-    
-    private static void drawCuboid(Graphics2D g2d, int centerX, int centerY, int width, int height, int depth) {
-        int halfWidth = width / 2;
-        int halfHeight = height / 2;
-        int offsetX = depth / 2; // 3D perspective offset X
-        int offsetY = depth / 2; // 3D perspective offset Y
-        
-        // Front face
-        int[] xPoints = {centerX - halfWidth, centerX + halfWidth, centerX + halfWidth, centerX - halfWidth};
-        int[] yPoints = {centerY - halfHeight, centerY - halfHeight, centerY + halfHeight, centerY + halfHeight};
-        Polygon frontFace = new Polygon(xPoints, yPoints, 4);
-        
-        // Back face
-        int[] xPointsBack = {centerX - halfWidth + offsetX, centerX + halfWidth + offsetX, centerX + halfWidth + offsetX, centerX - halfWidth + offsetX};
-        int[] yPointsBack = {centerY - halfHeight - offsetY, centerY - halfHeight - offsetY, centerY + halfHeight - offsetY, centerY + halfHeight - offsetY};
-        Polygon backFace = new Polygon(xPointsBack, yPointsBack, 4);
-        
-        // Fill the back face
-        g2d.setColor(new Color(173, 216, 230)); // Light Blue
-        g2d.fill(backFace);
-        
-        // Connect front and back faces with lines
-        g2d.setColor(Color.BLACK);
-        for (int i = 0; i < 4; i++) {
-            g2d.drawLine(xPoints[i], yPoints[i], xPointsBack[i], yPointsBack[i]);
+
+    /**
+     * Fill the cache with procedurally drawn shape icons from the on-disk atlas. The atlas is
+     * memory-mapped and copied into the cache instead of re-running the Java2D drawing code.
+     * If the atlas is missing or its content hash (renderer version, theme, shapes, size and
+     * scale) does not match, the icons are rendered in parallel and the atlas is rewritten.
+     * @param atlasFile the atlas file
+     * @param shapes2D names of 2D shapes to load
+     * @param shapes3D names of 3D shapes to load
+     * @param size the logical edge length in pixels
+     * @param deviceScale the device scale of the screen, 1.0 on standard displays
+     * @return a future that completes when every requested icon is cached
+     */
+    public static CompletableFuture<Void> loadAtlas(Path atlasFile, Collection<String> shapes2D,
+                                                    Collection<String> shapes3D, int size, double deviceScale) {
+        List<IconCache.Key> keys = new ArrayList<>();
+        for (double scale : deviceScale > 1.0 ? new double[] {1.0, deviceScale} : new double[] {1.0}) {
+            for (String shapeName : shapes2D) {
+                keys.add(new IconCache.Key(DIMENSION_2D, shapeName.toLowerCase(), size, size, scale));
+            }
+            for (String shapeName : shapes3D) {
+                keys.add(new IconCache.Key(DIMENSION_3D, shapeName.toLowerCase(), size, size, scale));
+            }
         }
-        
-        // Fill the front face
-        g2d.setColor(new Color(30, 144, 255)); // Dodger Blue
-        g2d.fill(frontFace);
-        
-        // Draw the outlines
-        g2d.setColor(Color.BLACK);
-        g2d.draw(frontFace);
-        g2d.draw(backFace);
+        byte[] hash = SpriteAtlas.contentHash(RENDERER_VERSION, THEME, keys);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Map<IconCache.Key, BufferedImage> images = SpriteAtlas.read(atlasFile, hash);
+                if (images != null && images.keySet().containsAll(keys)) {
+                    for (IconCache.Key key : keys) {
+                        // The atlas holds ARGB pixels; convert once so painting is a plain blit
+                        BufferedImage image = SpriteManager.toCompatible(images.get(key), Transparency.OPAQUE);
+                        imageCache.putIfAbsent(key, new ImageIcon(image));
+                    }
+                    StartupMetrics.log("Loaded " + keys.size() + " icons from " + atlasFile);
+                    return true;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return false;
+        }, ForkJoinPool.commonPool()).thenCompose(loaded -> {
+            if (loaded) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // Stale or missing atlas: render everything, then write a fresh one
+            List<CompletableFuture<ImageIcon>> renders = new ArrayList<>();
+            for (IconCache.Key key : keys) {
+                renders.add(renderAsync(key));
+            }
+            return CompletableFuture.allOf(renders.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+                Map<IconCache.Key, BufferedImage> images = new LinkedHashMap<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    images.put(keys.get(i), (BufferedImage) renders.get(i).join().getImage());
+                }
+                try {
+                    SpriteAtlas.write(atlasFile, hash, images);
+                    StartupMetrics.log("Wrote " + images.size() + " icons to " + atlasFile);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        });
     }
-    
-    private static void drawCylinder(Graphics2D g2d, int centerX, int centerY, int radius, int height) {
-        int halfHeight = height / 2;
-        
-        // Top ellipse
-        Ellipse2D topCircle = new Ellipse2D.Double(centerX - radius, centerY - halfHeight, radius * 2, radius / 2);
-        
-        // Bottom ellipse
-        Ellipse2D bottomCircle = new Ellipse2D.Double(centerX - radius, centerY + halfHeight - radius / 4, radius * 2, radius / 2);
-        
-        // Side lines
-        g2d.setColor(Color.BLACK);
-        g2d.drawLine(centerX - radius, centerY - halfHeight + radius / 4, centerX - radius, centerY + halfHeight);
-        g2d.drawLine(centerX + radius, centerY - halfHeight + radius / 4, centerX + radius, centerY + halfHeight);
-        
-        // Fill the cylinder
-        g2d.setColor(new Color(220, 20, 60)); // Crimson
-        g2d.fill(new Rectangle2D.Double(centerX - radius, centerY - halfHeight + radius / 4, radius * 2, height - radius / 4));
-        
-        // Fill the top circle
-        g2d.setColor(new Color(250, 128, 114)); // Salmon
-        g2d.fill(topCircle);
-        
-        // Fill the bottom circle (only if visible)
-        g2d.setColor(new Color(178, 34, 34)); // Firebrick
-        g2d.fill(bottomCircle);
-        
-        // Draw outlines
-        g2d.setColor(Color.BLACK);
-        g2d.draw(topCircle);
-        g2d.draw(bottomCircle);
-        g2d.drawLine(centerX - radius, centerY - halfHeight + radius / 4, centerX - radius, centerY + halfHeight);
-        g2d.drawLine(centerX + radius, centerY - halfHeight + radius / 4, centerX + radius, centerY + halfHeight);
+
+    /**
+     * Get the scale of the screen a component is shown on
+     * @param component the component, or null for the default screen
+     * @return the device scale, 1.0 on standard displays or when running headless
+     */
+    public static double getDeviceScale(Component component) {
+        GraphicsConfiguration config = component != null ? component.getGraphicsConfiguration() : null;
+        if (config == null) {
+            if (GraphicsEnvironment.isHeadless()) {
+                return 1.0;
+            }
+            config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        return Math.max(1.0, config.getDefaultTransform().getScaleX());
     }
-    
-    private static void drawSphere(Graphics2D g2d, int centerX, int centerY, int radius) {
-        // Base circle
-        Ellipse2D circle = new Ellipse2D.Double(centerX - radius, centerY - radius, radius * 2, radius * 2);
-        
-        // Create gradient for 3D effect
-        Paint oldPaint = g2d.getPaint();
-        RadialGradientPaint gradient = new RadialGradientPaint(
-            new Point2D.Double(centerX - radius/3, centerY - radius/3),
-            radius * 2,
-            new float[] {0.0f, 1.0f},
-            new Color[] {new Color(255, 165, 0), new Color(255, 140, 0)}
-        );
-        g2d.setPaint(gradient);
-        
-        // Fill the sphere
-        g2d.fill(circle);
-        
-        // Reset paint and draw outline
-        g2d.setPaint(oldPaint);
-        g2d.setColor(Color.BLACK);
-        g2d.draw(circle);
-        
-        // Add highlight for 3D effect
-        g2d.setColor(new Color(255, 255, 255, 100));
-        g2d.fillOval(centerX - radius/3, centerY - radius/3, radius/2, radius/2);
+
+    /**
+     * Start rendering an icon on the warm-up pool unless it is already cached or pending
+     * @param key the cache key
+     * @return a future for the rendered icon
+     */
+    private static CompletableFuture<ImageIcon> renderAsync(IconCache.Key key) {
+        CompletableFuture<ImageIcon> future = new CompletableFuture<>();
+        CompletableFuture<ImageIcon> pending = pendingRenders.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+        ImageIcon cached = imageCache.peek(key);
+        if (cached != null) {
+            pendingRenders.remove(key, future);
+            future.complete(cached);
+            return future;
+        }
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                future.complete(imageCache.putIfAbsent(key, new ImageIcon(render(key))));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                // Only removed once the icon is in the cache, so a lookup always finds one or the other
+                pendingRenders.remove(key, future);
+            }
+        });
+        return future;
     }
-    
-    private static void drawTriangularPrism(Graphics2D g2d, int centerX, int centerY, int size) {
-        int half = size / 2;
-        int offset = size / 4; // 3D perspective offset
-        
-        // Front face (triangle)
-        int[] xPointsFront = {centerX, centerX - half, centerX + half};
-        int[] yPointsFront = {centerY - half, centerY + half, centerY + half};
-        Polygon frontFace = new Polygon(xPointsFront, yPointsFront, 3);
-        
-        // Back face (triangle)
-        int[] xPointsBack = {centerX + offset, centerX - half + offset, centerX + half + offset};
-        int[] yPointsBack = {centerY - half - offset, centerY + half - offset, centerY + half - offset};
-        Polygon backFace = new Polygon(xPointsBack, yPointsBack, 3);
-        
-        // Fill the back face
-        g2d.setColor(new Color(255, 222, 173)); // Navajo White
-        g2d.fill(backFace);
-        
-        // Connect front and back faces with lines
-        g2d.setColor(Color.BLACK);
-        for (int i = 0; i < 3; i++) {
-            g2d.drawLine(xPointsFront[i], yPointsFront[i], xPointsBack[i], yPointsBack[i]);
+
+    /**
+     * Look up an icon in the cache, rendering and caching it on a miss
+     * @param dimension the cache dimension
+     * @param shapeName the shape name or resource path
+     * @param width the logical width in pixels
+     * @param height the logical height in pixels
+     * @param scale the device scale to render for
+     * @return the ImageIcon for the shape
+     */
+    private static ImageIcon getIcon(String dimension, String shapeName, int width, int height, double scale) {
+        IconCache.Key key = new IconCache.Key(dimension, shapeName, width, height, scale);
+        ImageIcon icon = imageCache.get(key);
+        if (icon != null) {
+            return icon;
         }
-        
-        // Fill the front face
-        g2d.setColor(new Color(255, 160, 122)); // Light Salmon
-        g2d.fill(frontFace);
-        
-        // Draw the outlines
-        g2d.setColor(Color.BLACK);
-        g2d.draw(frontFace);
-        g2d.draw(backFace);
+        // Never wait for a warm-up render: the caller is usually the EDT. Use it if it has
+        // finished, otherwise render here; putIfAbsent keeps whichever copy is stored first.
+        CompletableFuture<ImageIcon> pending = pendingRenders.get(key);
+        if (pending != null && !pending.isCompletedExceptionally()) {
+            icon = pending.getNow(null);
+            if (icon != null) {
+                return icon;
+            }
+        }
+        // Rendering happens outside the cache lock; if two threads race, the first stored icon wins
+        return imageCache.putIfAbsent(key, new ImageIcon(render(key)));
     }
-    
-    private static void drawSquarePyramid(Graphics2D g2d, int centerX, int centerY, int size) {
-        int half = size / 2;
-        int offsetX = size / 4; // 3D perspective offset X
-        int offsetY = size / 4; // 3D perspective offset Y
-        
-        // Base (square)
-        int[] xPointsBase = {centerX - half, centerX + half, centerX + half + offsetX, centerX - half + offsetX};
-        int[] yPointsBase = {centerY + half, centerY + half, centerY + half - offsetY, centerY + half - offsetY};
-        Polygon base = new Polygon(xPointsBase, yPointsBase, 4);
-        
-        // Apex (top point)
-        int apexX = centerX + offsetX/2;
-        int apexY = centerY - half - offsetY/2;
-        
-        // Fill the base
-        g2d.setColor(new Color(219, 112, 147)); // Pale Violet Red
-        g2d.fill(base);
-        
-        // Draw triangular faces
-        int[][] faceX = {
-            {centerX - half, centerX + half, apexX}, // Front face
-            {centerX + half, centerX + half + offsetX, apexX}, // Right face
-            {centerX + half + offsetX, centerX - half + offsetX, apexX}, // Back face
-            {centerX - half + offsetX, centerX - half, apexX} // Left face
-        };
-        
-        int[][] faceY = {
-            {centerY + half, centerY + half, apexY}, // Front face
-            {centerY + half, centerY + half - offsetY, apexY}, // Right face
-            {centerY + half - offsetY, centerY + half - offsetY, apexY}, // Back face
-            {centerY + half - offsetY, centerY + half, apexY} // Left face
-        };
-        
-        Color[] faceColors = {
-            new Color(199, 21, 133), // Medium Violet Red (front)
-            new Color(219, 112, 147), // Pale Violet Red (right)
-            new Color(255, 182, 193), // Light Pink (back)
-            new Color(255, 105, 180)  // Hot Pink (left)
-        };
-        
-        for (int i = 0; i < 4; i++) {
-            Polygon face = new Polygon(faceX[i], faceY[i], 3);
-            g2d.setColor(faceColors[i]);
-            g2d.fill(face);
-            g2d.setColor(Color.BLACK);
-            g2d.draw(face);
+
+    /**
+     * Render the image identified by a cache key
+     * @param key the cache key
+     * @return the rendered image at the key's device pixel size, in the screen's pixel format
+     */
+    private static BufferedImage render(IconCache.Key key) {
+        int pixelWidth = Math.max(1, (int) Math.ceil(key.getWidth() * key.getScale()));
+        int pixelHeight = Math.max(1, (int) Math.ceil(key.getHeight() * key.getScale()));
+        StartupEvents.IconRender event = new StartupEvents.IconRender();
+        event.begin();
+        BufferedImage image;
+        if (DIMENSION_RESOURCE.equals(key.getDimension())) {
+            image = renderResource(key.getShape(), pixelWidth, pixelHeight);
+        } else {
+            image = renderShape(key.getDimension(), key.getShape(), pixelWidth, pixelHeight);
         }
-        
-        // Draw the base outline
-        g2d.setColor(Color.BLACK);
-        g2d.draw(base);
+        event.dimension = key.getDimension();
+        event.shape = key.getShape();
+        event.width = pixelWidth;
+        event.height = pixelHeight;
+        event.commit();
+        return image;
     }
-    
-    private static void drawCone(Graphics2D g2d, int centerX, int centerY, int radius, int height) {
-        int halfHeight = height / 2;
-        
-        // Base ellipse
-        Ellipse2D baseEllipse = new Ellipse2D.Double(centerX - radius, centerY + halfHeight - radius / 4, radius * 2, radius / 2);
-        
-        // Apex (top point)
-        int apexX = centerX;
-        int apexY = centerY - halfHeight;
+
+    /**
+     * Render a shape onto a new image. The shape's precompiled display list is scaled
+     * as vectors, so it stays sharp at any size.
+     * @param dimension "2d" or "3d"
+     * @param shapeName the name of the shape
+     * @param pixelWidth the image width in pixels
+     * @param pixelHeight the image height in pixels
+     * @return the rendered image
+     */
+    private static BufferedImage renderShape(String dimension, String shapeName, int pixelWidth, int pixelHeight) {
+        // Shapes have an opaque background, so they can use the screen's fastest format
+        BufferedImage image = SpriteManager.createCompatibleImage(pixelWidth, pixelHeight, Transparency.OPAQUE);
+        Graphics2D g2d = image.createGraphics();
         
-        // Fill the base
-        g2d.setColor(new Color(100, 149, 237)); // Cornflower Blue
-        g2d.fill(baseEllipse);
+        // Set up anti-aliasing for smoother drawing
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
         
-        // Draw the cone sides
-        g2d.setColor(new Color(65, 105, 225)); // Royal Blue
-        int[] xPoints = {centerX - radius, centerX + radius, apexX};
-        int[] yPoints = {centerY + halfHeight, centerY + halfHeight, apexY};
-        Polygon side = new Polygon(xPoints, yPoints, 3);
-        g2d.fill(side);
+        // Background
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, pixelWidth, pixelHeight);
+
+        // Map the unit square of the display list onto the centre of the image
+        int side = Math.min(pixelWidth, pixelHeight);
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                (pixelWidth - side) / 2.0, (pixelHeight - side) / 2.0);
+        transform.scale(side, side);
+        ShapeDisplayList.forName(shapeName, DIMENSION_3D.equals(dimension)).render(g2d, transform);
         
-        // Draw outlines
-        g2d.setColor(Color.BLACK);
-        g2d.draw(baseEllipse);
-        g2d.drawLine(centerX - radius, centerY + halfHeight, apexX, apexY);
-        g2d.drawLine(centerX + radius, centerY + halfHeight, apexX, apexY);
+        g2d.dispose();
+        return image;
     }
-    
-    private static void drawTetrahedron(Graphics2D g2d, int centerX, int centerY, int size) {
-        int half = size / 2;
-        
-        // Base points (triangle)
-        int[] xPointsBase = {centerX - half, centerX + half, centerX};
-        int[] yPointsBase = {centerY + half/2, centerY + half/2, centerY - half/2};
-        
-        // Apex (top point)
-        int apexX = centerX;
-        int apexY = centerY - half;
-        
-        // Draw the faces
-        Polygon[] faces = new Polygon[4];
-        
-        // Base face
-        faces[0] = new Polygon(xPointsBase, yPointsBase, 3);
-        
-        // Side faces
-        faces[1] = new Polygon(
-            new int[]{xPointsBase[0], xPointsBase[1], apexX},
-            new int[]{yPointsBase[0], yPointsBase[1], apexY},
-            3
-        );
-        
-        faces[2] = new Polygon(
-            new int[]{xPointsBase[1], xPointsBase[2], apexX},
-            new int[]{yPointsBase[1], yPointsBase[2], apexY},
-            3
-        );
-        
-        faces[3] = new Polygon(
-            new int[]{xPointsBase[2], xPointsBase[0], apexX},
-            new int[]{yPointsBase[2], yPointsBase[0], apexY},
-            3
-        );
-        
-        // Colors for the faces
-        Color[] colors = {
-            new Color(152, 251, 152), // Pale Green (base)
-            new Color(144, 238, 144), // Light Green (side 1)
-            new Color(124, 252, 0),   // Lawn Green (side 2)
-            new Color(50, 205, 50)    // Lime Green (side 3)
-        };
-        
-        // Draw the faces with different colors
-        for (int i = 0; i < 4; i++) {
-            g2d.setColor(colors[i]);
-            g2d.fill(faces[i]);
-            g2d.setColor(Color.BLACK);
-            g2d.draw(faces[i]);
+
+    /**
+     * Decode a bundled picture and scale it once to the requested size
+     * @param resourcePath the classpath resource
+     * @param pixelWidth the image width in pixels
+     * @param pixelHeight the image height in pixels
+     * @return the scaled image
+     */
+    private static BufferedImage renderResource(String resourcePath, int pixelWidth, int pixelHeight) {
+        URL url = ImageProvider.class.getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException("Image resource not found: " + resourcePath);
+        }
+        BufferedImage source;
+        try {
+            source = ImageIO.read(url);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not decode image: " + resourcePath, e);
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Unsupported image format: " + resourcePath);
+        }
+
+        BufferedImage image = SpriteManager.createCompatibleImage(pixelWidth, pixelHeight, source.getTransparency());
+        Graphics2D g2d = image.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, pixelWidth, pixelHeight, null);
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * A multi-resolution view of a cached shape. Swing asks for the variant that matches the
+     * device transform at paint time; each variant is rendered once and kept in the icon cache.
+     */
+    private static final class ShapeResolutionImage extends AbstractMultiResolutionImage {
+        /** Requested scales are rounded up to a multiple of this, so odd zoom levels share variants */
+        private static final double SCALE_STEP = 0.25;
+        /** Largest scale rendered; bigger requests get this variant and let Java2D stretch it */
+        private static final double MAX_SCALE = 4.0;
+
+        private final String dimension;
+        private final String shapeName;
+        private final int width;
+        private final int height;
+        private final Image baseImage;
+        /** Variants by rounded scale, at most (MAX_SCALE - 1) / SCALE_STEP + 1 of them */
+        private final ConcurrentSkipListMap<Double, Image> variants = new ConcurrentSkipListMap<>();
+
+        ShapeResolutionImage(String dimension, String shapeName, int width, int height) {
+            this.dimension = dimension;
+            this.shapeName = shapeName;
+            this.width = width;
+            this.height = height;
+            this.baseImage = getIcon(dimension, shapeName, width, height, 1.0).getImage();
+            variants.put(1.0, baseImage);
+        }
+
+        @Override
+        public Image getResolutionVariant(double destImageWidth, double destImageHeight) {
+            double scale = Math.max(destImageWidth / width, destImageHeight / height);
+            if (scale <= 1.0) {
+                return baseImage;
+            }
+            double step = Math.min(MAX_SCALE, Math.ceil(scale / SCALE_STEP) * SCALE_STEP);
+            return variants.computeIfAbsent(step,
+                    s -> getIcon(dimension, shapeName, width, height, s).getImage());
+        }
+
+        @Override
+        public List<Image> getResolutionVariants() {
+            return Collections.unmodifiableList(new ArrayList<>(variants.values()));
+        }
+
+        @Override
+        protected Image getBaseImage() {
+            return baseImage;
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,501 @@
+package shapeville.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A set of small animated things - stars, clouds, snowflakes or confetti - kept in primitive
+ * arrays rather than one object each.
+ * <p>
+ * Positions, sizes, speeds and transparency live in parallel arrays indexed by particle. Every
+ * colour, and every star, flake and cloud image, is created once up front, so updating and
+ * drawing allocate nothing. Confetti is drawn in batches of one colour to keep colour changes
+ * on the graphics context to a minimum. All particles share the random number generator
+ * passed in, so a seeded generator reproduces the same scene.
+ * </p>
+ */
+public final class ParticleSystem {
+    /**
+     * How a set of particles moves and looks.
+     */
+    public enum Style {
+        /** Fixed points that twinkle */
+        STAR,
+        /** White clouds drifting left across the top of the sky */
+        CLOUD,
+        /** Round flakes falling and swaying */
+        SNOW,
+        /** Coloured paper pieces fluttering down */
+        CONFETTI
+    }
+
+    /** White at every alpha from 0 to 255, for drawing the stamps */
+    private static final Color[] WHITE = new Color[256];
+    /** Alpha of a star's glow for each alpha of the star itself */
+    private static final int[] GLOW_ALPHA = new int[256];
+    private static final Color[] CONFETTI_COLORS = {
+        new Color(239, 83, 80), new Color(255, 202, 40), new Color(102, 187, 106),
+        new Color(66, 165, 245), new Color(171, 71, 188), new Color(255, 138, 101)
+    };
+    /*
+     * Stars, flakes and clouds are pre-drawn into small images and blitted. Antialiased
+     * fillOval allocates on every call and costs far more than copying a few pixels.
+     */
+    /** Star sizes run from 2 to this many pixels across */
+    private static final int MAX_STAR_SIZE = 4;
+    /** Stars twinkle through this many shades, 16 alpha values apart */
+    private static final int STAR_SHADES = 16;
+    /** Stars with their glow, indexed by size and shade */
+    private static final Image[][] STAR_STAMPS = new Image[MAX_STAR_SIZE + 1][STAR_SHADES];
+    /** Snowflake sizes run from 2 to this many pixels across */
+    private static final int MAX_FLAKE_SIZE = 5;
+    /** Snowflakes, indexed by size */
+    private static final Image[] FLAKES = new Image[MAX_FLAKE_SIZE + 1];
+    /** Above this many particles the dirty area is one box around them all */
+    private static final int DIRTY_LIMIT = 64;
+
+    static {
+        for (int alpha = 0; alpha < 256; alpha++) {
+            WHITE[alpha] = new Color(255, 255, 255, alpha);
+            // The old per-star AlphaComposite of 0.2 * alpha over a colour of the same alpha
+            GLOW_ALPHA[alpha] = Math.round(0.2f * alpha * alpha / 255f);
+        }
+        for (int size = 2; size <= MAX_STAR_SIZE; size++) {
+            for (int shade = 0; shade < STAR_SHADES; shade++) {
+                int alpha = Math.min(255, shade * 16 + 8);
+                BufferedImage star = SpriteManager.createCompatibleImage(size + 4, size + 4, Transparency.TRANSLUCENT);
+                Graphics2D g2d = antialiased(star);
+                // The star, then its glow over it, as the old per-star drawing did
+                g2d.setColor(WHITE[alpha]);
+                g2d.fillOval(2, 2, size, size);
+                g2d.setColor(WHITE[GLOW_ALPHA[alpha]]);
+                g2d.fillOval(0, 0, size + 4, size + 4);
+                g2d.dispose();
+                STAR_STAMPS[size][shade] = star;
+            }
+        }
+        for (int size = 2; size <= MAX_FLAKE_SIZE; size++) {
+            BufferedImage flake = SpriteManager.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+            Graphics2D g2d = antialiased(flake);
+            // Bigger flakes are nearer, so they are more opaque
+            g2d.setColor(WHITE[flakeAlpha(size)]);
+            g2d.fillOval(0, 0, size, size);
+            g2d.dispose();
+            FLAKES[size] = flake;
+        }
+    }
+
+    private static Graphics2D antialiased(BufferedImage image) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    private final Style style;
+    private final Random random;
+    private int count;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] previousX;
+    private final float[] previousY;
+    private final float[] width;
+    private final float[] height;
+    private final float[] speedX;
+    private final float[] speedY;
+    /** Sway or flutter phase in radians */
+    private final float[] phase;
+    private final int[] alpha;
+    /** Change in alpha per step; negative while fading */
+    private final int[] alphaStep;
+    private final byte[] colorIndex;
+    /** Each cloud's pre-drawn image, null for other styles */
+    private Image[] cloudSprites;
+    /** Where each particle was last drawn, for working out what to repaint */
+    private final int[] paintedX;
+    private final int[] paintedY;
+
+    /** Scratch space for sorting confetti into batches of one colour */
+    private final int[] order;
+    private final int[] bucketStart = new int[CONFETTI_COLORS.length + 1];
+
+    /** The area particles live in, and how far between steps to draw them */
+    private int areaWidth;
+    private int areaHeight;
+    private double renderAlpha = 1;
+    private final Rectangle clip = new Rectangle();
+
+    /**
+     * Create an empty particle system.
+     * @param style how the particles move and look
+     * @param capacity the most particles it can hold
+     * @param random the generator used for every random choice
+     */
+    public ParticleSystem(Style style, int capacity, Random random) {
+        this.style = style;
+        this.random = random;
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        speedX = new float[capacity];
+        speedY = new float[capacity];
+        phase = new float[capacity];
+        alpha = new int[capacity];
+        alphaStep = new int[capacity];
+        colorIndex = new byte[capacity];
+        paintedX = new int[capacity];
+        paintedY = new int[capacity];
+        order = new int[capacity];
+    }
+
+    /**
+     * Create stars scattered over the top of the sky.
+     * @param count the number of stars
+     * @param random the shared random generator
+     * @return the stars
+     */
+    public static ParticleSystem stars(int count, Random random) {
+        ParticleSystem stars = new ParticleSystem(Style.STAR, count, random);
+        for (int i = 0; i < count; i++) {
+            int size = 2 + random.nextInt(MAX_STAR_SIZE - 1);
+            int star = stars.add(random.nextInt(1200), random.nextInt(300), size, size);
+            stars.alpha[star] = 255;
+            stars.alphaStep[star] = -(random.nextInt(60) + 20);
+        }
+        return stars;
+    }
+
+    /**
+     * Create clouds spread along the top of the sky.
+     * @param count the number of clouds
+     * @param random the shared random generator
+     * @return the clouds
+     */
+    public static ParticleSystem clouds(int count, Random random) {
+        ParticleSystem clouds = new ParticleSystem(Style.CLOUD, count, random);
+        clouds.cloudSprites = new Image[count];
+        for (int i = 0; i < count; i++) {
+            int w = 60 + random.nextInt(80);
+            int h = 40 + random.nextInt(30);
+            int cloud = clouds.add(random.nextInt(1200), random.nextInt(200), w, h);
+            clouds.speedX[cloud] = -(0.7f + random.nextFloat() * 1.3f);
+            clouds.cloudSprites[cloud] = cloudSprite(w, h);
+        }
+        return clouds;
+    }
+
+    /**
+     * Draw a cloud's puffs into an image, offset by (1, h/4 + 1) from the cloud's position.
+     */
+    private static Image cloudSprite(int w, int h) {
+        BufferedImage sprite = SpriteManager.createCompatibleImage(cloudWidth(w, h), h + 2, Transparency.TRANSLUCENT);
+        Graphics2D g2d = antialiased(sprite);
+        g2d.setColor(Color.WHITE);
+        int cx = 1;
+        int cy = h / 4 + 1;
+        // Drawing a simple cloud shape
+        int puffRadius = h / 2;
+        g2d.fillOval(cx, cy, puffRadius, puffRadius);
+        g2d.fillOval(cx + w / 4, cy, puffRadius, puffRadius);
+        g2d.fillOval(cx + w / 2, cy, puffRadius, puffRadius);
+        g2d.fillOval(cx + w / 4, cy - h / 4, puffRadius, puffRadius);
+        g2d.fillRoundRect(cx, cy + h / 4, w, h / 2, h / 2, h / 2);
+        g2d.dispose();
+        return sprite;
+    }
+
+    /**
+     * The width a cloud covers: the puffs reach past the body on narrow clouds
+     */
+    private static int cloudWidth(int w, int h) {
+        return Math.max(w, w / 2 + h / 2) + 2;
+    }
+
+    /**
+     * Create falling snow or confetti spread over an area.
+     * @param style SNOW or CONFETTI
+     * @param count the number of particles
+     * @param areaWidth the width of the area
+     * @param areaHeight the height of the area
+     * @param random the shared random generator
+     * @return the particles
+     */
+    public static ParticleSystem weather(Style style, int count, int areaWidth, int areaHeight, Random random) {
+        ParticleSystem weather = new ParticleSystem(style, count, random);
+        weather.setArea(areaWidth, areaHeight);
+        for (int i = 0; i < count; i++) {
+            int particle = weather.add(0, 0, 0, 0);
+            weather.respawn(particle);
+            // Start anywhere on screen rather than all at the top
+            weather.y[particle] = weather.previousY[particle] = random.nextInt(Math.max(1, areaHeight));
+        }
+        return weather;
+    }
+
+    /**
+     * Add a particle.
+     * @return its index
+     */
+    private int add(float px, float py, float w, float h) {
+        int i = count++;
+        x[i] = previousX[i] = px;
+        y[i] = previousY[i] = py;
+        paintedX[i] = (int) px;
+        paintedY[i] = (int) py;
+        width[i] = w;
+        height[i] = h;
+        return i;
+    }
+
+    /**
+     * Give a snowflake or piece of confetti a new start just above the top of the area.
+     */
+    private void respawn(int i) {
+        int bound = Math.max(1, areaWidth);
+        x[i] = previousX[i] = random.nextInt(bound);
+        phase[i] = random.nextFloat() * (float) (2 * Math.PI);
+        if (style == Style.SNOW) {
+            int size = 2 + random.nextInt(MAX_FLAKE_SIZE - 1);
+            width[i] = height[i] = size;
+            // Bigger flakes are nearer, so they fall faster
+            speedY[i] = 0.6f + size * 0.35f + random.nextFloat() * 0.4f;
+            alpha[i] = flakeAlpha(size);
+        } else {
+            width[i] = 5 + random.nextInt(4);
+            height[i] = 3 + random.nextInt(3);
+            speedY[i] = 1.5f + random.nextFloat() * 1.5f;
+            speedX[i] = random.nextFloat() - 0.5f;
+            colorIndex[i] = (byte) random.nextInt(CONFETTI_COLORS.length);
+            alpha[i] = 255;
+        }
+        y[i] = previousY[i] = -height[i];
+    }
+
+    private static int flakeAlpha(int size) {
+        return 255 - (MAX_FLAKE_SIZE - size) * 32;
+    }
+
+    /**
+     * Set the area the particles live in, used when they wrap round or respawn.
+     * @param areaWidth the width in pixels
+     * @param areaHeight the height in pixels
+     */
+    public void setArea(int areaWidth, int areaHeight) {
+        this.areaWidth = areaWidth;
+        this.areaHeight = areaHeight;
+    }
+
+    /**
+     * @return the number of particles
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Advance every particle by one step.
+     */
+    public void update() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+        switch (style) {
+            case STAR:
+                for (int i = 0; i < count; i++) {
+                    alpha[i] += alphaStep[i];
+                    if ((alphaStep[i] < 0 && alpha[i] <= 50) || (alphaStep[i] > 0 && alpha[i] >= 255)) {
+                        alphaStep[i] = -alphaStep[i];
+                    }
+                    alpha[i] = Math.max(0, Math.min(255, alpha[i]));
+                }
+                break;
+            case CLOUD:
+                for (int i = 0; i < count; i++) {
+                    x[i] += speedX[i];
+                    if (x[i] < -width[i]) {
+                        // Come back in from the right at a new height, without sliding across the sky
+                        x[i] = previousX[i] = areaWidth + random.nextInt(300);
+                        y[i] = previousY[i] = random.nextInt(200);
+                    }
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    phase[i] += style == Style.SNOW ? 0.05f : 0.15f;
+                    x[i] += speedX[i] + (float) Math.sin(phase[i]) * (style == Style.SNOW ? 0.5f : 0.8f);
+                    y[i] += speedY[i];
+                    if (y[i] > areaHeight) {
+                        respawn(i);
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Set how far between the last two steps to draw the particles.
+     * @param alpha from 0 (previous step) to 1 (current step)
+     */
+    public void interpolate(double alpha) {
+        renderAlpha = alpha;
+    }
+
+    private int drawX(int i) {
+        return (int) Math.round(previousX[i] + (x[i] - previousX[i]) * renderAlpha);
+    }
+
+    private int drawY(int i) {
+        return (int) Math.round(previousY[i] + (y[i] - previousY[i]) * renderAlpha);
+    }
+
+    /**
+     * Mark the areas the particles covered when last drawn and will cover in the next frame.
+     * Call once per frame, after {@link #interpolate} and before painting.
+     * @param region the region to add to
+     */
+    public void addDirtyAreas(DirtyRegion region) {
+        if (count > DIRTY_LIMIT) {
+            // Falling weather covers the screen; one box is cheaper than thousands of tiny ones
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxY = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                int px = drawX(i);
+                int py = drawY(i);
+                minX = Math.min(minX, Math.min(px, paintedX[i]));
+                minY = Math.min(minY, Math.min(py, paintedY[i]));
+                maxX = Math.max(maxX, Math.max(px, paintedX[i]) + (int) width[i]);
+                maxY = Math.max(maxY, Math.max(py, paintedY[i]) + (int) height[i]);
+                paintedX[i] = px;
+                paintedY[i] = py;
+            }
+            region.add(minX - 2, minY - 2, maxX - minX + 4, maxY - minY + 4);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            addDirtyArea(region, paintedX[i], paintedY[i], i);
+            paintedX[i] = drawX(i);
+            paintedY[i] = drawY(i);
+            addDirtyArea(region, paintedX[i], paintedY[i], i);
+        }
+    }
+
+    private void addDirtyArea(DirtyRegion region, int px, int py, int i) {
+        int w = (int) width[i];
+        int h = (int) height[i];
+        if (style == Style.STAR) {
+            // The glow reaches 2 pixels past the star
+            region.add(px - 3, py - 3, w + 6, h + 6);
+        } else if (style == Style.CLOUD) {
+            // The puffs reach above the body and, on narrow clouds, past its right end
+            region.add(px - 1, py - h / 4 - 1, cloudWidth(w, h), h + 2);
+        } else {
+            region.add(px - 2, py - 2, w + 4, h + 4);
+        }
+    }
+
+    /**
+     * Draw the particles that fall inside the graphics clip.
+     * @param g2d the graphics context
+     */
+    public void draw(Graphics2D g2d) {
+        // getClipBounds leaves the rectangle alone when there is no clip, so start unbounded
+        clip.setBounds(Integer.MIN_VALUE / 2, Integer.MIN_VALUE / 2, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        g2d.getClipBounds(clip);
+        switch (style) {
+            case STAR:
+                drawStars(g2d);
+                break;
+            case CLOUD:
+                drawClouds(g2d);
+                break;
+            case SNOW:
+                drawSnow(g2d);
+                break;
+            default:
+                drawConfetti(g2d);
+                break;
+        }
+    }
+
+    private void drawStars(Graphics2D g2d) {
+        for (int i = 0; i < count; i++) {
+            int px = drawX(i);
+            int py = drawY(i);
+            int size = (int) width[i];
+            if (clip.intersects(px - 2, py - 2, size + 4, size + 4)) {
+                g2d.drawImage(STAR_STAMPS[size][alpha[i] / 16], px - 2, py - 2, null);
+            }
+        }
+    }
+
+    private void drawClouds(Graphics2D g2d) {
+        for (int i = 0; i < count; i++) {
+            int cx = drawX(i);
+            int cy = drawY(i);
+            int w = (int) width[i];
+            int h = (int) height[i];
+            if (clip.intersects(cx - 1, cy - h / 4 - 1, cloudWidth(w, h), h + 2)) {
+                g2d.drawImage(cloudSprites[i], cx - 1, cy - h / 4 - 1, null);
+            }
+        }
+    }
+
+    private void drawSnow(Graphics2D g2d) {
+        for (int i = 0; i < count; i++) {
+            int px = drawX(i);
+            int py = drawY(i);
+            int size = (int) width[i];
+            if (clip.intersects(px, py, size, size)) {
+                g2d.drawImage(FLAKES[size], px, py, null);
+            }
+        }
+    }
+
+    private void drawConfetti(Graphics2D g2d) {
+        // The pieces are whole-pixel rectangles, which gain nothing from the antialiasing pipeline
+        Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        sortByColor(colorIndex);
+        int current = -1;
+        for (int n = 0; n < count; n++) {
+            int i = order[n];
+            int px = drawX(i);
+            int py = drawY(i);
+            int w = (int) width[i];
+            int h = (int) height[i];
+            if (!clip.intersects(px, py, w, h)) {
+                continue;
+            }
+            if (colorIndex[i] != current) {
+                current = colorIndex[i];
+                g2d.setColor(CONFETTI_COLORS[current]);
+            }
+            // Flutter by narrowing the piece as it turns
+            int shown = Math.max(1, (int) (w * Math.abs(Math.cos(phase[i]))));
+            g2d.fillRect(px + (w - shown) / 2, py, shown, h);
+        }
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+
+    /**
+     * Fill {@link #order} with the particle indices grouped by colour, a counting sort
+     */
+    private void sortByColor(byte[] keys) {
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < count; i++) {
+            bucketStart[keys[i] + 1]++;
+        }
+        for (int k = 1; k < bucketStart.length; k++) {
+            bucketStart[k] += bucketStart[k - 1];
+        }
+        for (int i = 0; i < count; i++) {
+            order[bucketStart[keys[i]]++] = i;
+        }
+    }
+}
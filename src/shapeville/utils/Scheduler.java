@@ -0,0 +1,375 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Runs delayed and repeating tasks for the whole application from a single Swing timer.
+ * <p>
+ * Tasks are kept in a hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS}
+ * slots, 1 ms per slot at the bottom and {@value #SLOTS} times coarser on each level up.
+ * Scheduling and cancelling cost the same however many tasks are waiting. Only the slots that
+ * hold tasks are queued, and the timer is armed once for the earliest of them, so the
+ * application wakes up only when something is due and not at all while nothing is waiting.
+ * Tasks that fall due together run in the same timer event.
+ * </p>
+ * <p>
+ * Deadlines are measured with {@link System#nanoTime()}, so changing the system clock does not
+ * affect them. Repeating tasks keep to their original rhythm and do not drift; if they fall
+ * behind they run once and skip the missed runs, like a coalescing Swing timer.
+ * </p>
+ * <p>
+ * A task can belong to a screen component. It is paused while the component is not showing,
+ * so hidden screens cost nothing, and carries on with the time it had left when the component
+ * is shown again. Everything here runs on the event dispatch thread.
+ * </p>
+ */
+public final class Scheduler {
+    private static final int LEVELS = 4;
+    private static final int SLOTS = 64;
+    /** Milliseconds per slot on each level */
+    private static final long[] SLOT_MILLIS = {1, SLOTS, SLOTS * SLOTS, SLOTS * SLOTS * SLOTS};
+    /** Client property holding a component's tasks */
+    private static final Object GROUP_KEY = new Object();
+    private static final long START_NANOS = System.nanoTime();
+
+    private static final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+    /** Slots holding tasks, earliest first */
+    private static final PriorityQueue<Slot> queued = new PriorityQueue<>((a, b) -> Long.compare(a.expiry, b.expiry));
+    /** Tasks that are due and run in the next timer event */
+    private static final List<Task> due = new ArrayList<>();
+    private static final Timer timer = new Timer(0, e -> dispatch());
+    /** The wheel's current time; slots are laid out relative to it */
+    private static long wheelMillis = 0;
+    /** When the timer is set to go off, or -1 while it is stopped */
+    private static long armedFor = -1;
+    /** Timer events so far, for measuring */
+    private static long wakeUps = 0;
+
+    static {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[level][i] = new Slot();
+            }
+        }
+        timer.setRepeats(false);
+        // The timer is re-armed from its own events, which a coalescing timer would drop
+        timer.setCoalesce(false);
+    }
+
+    private Scheduler() {
+    }
+
+    /**
+     * A scheduled action. Cancel it to stop it from running.
+     */
+    public static final class Task {
+        private final JComponent owner;
+        private final Runnable action;
+        /** Zero for a task that runs once */
+        private final long periodMillis;
+        private long deadline;
+        /** Time left when paused, or -1 while not paused */
+        private long pausedRemaining = -1;
+        private boolean active = true;
+        /** The slot the task waits in, and its neighbours there */
+        private Slot slot;
+        private Task previous;
+        private Task next;
+
+        private Task(JComponent owner, Runnable action, long periodMillis) {
+            this.owner = owner;
+            this.action = action;
+            this.periodMillis = periodMillis;
+        }
+
+        /**
+         * Stop the task; it will not run again. Does nothing if it has already finished.
+         */
+        public void cancel() {
+            if (!active) {
+                return;
+            }
+            active = false;
+            unlink(this);
+            due.remove(this);
+            if (owner != null) {
+                groupOf(owner).tasks.remove(this);
+            }
+        }
+
+        /**
+         * @return true until the task is cancelled or, for a one-off task, has run
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * @return true while the task's screen is hidden
+         */
+        public boolean isPaused() {
+            return pausedRemaining >= 0;
+        }
+    }
+
+    /**
+     * Run an action once after a delay.
+     * @param owner the screen component the task belongs to, or null to never pause it
+     * @param delayMillis the delay in milliseconds
+     * @param action the action, run on the event dispatch thread
+     * @return the task
+     */
+    public static Task schedule(JComponent owner, long delayMillis, Runnable action) {
+        return start(new Task(owner, action, 0), delayMillis);
+    }
+
+    /**
+     * Run an action repeatedly, the first time one period from now.
+     * @param owner the screen component the task belongs to, or null to never pause it
+     * @param periodMillis the time between runs in milliseconds, at least 1
+     * @param action the action, run on the event dispatch thread
+     * @return the task
+     */
+    public static Task repeat(JComponent owner, long periodMillis, Runnable action) {
+        return start(new Task(owner, action, Math.max(1, periodMillis)), periodMillis);
+    }
+
+    /**
+     * @return how many times the scheduler has woken up since the application started
+     */
+    public static long getWakeUps() {
+        return wakeUps;
+    }
+
+    private static Task start(Task task, long delayMillis) {
+        long delay = Math.max(0, delayMillis);
+        if (task.owner != null) {
+            Group group = groupOf(task.owner);
+            group.tasks.add(task);
+            if (!task.owner.isShowing()) {
+                task.pausedRemaining = delay;
+                return task;
+            }
+        }
+        long now = advance();
+        task.deadline = now + delay;
+        place(task);
+        arm(now);
+        return task;
+    }
+
+    /**
+     * Run everything that is due, then wait for the next slot
+     */
+    private static void dispatch() {
+        wakeUps++;
+        long now = advance();
+        // Run a snapshot: tasks may schedule or cancel others while running
+        Task[] running = due.toArray(new Task[0]);
+        due.clear();
+        for (Task task : running) {
+            if (!task.active || task.isPaused()) {
+                // Cancelled or paused by a task that ran before it
+                continue;
+            }
+            if (task.periodMillis > 0) {
+                task.deadline += task.periodMillis;
+                if (task.deadline <= now) {
+                    // Fell behind: skip the missed runs
+                    task.deadline = now + task.periodMillis;
+                }
+                place(task);
+            } else {
+                task.active = false;
+                if (task.owner != null) {
+                    groupOf(task.owner).tasks.remove(task);
+                }
+            }
+            try {
+                task.action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        arm(nowMillis());
+    }
+
+    /**
+     * Empty every slot that has come due, moving its tasks down a level or into the due list,
+     * and bring the wheel up to the current time.
+     * @return the current time
+     */
+    private static long advance() {
+        long now = nowMillis();
+        while (!queued.isEmpty() && queued.peek().expiry <= now) {
+            Slot slot = queued.poll();
+            wheelMillis = Math.max(wheelMillis, slot.expiry);
+            Task task = slot.head;
+            slot.head = null;
+            slot.expiry = -1;
+            while (task != null) {
+                Task next = task.next;
+                task.slot = null;
+                task.previous = null;
+                task.next = null;
+                place(task);
+                task = next;
+            }
+        }
+        // Every queued slot is now later than this, so the wheel can move on safely
+        wheelMillis = Math.max(wheelMillis, now);
+        return now;
+    }
+
+    /**
+     * Put a task in the finest slot that covers its deadline, or in the due list if it is due
+     */
+    private static void place(Task task) {
+        if (task.deadline <= wheelMillis) {
+            due.add(task);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            long slotMillis = SLOT_MILLIS[level];
+            long levelStart = wheelMillis - wheelMillis % slotMillis;
+            long expiry = task.deadline;
+            if (level == LEVELS - 1) {
+                // Beyond the top level the task waits in the last slot and is placed again from there
+                expiry = Math.min(expiry, levelStart + slotMillis * (SLOTS - 1));
+            } else if (expiry >= levelStart + slotMillis * SLOTS) {
+                continue;
+            }
+            long tick = expiry / slotMillis;
+            Slot slot = wheel[level][(int) (tick % SLOTS)];
+            task.slot = slot;
+            task.next = slot.head;
+            if (slot.head != null) {
+                slot.head.previous = task;
+            }
+            slot.head = task;
+            if (slot.expiry != tick * slotMillis) {
+                queued.remove(slot);
+                slot.expiry = tick * slotMillis;
+                queued.add(slot);
+            }
+            return;
+        }
+    }
+
+    private static void unlink(Task task) {
+        Slot slot = task.slot;
+        if (slot == null) {
+            return;
+        }
+        if (task.previous != null) {
+            task.previous.next = task.next;
+        } else {
+            slot.head = task.next;
+        }
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.slot = null;
+        task.previous = null;
+        task.next = null;
+        if (slot.head == null) {
+            queued.remove(slot);
+            slot.expiry = -1;
+        }
+    }
+
+    /**
+     * Set the timer for the earliest slot, or stop it if nothing is waiting
+     */
+    private static void arm(long now) {
+        if (!due.isEmpty()) {
+            armFor(now, now);
+        } else if (!queued.isEmpty()) {
+            armFor(Math.max(now, queued.peek().expiry), now);
+        } else {
+            timer.stop();
+            armedFor = -1;
+        }
+    }
+
+    private static void armFor(long when, long now) {
+        if (timer.isRunning() && armedFor == when) {
+            return;
+        }
+        armedFor = when;
+        timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, when - now));
+        timer.restart();
+    }
+
+    private static long nowMillis() {
+        return (System.nanoTime() - START_NANOS) / 1_000_000L;
+    }
+
+    /**
+     * Get a component's tasks, listening to it for showing and hiding the first time
+     */
+    private static Group groupOf(JComponent owner) {
+        Group group = (Group) owner.getClientProperty(GROUP_KEY);
+        if (group == null) {
+            Group created = new Group();
+            owner.putClientProperty(GROUP_KEY, created);
+            owner.addHierarchyListener(e -> {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                    if (owner.isShowing()) {
+                        resume(created);
+                    } else {
+                        pause(created);
+                    }
+                }
+            });
+            group = created;
+        }
+        return group;
+    }
+
+    private static void pause(Group group) {
+        long now = advance();
+        for (Task task : group.tasks) {
+            if (task.isPaused()) {
+                continue;
+            }
+            unlink(task);
+            due.remove(task);
+            task.pausedRemaining = Math.max(0, task.deadline - now);
+        }
+        arm(now);
+    }
+
+    private static void resume(Group group) {
+        long now = advance();
+        for (Task task : group.tasks) {
+            if (!task.isPaused()) {
+                continue;
+            }
+            task.deadline = now + task.pausedRemaining;
+            task.pausedRemaining = -1;
+            place(task);
+        }
+        arm(now);
+    }
+
+    /**
+     * One slot of the wheel: a list of tasks and the time they are looked at again
+     */
+    private static final class Slot {
+        private Task head;
+        /** When the slot comes due, or -1 while it is empty */
+        private long expiry = -1;
+    }
+
+    /**
+     * The tasks that belong to one screen component
+     */
+    private static final class Group {
+        private final List<Task> tasks = new ArrayList<>();
+    }
+}
@@ -0,0 +1,412 @@
+package shapeville.utils;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled, resolution-independent drawing of one shape.
+ * <p>
+ * Each display list is a sequence of fill and stroke operations on {@link Path2D} geometry
+ * normalised to the unit square. The lists for every {@link ShapeType} are built once, when
+ * the class is loaded; drawing a shape at any size or position only sets a transform and
+ * replays the fills and strokes, without rebuilding geometry or repeating any trigonometry.
+ * </p>
+ */
+public final class ShapeDisplayList {
+    /** Size of the design space the geometry below is written in */
+    private static final int DESIGN_SIZE = 200;
+
+    /** Maps the design space onto the unit square */
+    private static final AffineTransform NORMALIZE =
+            AffineTransform.getScaleInstance(1.0 / DESIGN_SIZE, 1.0 / DESIGN_SIZE);
+
+    /** Outline style: 3 design pixels wide, expressed in unit-square coordinates */
+    private static final Stroke OUTLINE = new BasicStroke(3f / DESIGN_SIZE);
+
+    private static final Map<ShapeType, ShapeDisplayList> REGISTRY = new EnumMap<>(ShapeType.class);
+
+    /** Drawn for 2D shape names that are not recognised */
+    private static final ShapeDisplayList UNKNOWN_2D;
+
+    private final Path2D[] paths;
+    private final Paint[] paints;
+    /** true if the operation strokes its path, false if it fills it */
+    private final boolean[] strokes;
+
+    private ShapeDisplayList(List<Path2D> paths, List<Paint> paints, List<Boolean> strokes) {
+        int count = paths.size();
+        this.paths = paths.toArray(new Path2D[count]);
+        this.paints = paints.toArray(new Paint[count]);
+        this.strokes = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            this.strokes[i] = strokes.get(i);
+        }
+    }
+
+    /**
+     * Get the display list for a shape
+     * @param type the shape
+     * @return the precompiled display list
+     */
+    public static ShapeDisplayList of(ShapeType type) {
+        return REGISTRY.get(type);
+    }
+
+    /**
+     * Get the display list for a shape name, with the same fallbacks ImageProvider has always
+     * used: unknown 2D names draw a gray circle and unknown 3D names draw a cube.
+     * @param shapeName the shape name
+     * @param threeDimensional whether a 3D shape is wanted
+     * @return the precompiled display list
+     */
+    public static ShapeDisplayList forName(String shapeName, boolean threeDimensional) {
+        ShapeType type = ShapeType.fromName(shapeName);
+        if (type == null || type.isThreeDimensional() != threeDimensional) {
+            return threeDimensional ? REGISTRY.get(ShapeType.CUBE) : UNKNOWN_2D;
+        }
+        return REGISTRY.get(type);
+    }
+
+    /**
+     * Draw the shape
+     * @param g2d the Graphics2D object to draw on
+     * @param transform maps the unit square onto the target area
+     */
+    public void render(Graphics2D g2d, AffineTransform transform) {
+        AffineTransform savedTransform = g2d.getTransform();
+        Paint savedPaint = g2d.getPaint();
+        Stroke savedStroke = g2d.getStroke();
+
+        g2d.transform(transform);
+        g2d.setStroke(OUTLINE);
+        for (int i = 0; i < paths.length; i++) {
+            g2d.setPaint(paints[i]);
+            if (strokes[i]) {
+                g2d.draw(paths[i]);
+            } else {
+                g2d.fill(paths[i]);
+            }
+        }
+
+        g2d.setStroke(savedStroke);
+        g2d.setPaint(savedPaint);
+        g2d.setTransform(savedTransform);
+    }
+
+    /**
+     * @return the number of fill and stroke operations
+     */
+    public int getOperationCount() {
+        return paths.length;
+    }
+
+    /**
+     * @param index the operation index
+     * @return the geometry of an operation, in unit-square coordinates
+     */
+    public Path2D getPath(int index) {
+        return (Path2D) paths[index].clone();
+    }
+
+    /**
+     * @param index the operation index
+     * @return the paint of an operation
+     */
+    public Paint getPaint(int index) {
+        return paints[index];
+    }
+
+    /**
+     * @param index the operation index
+     * @return true if the operation strokes its path, false if it fills it
+     */
+    public boolean isStroke(int index) {
+        return strokes[index];
+    }
+
+    /**
+     * @return the outline width in unit-square coordinates
+     */
+    public static float getOutlineWidth() {
+        return 3f / DESIGN_SIZE;
+    }
+
+    /**
+     * Collects operations in design-space coordinates and normalises them.
+     */
+    private static final class Builder {
+        private final List<Path2D> paths = new ArrayList<>();
+        private final List<Paint> paints = new ArrayList<>();
+        private final List<Boolean> strokes = new ArrayList<>();
+
+        Builder fill(Shape shape, Paint paint) {
+            return add(shape, paint, false);
+        }
+
+        Builder stroke(Shape shape) {
+            return add(shape, Color.BLACK, true);
+        }
+
+        Builder fillAndStroke(Shape shape, Paint paint) {
+            return fill(shape, paint).stroke(shape);
+        }
+
+        Builder line(int x1, int y1, int x2, int y2) {
+            return stroke(new Line2D.Double(x1, y1, x2, y2));
+        }
+
+        private Builder add(Shape shape, Paint paint, boolean stroke) {
+            paths.add(new Path2D.Float(shape, NORMALIZE));
+            paints.add(paint);
+            strokes.add(stroke);
+            return this;
+        }
+
+        ShapeDisplayList build() {
+            return new ShapeDisplayList(paths, paints, strokes);
+        }
+    }
+
+    static {
+        // Center of the design space
+        int centerX = DESIGN_SIZE / 2;
+        int centerY = DESIGN_SIZE / 2;
+
+        // 2D shapes are slightly smaller than the image
+        int size = (int) (DESIGN_SIZE * 0.7);
+
+        REGISTRY.put(ShapeType.CIRCLE, new Builder().fillAndStroke(
+                new Ellipse2D.Double(centerX - size / 2, centerY - size / 2, size, size),
+                new Color(255, 100, 100)).build()); // Red
+        REGISTRY.put(ShapeType.RECTANGLE, new Builder().fillAndStroke(
+                new Rectangle2D.Double(centerX - size / 2, centerY - size / 3, size, size * 2 / 3),
+                new Color(100, 100, 255)).build()); // Blue
+        REGISTRY.put(ShapeType.TRIANGLE, new Builder().fillAndStroke(
+                new Polygon(new int[] {centerX, centerX - size / 2, centerX + size / 2},
+                        new int[] {centerY - size / 2, centerY + size / 2, centerY + size / 2}, 3),
+                new Color(100, 255, 100)).build()); // Green
+        REGISTRY.put(ShapeType.OVAL, new Builder().fillAndStroke(
+                new Ellipse2D.Double(centerX - size / 2, centerY - size / 3, size, size * 2 / 3),
+                new Color(186, 85, 211)).build()); // Medium Orchid
+        REGISTRY.put(ShapeType.SQUARE, new Builder().fillAndStroke(
+                new Rectangle2D.Double(centerX - size / 2, centerY - size / 2, size, size),
+                new Color(30, 144, 255)).build()); // Dodger Blue
+        REGISTRY.put(ShapeType.OCTAGON, new Builder().fillAndStroke(
+                createRegularPolygon(centerX, centerY, size / 2, 8), new Color(255, 165, 0)).build()); // Orange
+        REGISTRY.put(ShapeType.HEPTAGON, new Builder().fillAndStroke(
+                createRegularPolygon(centerX, centerY, size / 2, 7), new Color(255, 105, 180)).build()); // Hot Pink
+        REGISTRY.put(ShapeType.HEXAGON, new Builder().fillAndStroke(
+                createRegularPolygon(centerX, centerY, size / 2, 6), new Color(128, 128, 128)).build()); // Gray
+        REGISTRY.put(ShapeType.PENTAGON, new Builder().fillAndStroke(
+                createRegularPolygon(centerX, centerY, size / 2, 5), new Color(139, 69, 19)).build()); // Saddle Brown
+        REGISTRY.put(ShapeType.KITE, new Builder().fillAndStroke(
+                new Polygon(new int[] {centerX, centerX + size / 3, centerX, centerX - size / 3},
+                        new int[] {centerY - size * 2 / 3, centerY, centerY + size / 3, centerY}, 4),
+                new Color(255, 105, 180)).build());
+        REGISTRY.put(ShapeType.RHOMBUS, new Builder().fillAndStroke(
+                new Polygon(new int[] {centerX, centerX + size / 3, centerX, centerX - size / 3},
+                        new int[] {centerY - size / 2, centerY, centerY + size / 2, centerY}, 4),
+                new Color(32, 178, 170)).build());
+        UNKNOWN_2D = new Builder().fillAndStroke(
+                new Ellipse2D.Double(centerX - size / 2, centerY - size / 2, size, size), Color.GRAY).build();
+
+        // 3D shapes leave a little more room for their depth
+        size = (int) (DESIGN_SIZE * 0.6);
+
+        REGISTRY.put(ShapeType.CUBE, box(centerX, centerY, size, size, size / 2,
+                new Color(144, 238, 144), new Color(50, 205, 50))); // Light Green, Lime Green
+        REGISTRY.put(ShapeType.CUBOID, box(centerX, centerY, size, size, size / 2,
+                new Color(173, 216, 230), new Color(30, 144, 255))); // Light Blue, Dodger Blue
+        REGISTRY.put(ShapeType.CYLINDER, cylinder(centerX, centerY, size / 2, size));
+        REGISTRY.put(ShapeType.SPHERE, sphere(centerX, centerY, size / 2));
+        REGISTRY.put(ShapeType.TRIANGULAR_PRISM, triangularPrism(centerX, centerY, size));
+        REGISTRY.put(ShapeType.SQUARE_PYRAMID, squarePyramid(centerX, centerY, size));
+        REGISTRY.put(ShapeType.CONE, cone(centerX, centerY, size / 2, size));
+        REGISTRY.put(ShapeType.TETRAHEDRON, tetrahedron(centerX, centerY, size));
+    }
+
+    /**
+     * Create a regular polygon with the given number of sides, starting from the top
+     */
+    private static Shape createRegularPolygon(int centerX, int centerY, int radius, int sides) {
+        Path2D polygon = new Path2D.Double();
+        double angle = 2 * Math.PI / sides;
+        double startAngle = -Math.PI / 2;
+        polygon.moveTo(centerX + radius * Math.cos(startAngle), centerY + radius * Math.sin(startAngle));
+        for (int i = 1; i < sides; i++) {
+            double theta = startAngle + angle * i;
+            polygon.lineTo(centerX + radius * Math.cos(theta), centerY + radius * Math.sin(theta));
+        }
+        polygon.closePath();
+        return polygon;
+    }
+
+    // Display lists for 3D shapes, drawn as oblique projections
+
+    /** Cube and cuboid: a front and a back face joined at the corners */
+    private static ShapeDisplayList box(int centerX, int centerY, int width, int height, int depth,
+                                        Color backColor, Color frontColor) {
+        int halfWidth = width / 2;
+        int halfHeight = height / 2;
+        int offset = depth / 2; // 3D perspective offset
+
+        int[] xPoints = {centerX - halfWidth, centerX + halfWidth, centerX + halfWidth, centerX - halfWidth};
+        int[] yPoints = {centerY - halfHeight, centerY - halfHeight, centerY + halfHeight, centerY + halfHeight};
+        int[] xPointsBack = new int[4];
+        int[] yPointsBack = new int[4];
+        for (int i = 0; i < 4; i++) {
+            xPointsBack[i] = xPoints[i] + offset;
+            yPointsBack[i] = yPoints[i] - offset;
+        }
+        Polygon frontFace = new Polygon(xPoints, yPoints, 4);
+        Polygon backFace = new Polygon(xPointsBack, yPointsBack, 4);
+
+        Builder builder = new Builder().fill(backFace, backColor);
+        for (int i = 0; i < 4; i++) {
+            builder.line(xPoints[i], yPoints[i], xPointsBack[i], yPointsBack[i]);
+        }
+        return builder.fill(frontFace, frontColor).stroke(frontFace).stroke(backFace).build();
+    }
+
+    private static ShapeDisplayList cylinder(int centerX, int centerY, int radius, int height) {
+        int halfHeight = height / 2;
+        Ellipse2D topCircle = new Ellipse2D.Double(centerX - radius, centerY - halfHeight, radius * 2, radius / 2);
+        Ellipse2D bottomCircle = new Ellipse2D.Double(centerX - radius, centerY + halfHeight - radius / 4, radius * 2, radius / 2);
+
+        return new Builder()
+                .line(centerX - radius, centerY - halfHeight + radius / 4, centerX - radius, centerY + halfHeight)
+                .line(centerX + radius, centerY - halfHeight + radius / 4, centerX + radius, centerY + halfHeight)
+                .fill(new Rectangle2D.Double(centerX - radius, centerY - halfHeight + radius / 4, radius * 2, height - radius / 4),
+                        new Color(220, 20, 60)) // Crimson
+                .fill(topCircle, new Color(250, 128, 114)) // Salmon
+                .fill(bottomCircle, new Color(178, 34, 34)) // Firebrick
+                .stroke(topCircle)
+                .stroke(bottomCircle)
+                .line(centerX - radius, centerY - halfHeight + radius / 4, centerX - radius, centerY + halfHeight)
+                .line(centerX + radius, centerY - halfHeight + radius / 4, centerX + radius, centerY + halfHeight)
+                .build();
+    }
+
+    private static ShapeDisplayList sphere(int centerX, int centerY, int radius) {
+        Ellipse2D circle = new Ellipse2D.Double(centerX - radius, centerY - radius, radius * 2, radius * 2);
+
+        // The gradient is defined in unit-square coordinates like the geometry it fills
+        RadialGradientPaint gradient = new RadialGradientPaint(
+                new Point2D.Double((centerX - radius / 3) / (double) DESIGN_SIZE, (centerY - radius / 3) / (double) DESIGN_SIZE),
+                radius * 2f / DESIGN_SIZE,
+                new float[] {0.0f, 1.0f},
+                new Color[] {new Color(255, 165, 0), new Color(255, 140, 0)}
+        );
+
+        return new Builder()
+                .fillAndStroke(circle, gradient)
+                // Highlight for 3D effect
+                .fill(new Ellipse2D.Double(centerX - radius / 3, centerY - radius / 3, radius / 2, radius / 2),
+                        new Color(255, 255, 255, 100))
+                .build();
+    }
+
+    private static ShapeDisplayList triangularPrism(int centerX, int centerY, int size) {
+        int half = size / 2;
+        int offset = size / 4; // 3D perspective offset
+
+        int[] xPointsFront = {centerX, centerX - half, centerX + half};
+        int[] yPointsFront = {centerY - half, centerY + half, centerY + half};
+        int[] xPointsBack = {centerX + offset, centerX - half + offset, centerX + half + offset};
+        int[] yPointsBack = {centerY - half - offset, centerY + half - offset, centerY + half - offset};
+        Polygon frontFace = new Polygon(xPointsFront, yPointsFront, 3);
+        Polygon backFace = new Polygon(xPointsBack, yPointsBack, 3);
+
+        Builder builder = new Builder().fill(backFace, new Color(255, 222, 173)); // Navajo White
+        for (int i = 0; i < 3; i++) {
+            builder.line(xPointsFront[i], yPointsFront[i], xPointsBack[i], yPointsBack[i]);
+        }
+        return builder.fill(frontFace, new Color(255, 160, 122)) // Light Salmon
+                .stroke(frontFace).stroke(backFace).build();
+    }
+
+    private static ShapeDisplayList squarePyramid(int centerX, int centerY, int size) {
+        int half = size / 2;
+        int offsetX = size / 4; // 3D perspective offset X
+        int offsetY = size / 4; // 3D perspective offset Y
+
+        Polygon base = new Polygon(
+                new int[] {centerX - half, centerX + half, centerX + half + offsetX, centerX - half + offsetX},
+                new int[] {centerY + half, centerY + half, centerY + half - offsetY, centerY + half - offsetY}, 4);
+        int apexX = centerX + offsetX / 2;
+        int apexY = centerY - half - offsetY / 2;
+
+        int[][] faceX = {
+            {centerX - half, centerX + half, apexX}, // Front face
+            {centerX + half, centerX + half + offsetX, apexX}, // Right face
+            {centerX + half + offsetX, centerX - half + offsetX, apexX}, // Back face
+            {centerX - half + offsetX, centerX - half, apexX} // Left face
+        };
+        int[][] faceY = {
+            {centerY + half, centerY + half, apexY},
+            {centerY + half, centerY + half - offsetY, apexY},
+            {centerY + half - offsetY, centerY + half - offsetY, apexY},
+            {centerY + half - offsetY, centerY + half, apexY}
+        };
+        Color[] faceColors = {
+            new Color(199, 21, 133), // Medium Violet Red (front)
+            new Color(219, 112, 147), // Pale Violet Red (right)
+            new Color(255, 182, 193), // Light Pink (back)
+            new Color(255, 105, 180)  // Hot Pink (left)
+        };
+
+        Builder builder = new Builder().fill(base, new Color(219, 112, 147)); // Pale Violet Red
+        for (int i = 0; i < 4; i++) {
+            builder.fillAndStroke(new Polygon(faceX[i], faceY[i], 3), faceColors[i]);
+        }
+        return builder.stroke(base).build();
+    }
+
+    private static ShapeDisplayList cone(int centerX, int centerY, int radius, int height) {
+        int halfHeight = height / 2;
+        Ellipse2D baseEllipse = new Ellipse2D.Double(centerX - radius, centerY + halfHeight - radius / 4, radius * 2, radius / 2);
+        int apexX = centerX;
+        int apexY = centerY - halfHeight;
+
+        return new Builder()
+                .fill(baseEllipse, new Color(100, 149, 237)) // Cornflower Blue
+                .fill(new Polygon(new int[] {centerX - radius, centerX + radius, apexX},
+                        new int[] {centerY + halfHeight, centerY + halfHeight, apexY}, 3),
+                        new Color(65, 105, 225)) // Royal Blue
+                .stroke(baseEllipse)
+                .line(centerX - radius, centerY + halfHeight, apexX, apexY)
+                .line(centerX + radius, centerY + halfHeight, apexX, apexY)
+                .build();
+    }
+
+    private static ShapeDisplayList tetrahedron(int centerX, int centerY, int size) {
+        int half = size / 2;
+        int[] xPointsBase = {centerX - half, centerX + half, centerX};
+        int[] yPointsBase = {centerY + half / 2, centerY + half / 2, centerY - half / 2};
+        int apexX = centerX;
+        int apexY = centerY - half;
+
+        Polygon[] faces = {
+            new Polygon(xPointsBase, yPointsBase, 3),
+            new Polygon(new int[] {xPointsBase[0], xPointsBase[1], apexX}, new int[] {yPointsBase[0], yPointsBase[1], apexY}, 3),
+            new Polygon(new int[] {xPointsBase[1], xPointsBase[2], apexX}, new int[] {yPointsBase[1], yPointsBase[2], apexY}, 3),
+            new Polygon(new int[] {xPointsBase[2], xPointsBase[0], apexX}, new int[] {yPointsBase[2], yPointsBase[0], apexY}, 3)
+        };
+        Color[] colors = {
+            new Color(152, 251, 152), // Pale Green (base)
+            new Color(144, 238, 144), // Light Green (side 1)
+            new Color(124, 252, 0),   // Lawn Green (side 2)
+            new Color(50, 205, 50)    // Lime Green (side 3)
+        };
+
+        Builder builder = new Builder();
+        for (int i = 0; i < 4; i++) {
+            builder.fillAndStroke(faces[i], colors[i]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,78 @@
+package shapeville.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The shapes ImageProvider can draw.
+ * <p>
+ * Shape names from the task panels are resolved to a constant once, through a map lookup,
+ * and the constant indexes the precompiled display lists in {@link ShapeDisplayList}.
+ * </p>
+ */
+public enum ShapeType {
+    // 2D shapes
+    CIRCLE(false, "circle"),
+    RECTANGLE(false, "rectangle"),
+    TRIANGLE(false, "triangle"),
+    OVAL(false, "oval"),
+    SQUARE(false, "square"),
+    OCTAGON(false, "octagon"),
+    HEPTAGON(false, "heptagon"),
+    HEXAGON(false, "hexagon"),
+    PENTAGON(false, "pentagon"),
+    KITE(false, "kite"),
+    RHOMBUS(false, "rhombus"),
+
+    // 3D shapes
+    CUBE(true, "cube"),
+    CUBOID(true, "cuboid"),
+    CYLINDER(true, "cylinder"),
+    SPHERE(true, "sphere"),
+    TRIANGULAR_PRISM(true, "triangular prism", "triangular_prism"),
+    SQUARE_PYRAMID(true, "square-based pyramid", "square_pyramid"),
+    CONE(true, "cone"),
+    TETRAHEDRON(true, "tetrahedron");
+
+    private static final Map<String, ShapeType> BY_NAME = new HashMap<>();
+
+    static {
+        for (ShapeType type : values()) {
+            for (String name : type.names) {
+                BY_NAME.put(name, type);
+            }
+        }
+    }
+
+    private final boolean threeDimensional;
+    private final String[] names;
+
+    ShapeType(boolean threeDimensional, String... names) {
+        this.threeDimensional = threeDimensional;
+        this.names = names;
+    }
+
+    /**
+     * @return true for solids, false for flat shapes
+     */
+    public boolean isThreeDimensional() {
+        return threeDimensional;
+    }
+
+    /**
+     * @return the name the task panels use for this shape
+     */
+    public String getDisplayName() {
+        return names[0];
+    }
+
+    /**
+     * Resolves a shape name as used by the task panels, e.g. "square-based pyramid".
+     *
+     * @param name the shape name, in any case
+     * @return the shape type, or null if the name is not known
+     */
+    public static ShapeType fromName(String name) {
+        return BY_NAME.get(name.toLowerCase());
+    }
+}
@@ -0,0 +1,331 @@
+package shapeville.utils;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A triangle mesh of a 3D solid, stored in primitive buffers for software rendering.
+ * <p>
+ * Vertices are packed as {@code x, y, z} triples in a {@code float[]}, triangles as vertex
+ * index triples in an {@code int[]}. Every solid is convex, centred on the origin and fits
+ * inside the unit sphere, with y pointing up and z towards the viewer. Triangles are wound
+ * counter-clockwise when seen from outside, and each carries the unit normal used for flat
+ * shading and a mask of the edges that belong to the outline of the original polygon face.
+ * Meshes are built once per shape type and shared, so they must not be modified.
+ * </p>
+ */
+public final class SolidMesh {
+    /** Segments around the round solids; enough to look smooth at the panel's size */
+    private static final int ROUND_SEGMENTS = 32;
+    private static final int SPHERE_STACKS = 16;
+
+    private static final Map<ShapeType, SolidMesh> REGISTRY = new EnumMap<>(ShapeType.class);
+
+    static {
+        REGISTRY.put(ShapeType.CUBE, box(0.55f, 0.55f, 0.55f, new Color(50, 205, 50)));
+        REGISTRY.put(ShapeType.CUBOID, box(0.8f, 0.4f, 0.45f, new Color(30, 144, 255)));
+        REGISTRY.put(ShapeType.CYLINDER, cylinder(new Color(220, 20, 60)));
+        REGISTRY.put(ShapeType.SPHERE, sphere(new Color(255, 140, 0)));
+        REGISTRY.put(ShapeType.TRIANGULAR_PRISM, triangularPrism(new Color(255, 160, 122)));
+        REGISTRY.put(ShapeType.SQUARE_PYRAMID, squarePyramid(new Color(219, 112, 147)));
+        REGISTRY.put(ShapeType.CONE, cone(new Color(65, 105, 225)));
+        REGISTRY.put(ShapeType.TETRAHEDRON, tetrahedron(new Color(124, 252, 0)));
+    }
+
+    private final float[] vertices;
+    private final int[] triangles;
+    private final float[] normals;
+    private final byte[] edgeMasks;
+    private final Color color;
+
+    private SolidMesh(float[] vertices, int[] triangles, float[] normals, byte[] edgeMasks, Color color) {
+        this.vertices = vertices;
+        this.triangles = triangles;
+        this.normals = normals;
+        this.edgeMasks = edgeMasks;
+        this.color = color;
+    }
+
+    /**
+     * Get the mesh of a solid
+     * @param type the shape type
+     * @return the mesh, or null for flat shapes
+     */
+    public static SolidMesh of(ShapeType type) {
+        return REGISTRY.get(type);
+    }
+
+    /**
+     * Get the mesh of a solid by the name the task panels use
+     * @param shapeName the shape name, e.g. "square-based pyramid"
+     * @return the mesh, or null if the name is not a known solid
+     */
+    public static SolidMesh forName(String shapeName) {
+        ShapeType type = ShapeType.fromName(shapeName);
+        return type != null ? REGISTRY.get(type) : null;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    public int getVertexCount() {
+        return vertices.length / 3;
+    }
+
+    /**
+     * @return the number of triangles
+     */
+    public int getTriangleCount() {
+        return triangles.length / 3;
+    }
+
+    /**
+     * @return the packed x, y, z vertex coordinates; must not be modified
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the packed vertex indices of each triangle; must not be modified
+     */
+    public int[] getTriangles() {
+        return triangles;
+    }
+
+    /**
+     * @return the packed x, y, z unit normal of each triangle; must not be modified
+     */
+    public float[] getNormals() {
+        return normals;
+    }
+
+    /**
+     * Get which edges of a triangle are outline edges of the face it was cut from.
+     * Bit 0 is the edge from the first to the second vertex, bit 1 second to third,
+     * bit 2 third to first.
+     * @param triangle the triangle index
+     * @return the edge mask
+     */
+    public int getEdgeMask(int triangle) {
+        return edgeMasks[triangle];
+    }
+
+    /**
+     * @return the base colour of the solid
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    private static SolidMesh box(float halfWidth, float halfHeight, float halfDepth, Color color) {
+        Builder builder = new Builder();
+        for (int i = 0; i < 8; i++) {
+            builder.vertex((i & 1) == 0 ? -halfWidth : halfWidth,
+                    (i & 2) == 0 ? -halfHeight : halfHeight,
+                    (i & 4) == 0 ? -halfDepth : halfDepth);
+        }
+        builder.face(true, 0, 1, 3, 2); // back
+        builder.face(true, 4, 5, 7, 6); // front
+        builder.face(true, 0, 1, 5, 4); // bottom
+        builder.face(true, 2, 3, 7, 6); // top
+        builder.face(true, 0, 2, 6, 4); // left
+        builder.face(true, 1, 3, 7, 5); // right
+        return builder.build(color);
+    }
+
+    private static SolidMesh cylinder(Color color) {
+        Builder builder = new Builder();
+        float radius = 0.55f;
+        float halfHeight = 0.7f;
+        int[] bottom = builder.ring(radius, -halfHeight, ROUND_SEGMENTS);
+        int[] top = builder.ring(radius, halfHeight, ROUND_SEGMENTS);
+        for (int i = 0; i < ROUND_SEGMENTS; i++) {
+            int next = (i + 1) % ROUND_SEGMENTS;
+            builder.face(false, bottom[i], bottom[next], top[next], top[i]);
+        }
+        builder.face(true, bottom);
+        builder.face(true, top);
+        return builder.build(color);
+    }
+
+    private static SolidMesh cone(Color color) {
+        Builder builder = new Builder();
+        int[] base = builder.ring(0.65f, -0.55f, ROUND_SEGMENTS);
+        int apex = builder.vertex(0, 0.75f, 0);
+        for (int i = 0; i < ROUND_SEGMENTS; i++) {
+            builder.face(false, base[i], base[(i + 1) % ROUND_SEGMENTS], apex);
+        }
+        builder.face(true, base);
+        return builder.build(color);
+    }
+
+    private static SolidMesh sphere(Color color) {
+        Builder builder = new Builder();
+        float radius = 0.85f;
+        int bottom = builder.vertex(0, -radius, 0);
+        int[][] rings = new int[SPHERE_STACKS - 1][];
+        for (int stack = 1; stack < SPHERE_STACKS; stack++) {
+            double latitude = Math.PI * stack / SPHERE_STACKS - Math.PI / 2;
+            rings[stack - 1] = builder.ring((float) (radius * Math.cos(latitude)),
+                    (float) (radius * Math.sin(latitude)), ROUND_SEGMENTS);
+        }
+        int top = builder.vertex(0, radius, 0);
+        for (int i = 0; i < ROUND_SEGMENTS; i++) {
+            int next = (i + 1) % ROUND_SEGMENTS;
+            builder.face(false, bottom, rings[0][next], rings[0][i]);
+            for (int stack = 0; stack < rings.length - 1; stack++) {
+                builder.face(false, rings[stack][i], rings[stack][next], rings[stack + 1][next], rings[stack + 1][i]);
+            }
+            builder.face(false, rings[rings.length - 1][i], rings[rings.length - 1][next], top);
+        }
+        return builder.build(color);
+    }
+
+    private static SolidMesh triangularPrism(Color color) {
+        Builder builder = new Builder();
+        float halfDepth = 0.65f;
+        int[] back = {builder.vertex(-0.7f, -0.45f, -halfDepth), builder.vertex(0.7f, -0.45f, -halfDepth),
+                builder.vertex(0, 0.6f, -halfDepth)};
+        int[] front = {builder.vertex(-0.7f, -0.45f, halfDepth), builder.vertex(0.7f, -0.45f, halfDepth),
+                builder.vertex(0, 0.6f, halfDepth)};
+        builder.face(true, back);
+        builder.face(true, front);
+        for (int i = 0; i < 3; i++) {
+            int next = (i + 1) % 3;
+            builder.face(true, back[i], back[next], front[next], front[i]);
+        }
+        return builder.build(color);
+    }
+
+    private static SolidMesh squarePyramid(Color color) {
+        Builder builder = new Builder();
+        float half = 0.6f;
+        int[] base = {builder.vertex(-half, -0.45f, -half), builder.vertex(half, -0.45f, -half),
+                builder.vertex(half, -0.45f, half), builder.vertex(-half, -0.45f, half)};
+        int apex = builder.vertex(0, 0.75f, 0);
+        builder.face(true, base);
+        for (int i = 0; i < 4; i++) {
+            builder.face(true, base[i], base[(i + 1) % 4], apex);
+        }
+        return builder.build(color);
+    }
+
+    private static SolidMesh tetrahedron(Color color) {
+        // Regular tetrahedron standing on one face: the base sits a third of the way down
+        Builder builder = new Builder();
+        float circumradius = 0.8f;
+        float baseRadius = (float) (circumradius * Math.sqrt(8) / 3);
+        int apex = builder.vertex(0, circumradius, 0);
+        int[] base = new int[3];
+        for (int i = 0; i < 3; i++) {
+            double angle = 2 * Math.PI * i / 3;
+            base[i] = builder.vertex((float) (baseRadius * Math.cos(angle)), -circumradius / 3,
+                    (float) (baseRadius * Math.sin(angle)));
+        }
+        builder.face(true, base);
+        for (int i = 0; i < 3; i++) {
+            builder.face(true, base[i], base[(i + 1) % 3], apex);
+        }
+        return builder.build(color);
+    }
+
+    /**
+     * Collects vertices and convex polygon faces, and triangulates them into the packed buffers.
+     * Faces may be listed in either winding: since every solid is convex and contains the
+     * origin, each triangle is turned to face away from the centre when it is added.
+     */
+    private static final class Builder {
+        private float[] vertices = new float[48];
+        private int vertexCount = 0;
+        private int[] triangles = new int[48];
+        private byte[] edgeMasks = new byte[16];
+        private int triangleCount = 0;
+
+        int vertex(float x, float y, float z) {
+            if (vertexCount * 3 + 3 > vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            }
+            vertices[vertexCount * 3] = x;
+            vertices[vertexCount * 3 + 1] = y;
+            vertices[vertexCount * 3 + 2] = z;
+            return vertexCount++;
+        }
+
+        /** A horizontal circle of vertices at the given height */
+        int[] ring(float radius, float y, int segments) {
+            int[] ring = new int[segments];
+            for (int i = 0; i < segments; i++) {
+                double angle = 2 * Math.PI * i / segments;
+                ring[i] = vertex((float) (radius * Math.cos(angle)), y, (float) (radius * Math.sin(angle)));
+            }
+            return ring;
+        }
+
+        /**
+         * Add a convex polygon as a fan of triangles
+         * @param outlined whether the polygon's edges are drawn as outlines, false for
+         *                 facets of a curved surface
+         * @param polygon the vertex indices around the polygon
+         */
+        void face(boolean outlined, int... polygon) {
+            for (int i = 1; i < polygon.length - 1; i++) {
+                int mask = 0;
+                if (outlined) {
+                    mask = 2 | (i == 1 ? 1 : 0) | (i == polygon.length - 2 ? 4 : 0);
+                }
+                triangle(polygon[0], polygon[i], polygon[i + 1], mask);
+            }
+        }
+
+        private void triangle(int a, int b, int c, int mask) {
+            float[] normal = normal(a, b, c);
+            float centreX = vertices[a * 3] + vertices[b * 3] + vertices[c * 3];
+            float centreY = vertices[a * 3 + 1] + vertices[b * 3 + 1] + vertices[c * 3 + 1];
+            float centreZ = vertices[a * 3 + 2] + vertices[b * 3 + 2] + vertices[c * 3 + 2];
+            if (normal[0] * centreX + normal[1] * centreY + normal[2] * centreZ < 0) {
+                // Facing the centre: swap b and c, and the masks of edges a-b and c-a with it
+                int swap = b;
+                b = c;
+                c = swap;
+                mask = (mask & 2) | ((mask & 1) << 2) | ((mask & 4) >> 2);
+            }
+            if (triangleCount * 3 + 3 > triangles.length) {
+                triangles = Arrays.copyOf(triangles, triangles.length * 2);
+                edgeMasks = Arrays.copyOf(edgeMasks, edgeMasks.length * 2);
+            }
+            triangles[triangleCount * 3] = a;
+            triangles[triangleCount * 3 + 1] = b;
+            triangles[triangleCount * 3 + 2] = c;
+            edgeMasks[triangleCount] = (byte) mask;
+            triangleCount++;
+        }
+
+        private float[] normal(int a, int b, int c) {
+            float ux = vertices[b * 3] - vertices[a * 3];
+            float uy = vertices[b * 3 + 1] - vertices[a * 3 + 1];
+            float uz = vertices[b * 3 + 2] - vertices[a * 3 + 2];
+            float vx = vertices[c * 3] - vertices[a * 3];
+            float vy = vertices[c * 3 + 1] - vertices[a * 3 + 1];
+            float vz = vertices[c * 3 + 2] - vertices[a * 3 + 2];
+            float nx = uy * vz - uz * vy;
+            float ny = uz * vx - ux * vz;
+            float nz = ux * vy - uy * vx;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            return new float[] {nx / length, ny / length, nz / length};
+        }
+
+        SolidMesh build(Color color) {
+            int[] packedTriangles = Arrays.copyOf(triangles, triangleCount * 3);
+            float[] normals = new float[triangleCount * 3];
+            for (int i = 0; i < triangleCount; i++) {
+                float[] normal = normal(packedTriangles[i * 3], packedTriangles[i * 3 + 1], packedTriangles[i * 3 + 2]);
+                System.arraycopy(normal, 0, normals, i * 3, 3);
+            }
+            return new SolidMesh(Arrays.copyOf(vertices, vertexCount * 3), packedTriangles, normals,
+                    Arrays.copyOf(edgeMasks, triangleCount), color);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package shapeville.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the on-disk atlas of pre-rendered shape icons.
+ * <p>
+ * The atlas is a single file: a header with a magic number, a format version and a SHA-256
+ * content hash, followed by an entry table and the raw ARGB pixels of every icon. The hash
+ * covers the renderer version, the theme and every icon key (shape, size and scale), so a
+ * change to any of them makes the file stale. Valid atlases are read through a read-only
+ * memory mapping; stale or damaged ones are ignored and rewritten by the caller.
+ * </p>
+ */
+final class SpriteAtlas {
+    /** "SVAT" */
+    private static final int MAGIC = 0x53564154;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    /** magic + format version + content hash */
+    private static final int HEADER_LENGTH = 4 + 4 + HASH_LENGTH;
+    /** Channel masks of the stored pixels, matching {@link ColorModel#getRGBdefault()} */
+    private static final int[] ARGB_MASKS = {0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000};
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Computes the content hash identifying an atlas.
+     *
+     * @param rendererVersion the version of the shape drawing code
+     * @param theme the colour theme of the shapes
+     * @param keys the icons the atlas holds, in order
+     * @return the SHA-256 hash
+     */
+    static byte[] contentHash(int rendererVersion, String theme, Collection<IconCache.Key> keys) {
+        StringBuilder content = new StringBuilder();
+        content.append("renderer=").append(rendererVersion).append(";theme=").append(theme);
+        for (IconCache.Key key : keys) {
+            content.append(';').append(key);
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads an atlas if it exists and matches the expected hash.
+     *
+     * @param file the atlas file
+     * @param expectedHash the content hash the atlas must have
+     * @return the icons in the atlas, or null if the file is missing or stale
+     * @throws IOException if the file exists but cannot be read or is damaged
+     */
+    static Map<IconCache.Key, BufferedImage> read(Path file, byte[] expectedHash) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Check the header with a plain read first, so stale files are never mapped
+            // (a live mapping would stop the file from being replaced on Windows)
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] hash = new byte[HASH_LENGTH];
+            header.get(hash);
+            if (!Arrays.equals(hash, expectedHash)) {
+                return null;
+            }
+
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.position(HEADER_LENGTH);
+            int count = data.getInt();
+            Map<IconCache.Key, BufferedImage> images = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String dimension = readString(data);
+                String shape = readString(data);
+                int width = data.getInt();
+                int height = data.getInt();
+                double scale = data.getDouble();
+                int pixelWidth = data.getInt();
+                int pixelHeight = data.getInt();
+                long offset = data.getLong();
+                // Check the entry against the file before allocating, so a damaged size
+                // cannot ask for a huge array
+                if (pixelWidth <= 0 || pixelHeight <= 0 || offset < HEADER_LENGTH
+                        || (long) pixelWidth * pixelHeight * 4 > channel.size() - offset) {
+                    throw new EOFException("Icon " + shape + " runs past the end of the atlas");
+                }
+
+                // Copy the pixels out of the mapping once and wrap the array as the image's raster
+                int[] pixels = new int[pixelWidth * pixelHeight];
+                IntBuffer source = data.duplicate().position((int) offset).slice().asIntBuffer();
+                source.get(pixels);
+                WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length),
+                        pixelWidth, pixelHeight, pixelWidth, ARGB_MASKS, null);
+                BufferedImage image = new BufferedImage(ColorModel.getRGBdefault(), raster, false, null);
+                images.put(new IconCache.Key(dimension, shape, width, height, scale), image);
+            }
+            return images;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (RuntimeException e) {
+            // A truncated or damaged entry table; treat the atlas as stale
+            throw new IOException("Damaged sprite atlas: " + file, e);
+        }
+    }
+
+    /**
+     * Writes an atlas. The file is written next to the target and moved into place,
+     * so a crash never leaves a half-written atlas behind.
+     *
+     * @param file the atlas file
+     * @param hash the content hash of the atlas
+     * @param images the icons to store, in order
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, byte[] hash, Map<IconCache.Key, BufferedImage> images) throws IOException {
+        int tableLength = 4;
+        for (IconCache.Key key : images.keySet()) {
+            tableLength += stringLength(key.getDimension()) + stringLength(key.getShape()) + 4 + 4 + 8 + 4 + 4 + 8;
+        }
+
+        ByteBuffer table = ByteBuffer.allocate(HEADER_LENGTH + tableLength);
+        table.putInt(MAGIC).putInt(FORMAT_VERSION).put(hash).putInt(images.size());
+        long offset = HEADER_LENGTH + tableLength;
+        for (Map.Entry<IconCache.Key, BufferedImage> entry : images.entrySet()) {
+            IconCache.Key key = entry.getKey();
+            BufferedImage image = entry.getValue();
+            writeString(table, key.getDimension());
+            writeString(table, key.getShape());
+            table.putInt(key.getWidth()).putInt(key.getHeight()).putDouble(key.getScale());
+            table.putInt(image.getWidth()).putInt(image.getHeight()).putLong(offset);
+            offset += (long) image.getWidth() * image.getHeight() * 4;
+        }
+        table.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, table);
+                for (BufferedImage image : images.values()) {
+                    int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+                    ByteBuffer buffer = ByteBuffer.allocate(pixels.length * 4);
+                    buffer.asIntBuffer().put(pixels);
+                    writeFully(channel, buffer);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int stringLength(String value) {
+        return 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) throws EOFException {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length > buffer.remaining()) {
+            throw new EOFException("String runs past the end of the atlas");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,295 @@
+package shapeville.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Keeps sprites in the pixel format of the screen so that drawing them is a plain blit.
+ * <p>
+ * Images decoded by ImageIO or ImageIcon, or allocated as {@code TYPE_INT_ARGB}, rarely match
+ * the screen's colour model, and Java2D then converts every pixel on every draw. Cached images
+ * are copied once into an image from {@link GraphicsConfiguration#createCompatibleImage}.
+ * Sprites drawn every frame can additionally be wrapped in a {@link Sprite}, which keeps a
+ * {@link VolatileImage} copy in video memory and falls back to the compatible image whenever
+ * the accelerated surface is lost.
+ * </p>
+ */
+public final class SpriteManager {
+    /** Set -Dshapeville.volatileSprites=false to draw hot sprites from system memory only */
+    private static final boolean VOLATILE_ENABLED =
+            Boolean.parseBoolean(System.getProperty("shapeville.volatileSprites", "true"));
+
+    /** How often a lost volatile surface is restored within one draw before falling back */
+    private static final int MAX_RESTORE_ATTEMPTS = 3;
+
+    private SpriteManager() {
+    }
+
+    /**
+     * Get the configuration of the default screen
+     * @return the graphics configuration, or null when running headless
+     */
+    public static GraphicsConfiguration getScreenConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Create an empty image in the screen's pixel format
+     * @param width the image width in pixels
+     * @param height the image height in pixels
+     * @param transparency Transparency.OPAQUE, BITMASK or TRANSLUCENT
+     * @return the new image; a plain ARGB or RGB image when running headless
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        GraphicsConfiguration config = getScreenConfiguration();
+        if (config == null) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        return config.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Convert an image to the screen's pixel format, keeping its transparency
+     * @param image the image to convert
+     * @return the image itself if it is already compatible, otherwise a converted copy
+     */
+    public static BufferedImage toCompatible(BufferedImage image) {
+        return toCompatible(image, image.getTransparency());
+    }
+
+    /**
+     * Convert an image to the screen's pixel format
+     * @param image the image to convert
+     * @param transparency the transparency of the result, e.g. OPAQUE for images known to have no alpha
+     * @return the image itself if it is already compatible, otherwise a converted copy
+     */
+    public static BufferedImage toCompatible(BufferedImage image, int transparency) {
+        GraphicsConfiguration config = getScreenConfiguration();
+        if (config == null || config.getColorModel(transparency).equals(image.getColorModel())) {
+            return image;
+        }
+        BufferedImage compatible = config.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return compatible;
+    }
+
+    /**
+     * Decode a bundled picture straight into the screen's pixel format
+     * @param resourcePath the classpath resource, e.g. "/shapeville/images/start_backgound/Door.png"
+     * @return the decoded image, or null if the resource is missing or cannot be decoded
+     */
+    public static BufferedImage loadCompatible(String resourcePath) {
+        URL url = SpriteManager.class.getResource(resourcePath);
+        if (url == null) {
+            System.out.println("Image resource not found: " + resourcePath);
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(url);
+            return image != null ? toCompatible(image) : null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Load a bundled picture as a sprite for drawing every frame
+     * @param resourcePath the classpath resource
+     * @return the sprite, or null if the resource is missing or cannot be decoded
+     */
+    public static Sprite loadSprite(String resourcePath) {
+        BufferedImage image = loadCompatible(resourcePath);
+        return image != null ? new Sprite(image) : null;
+    }
+
+    /**
+     * A frequently drawn image with pre-scaled and accelerated copies.
+     * <p>
+     * The sprite keeps a compatible copy scaled to the size it was last drawn at, in device
+     * pixels, so each frame is an unscaled blit whatever surface it is drawn on. The copy is
+     * made again only when that size changes, which covers resizing and moving the window to a
+     * screen with a different scale. On screen the sprite additionally keeps a
+     * {@link VolatileImage} of the scaled copy. It is validated before every draw: a restored
+     * surface is repainted from the scaled copy, an incompatible one (e.g. after the window moved
+     * to another screen) is recreated, and if the contents keep getting lost the scaled copy is
+     * drawn instead. Sprites must only be drawn on the Event Dispatch Thread.
+     * </p>
+     */
+    public static final class Sprite {
+        private final BufferedImage image;
+        /** The image scaled to the size last drawn at; the image itself when that is its own size */
+        private BufferedImage scaled;
+        private VolatileImage volatileImage;
+        private GraphicsConfiguration volatileConfig;
+        private int volatileWidth;
+        private int volatileHeight;
+
+        /**
+         * Creates a sprite
+         * @param image the source image, converted to the screen format if necessary
+         */
+        public Sprite(BufferedImage image) {
+            this.image = toCompatible(image);
+        }
+
+        /**
+         * @return the compatible system-memory image
+         */
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        /**
+         * Draw the sprite scaled to the given rectangle
+         * @param g2d the graphics context
+         * @param x the left edge
+         * @param y the top edge
+         * @param width the width to draw at
+         * @param height the height to draw at
+         */
+        public void draw(Graphics2D g2d, int x, int y, int width, int height) {
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            GraphicsConfiguration config = g2d.getDeviceConfiguration();
+            // The transform, not the device, so drawing into a scaled off-screen layer is sharp too
+            double scale = Math.max(1.0, g2d.getTransform().getScaleX());
+            int pixelWidth = (int) Math.ceil(width * scale);
+            int pixelHeight = (int) Math.ceil(height * scale);
+            BufferedImage source = scaledTo(pixelWidth, pixelHeight);
+            if (!VOLATILE_ENABLED || config == null
+                    || config.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+                g2d.drawImage(source, x, y, width, height, null);
+                return;
+            }
+
+            for (int attempt = 0; attempt < MAX_RESTORE_ATTEMPTS; attempt++) {
+                if (!prepare(config, pixelWidth, pixelHeight)) {
+                    break;
+                }
+                g2d.drawImage(volatileImage, x, y, width, height, null);
+                if (!volatileImage.contentsLost()) {
+                    return;
+                }
+            }
+            // The accelerated surface is unavailable; draw from system memory
+            g2d.drawImage(source, x, y, width, height, null);
+        }
+
+        /**
+         * Get the image scaled to a size in device pixels, scaling it again only if the size changed
+         */
+        private BufferedImage scaledTo(int pixelWidth, int pixelHeight) {
+            if (scaled != null && scaled.getWidth() == pixelWidth && scaled.getHeight() == pixelHeight) {
+                return scaled;
+            }
+            if (scaled != null && scaled != image) {
+                scaled.flush();
+            }
+            scaled = image.getWidth() == pixelWidth && image.getHeight() == pixelHeight
+                    ? image : scale(image, pixelWidth, pixelHeight);
+            return scaled;
+        }
+
+        /**
+         * Release the accelerated copy, e.g. when the screen showing the sprite is hidden
+         */
+        public void flush() {
+            if (volatileImage != null) {
+                volatileImage.flush();
+                volatileImage = null;
+            }
+        }
+
+        /**
+         * Make sure the volatile copy exists at the right size and holds valid contents
+         * @return false if no volatile image could be created
+         */
+        private boolean prepare(GraphicsConfiguration config, int pixelWidth, int pixelHeight) {
+            if (volatileImage == null || config != volatileConfig
+                    || pixelWidth != volatileWidth || pixelHeight != volatileHeight) {
+                return recreate(config, pixelWidth, pixelHeight);
+            }
+            switch (volatileImage.validate(config)) {
+                case VolatileImage.IMAGE_INCOMPATIBLE:
+                    return recreate(config, pixelWidth, pixelHeight);
+                case VolatileImage.IMAGE_RESTORED:
+                    restore();
+                    return true;
+                default:
+                    return true;
+            }
+        }
+
+        private boolean recreate(GraphicsConfiguration config, int pixelWidth, int pixelHeight) {
+            flush();
+            try {
+                volatileImage = config.createCompatibleVolatileImage(pixelWidth, pixelHeight, image.getTransparency());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                volatileImage = null;
+            }
+            if (volatileImage == null) {
+                return false;
+            }
+            volatileConfig = config;
+            volatileWidth = pixelWidth;
+            volatileHeight = pixelHeight;
+            volatileImage.validate(config);
+            restore();
+            return true;
+        }
+
+        /**
+         * Repaint the volatile copy from the scaled copy, pixel for pixel
+         */
+        private void restore() {
+            Graphics2D g2d = volatileImage.createGraphics();
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(scaledTo(volatileWidth, volatileHeight), 0, 0, null);
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Scale an image with good quality into a new compatible image. Large reductions are done
+     * in halving steps, since a single bicubic step skips most of the source pixels.
+     * @param image the image to scale
+     * @param width the new width in pixels
+     * @param height the new height in pixels
+     * @return the scaled image
+     */
+    public static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            BufferedImage step = createCompatibleImage(currentWidth, currentHeight, image.getTransparency());
+            Graphics2D g2d = step.createGraphics();
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            if (current != image) {
+                current.flush();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
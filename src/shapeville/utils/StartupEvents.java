@@ -0,0 +1,111 @@
+package shapeville.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events for the work done while the application starts and switches screens.
+ * <p>
+ * The events cost next to nothing unless a recording is running, e.g. one started with
+ * {@code -XX:StartFlightRecording} or by {@code --startup-report}. They all sit under the
+ * "Shapeville" category in JDK Mission Control. Use them like any JFR event: create one,
+ * {@code begin()}, do the work, fill in the fields and {@code commit()}.
+ * </p>
+ */
+public final class StartupEvents {
+    /** Prefix of every event name, for enabling them all in a recording */
+    public static final String PREFIX = "shapeville.";
+
+    private StartupEvents() {
+    }
+
+    /**
+     * A phase of startup, from the end of the previous phase to the end of this one.
+     */
+    @Name(PREFIX + "StartupPhase")
+    @Label("Startup Phase")
+    @Category({"Shapeville", "Startup"})
+    @StackTrace(false)
+    public static final class Phase extends Event {
+        @Label("Phase")
+        public String phase;
+    }
+
+    /**
+     * Constructing a task screen.
+     */
+    @Name(PREFIX + "PanelBuild")
+    @Label("Panel Build")
+    @Category({"Shapeville", "Startup"})
+    @StackTrace(false)
+    public static final class PanelBuild extends Event {
+        @Label("Screen")
+        public String screen;
+
+        @Label("Ahead")
+        @Description("Built before the student opened it")
+        public boolean ahead;
+    }
+
+    /**
+     * Decoding a bundled picture.
+     */
+    @Name(PREFIX + "AssetDecode")
+    @Label("Asset Decode")
+    @Category({"Shapeville", "Startup"})
+    @StackTrace(false)
+    public static final class AssetDecode extends Event {
+        @Label("Resource")
+        public String resource;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    /**
+     * Rendering a shape icon or scaling a bundled picture for the icon cache.
+     */
+    @Name(PREFIX + "IconRender")
+    @Label("Icon Render")
+    @Category({"Shapeville", "Startup"})
+    @StackTrace(false)
+    public static final class IconRender extends Event {
+        @Label("Dimension")
+        @Description("2d, 3d or res for a bundled picture")
+        public String dimension;
+
+        @Label("Shape")
+        public String shape;
+
+        @Label("Width")
+        @Description("Width in device pixels")
+        public int width;
+
+        @Label("Height")
+        @Description("Height in device pixels")
+        public int height;
+    }
+
+    /**
+     * Switching the window to another screen, including building it the first time.
+     */
+    @Name(PREFIX + "ScreenSwitch")
+    @Label("Screen Switch")
+    @Category({"Shapeville", "Navigation"})
+    @StackTrace(false)
+    public static final class ScreenSwitch extends Event {
+        @Label("Screen")
+        public String screen;
+
+        @Label("Built")
+        @Description("The screen had to be built first")
+        public boolean built;
+    }
+}
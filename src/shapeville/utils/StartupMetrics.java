@@ -0,0 +1,162 @@
+package shapeville.utils;
+
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of starting the application takes.
+ * <p>
+ * {@code main} calls {@link #start()} first and {@link #mark} as it finishes each phase, and
+ * the start screen calls {@link #firstFrame()} when it paints. The first frame ends the startup.
+ * Later work that was put off until it is needed, such as building a task screen, is recorded
+ * with {@link #record}. Each phase is also committed as a {@link StartupEvents.Phase} Flight
+ * Recorder event. Nothing is printed in a normal launch; with -Dshapeville.startupLog=true or
+ * {@code --startup-report} the one-line breakdown is printed at the first frame and deferred
+ * work as it happens.
+ * </p>
+ */
+public final class StartupMetrics {
+    /** Set -Dshapeville.startupLog=true to print the startup diagnostics */
+    private static final boolean LOG = Boolean.getBoolean("shapeville.startupLog");
+
+    private static final List<String> phases = new ArrayList<>();
+    /** Milliseconds since {@code main} started at the end of each phase */
+    private static final List<Long> phaseMillis = new ArrayList<>();
+    private static long mainNanos = -1;
+    private static long mainWallMillis;
+    private static volatile boolean finished = false;
+    /** The phase running now, committed by the next mark */
+    private static StartupEvents.Phase currentPhase;
+    /** Run on the event dispatch thread once the first frame has been painted */
+    private static final List<Runnable> afterFirstFrame = new ArrayList<>();
+
+    private StartupMetrics() {
+    }
+
+    /**
+     * Start the clock at the beginning of {@code main}; later calls do nothing.
+     */
+    public static synchronized void start() {
+        if (mainNanos < 0) {
+            mainNanos = System.nanoTime();
+            mainWallMillis = System.currentTimeMillis();
+            currentPhase = new StartupEvents.Phase();
+            currentPhase.begin();
+        }
+    }
+
+    /**
+     * Record that a phase of startup has finished; marks after the first frame are ignored.
+     * @param phase the name of the phase, e.g. "look and feel"
+     */
+    public static synchronized void mark(String phase) {
+        start();
+        long now = System.nanoTime();
+        if (!finished) {
+            phases.add(phase);
+            phaseMillis.add((now - mainNanos) / 1_000_000L);
+            currentPhase.phase = phase;
+            currentPhase.commit();
+            currentPhase = new StartupEvents.Phase();
+            currentPhase.begin();
+        }
+    }
+
+    /**
+     * Record the end of startup when the first frame is painted. Cheap to call on every frame.
+     */
+    public static void firstFrame() {
+        if (finished) {
+            return;
+        }
+        mark("first frame");
+        List<Runnable> tasks;
+        synchronized (StartupMetrics.class) {
+            finished = true;
+            tasks = new ArrayList<>(afterFirstFrame);
+            afterFirstFrame.clear();
+        }
+        // The startup report prints the summary itself at the end
+        if (LOG) {
+            System.out.println(summary());
+        }
+        for (Runnable task : tasks) {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
+    /**
+     * Run something on the event dispatch thread after the first frame, or straight away if it
+     * has already been painted
+     * @param task the work to run
+     */
+    public static void afterFirstFrame(Runnable task) {
+        synchronized (StartupMetrics.class) {
+            if (!finished) {
+                afterFirstFrame.add(task);
+                return;
+            }
+        }
+        SwingUtilities.invokeLater(task);
+    }
+
+    /**
+     * Record work that was deferred until it was needed.
+     * @param what what was done, e.g. "build AREA"
+     * @param millis how long it took
+     */
+    public static void record(String what, long millis) {
+        log("Startup: deferred " + what + " took " + millis + " ms");
+    }
+
+    /**
+     * @return true if startup diagnostics are printed, with -Dshapeville.startupLog=true or
+     * while a startup report is recorded
+     */
+    public static boolean isLogging() {
+        return LOG || StartupReport.isActive();
+    }
+
+    /**
+     * Print a startup diagnostic line if {@link #isLogging()}
+     * @param message the line
+     */
+    public static void log(String message) {
+        if (isLogging()) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * @return true once the first frame has been painted
+     */
+    public static synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Get the breakdown of the phases recorded so far: the time each one took, then the total
+     * from JVM start.
+     * @return a single line, e.g. "Startup: JVM to main 180 ms, look and feel 95 ms, ..."
+     */
+    public static synchronized String summary() {
+        StringBuilder line = new StringBuilder("Startup:");
+        long jvmToMain = -1;
+        if (mainNanos >= 0) {
+            jvmToMain = mainWallMillis - ManagementFactory.getRuntimeMXBean().getStartTime();
+            line.append(" JVM to main ").append(jvmToMain).append(" ms");
+        }
+        long previous = 0;
+        for (int i = 0; i < phases.size(); i++) {
+            line.append(i == 0 && jvmToMain < 0 ? " " : ", ").append(phases.get(i)).append(' ')
+                    .append(phaseMillis.get(i) - previous).append(" ms");
+            previous = phaseMillis.get(i);
+        }
+        if (jvmToMain >= 0) {
+            line.append(" (total ").append(jvmToMain + previous).append(" ms)");
+        }
+        return line.toString();
+    }
+}
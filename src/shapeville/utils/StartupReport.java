@@ -0,0 +1,147 @@
+package shapeville.utils;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code --startup-report} mode: records the {@link StartupEvents} of one launch with
+ * Flight Recorder, prints them as a timeline and exits.
+ * <p>
+ * {@code main} calls {@link #begin} before doing anything else. The application runs as usual
+ * until it has painted its first frame and built its task screens, then calls {@link #finish},
+ * which prints every event in start order, in milliseconds from JVM start, followed by the
+ * one-line summary from {@link StartupMetrics}. Comparing the reports of two releases on the
+ * same machine shows which phase got slower.
+ * </p>
+ */
+public final class StartupReport {
+    /** The command line option that turns the report on */
+    public static final String OPTION = "--startup-report";
+
+    private static Recording recording;
+
+    private StartupReport() {
+    }
+
+    /**
+     * Start recording if the command line asks for a report
+     * @param args the arguments of {@code main}
+     * @return true if a report is being recorded
+     */
+    public static synchronized boolean begin(String[] args) {
+        if (recording != null) {
+            return true;
+        }
+        if (!Arrays.asList(args).contains(OPTION)) {
+            return false;
+        }
+        recording = new Recording();
+        recording.setName("Shapeville startup");
+        for (Class<?> type : StartupEvents.class.getDeclaredClasses()) {
+            if (Event.class.isAssignableFrom(type)) {
+                recording.enable(type.asSubclass(Event.class)).withThreshold(Duration.ZERO);
+            }
+        }
+        recording.start();
+        return true;
+    }
+
+    /**
+     * @return true while a report is being recorded
+     */
+    public static synchronized boolean isActive() {
+        return recording != null;
+    }
+
+    /**
+     * Stop recording, print the timeline to standard output and exit
+     */
+    public static void finish() {
+        int status = 0;
+        try {
+            print(System.out);
+        } catch (IOException e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Stop recording and print the timeline
+     * @param out where to print it
+     * @throws IOException if the recording cannot be written or read back
+     */
+    public static synchronized void print(PrintStream out) throws IOException {
+        if (recording == null) {
+            return;
+        }
+        Path file = Files.createTempFile("shapeville-startup", ".jfr");
+        List<RecordedEvent> events;
+        try {
+            recording.stop();
+            recording.dump(file);
+            events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().startsWith(StartupEvents.PREFIX)) {
+                    events.add(event);
+                }
+            }
+        } finally {
+            recording.close();
+            recording = null;
+            Files.deleteIfExists(file);
+        }
+        events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+
+        Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        out.println("Startup timeline (ms from JVM start)");
+        out.printf("%7s %7s  %-14s %-40s %s%n", "start", "took", "event", "detail", "thread");
+        for (RecordedEvent event : events) {
+            RecordedThread thread = event.getThread();
+            out.printf("%7d %7d  %-14s %-40s %s%n",
+                    Duration.between(jvmStart, event.getStartTime()).toMillis(),
+                    event.getDuration().toMillis(),
+                    event.getEventType().getLabel(),
+                    detail(event),
+                    thread == null ? "" : thread.getJavaName());
+        }
+        out.println(StartupMetrics.summary());
+    }
+
+    /**
+     * Describe an event's fields in a few words
+     */
+    private static String detail(RecordedEvent event) {
+        switch (event.getEventType().getName().substring(StartupEvents.PREFIX.length())) {
+            case "StartupPhase":
+                return event.getString("phase");
+            case "PanelBuild":
+                return event.getString("screen") + (event.getBoolean("ahead") ? " (ahead)" : "");
+            case "AssetDecode":
+                return event.getString("resource") + " " + event.getInt("width") + "x" + event.getInt("height");
+            case "IconRender":
+                return event.getString("dimension") + " " + event.getString("shape") + " "
+                        + event.getInt("width") + "x" + event.getInt("height");
+            case "ScreenSwitch":
+                return event.getString("screen") + (event.getBoolean("built") ? " (built)" : "");
+            default:
+                return "";
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package shapeville.utils;
+
+import java.awt.*;
+import java.awt.geom.PathIterator;
+import java.util.Locale;
+
+/**
+ * A minimal SVG document builder for exporting vector shapes.
+ * <p>
+ * Supports filled and stroked {@link Shape}s with solid colours or radial gradients,
+ * and plain text, which is all the shape display lists and worksheet drawings need.
+ * </p>
+ */
+public class SvgWriter {
+    private final StringBuilder defs = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+    private final int width;
+    private final int height;
+    private final String viewBox;
+    private int gradientCount = 0;
+
+    /**
+     * Creates an SVG document.
+     *
+     * @param width the document width in pixels
+     * @param height the document height in pixels
+     * @param viewWidth the width of the user coordinate system
+     * @param viewHeight the height of the user coordinate system
+     */
+    public SvgWriter(int width, int height, double viewWidth, double viewHeight) {
+        this.width = width;
+        this.height = height;
+        this.viewBox = "0 0 " + number(viewWidth) + " " + number(viewHeight);
+    }
+
+    /**
+     * Fills the whole view with a colour.
+     *
+     * @param color the background colour
+     * @param viewWidth the width of the user coordinate system
+     * @param viewHeight the height of the user coordinate system
+     * @return this writer
+     */
+    public SvgWriter background(Color color, double viewWidth, double viewHeight) {
+        body.append("  <rect width=\"").append(number(viewWidth)).append("\" height=\"").append(number(viewHeight))
+                .append('"').append(fill(color)).append("/>\n");
+        return this;
+    }
+
+    /**
+     * Adds a filled shape.
+     *
+     * @param shape the geometry
+     * @param paint a Color or RadialGradientPaint
+     * @return this writer
+     */
+    public SvgWriter fill(Shape shape, Paint paint) {
+        body.append("  <path d=\"").append(pathData(shape)).append('"').append(fill(paint)).append("/>\n");
+        return this;
+    }
+
+    /**
+     * Adds a stroked shape.
+     *
+     * @param shape the geometry
+     * @param color the stroke colour
+     * @param strokeWidth the stroke width in user units
+     * @return this writer
+     */
+    public SvgWriter stroke(Shape shape, Color color, double strokeWidth) {
+        body.append("  <path d=\"").append(pathData(shape)).append("\" fill=\"none\" stroke=\"").append(hex(color))
+                .append("\" stroke-width=\"").append(number(strokeWidth)).append('"');
+        if (color.getAlpha() < 255) {
+            body.append(" stroke-opacity=\"").append(number(color.getAlpha() / 255.0)).append('"');
+        }
+        body.append("/>\n");
+        return this;
+    }
+
+    /**
+     * Adds a line of text with its baseline at (x, y).
+     *
+     * @param text the text
+     * @param x the x coordinate
+     * @param y the baseline y coordinate
+     * @param font the font
+     * @param color the text colour
+     * @return this writer
+     */
+    public SvgWriter text(String text, double x, double y, Font font, Color color) {
+        body.append("  <text x=\"").append(number(x)).append("\" y=\"").append(number(y))
+                .append("\" font-family=\"").append(escape(font.getFamily()))
+                .append("\" font-size=\"").append(font.getSize()).append('"');
+        if (font.isBold()) {
+            body.append(" font-weight=\"bold\"");
+        }
+        body.append(fill(color)).append('>').append(escape(text)).append("</text>\n");
+        return this;
+    }
+
+    /**
+     * @return the complete SVG document
+     */
+    @Override
+    public String toString() {
+        StringBuilder svg = new StringBuilder();
+        svg.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width).append("\" height=\"")
+                .append(height).append("\" viewBox=\"").append(viewBox).append("\">\n");
+        if (defs.length() > 0) {
+            svg.append("  <defs>\n").append(defs).append("  </defs>\n");
+        }
+        svg.append(body).append("</svg>\n");
+        return svg.toString();
+    }
+
+    private String fill(Paint paint) {
+        if (paint instanceof RadialGradientPaint) {
+            RadialGradientPaint gradient = (RadialGradientPaint) paint;
+            String id = "gradient" + (++gradientCount);
+            defs.append("    <radialGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\" cx=\"")
+                    .append(number(gradient.getCenterPoint().getX())).append("\" cy=\"")
+                    .append(number(gradient.getCenterPoint().getY())).append("\" r=\"")
+                    .append(number(gradient.getRadius())).append("\" fx=\"")
+                    .append(number(gradient.getFocusPoint().getX())).append("\" fy=\"")
+                    .append(number(gradient.getFocusPoint().getY())).append("\">\n");
+            float[] fractions = gradient.getFractions();
+            Color[] colors = gradient.getColors();
+            for (int i = 0; i < fractions.length; i++) {
+                defs.append("      <stop offset=\"").append(number(fractions[i])).append("\" stop-color=\"")
+                        .append(hex(colors[i])).append("\"/>\n");
+            }
+            defs.append("    </radialGradient>\n");
+            return " fill=\"url(#" + id + ")\"";
+        }
+        Color color = paint instanceof Color ? (Color) paint : Color.GRAY;
+        String fill = " fill=\"" + hex(color) + "\"";
+        if (color.getAlpha() < 255) {
+            fill += " fill-opacity=\"" + number(color.getAlpha() / 255.0) + "\"";
+        }
+        return fill;
+    }
+
+    private static String pathData(Shape shape) {
+        StringBuilder data = new StringBuilder();
+        double[] coords = new double[6];
+        for (PathIterator it = shape.getPathIterator(null); !it.isDone(); it.next()) {
+            switch (it.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    data.append('M').append(points(coords, 1));
+                    break;
+                case PathIterator.SEG_LINETO:
+                    data.append('L').append(points(coords, 1));
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    data.append('Q').append(points(coords, 2));
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    data.append('C').append(points(coords, 3));
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    data.append('Z');
+                    break;
+            }
+        }
+        return data.toString();
+    }
+
+    private static String points(double[] coords, int count) {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < count * 2; i++) {
+            if (i > 0) {
+                points.append(' ');
+            }
+            points.append(number(coords[i]));
+        }
+        return points.toString();
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    private static String number(double value) {
+        String text = String.format(Locale.ROOT, "%.5f", value);
+        // Trim trailing zeros to keep files small
+        text = text.replaceAll("0+$", "");
+        return text.endsWith(".") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -4,6 +4,12 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * A custom wooden-styled button component for the Shapeville application.
@@ -26,14 +32,45 @@ public class WoodenButton extends JButton {
     /** Font used for the button text */
     private static final Font BUTTON_FONT = new Font("Serif", Font.BOLD, 22);
     
+    /** Font used for the description line */
+    private static final Font DESCRIPTION_FONT = new Font(BUTTON_FONT.getName(), Font.PLAIN, 18);
+    
     /** Corner radius for the rounded rectangle */
     private static final int ARC = 16;
     
+    /** Border stroke and hover highlight colour */
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(3);
+    private static final Color HOVER_COLOR = new Color(255, 255, 150, 40);
+    
+    /** How many background layers are kept; a screen uses only a few button sizes */
+    private static final int MAX_BACKGROUND_LAYERS = 32;
+    
+    /** Background layers shared by all buttons, by size, scale and hover state, least recently used first */
+    private static final Map<String, BufferedImage> BACKGROUND_LAYERS =
+            new LinkedHashMap<String, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                    return size() > MAX_BACKGROUND_LAYERS;
+                }
+            };
+    
     /** Flag indicating if the button is currently being hovered over */
     private boolean hovered = false;
     
     /** Optional description text displayed below the main button text */
     private String description = null;
+    
+    /** The button rendered in the normal and hovered state, and what it was rendered with */
+    private final BufferedImage[] rendered = new BufferedImage[2];
+    private int renderedWidth = -1;
+    private int renderedHeight = -1;
+    private double renderedScale;
+    private String renderedText;
+    private String renderedDescription;
+    
+    /** Title and description shaped for the rendered scale */
+    private GlyphVector titleGlyphs;
+    private GlyphVector descriptionGlyphs;
 
     /**
      * Constructs a new WoodenButton with the specified text.
@@ -87,69 +124,154 @@ public class WoodenButton extends JButton {
 
     /**
      * Custom painting method to create the wooden appearance.
-     * This method handles:
-     * - Drawing the wooden background
-     * - Drawing the border
-     * - Adding hover effects
-     * - Rendering the text and optional description
+     * The button is rendered once per state into an image at the device scale: the wooden
+     * background, border and hover highlight come from a layer shared by all buttons of the
+     * same size, and the title and description are shaped once into glyph vectors. Painting
+     * is then a single image blit until the size, scale or text changes.
      *
      * @param g The Graphics context to paint with
      */
     @Override
     protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        GraphicsConfiguration config = g2.getDeviceConfiguration();
+        double scale = config != null ? Math.max(1.0, config.getDefaultTransform().getScaleX()) : 1.0;
+        String text = getText();
+        if (width != renderedWidth || height != renderedHeight || scale != renderedScale
+                || !Objects.equals(text, renderedText) || !Objects.equals(description, renderedDescription)) {
+            flushRendered();
+            renderedWidth = width;
+            renderedHeight = height;
+            renderedScale = scale;
+            renderedText = text;
+            renderedDescription = description;
+        }
+        int state = hovered ? 1 : 0;
+        if (rendered[state] == null) {
+            rendered[state] = render(width, height, scale, hovered);
+        }
+        g2.drawImage(rendered[state], 0, 0, width, height, null);
+    }
+    
+    /**
+     * Renders the whole button in one state.
+     *
+     * @param width The width in pixels
+     * @param height The height in pixels
+     * @param scale The device scale
+     * @param hover Whether to draw the hover highlight
+     * @return The rendered button at the device scale
+     */
+    private BufferedImage render(int width, int height, double scale, boolean hover) {
+        BufferedImage image = SpriteManager.createCompatibleImage(
+                (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), Transparency.TRANSLUCENT);
+        Graphics2D g2 = image.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(backgroundLayer(width, height, scale, hover), 0, 0, null);
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.scale(scale, scale);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(FONT_COLOR);
+        
+        // Shape the text once; the glyphs are kept until the text, size or scale changes
+        FontRenderContext frc = g2.getFontRenderContext();
+        if (titleGlyphs == null && renderedText != null) {
+            titleGlyphs = BUTTON_FONT.createGlyphVector(frc, renderedText);
+        }
+        if (descriptionGlyphs == null && renderedDescription != null) {
+            descriptionGlyphs = DESCRIPTION_FONT.createGlyphVector(frc, renderedDescription);
+        }
+        
+        if (titleGlyphs != null) {
+            int titleWidth = (int) Math.round(titleGlyphs.getLogicalBounds().getWidth());
+            int x = (width - titleWidth) / 2;
+            if (descriptionGlyphs != null) {
+                // Draw two lines of text if description exists
+                int y = height / 2 - 10;  // Title in upper half with spacing
+                g2.drawGlyphVector(titleGlyphs, x, y);
+                
+                int descWidth = (int) Math.round(descriptionGlyphs.getLogicalBounds().getWidth());
+                int descAscent = (int) Math.ceil(DESCRIPTION_FONT.getLineMetrics(renderedDescription, frc).getAscent());
+                x = (width - descWidth) / 2;
+                y = height / 2 + descAscent + 10; // Description in lower half with spacing
+                g2.drawGlyphVector(descriptionGlyphs, x, y);
+            } else {
+                // Draw single line of text centered
+                int textHeight = (int) Math.ceil(BUTTON_FONT.getLineMetrics(renderedText, frc).getAscent());
+                int y = (height + textHeight) / 2 - 3;
+                g2.drawGlyphVector(titleGlyphs, x, y);
+            }
+        }
+        g2.dispose();
+        return image;
+    }
+    
+    /**
+     * Gets the wooden background, border and, if hovered, highlight for a button size.
+     * The layers are shared by every button and the most recently used ones are kept.
+     *
+     * @param width The width in pixels
+     * @param height The height in pixels
+     * @param scale The device scale
+     * @param hover Whether to draw the hover highlight
+     * @return The layer at the device scale
+     */
+    private static BufferedImage backgroundLayer(int width, int height, double scale, boolean hover) {
+        String key = width + "x" + height + "@" + scale + (hover ? "h" : "");
+        BufferedImage layer = BACKGROUND_LAYERS.get(key);
+        if (layer != null) {
+            return layer;
+        }
+        layer = SpriteManager.createCompatibleImage(
+                (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), Transparency.TRANSLUCENT);
+        Graphics2D g2 = layer.createGraphics();
+        g2.scale(scale, scale);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         
         // Draw background
         g2.setColor(BG_COLOR);
-        g2.fillRoundRect(0, 0, getWidth(), getHeight(), ARC, ARC);
+        g2.fillRoundRect(0, 0, width, height, ARC, ARC);
         
         // Draw border
         g2.setColor(BORDER_COLOR);
-        g2.setStroke(new BasicStroke(3));
-        g2.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, ARC, ARC);
+        g2.setStroke(BORDER_STROKE);
+        g2.drawRoundRect(0, 0, width - 1, height - 1, ARC, ARC);
         
         // Draw hover highlight
-        if (hovered) {
-            g2.setColor(new Color(255, 255, 150, 40));
-            g2.fillRoundRect(0, 0, getWidth(), getHeight(), ARC, ARC);
-        }
-        
-        // Draw text
-        String text = getText();
-        g2.setColor(FONT_COLOR);
-        g2.setFont(BUTTON_FONT);
-        
-        if (description != null) {
-            // Draw two lines of text if description exists
-            FontMetrics fm = g2.getFontMetrics();
-            int titleWidth = fm.stringWidth(text);
-            int titleHeight = fm.getAscent();
-            int x = (getWidth() - titleWidth) / 2;
-            int y = getHeight() / 2 - 10;  // Title in upper half with spacing
-            
-            // Draw title
-            g2.drawString(text, x, y);
-            
-            // Draw description with smaller font
-            Font descFont = new Font(BUTTON_FONT.getName(), Font.PLAIN, 18);
-            g2.setFont(descFont);
-            fm = g2.getFontMetrics();
-            int descWidth = fm.stringWidth(description);
-            x = (getWidth() - descWidth) / 2;
-            y = getHeight() / 2 + fm.getAscent() + 10; // Description in lower half with spacing
-            g2.drawString(description, x, y);
-        } else {
-            // Draw single line of text centered
-            FontMetrics fm = g2.getFontMetrics();
-            int textWidth = fm.stringWidth(text);
-            int textHeight = fm.getAscent();
-            int x = (getWidth() - textWidth) / 2;
-            int y = (getHeight() + textHeight) / 2 - 3;
-            g2.drawString(text, x, y);
+        if (hover) {
+            g2.setColor(HOVER_COLOR);
+            g2.fillRoundRect(0, 0, width, height, ARC, ARC);
         }
-        
         g2.dispose();
+        BACKGROUND_LAYERS.put(key, layer);
+        return layer;
+    }
+    
+    /**
+     * Drops the rendered states and shaped text so they are made again on the next paint.
+     */
+    private void flushRendered() {
+        for (int i = 0; i < rendered.length; i++) {
+            if (rendered[i] != null) {
+                rendered[i].flush();
+                rendered[i] = null;
+            }
+        }
+        titleGlyphs = null;
+        descriptionGlyphs = null;
+        renderedWidth = -1;
+    }
+    
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // Hidden screens do not keep their rendered buttons
+        flushRendered();
     }
     
     /**